@@ -0,0 +1,22 @@
+package com.erp.employeepayroll.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings of the payroll archival job, bound from {@code app.archive.*}.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.archive")
+@Data
+public class ArchiveProperties {
+
+    private boolean enabled = true; // Master switch for the scheduled run
+
+    private String cron = "0 30 2 * * *"; // When the scheduled run starts (daily at 02:30)
+
+    private int retainedYears = 1; // Closed years kept in the hot tables besides the current year
+
+    private int chunkSize = 1000; // Rows moved per transaction, keeps row locks short
+}
@@ -0,0 +1,24 @@
+package com.erp.employeepayroll.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Batch connection pool settings, bound from {@code app.datasource.batch.*}.
+ * The batch pool connects to the primary database with the {@code spring.datasource.*} credentials;
+ * the interactive pool keeps its sizing under {@code spring.datasource.hikari.*}.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.datasource.batch")
+@Data
+public class BatchPoolProperties {
+
+    private int maximumPoolSize = 4; // Payroll jobs are few and serialized by the bulkhead, but hold connections long
+
+    private int minimumIdle = 0; // The pool is idle outside month end
+
+    private Duration connectionTimeout = Duration.ofMinutes(2); // A job may wait for another job's connections
+}
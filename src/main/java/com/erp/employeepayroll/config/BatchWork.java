@@ -0,0 +1,17 @@
+package com.erp.employeepayroll.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a service method as a payroll job whose queries run on the dedicated batch connection pool,
+ * so long month-end transactions cannot starve login and self-service requests of connections.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface BatchWork {
+}
@@ -0,0 +1,28 @@
+package com.erp.employeepayroll.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Binds {@link BatchWork} methods to the batch pool for their whole duration.
+ * Ordered ahead of the transaction interceptor so the flag is set before the transaction opens.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class BatchWorkAspect {
+
+    @Around("@annotation(com.erp.employeepayroll.config.BatchWork)")
+    public Object runOnBatchPool(ProceedingJoinPoint joinPoint) throws Throwable {
+        boolean previous = WorkloadRoutingDataSource.setBatchWork(true);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            WorkloadRoutingDataSource.setBatchWork(previous);
+        }
+    }
+}
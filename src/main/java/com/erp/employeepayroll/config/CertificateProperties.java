@@ -0,0 +1,20 @@
+package com.erp.employeepayroll.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings of the annual tax certificate job, bound from {@code app.certificates.*}.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.certificates")
+@Data
+public class CertificateProperties {
+
+    private String directory = System.getProperty("java.io.tmpdir") + "/tax-certificates"; // Where the bulk files are written
+
+    private int fetchSize = 1000; // Payslip rows fetched per round trip while streaming; add useCursorFetch=true to the MySQL URL
+
+    private int progressInterval = 1000; // Certificates between two progress log lines
+}
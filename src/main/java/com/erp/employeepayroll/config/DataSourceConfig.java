@@ -0,0 +1,110 @@
+package com.erp.employeepayroll.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Connection pools, one per workload, behind a single routing DataSource used by JPA, JdbcTemplate and Flyway:
+ * <ul>
+ *     <li>interactive: controller traffic, sized by {@code spring.datasource.hikari.*};</li>
+ *     <li>batch: payroll jobs ({@link BatchWork}), sized by {@code app.datasource.batch.*};</li>
+ *     <li>replica: read-only transactions, only when {@code app.datasource.replica.url} is set.</li>
+ * </ul>
+ * Each pool is a named HikariDataSource, so Actuator exports its hikaricp.* metrics (including
+ * hikaricp.connections.acquire and hikaricp.connections.pending) tagged with pool=interactive/batch/replica.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    /**
+     * Connection pool for interactive API traffic on the primary database.
+     * @param properties The spring.datasource properties.
+     * @return The interactive HikariDataSource.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource interactiveDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("interactive");
+        return dataSource;
+    }
+
+    /**
+     * Connection pool for payroll jobs on the primary database.
+     * @param properties The spring.datasource properties.
+     * @param batchPoolProperties The app.datasource.batch properties.
+     * @return The batch HikariDataSource.
+     */
+    @Bean
+    public HikariDataSource batchDataSource(DataSourceProperties properties, BatchPoolProperties batchPoolProperties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("batch");
+        dataSource.setMaximumPoolSize(batchPoolProperties.getMaximumPoolSize());
+        dataSource.setMinimumIdle(batchPoolProperties.getMinimumIdle());
+        dataSource.setConnectionTimeout(batchPoolProperties.getConnectionTimeout().toMillis());
+        return dataSource;
+    }
+
+    /**
+     * Connection pool of the read replica.
+     * @param properties The app.datasource.replica properties.
+     * @return The replica HikariDataSource, with connections marked read-only.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "app.datasource.replica", name = "url")
+    public HikariDataSource replicaDataSource(ReadReplicaProperties properties) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(properties.getUrl())
+                .username(properties.getUsername())
+                .password(properties.getPassword())
+                .driverClassName(properties.getDriverClassName())
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setMaximumPoolSize(properties.getMaximumPoolSize());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * The DataSource used by JPA, JdbcTemplate and Flyway.
+     * @param interactiveDataSource The interactive pool.
+     * @param batchDataSource The batch pool.
+     * @param replicaDataSource The replica pool, if configured.
+     * @param replicaLagGuard Keeps reads on the primary right after payroll writes.
+     * @return A lazy proxy over the routing datasource.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("interactiveDataSource") DataSource interactiveDataSource,
+                                 @Qualifier("batchDataSource") DataSource batchDataSource,
+                                 @Qualifier("replicaDataSource") ObjectProvider<DataSource> replicaDataSource,
+                                 ReplicaLagGuard replicaLagGuard) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(WorkloadRoutingDataSource.Route.INTERACTIVE, interactiveDataSource);
+        targets.put(WorkloadRoutingDataSource.Route.BATCH, batchDataSource);
+        DataSource replica = replicaDataSource.getIfAvailable();
+        if (replica != null) {
+            targets.put(WorkloadRoutingDataSource.Route.REPLICA, replica);
+        }
+
+        WorkloadRoutingDataSource routingDataSource = new WorkloadRoutingDataSource(replicaLagGuard, replica != null);
+        routingDataSource.setTargetDataSources(targets);
+        routingDataSource.setDefaultTargetDataSource(interactiveDataSource);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
@@ -0,0 +1,24 @@
+package com.erp.employeepayroll.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Flyway settings that upgrading an existing installation depends on, so they cannot be forgotten in application properties.
+ */
+@Configuration
+public class FlywayConfig {
+
+    /**
+     * Baselines a database that has tables but no Flyway history (one created by ddl-auto=update) at version 0,
+     * so V1 onwards still run and upgrade it in place. A database already managed by Flyway is not affected.
+     * @return The FlywayConfigurationCustomizer applying the baseline settings.
+     */
+    @Bean
+    public FlywayConfigurationCustomizer baselineFlywayConfigurationCustomizer() {
+        return configuration -> configuration
+                .baselineOnMigrate(true)
+                .baselineVersion("0");
+    }
+}
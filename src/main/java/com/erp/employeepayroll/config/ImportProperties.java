@@ -0,0 +1,20 @@
+package com.erp.employeepayroll.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings of the bulk employee import, bound from {@code app.import.*}.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.import")
+@Data
+public class ImportProperties {
+
+    private int chunkSize = 1000; // Rows hashed and inserted per transaction
+
+    private int hashThreads = Math.max(1, Runtime.getRuntime().availableProcessors() - 1); // Threads hashing passwords, leaves a core for request handling
+
+    private int maxReportedErrors = 1000; // Row errors listed in the report; further failures are only counted
+}
@@ -0,0 +1,54 @@
+package com.erp.employeepayroll.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate defaults for payroll workloads: JDBC batching for writes and a second-level cache for reference data.
+ * Values set explicitly in application properties take precedence over these defaults.
+ */
+@Configuration
+public class JpaConfig {
+
+    public static final int JDBC_BATCH_SIZE = 50; // Matches the allocationSize of the pooled id generators
+
+    /**
+     * Enables JDBC batching with ordered inserts/updates, so saveAll of a payroll period is sent
+     * in batches of JDBC_BATCH_SIZE statements instead of one round trip per row.
+     * On MySQL also set rewriteBatchedStatements=true on the datasource URL to collapse each batch
+     * into a multi-row INSERT.
+     * @return The HibernatePropertiesCustomizer applying the batching defaults.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer batchingHibernatePropertiesCustomizer() {
+        return properties -> {
+            properties.putIfAbsent("hibernate.jdbc.batch_size", JDBC_BATCH_SIZE);
+            properties.putIfAbsent("hibernate.order_inserts", true);
+            properties.putIfAbsent("hibernate.order_updates", true);
+        };
+    }
+
+    /**
+     * Enables the second-level entity cache and the query cache on a local, in-process Caffeine
+     * JCache provider. Only entities annotated with @Cache and finders carrying the cacheable hint
+     * are cached; region sizes are configured in application.conf.
+     * Statistics are collected so per-region hit/miss counts are published through Micrometer
+     * (hibernate.second.level.cache.requests, tagged by region and result). The per-session "Session Metrics"
+     * log that statistics switch on by default is turned off, as it would log every request at INFO.
+     * @return The HibernatePropertiesCustomizer applying the cache defaults.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer cacheHibernatePropertiesCustomizer() {
+        return properties -> {
+            properties.putIfAbsent("hibernate.cache.use_second_level_cache", true);
+            properties.putIfAbsent("hibernate.cache.use_query_cache", true);
+            properties.putIfAbsent("hibernate.cache.region.factory_class", "jcache");
+            properties.putIfAbsent("hibernate.javax.cache.provider", CaffeineCachingProvider.class.getName());
+            properties.putIfAbsent("hibernate.javax.cache.missing_cache_strategy", "create");
+            properties.putIfAbsent("hibernate.generate_statistics", true);
+            properties.putIfAbsent("hibernate.session.events.log", false); // StatisticalLoggingSessionEventListener
+        };
+    }
+}
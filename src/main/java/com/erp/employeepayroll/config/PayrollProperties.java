@@ -0,0 +1,45 @@
+package com.erp.employeepayroll.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Settings of payroll generation, bound from {@code app.payroll.*}.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.payroll")
+@Data
+public class PayrollProperties {
+
+    private Engine engine = Engine.JAVA; // Default engine; a generation request may choose another
+    private Shadow shadow = new Shadow(); // Dual-run verification of a candidate engine
+    private Simulation simulation = new Simulation(); // What-if runs of proposed rates
+
+    public enum Engine {
+        JAVA, // Payslips calculated in Java and saved through JPA
+        SQL // Payslips calculated and inserted by the database with one INSERT ... SELECT
+    }
+
+    /**
+     * Dual-run settings: a candidate engine calculates every run again from the primary's input snapshot,
+     * in parallel, and the two results are compared field by field. Only the primary's payslips are saved.
+     */
+    @Data
+    public static class Shadow {
+        private Engine engine; // Candidate engine; no shadow run when unset or equal to the primary
+        private long budgetMs = 2000; // Longest the primary waits for the candidate after finishing its own work
+        private double tolerance = 0.0; // Largest absolute difference of an amount that still counts as a match
+        private int maxReportedDiscrepancies = 100; // Discrepancies listed in a report; all of them are counted
+    }
+
+    /**
+     * What-if simulation settings: proposed rates are evaluated in memory over a cached workforce snapshot.
+     */
+    @Data
+    public static class Simulation {
+        private long snapshotTtlSeconds = 300; // Age after which the employee/salary snapshot is reloaded
+        private int parallelism = Runtime.getRuntime().availableProcessors(); // Threads evaluating the workforce
+        private int maxTopAffected = 100; // Upper limit of the top-N list a request may ask for
+    }
+}
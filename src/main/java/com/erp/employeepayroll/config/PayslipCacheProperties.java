@@ -0,0 +1,20 @@
+package com.erp.employeepayroll.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * HTTP caching of payslip reads, bound from {@code app.payslips.cache.*}.
+ * A PAID payslip's amounts never change again, but its response shows the employee's current name, so clients may
+ * reuse it only for a short while before revalidating; PENDING ones must always be revalidated.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.payslips.cache")
+@Data
+public class PayslipCacheProperties {
+
+    private long paidMaxAgeSeconds = 300; // How long a PAID payslip is reused without asking the server again; bounds how long a rename goes unseen
+
+    private boolean sharedCaches = false; // Mark PAID payslips public so proxies may store them; only behind a proxy that keys on the Authorization header
+}
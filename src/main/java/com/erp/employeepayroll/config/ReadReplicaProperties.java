@@ -0,0 +1,30 @@
+package com.erp.employeepayroll.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Read replica settings, bound from {@code app.datasource.replica.*}.
+ * Replica routing is only switched on when {@code app.datasource.replica.url} is set; otherwise read-only
+ * queries go to the primary datasource configured under {@code spring.datasource.*}.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.datasource.replica")
+@Data
+public class ReadReplicaProperties {
+
+    private String url; // JDBC URL of the replica; routing is disabled when empty
+
+    private String username;
+
+    private String password;
+
+    private String driverClassName; // Optional, derived from the URL when empty
+
+    private int maximumPoolSize = 10; // Size of the replica connection pool
+
+    private Duration maxLag = Duration.ofSeconds(5); // Reads stay on the primary this long after a payroll write
+}
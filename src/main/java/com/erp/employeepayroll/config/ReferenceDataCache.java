@@ -0,0 +1,57 @@
+package com.erp.employeepayroll.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Explicit eviction for the second-level cache regions holding reference data
+ * (Deduction, Role, Employment and the cached finder results over them).
+ * Writes made through the persistence context keep the entity regions consistent on their own;
+ * eviction covers the paths Hibernate cannot see (bulk JPQL/native updates, changes that alter
+ * which rows a cached finder would return) and is deferred until the writing transaction commits,
+ * so a concurrent reader cannot re-populate the cache with the pre-commit state.
+ */
+@Component
+public class ReferenceDataCache {
+
+    public static final String QUERY_REGION = "reference-data-queries"; // Region of the cacheable finders
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public ReferenceDataCache(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Evicts one cached entity and the cached finder results once the current transaction commits
+     * (immediately when no transaction is active).
+     * @param entityClass The cached entity type.
+     * @param id The id of the written entity, or null to evict the whole entity region.
+     */
+    public void evictAfterCommit(Class<?> entityClass, Object id) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict(entityClass, id);
+                }
+            });
+        } else {
+            evict(entityClass, id);
+        }
+    }
+
+    private void evict(Class<?> entityClass, Object id) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        if (id == null) {
+            cache.evictEntityData(entityClass);
+        } else {
+            cache.evictEntityData(entityClass, id);
+        }
+        cache.evictQueryRegion(QUERY_REGION);
+    }
+}
@@ -0,0 +1,54 @@
+package com.erp.employeepayroll.config;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Read-your-writes guard for replica routing.
+ * A replica trails the primary by up to the configured max lag, so right after a heavy write
+ * (e.g. a payroll run) read-only transactions are pinned to the primary until the window has passed.
+ */
+@Component
+public class ReplicaLagGuard {
+
+    private final long maxLagNanos;
+    private volatile long pinnedUntilNanos = System.nanoTime(); // Reads go to the primary until this instant
+
+    public ReplicaLagGuard(ReadReplicaProperties properties) {
+        this.maxLagNanos = properties.getMaxLag().toNanos();
+    }
+
+    /**
+     * Pins reads to the primary for the max lag window, starting when the current transaction commits
+     * (immediately when no transaction is active).
+     */
+    public void pinPrimaryAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    pinPrimary();
+                }
+            });
+        } else {
+            pinPrimary();
+        }
+    }
+
+    /**
+     * Checks whether reads may currently be served by the replica.
+     * @return True if no write was pinned within the max lag window.
+     */
+    public boolean isReplicaReadable() {
+        return System.nanoTime() - pinnedUntilNanos >= 0;
+    }
+
+    private void pinPrimary() {
+        long until = System.nanoTime() + maxLagNanos;
+        // Only ever extend the window, concurrent commits must not shorten it
+        if (until - pinnedUntilNanos > 0) {
+            pinnedUntilNanos = until;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.erp.employeepayroll.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled background jobs (e.g. payroll archival).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
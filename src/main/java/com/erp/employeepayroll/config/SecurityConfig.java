@@ -2,6 +2,8 @@ package com.erp.employeepayroll.config;
 
 import com.erp.employeepayroll.security.JwtAuthenticationEntryPoint;
 import com.erp.employeepayroll.security.JwtAuthenticationFilter;
+import com.erp.employeepayroll.security.RateLimitFilter;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -24,10 +26,14 @@ public class SecurityConfig {
 
     private final JwtAuthenticationEntryPoint authenticationEntryPoint;
     private final JwtAuthenticationFilter authenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
 
-    public SecurityConfig(JwtAuthenticationEntryPoint authenticationEntryPoint, JwtAuthenticationFilter authenticationFilter) {
+    public SecurityConfig(JwtAuthenticationEntryPoint authenticationEntryPoint,
+                          JwtAuthenticationFilter authenticationFilter,
+                          RateLimitFilter rateLimitFilter) {
         this.authenticationEntryPoint = authenticationEntryPoint;
         this.authenticationFilter = authenticationFilter;
+        this.rateLimitFilter = rateLimitFilter;
     }
 
     /**
@@ -78,7 +84,22 @@ public class SecurityConfig {
 
         // Add JWT authentication filter before Spring Security's default UsernamePasswordAuthenticationFilter
         http.addFilterBefore(authenticationFilter, UsernamePasswordAuthenticationFilter.class);
+        // Rate limiting runs after JWT authentication so buckets can be keyed by the principal
+        http.addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
+
+    /**
+     * Keeps the rate limit filter out of the servlet container chain; it must only run inside
+     * the security chain, after the principal is known.
+     * @param rateLimitFilter The rate limit filter bean.
+     * @return A disabled FilterRegistrationBean for the filter.
+     */
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(rateLimitFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
 }
@@ -0,0 +1,52 @@
+package com.erp.employeepayroll.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Picks the connection pool for the current unit of work:
+ * payroll jobs (methods annotated with {@link BatchWork}) use the batch pool, {@code @Transactional(readOnly = true)}
+ * work uses the replica when one is configured, and everything else uses the interactive pool.
+ * Must be wrapped in a LazyConnectionDataSourceProxy: the transaction manager asks for a connection before the
+ * read-only flag is bound to the thread, so the target has to be resolved when the first statement runs.
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final ThreadLocal<Boolean> BATCH_WORK = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    private final ReplicaLagGuard replicaLagGuard;
+    private final boolean replicaEnabled;
+
+    public WorkloadRoutingDataSource(ReplicaLagGuard replicaLagGuard, boolean replicaEnabled) {
+        this.replicaLagGuard = replicaLagGuard;
+        this.replicaEnabled = replicaEnabled;
+    }
+
+    /**
+     * Marks (or unmarks) the current thread as running a payroll job.
+     * @param batch True while inside a batch unit of work.
+     * @return The previous flag, to be restored when the unit of work ends.
+     */
+    static boolean setBatchWork(boolean batch) {
+        boolean previous = BATCH_WORK.get();
+        BATCH_WORK.set(batch);
+        return previous;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (BATCH_WORK.get()) {
+            return Route.BATCH;
+        }
+        if (replicaEnabled && TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && replicaLagGuard.isReplicaReadable()) {
+            return Route.REPLICA;
+        }
+        return Route.INTERACTIVE;
+    }
+
+    // Lookup keys of the target datasources
+    public enum Route {
+        INTERACTIVE, BATCH, REPLICA
+    }
+}
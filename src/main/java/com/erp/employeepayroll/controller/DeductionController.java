@@ -1,19 +1,26 @@
 package com.erp.employeepayroll.controller;
 
 import com.erp.employeepayroll.dto.request.DeductionRequest;
+import com.erp.employeepayroll.dto.request.TaxScheduleRequest;
+import com.erp.employeepayroll.dto.response.CursorPage;
+import com.erp.employeepayroll.dto.response.DeductionRateSetResponse;
 import com.erp.employeepayroll.dto.response.DeductionResponse;
+import com.erp.employeepayroll.dto.response.TaxScheduleResponse;
 import com.erp.employeepayroll.model.Deduction;
+import com.erp.employeepayroll.service.DeductionRateService;
 import com.erp.employeepayroll.service.DeductionService;
+import com.erp.employeepayroll.service.TaxBracketService;
 
 import com.erp.employeepayroll.util.SwaggerTags;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/deductions")
@@ -22,6 +29,8 @@ import java.util.List;
 public class DeductionController {
 
     private final DeductionService deductionService;
+    private final DeductionRateService deductionRateService;
+    private final TaxBracketService taxBracketService;
 
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
@@ -39,8 +48,9 @@ public class DeductionController {
 
     @GetMapping
     @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
-    public ResponseEntity<List<DeductionResponse>> getAllDeductions() {
-        return ResponseEntity.ok(deductionService.getAllDeductions());
+    public ResponseEntity<CursorPage<DeductionResponse>> getAllDeductions(@RequestParam(required = false) String cursor,
+                                                                          @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(deductionService.getAllDeductions(cursor, size));
     }
 
     @GetMapping("/{id}")
@@ -49,6 +59,30 @@ public class DeductionController {
         return ResponseEntity.ok(deductionService.getDeductionById(id));
     }
 
+    @PostMapping("/tax-schedules")
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    public ResponseEntity<TaxScheduleResponse> createTaxSchedule(@Valid @RequestBody TaxScheduleRequest request) {
+        return ResponseEntity.ok(taxBracketService.createSchedule(request));
+    }
+
+    @GetMapping("/tax-schedules")
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    public ResponseEntity<TaxScheduleResponse> getTaxSchedule(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(taxBracketService.getScheduleOn(date));
+    }
+
+    @GetMapping("/rate-sets")
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    public ResponseEntity<DeductionRateSetResponse> getRateSetForPeriod(@RequestParam Integer month, @RequestParam Integer year) {
+        return ResponseEntity.ok(deductionRateService.getRateSetFor(month, year));
+    }
+
+    @GetMapping("/rate-sets/{id}")
+    @PreAuthorize("hasAnyRole('MANAGER', 'ADMIN')")
+    public ResponseEntity<DeductionRateSetResponse> getRateSet(@PathVariable Long id) {
+        return ResponseEntity.ok(deductionRateService.getRateSet(id));
+    }
+
     @DeleteMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     public ResponseEntity<Void> deleteDeduction(@PathVariable Long id) {
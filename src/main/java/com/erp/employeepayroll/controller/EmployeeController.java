@@ -1,7 +1,13 @@
 package com.erp.employeepayroll.controller;
 
 import com.erp.employeepayroll.dto.request.EmployeeRequest;
+import com.erp.employeepayroll.dto.response.CursorPage;
 import com.erp.employeepayroll.dto.response.EmployeeResponse;
+import com.erp.employeepayroll.dto.response.EmployeeSearchHit;
+import com.erp.employeepayroll.dto.response.ImportReport;
+import com.erp.employeepayroll.dto.response.SearchPage;
+import com.erp.employeepayroll.model.Employee;
+import com.erp.employeepayroll.service.EmployeeImportService;
 import com.erp.employeepayroll.service.EmployeeService;
 import com.erp.employeepayroll.util.SwaggerTags;
 import io.swagger.v3.oas.annotations.Operation;
@@ -9,12 +15,15 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * REST Controller for managing Employee personal information.
@@ -26,9 +35,11 @@ import java.util.List;
 public class EmployeeController {
 
     private final EmployeeService employeeService;
+    private final EmployeeImportService employeeImportService;
 
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(EmployeeService employeeService, EmployeeImportService employeeImportService) {
         this.employeeService = employeeService;
+        this.employeeImportService = employeeImportService;
     }
 
     /**
@@ -54,6 +65,35 @@ public class EmployeeController {
         return new ResponseEntity<>(createdEmployee, HttpStatus.CREATED);
     }
 
+    /**
+     * Imports employees, and optionally their employment records, in bulk. Requires 'MANAGER' role.
+     *
+     * @param contentType text/csv or application/json.
+     * @param body The streamed upload.
+     * @return ResponseEntity with the ImportReport listing the rejected rows.
+     * @throws IOException if the upload cannot be read.
+     */
+    @Operation(
+            summary = "Bulk Import Employees",
+            description = "Imports employees from a CSV file (header row with EmployeeImportRow property names, roles separated by ';') "
+                    + "or a JSON array. Valid rows are imported, invalid or duplicate rows are listed in the report. Requires MANAGER role.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Import finished, see the report for rejected rows"),
+                    @ApiResponse(responseCode = "400", description = "Bad Request - Unknown CSV column"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized - Missing or invalid JWT"),
+                    @ApiResponse(responseCode = "403", description = "Forbidden - User does not have MANAGER role")
+            }
+    )
+    @PreAuthorize("hasAnyRole('MANAGER')")
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<ImportReport> importEmployees(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                        InputStream body) throws IOException {
+        EmployeeImportService.Format format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.APPLICATION_JSON)
+                ? EmployeeImportService.Format.JSON : EmployeeImportService.Format.CSV;
+        ImportReport report = employeeImportService.importEmployees(body, format);
+        return new ResponseEntity<>(report, HttpStatus.OK);
+    }
+
     /**
      * Retrieves an employee by their ID. Accessible by 'ADMIN', 'MANAGER', or the 'EMPLOYEE' themselves.
      *
@@ -103,13 +143,16 @@ public class EmployeeController {
     }
 
     /**
-     * Retrieves all employee records. Requires 'ADMIN' or 'MANAGER' role.
+     * Retrieves employee records one page at a time. Requires 'ADMIN' or 'MANAGER' role.
      *
-     * @return ResponseEntity with a list of all EmployeeResponse DTOs.
+     * @param status The status to list; defaults to ACTIVE, pass DISABLED to list soft-deleted employees.
+     * @param cursor The nextCursor returned by the previous page; omit for the first page.
+     * @param size The page size (defaults to 50, at most 500).
+     * @return ResponseEntity with a CursorPage of EmployeeResponse DTOs.
      */
     @Operation(
             summary = "Get All Employees",
-            description = "Retrieves a list of all employee records. Requires ADMIN or MANAGER role.",
+            description = "Retrieves employee records with the given status (ACTIVE by default) page by page; pass nextCursor back as 'cursor' for the next page. Requires ADMIN or MANAGER role.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Employees retrieved successfully"),
                     @ApiResponse(responseCode = "401", description = "Unauthorized - Missing or invalid JWT"),
@@ -118,11 +161,42 @@ public class EmployeeController {
     )
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     @GetMapping
-    public ResponseEntity<List<EmployeeResponse>> getAllEmployees() {
-        List<EmployeeResponse> employees = employeeService.getAllEmployees();
+    public ResponseEntity<CursorPage<EmployeeResponse>> getAllEmployees(@RequestParam(required = false) Employee.EmployeeStatus status,
+                                                                        @RequestParam(required = false) String cursor,
+                                                                        @RequestParam(required = false) Integer size) {
+        CursorPage<EmployeeResponse> employees = employeeService.getAllEmployees(status, cursor, size);
         return new ResponseEntity<>(employees, HttpStatus.OK);
     }
 
+    /**
+     * Searches employees as the user types. Requires 'ADMIN' or 'MANAGER' role.
+     *
+     * @param q The search text.
+     * @param status The status to search (ACTIVE when omitted).
+     * @param page The 0-based page number.
+     * @param size The page size.
+     * @return ResponseEntity with a SearchPage of matching employees.
+     */
+    @Operation(
+            summary = "Search Employees",
+            description = "Typeahead search by prefix of the employee code, first/last name, email or mobile. Every word of 'q' must match; "
+                    + "results are ranked with exact and code/email/mobile matches first. Requires ADMIN or MANAGER role.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Search results retrieved successfully"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized - Missing or invalid JWT"),
+                    @ApiResponse(responseCode = "403", description = "Forbidden - User does not have ADMIN or MANAGER role")
+            }
+    )
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @GetMapping("/search")
+    public ResponseEntity<SearchPage<EmployeeSearchHit>> searchEmployees(@RequestParam String q,
+                                                                         @RequestParam(required = false) Employee.EmployeeStatus status,
+                                                                         @RequestParam(required = false) Integer page,
+                                                                         @RequestParam(required = false) Integer size) {
+        SearchPage<EmployeeSearchHit> results = employeeService.searchEmployees(q, status, page, size);
+        return new ResponseEntity<>(results, HttpStatus.OK);
+    }
+
     /**
      * Updates an existing employee record. Requires 'ADMIN' or 'MANAGER' role.
      *
@@ -1,7 +1,12 @@
 package com.erp.employeepayroll.controller;
 
 import com.erp.employeepayroll.dto.request.EmploymentRequest;
+import com.erp.employeepayroll.dto.request.SalaryAdjustmentRequest;
+import com.erp.employeepayroll.dto.response.CursorPage;
+import com.erp.employeepayroll.dto.response.EmploymentPeriodResponse;
 import com.erp.employeepayroll.dto.response.EmploymentResponse;
+import com.erp.employeepayroll.dto.response.SalaryAdjustmentResponse;
+import com.erp.employeepayroll.service.EmploymentHistoryService;
 import com.erp.employeepayroll.service.EmploymentService;
 import com.erp.employeepayroll.util.SwaggerTags;
 import io.swagger.v3.oas.annotations.Operation;
@@ -9,11 +14,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -27,9 +34,11 @@ import java.util.List;
 public class EmploymentController {
 
     private final EmploymentService employmentService;
+    private final EmploymentHistoryService employmentHistoryService;
 
-    public EmploymentController(EmploymentService employmentService) {
+    public EmploymentController(EmploymentService employmentService, EmploymentHistoryService employmentHistoryService) {
         this.employmentService = employmentService;
+        this.employmentHistoryService = employmentHistoryService;
     }
 
     @Operation(
@@ -50,6 +59,25 @@ public class EmploymentController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @Operation(
+            summary = "Bulk salary adjustment",
+            description = "Applies a percentage or fixed change to the base salary of all employment records matching the "
+                    + "department/position/status filters (status defaults to ACTIVE) in one update. With dryRun=true only "
+                    + "the affected count and cost delta are returned. Accessible by ADMIN and MANAGER.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Adjustment applied or previewed"),
+                    @ApiResponse(responseCode = "400", description = "Invalid input or a salary would become negative"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized"),
+                    @ApiResponse(responseCode = "403", description = "Forbidden: Access denied")
+            }
+    )
+    @PostMapping("/salary-adjustments")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<SalaryAdjustmentResponse> adjustSalaries(@Valid @RequestBody SalaryAdjustmentRequest request) {
+        SalaryAdjustmentResponse response = employmentService.adjustSalaries(request);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
     @Operation(
             summary = "Get employment record by ID",
             description = "Retrieves a specific employment record by its unique ID. Accessible by ADMIN, MANAGER, and the associated EMPLOYEE.",
@@ -67,9 +95,45 @@ public class EmploymentController {
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 
+    @Operation(
+            summary = "Get employment record history",
+            description = "Retrieves the effective-dated history (department, position, salary, status) of an employment record, oldest first. Accessible by ADMIN and MANAGER.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "History retrieved successfully"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized"),
+                    @ApiResponse(responseCode = "403", description = "Forbidden: Access denied")
+            }
+    )
+    @GetMapping("/{id}/history")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<List<EmploymentPeriodResponse>> getEmploymentHistory(@PathVariable Long id) {
+        List<EmploymentPeriodResponse> response = employmentHistoryService.getHistory(id);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Get salaries as of a date",
+            description = "Resolves the active employment period (and so the base salary) of each given employee on a date in one query. "
+                    + "Employees without an active employment on that date are omitted. Accessible by ADMIN and MANAGER.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Salaries resolved successfully"),
+                    @ApiResponse(responseCode = "400", description = "Too many employees requested"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized"),
+                    @ApiResponse(responseCode = "403", description = "Forbidden: Access denied")
+            }
+    )
+    @GetMapping("/salaries")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    public ResponseEntity<List<EmploymentPeriodResponse>> getSalariesAsOf(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf,
+            @RequestParam List<Long> employeeIds) {
+        List<EmploymentPeriodResponse> response = employmentHistoryService.getSalariesAsOf(employeeIds, asOf);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
     @Operation(
             summary = "Get all employment records",
-            description = "Retrieves a list of all employment records. Only accessible by ADMIN and MANAGER roles.",
+            description = "Retrieves employment records page by page; pass nextCursor back as 'cursor' for the next page. Only accessible by ADMIN and MANAGER roles.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "List of employment records retrieved successfully"),
                     @ApiResponse(responseCode = "401", description = "Unauthorized"),
@@ -78,8 +142,9 @@ public class EmploymentController {
     )
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
-    public ResponseEntity<List<EmploymentResponse>> getAllEmployments() {
-        List<EmploymentResponse> responses = employmentService.getAllEmployments();
+    public ResponseEntity<CursorPage<EmploymentResponse>> getAllEmployments(@RequestParam(required = false) String cursor,
+                                                                            @RequestParam(required = false) Integer size) {
+        CursorPage<EmploymentResponse> responses = employmentService.getAllEmployments(cursor, size);
         return new ResponseEntity<>(responses, HttpStatus.OK);
     }
 
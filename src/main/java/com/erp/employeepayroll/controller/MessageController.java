@@ -1,5 +1,6 @@
 package com.erp.employeepayroll.controller;
 
+import com.erp.employeepayroll.dto.response.CursorPage;
 import com.erp.employeepayroll.dto.response.MessageResponse;
 import com.erp.employeepayroll.service.MessageService;
 import com.erp.employeepayroll.util.SwaggerTags;
@@ -12,8 +13,6 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
-
 /**
  * REST Controller for managing Messages.
  * Provides endpoints for employees and managers to view system-generated messages,
@@ -50,7 +49,7 @@ public class MessageController {
 
     @Operation(
             summary = "Get all messages for a specific employee",
-            description = "Retrieves all messages sent to a particular employee. Accessible by Admins and Managers. An Employee can only retrieve their own messages.",
+            description = "Retrieves messages sent to a particular employee page by page. Accessible by Admins and Managers. An Employee can only retrieve their own messages.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Messages retrieved successfully"),
                     @ApiResponse(responseCode = "404", description = "Employee not found"),
@@ -60,8 +59,10 @@ public class MessageController {
     )
     @GetMapping("/employee/{employeeId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')") // Assumes authentication.principal.id provides employee ID
-    public ResponseEntity<List<MessageResponse>> getMessagesByEmployee(@PathVariable Long employeeId) {
-        List<MessageResponse> messages = messageService.getMessagesByEmployee(employeeId);
+    public ResponseEntity<CursorPage<MessageResponse>> getMessagesByEmployee(@PathVariable Long employeeId,
+                                                                             @RequestParam(required = false) String cursor,
+                                                                             @RequestParam(required = false) Integer size) {
+        CursorPage<MessageResponse> messages = messageService.getMessagesByEmployee(employeeId, cursor, size);
         return new ResponseEntity<>(messages, HttpStatus.OK);
     }
 }
\ No newline at end of file
@@ -1,19 +1,33 @@
 package com.erp.employeepayroll.controller;
 
+import com.erp.employeepayroll.config.PayslipCacheProperties;
+import com.erp.employeepayroll.dto.request.PayrollSimulationRequest;
 import com.erp.employeepayroll.dto.request.PayslipGenerationRequest;
+import com.erp.employeepayroll.dto.response.CursorPage;
+import com.erp.employeepayroll.dto.response.PayrollSimulationResponse;
 import com.erp.employeepayroll.dto.response.PayslipResponse;
+import com.erp.employeepayroll.dto.response.ShadowRunReport;
+import com.erp.employeepayroll.dto.response.TaxCertificateReport;
+import com.erp.employeepayroll.dto.response.YearToDateResponse;
+import com.erp.employeepayroll.repository.PayslipTag;
+import com.erp.employeepayroll.service.PayrollSimulationService;
 import com.erp.employeepayroll.service.PayslipService;
+import com.erp.employeepayroll.service.TaxCertificateService;
+import com.erp.employeepayroll.util.EntityTags;
 import com.erp.employeepayroll.util.SwaggerTags;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -26,9 +40,16 @@ import java.util.List;
 public class PayslipController {
 
     private final PayslipService payslipService;
+    private final TaxCertificateService taxCertificateService;
+    private final PayrollSimulationService payrollSimulationService;
+    private final PayslipCacheProperties cacheProperties;
 
-    public PayslipController(PayslipService payslipService) {
+    public PayslipController(PayslipService payslipService, TaxCertificateService taxCertificateService,
+                             PayrollSimulationService payrollSimulationService, PayslipCacheProperties cacheProperties) {
         this.payslipService = payslipService;
+        this.taxCertificateService = taxCertificateService;
+        this.payrollSimulationService = payrollSimulationService;
+        this.cacheProperties = cacheProperties;
     }
 
     /**
@@ -55,6 +76,29 @@ public class PayslipController {
         return new ResponseEntity<>(payslips, HttpStatus.OK);
     }
 
+    /**
+     * Simulates a payroll period under proposed rates without saving anything.
+     * Only accessible by users with 'ADMIN' or 'MANAGER' roles.
+     *
+     * @param request DTO containing the period, the proposed percentages by deduction name and the top-N size.
+     * @return ResponseEntity with the PayrollSimulationResponse comparing the proposal with the rates in force.
+     */
+    @Operation(
+            summary = "Simulate Proposed Payroll Rates",
+            description = "Evaluates the whole active workforce under proposed deduction and allowance percentages and returns the total, per-department and top-N employee impact compared with the rates in force. Nothing is saved. Requires ADMIN or MANAGER role.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Simulation completed"),
+                    @ApiResponse(responseCode = "400", description = "Bad Request - Invalid input or unknown rate name"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized - Missing or invalid JWT"),
+                    @ApiResponse(responseCode = "403", description = "Forbidden - User does not have ADMIN or MANAGER role")
+            }
+    )
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @PostMapping("/simulations")
+    public ResponseEntity<PayrollSimulationResponse> simulatePayroll(@Valid @RequestBody PayrollSimulationRequest request) {
+        return new ResponseEntity<>(payrollSimulationService.simulate(request), HttpStatus.OK);
+    }
+
     /**
      * Approves payslips for a specified month and year, changing their status from PENDING to PAID.
      * Only accessible by users with 'ADMIN' or 'MANAGER' roles.
@@ -84,15 +128,19 @@ public class PayslipController {
     /**
      * Retrieves a single payslip by its ID.
      * Accessible by 'ADMIN', 'MANAGER', or the 'EMPLOYEE' who owns the payslip.
+     * The response carries a strong ETag; a request whose If-None-Match still matches it is answered with 304
+     * after reading only the payslip's tag. PAID payslips may be cached by the client, PENDING ones must be revalidated.
      *
      * @param id The ID of the payslip.
-     * @return ResponseEntity with the PayslipResponse DTO.
+     * @param ifNoneMatch The ETags the client already holds, if any.
+     * @return ResponseEntity with the PayslipResponse DTO, or an empty 304.
      */
     @Operation(
             summary = "Get Payslip by ID",
             description = "Retrieves a single payslip by its ID. Requires ADMIN, MANAGER, or ownership by the employee.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Payslip found"),
+                    @ApiResponse(responseCode = "304", description = "Not Modified - The payslip still matches If-None-Match"),
                     @ApiResponse(responseCode = "401", description = "Unauthorized - Missing or invalid JWT"),
                     @ApiResponse(responseCode = "403", description = "Forbidden - User not authorized to view this payslip"),
                     @ApiResponse(responseCode = "404", description = "Not Found - Payslip not found")
@@ -103,23 +151,36 @@ public class PayslipController {
     // A more explicit check would be: @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER') or @securityService.isPayslipOwner(#id, authentication.name)")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
     @GetMapping("/{id}")
-    public ResponseEntity<PayslipResponse> getPayslipById(@PathVariable Long id) {
+    public ResponseEntity<PayslipResponse> getPayslipById(@PathVariable Long id,
+                                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        PayslipTag tag = payslipService.getPayslipTag(id);
+        String etag = EntityTags.of(List.of(tag.value()));
+        CacheControl cacheControl = tag.isPaid() ? paidCacheControl() : CacheControl.noCache().cachePrivate();
+        if (EntityTags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
         PayslipResponse payslip = payslipService.getPayslipById(id);
-        return new ResponseEntity<>(payslip, HttpStatus.OK);
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(payslip);
     }
 
     /**
-     * Retrieves all payslips for a specific employee.
+     * Retrieves payslips for a specific employee one page at a time.
      * Accessible by 'ADMIN', 'MANAGER', or the 'EMPLOYEE' themselves.
+     * The page carries a strong ETag over the tags of its payslips and is always revalidated, since new payslips and
+     * approvals change it; a matching If-None-Match is answered with 304 without building the page.
      *
      * @param employeeId The ID of the employee.
-     * @return ResponseEntity with a list of PayslipResponse DTOs.
+     * @param cursor The nextCursor returned by the previous page; omit for the first page.
+     * @param size The page size (defaults to 50, at most 500).
+     * @param ifNoneMatch The ETags the client already holds, if any.
+     * @return ResponseEntity with a CursorPage of PayslipResponse DTOs, or an empty 304.
      */
     @Operation(
             summary = "Get All Payslips for an Employee",
-            description = "Retrieves all payslips for a specific employee. Requires ADMIN, MANAGER, or ownership by the employee.",
+            description = "Retrieves payslips for a specific employee page by page. Requires ADMIN, MANAGER, or ownership by the employee.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Payslips retrieved successfully"),
+                    @ApiResponse(responseCode = "304", description = "Not Modified - The page still matches If-None-Match"),
                     @ApiResponse(responseCode = "401", description = "Unauthorized - Missing or invalid JWT"),
                     @ApiResponse(responseCode = "403", description = "Forbidden - User not authorized to view these payslips"),
                     @ApiResponse(responseCode = "404", description = "Not Found - Employee not found")
@@ -128,22 +189,58 @@ public class PayslipController {
     // Same note as above regarding @PreAuthorize for ownership.
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
     @GetMapping("/employee/{employeeId}")
-    public ResponseEntity<List<PayslipResponse>> getPayslipsByEmployee(@PathVariable Long employeeId) {
-        List<PayslipResponse> payslips = payslipService.getPayslipsByEmployee(employeeId);
-        return new ResponseEntity<>(payslips, HttpStatus.OK);
+    public ResponseEntity<CursorPage<PayslipResponse>> getPayslipsByEmployee(@PathVariable Long employeeId,
+                                                                             @RequestParam(required = false) String cursor,
+                                                                             @RequestParam(required = false) Integer size,
+                                                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = EntityTags.of(payslipService.getPayslipTagsByEmployee(employeeId, cursor, size).stream()
+                .map(PayslipTag::value)
+                .toList());
+        CacheControl cacheControl = CacheControl.noCache().cachePrivate();
+        if (EntityTags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(cacheControl).build();
+        }
+        CursorPage<PayslipResponse> payslips = payslipService.getPayslipsByEmployee(employeeId, cursor, size);
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(payslips);
     }
 
     /**
-     * Retrieves all payslips for a specific month and year.
+     * Retrieves an employee's year-to-date payroll totals (the annual statement once the year is over).
+     * Accessible by 'ADMIN', 'MANAGER', or the 'EMPLOYEE' themselves.
+     *
+     * @param employeeId The ID of the employee.
+     * @param year The year.
+     * @return ResponseEntity with the YearToDateResponse DTO.
+     */
+    @Operation(
+            summary = "Get Year-to-Date Totals for an Employee",
+            description = "Retrieves the totals of an employee's approved payslips in a year. Requires ADMIN, MANAGER, or ownership by the employee.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Totals found"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized - Missing or invalid JWT"),
+                    @ApiResponse(responseCode = "403", description = "Forbidden - User not authorized to view these totals"),
+                    @ApiResponse(responseCode = "404", description = "Not Found - No approved payslip for the employee in that year")
+            }
+    )
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
+    @GetMapping("/employee/{employeeId}/year-to-date/{year}")
+    public ResponseEntity<YearToDateResponse> getYearToDate(@PathVariable Long employeeId, @PathVariable Integer year) {
+        return new ResponseEntity<>(payslipService.getYearToDate(employeeId, year), HttpStatus.OK);
+    }
+
+    /**
+     * Retrieves payslips for a specific month and year one page at a time.
      * Only accessible by users with 'ADMIN' or 'MANAGER' roles.
      *
      * @param month The month (1-12).
      * @param year The year.
-     * @return ResponseEntity with a list of PayslipResponse DTOs.
+     * @param cursor The nextCursor returned by the previous page; omit for the first page.
+     * @param size The page size (defaults to 50, at most 500).
+     * @return ResponseEntity with a CursorPage of PayslipResponse DTOs.
      */
     @Operation(
             summary = "Get Payslips by Month and Year",
-            description = "Retrieves all payslips for a given month and year. Requires ADMIN or MANAGER role.",
+            description = "Retrieves payslips for a given month and year page by page. Requires ADMIN or MANAGER role.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Payslips retrieved successfully"),
                     @ApiResponse(responseCode = "401", description = "Unauthorized - Missing or invalid JWT"),
@@ -152,9 +249,63 @@ public class PayslipController {
     )
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     @GetMapping("/month/{month}/year/{year}")
-    public ResponseEntity<List<PayslipResponse>> getPayslipsByMonthAndYear(
-            @PathVariable Integer month, @PathVariable Integer year) {
-        List<PayslipResponse> payslips = payslipService.getPayslipsByMonthAndYear(month, year);
+    public ResponseEntity<CursorPage<PayslipResponse>> getPayslipsByMonthAndYear(
+            @PathVariable Integer month, @PathVariable Integer year,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
+        CursorPage<PayslipResponse> payslips = payslipService.getPayslipsByMonthAndYear(month, year, cursor, size);
         return new ResponseEntity<>(payslips, HttpStatus.OK);
     }
-}
\ No newline at end of file
+
+    /**
+     * Retrieves the comparison of the last payroll run of a month and year with its shadow engine run.
+     * Only accessible by users with 'ADMIN' or 'MANAGER' roles.
+     *
+     * @param month The month (1-12).
+     * @param year The year.
+     * @return ResponseEntity with the ShadowRunReport.
+     */
+    @Operation(
+            summary = "Get the Shadow Run Report of a Month/Year",
+            description = "Compares the saved payslips of the last run with the candidate engine configured in app.payroll.shadow.engine, field by field, with the timing of both engines. Requires ADMIN or MANAGER role.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Report found"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized - Missing or invalid JWT"),
+                    @ApiResponse(responseCode = "403", description = "Forbidden - User does not have ADMIN or MANAGER role"),
+                    @ApiResponse(responseCode = "404", description = "Not Found - The period was not run with a shadow engine since startup")
+            }
+    )
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @GetMapping("/shadow-reports/{month}/{year}")
+    public ResponseEntity<ShadowRunReport> getShadowRunReport(@PathVariable Integer month, @PathVariable Integer year) {
+        return new ResponseEntity<>(payslipService.getShadowRunReport(month, year), HttpStatus.OK);
+    }
+
+    /**
+     * Generates the tax and pension certificates of every employee paid in a year into one bulk file.
+     * Only accessible by users with 'ADMIN' role.
+     *
+     * @param year The year.
+     * @return ResponseEntity with the TaxCertificateReport, including the file written and the throughput.
+     */
+    @Operation(
+            summary = "Generate the Annual Tax Certificates of a Year",
+            description = "Streams the year's paid payslips once, ordered by employee, and writes one certificate per employee to a bulk CSV file in app.certificates.directory. Requires ADMIN role.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Certificates written"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized - Missing or invalid JWT"),
+                    @ApiResponse(responseCode = "403", description = "Forbidden - User does not have ADMIN role")
+            }
+    )
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    @PostMapping("/tax-certificates/{year}")
+    public ResponseEntity<TaxCertificateReport> generateTaxCertificates(@PathVariable Integer year) {
+        return new ResponseEntity<>(taxCertificateService.generateCertificates(year), HttpStatus.OK);
+    }
+
+    // A PAID payslip's amounts are final but its response shows the employee's current name, so it is reused briefly and
+    // then revalidated; the response is per user, so only the client keeps it unless configured otherwise
+    private CacheControl paidCacheControl() {
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofSeconds(cacheProperties.getPaidMaxAgeSeconds())).mustRevalidate();
+        return cacheProperties.isSharedCaches() ? cacheControl.cachePublic() : cacheControl.cachePrivate();
+    }
+}
@@ -6,6 +6,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDate;
+
 /**
  * DTO for creating or updating a Deduction record.
  */
@@ -27,4 +29,8 @@ public class DeductionRequest {
     @DecimalMin(value = "0.0", message = "Percentage must be non-negative")
     @DecimalMax(value = "100.0", message = "Percentage cannot exceed 100")
     private Double percentage; // Store as 5.0 for 5%
+
+    private Long version; // Version the client last read; if set, the update is rejected with 409 when the record changed since
+
+    private LocalDate effectiveFrom; // First day payroll periods use the new rate; defaults to today, may be in the future
 }
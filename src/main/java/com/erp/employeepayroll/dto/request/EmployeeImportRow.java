@@ -0,0 +1,94 @@
+package com.erp.employeepayroll.dto.request;
+
+import com.erp.employeepayroll.model.Employee;
+import com.erp.employeepayroll.model.Employment;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * One record of a bulk import: an employee and, optionally, their employment.
+ * The employment columns are either all empty or all filled in.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeImportRow {
+
+    @NotBlank(message = "Employee code cannot be blank")
+    @Size(max = 50, message = "Employee code cannot exceed 50 characters")
+    private String code;
+
+    @NotBlank(message = "First name cannot be blank")
+    @Size(max = 100, message = "First name cannot exceed 100 characters")
+    private String firstName;
+
+    @NotBlank(message = "Last name cannot be blank")
+    @Size(max = 100, message = "Last name cannot exceed 100 characters")
+    private String lastName;
+
+    @NotBlank(message = "Email cannot be blank")
+    @Email(message = "Email should be valid")
+    @Size(max = 100, message = "Email cannot exceed 100 characters")
+    private String email;
+
+    @NotBlank(message = "Password cannot be blank")
+    @Size(min = 6, max = 120, message = "Password must be between 6 and 120 characters")
+    private String password;
+
+    @Size(max = 20, message = "Mobile number cannot exceed 20 characters")
+    private String mobile;
+
+    @NotNull(message = "Date of birth cannot be null")
+    @PastOrPresent(message = "Date of birth cannot be in the future")
+    private LocalDate dateOfBirth;
+
+    @NotNull(message = "Status cannot be null")
+    private Employee.EmployeeStatus status;
+
+    private Set<String> roles; // Defaults to ROLE_EMPLOYEE when empty
+
+    @Size(max = 50, message = "Employment code cannot exceed 50 characters")
+    private String employmentCode; // Set to also create an employment record
+
+    @Size(max = 100, message = "Department cannot exceed 100 characters")
+    private String department;
+
+    @Size(max = 100, message = "Position cannot exceed 100 characters")
+    private String position;
+
+    @PositiveOrZero(message = "Base salary must be a non-negative value")
+    private Double baseSalary;
+
+    private Employment.EmploymentStatus employmentStatus;
+
+    @PastOrPresent(message = "Joining date cannot be in the future")
+    private LocalDate joiningDate;
+
+    /**
+     * @return true if the row carries an employment record.
+     */
+    @JsonIgnore
+    public boolean hasEmployment() {
+        return employmentCode != null && !employmentCode.isBlank();
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Employment code, department, position, base salary, employment status and joining date must be given together")
+    public boolean isEmploymentComplete() {
+        boolean anyEmploymentField = department != null || position != null || baseSalary != null
+                || employmentStatus != null || joiningDate != null;
+        if (!hasEmployment()) {
+            return !anyEmploymentField;
+        }
+        return department != null && !department.isBlank() && position != null && !position.isBlank()
+                && baseSalary != null && employmentStatus != null && joiningDate != null;
+    }
+}
@@ -53,4 +53,6 @@ public class EmployeeRequest {
 
     @NotEmpty(message = "At least one role must be assigned")
     private Set<String> roles; // e.g., ["ROLE_EMPLOYEE", "ROLE_MANAGER"]
+
+    private Long version; // Version the client last read; if set, the update is rejected with 409 when the record changed since
 }
@@ -45,4 +45,10 @@ public class EmploymentRequest {
     @PastOrPresent(message = "Joining date cannot be in the future")
     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
     private LocalDate joiningDate;
-}
\ No newline at end of file
+
+    @PastOrPresent(message = "Effective date cannot be in the future")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate effectiveFrom; // On update: first day the changed values apply in the employment history; defaults to today
+
+    private Long version; // Version the client last read; if set, the update is rejected with 409 when the record changed since
+}
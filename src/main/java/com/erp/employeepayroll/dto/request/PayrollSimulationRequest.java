@@ -0,0 +1,34 @@
+package com.erp.employeepayroll.dto.request;
+
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO for a what-if payroll simulation: proposed rates compared with those in force, nothing saved.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PayrollSimulationRequest {
+
+    @Min(value = 1, message = "Month must be between 1 and 12")
+    @Max(value = 12, message = "Month must be between 1 and 12")
+    private Integer month; // Period whose rates in force are the baseline; defaults to the current month
+
+    @Min(value = 2000, message = "Year must be 2000 or later")
+    private Integer year; // Defaults to the current year
+
+    @NotEmpty(message = "At least one rate override is required")
+    private Map<@NotBlank String, @NotNull @DecimalMin("0.0") @DecimalMax("100.0") Double> overrides; // Proposed percentage by deduction name, e.g. {"Pension": 8.0}
+
+    @Min(value = 1, message = "topAffected must be at least 1")
+    private Integer topAffected; // Employees listed by largest net salary change; defaults to 10
+
+    private boolean refreshSnapshot; // Reload the employee/salary snapshot instead of using the cached one
+}
@@ -1,5 +1,6 @@
 package com.erp.employeepayroll.dto.request;
 
+import com.erp.employeepayroll.config.PayrollProperties;
 
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
@@ -26,4 +27,10 @@ public class PayslipGenerationRequest {
     @NotNull(message = "Year cannot be null")
     @Min(value = 2000, message = "Year must be 2000 or later") // Adjust as per business rule
     private Integer year;
+
+    private PayrollProperties.Engine engine; // Optional; defaults to app.payroll.engine
+
+    public PayslipGenerationRequest(Integer month, Integer year) {
+        this(month, year, null);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.erp.employeepayroll.dto.request;
+
+import com.erp.employeepayroll.model.Employment;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a bulk change of Employment.baseSalary over all records matching the filters.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalaryAdjustmentRequest {
+
+    /**
+     * How the amount is applied to each base salary.
+     */
+    public enum AdjustmentType {
+        PERCENTAGE, // amount is a percentage, e.g. 5.0 raises every salary by 5%
+        FIXED // amount is added to every salary (negative to reduce)
+    }
+
+    @Size(max = 100, message = "Department cannot exceed 100 characters")
+    private String department; // Only records of this department, or all departments if null
+
+    @Size(max = 100, message = "Position cannot exceed 100 characters")
+    private String position; // Only records with this position, or all positions if null
+
+    private Employment.EmploymentStatus status; // Only records with this status; defaults to ACTIVE
+
+    @NotNull(message = "Adjustment type cannot be null")
+    private AdjustmentType type;
+
+    @NotNull(message = "Adjustment amount cannot be null")
+    private Double amount;
+
+    private boolean dryRun; // If true, only report the affected count and cost delta without changing anything
+}
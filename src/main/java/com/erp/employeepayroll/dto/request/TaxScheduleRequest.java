@@ -0,0 +1,46 @@
+package com.erp.employeepayroll.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for creating a progressive tax schedule.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaxScheduleRequest {
+
+    @NotNull(message = "Effective date cannot be null")
+    private LocalDate effectiveFrom; // First day payroll periods use the schedule; may be in the future
+
+    @NotEmpty(message = "A tax schedule needs at least one bracket")
+    @Size(max = 64, message = "A tax schedule cannot have more than 64 brackets")
+    private List<@Valid @NotNull Bracket> brackets; // By ascending lower bound, the first starting at 0
+
+    /**
+     * A bracket: the monthly income from lowerBound up to the next bracket's lowerBound is taxed at rate.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bracket {
+
+        @NotNull(message = "Lower bound cannot be null")
+        @DecimalMin(value = "0.0", message = "Lower bound must be non-negative")
+        private Double lowerBound;
+
+        @NotNull(message = "Rate cannot be null")
+        @DecimalMin(value = "0.0", message = "Rate must be non-negative")
+        @DecimalMax(value = "100.0", message = "Rate cannot exceed 100")
+        private Double rate; // Store as 20.0 for 20%
+    }
+}
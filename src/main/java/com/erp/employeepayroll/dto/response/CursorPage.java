@@ -0,0 +1,41 @@
+package com.erp.employeepayroll.dto.response;
+
+import com.erp.employeepayroll.util.PageCursor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * DTO for one page of a keyset-paginated list.
+ * Pass nextCursor back as the "cursor" query parameter to fetch the following page; it is null on the last page.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPage<T> {
+    private List<T> items;
+    private int size; // Number of items on this page
+    private String nextCursor; // Opaque token for the next page, or null if this is the last page
+
+    /**
+     * Builds a page from rows fetched with PageCursor.limitFor(size), i.e. up to size + 1 rows.
+     * @param rows Rows ordered by id ascending.
+     * @param size The requested page size.
+     * @param idOf Extracts the sort key (id) from a row.
+     * @param mapper Maps a row to its response DTO.
+     * @return The page of mapped items with the cursor for the next page.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, Integer size, Function<E, Long> idOf, Function<E, T> mapper) {
+        int pageSize = PageCursor.pageSize(size);
+        boolean hasNext = rows.size() > pageSize;
+        List<E> pageRows = hasNext ? rows.subList(0, pageSize) : rows;
+        List<T> items = pageRows.stream().map(mapper).toList();
+        String nextCursor = hasNext ? PageCursor.encode(idOf.apply(pageRows.get(pageSize - 1))) : null;
+        return new CursorPage<>(items, items.size(), nextCursor);
+    }
+}
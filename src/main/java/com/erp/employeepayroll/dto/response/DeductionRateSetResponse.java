@@ -0,0 +1,33 @@
+package com.erp.employeepayroll.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO for responding with a frozen deduction rate set.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeductionRateSetResponse {
+    private Long id; // Matches PayslipResponse.rateSetId of the payslips calculated with this set
+    private LocalDate effectiveDate; // Date of the first resolution that produced this set
+    private LocalDateTime createdAt;
+    private List<Rate> rates;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Rate {
+        private String code;
+        private String deductionName;
+        private Double percentage; // As a percentage (e.g., 5.0 for 5%)
+    }
+}
@@ -18,4 +18,5 @@ public class DeductionResponse {
     private String code;
     private String deductionName;
     private Double percentage;
-}
\ No newline at end of file
+    private Long version; // Send back in the update request to detect concurrent modifications
+}
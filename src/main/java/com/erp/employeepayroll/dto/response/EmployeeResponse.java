@@ -26,4 +26,5 @@ public class EmployeeResponse {
     private LocalDate dateOfBirth;
     private Employee.EmployeeStatus status;
     private Set<String> roles; // Role names
+    private Long version; // Send back in the update request to detect concurrent modifications
 }
@@ -0,0 +1,24 @@
+package com.erp.employeepayroll.dto.response;
+
+import com.erp.employeepayroll.model.Employee;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for one employee in typeahead search results; only the fields the index searches and displays.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmployeeSearchHit {
+    private Long id;
+    private String code;
+    private String firstName;
+    private String lastName;
+    private String email;
+    private String mobile;
+    private Employee.EmployeeStatus status;
+}
@@ -0,0 +1,27 @@
+package com.erp.employeepayroll.dto.response;
+
+import com.erp.employeepayroll.model.Employment;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * DTO for one period of an employment record's history.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EmploymentPeriodResponse {
+    private Long employmentId;
+    private Long employeeId;
+    private String department;
+    private String position;
+    private Double baseSalary;
+    private Employment.EmploymentStatus status;
+    private LocalDate effectiveFrom; // First day of the period
+    private LocalDate effectiveTo; // Day after the last day of the period, null for the current period
+}
@@ -27,4 +27,5 @@ public class EmploymentResponse {
     private Double baseSalary;
     private Employment.EmploymentStatus status;
     private LocalDate joiningDate;
+    private Long version; // Send back in the update request to detect concurrent modifications
 }
@@ -0,0 +1,35 @@
+package com.erp.employeepayroll.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO summarizing a bulk import: how many rows were read and imported, and why the others were rejected.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportReport {
+    private int totalRows; // Data rows read from the upload
+    private int imported; // Rows whose employee (and employment, if given) were inserted
+    private int failed; // Rows rejected by validation or by the database
+    private List<RowError> errors; // Rejected rows, capped at app.import.max-reported-errors
+    private boolean errorsTruncated; // True if more rows failed than are listed in errors
+
+    /**
+     * A rejected row.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private int row; // 1-based position of the record in the upload, header excluded
+        private String code; // Employee code of the row, if it could be read
+        private String message; // Why the row was rejected
+    }
+}
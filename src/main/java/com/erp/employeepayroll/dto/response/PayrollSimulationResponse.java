@@ -0,0 +1,74 @@
+package com.erp.employeepayroll.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO with the outcome of a what-if payroll simulation: workforce totals under the rates in force and under
+ * the proposed rates, their impact per department, and the most affected employees.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PayrollSimulationResponse {
+    private Integer month;
+    private Integer year;
+    private Map<String, Double> proposedRates; // Percentage by deduction name after the overrides
+    private LocalDateTime snapshotTakenAt; // When the simulated employee/salary snapshot was read
+    private int employees; // Active employees with an active employment, as in a payroll run
+    private int excessiveDeductions; // Employees whose proposed deductions would exceed their gross salary
+    private Totals baseline;
+    private Totals proposed;
+    private Totals delta; // proposed - baseline
+    private List<DepartmentImpact> departments; // By department name
+    private List<EmployeeImpact> topAffected; // By absolute net salary change, largest first
+    private long elapsedMillis;
+
+    /**
+     * Sums over the simulated payslips.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Totals {
+        private double grossSalary; // The payroll cost
+        private double employeeTax;
+        private double pension;
+        private double medicalInsurance;
+        private double otherDeductions;
+        private double netSalary;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class DepartmentImpact {
+        private String department;
+        private int employees;
+        private double baselineGrossSalary;
+        private double grossSalaryDelta;
+        private double baselineNetSalary;
+        private double netSalaryDelta;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class EmployeeImpact {
+        private Long employeeId;
+        private String employeeCode;
+        private String employeeFirstName;
+        private String employeeLastName;
+        private String department;
+        private double baselineNetSalary;
+        private double proposedNetSalary;
+        private double netSalaryDelta;
+    }
+}
@@ -35,4 +35,5 @@ public class PayslipResponse {
     private Payslip.PayslipStatus status;
     private LocalDate generationDate;
     private LocalDate approvalDate;
+    private Long rateSetId; // Deduction rate set used, see GET /api/deductions/rate-sets/{id}
 }
\ No newline at end of file
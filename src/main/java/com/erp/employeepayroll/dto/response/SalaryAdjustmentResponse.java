@@ -0,0 +1,34 @@
+package com.erp.employeepayroll.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO summarizing a bulk salary adjustment (or its dry-run preview).
+ * Totals are sums of monthly base salaries over the affected employment records.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SalaryAdjustmentResponse {
+    private long affectedCount; // Employment records matching the filters
+    private double currentTotal; // Sum of their base salaries before the adjustment
+    private double adjustedTotal; // Sum of their base salaries after the adjustment
+    private double costDelta; // adjustedTotal - currentTotal, the change in monthly base salary cost
+    private Double lowestAdjustedSalary; // Smallest base salary after the adjustment, null if nothing matches
+    private boolean applied; // False for a dry run
+
+    /**
+     * Constructor used by the aggregate preview query in EmploymentRepository.
+     */
+    public SalaryAdjustmentResponse(Long affectedCount, Double currentTotal, Double adjustedTotal, Double lowestAdjustedSalary) {
+        this.affectedCount = affectedCount;
+        this.currentTotal = currentTotal == null ? 0.0 : currentTotal;
+        this.adjustedTotal = adjustedTotal == null ? 0.0 : adjustedTotal;
+        this.costDelta = this.adjustedTotal - this.currentTotal;
+        this.lowestAdjustedSalary = lowestAdjustedSalary;
+    }
+}
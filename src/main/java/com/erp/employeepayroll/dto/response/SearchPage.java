@@ -0,0 +1,23 @@
+package com.erp.employeepayroll.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for one page of ranked search results. Unlike CursorPage the order is by relevance,
+ * so pages are addressed by number.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchPage<T> {
+    private List<T> items;
+    private int total; // Number of matches over all pages
+    private int page; // 0-based page number
+    private int size; // Requested page size
+}
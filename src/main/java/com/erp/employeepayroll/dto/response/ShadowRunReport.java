@@ -0,0 +1,53 @@
+package com.erp.employeepayroll.dto.response;
+
+import com.erp.employeepayroll.config.PayrollProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO comparing a payroll run with the run of a candidate engine in its shadow, over the same input snapshot.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ShadowRunReport {
+    private Integer month;
+    private Integer year;
+    private PayrollProperties.Engine primaryEngine; // Engine whose payslips were saved
+    private PayrollProperties.Engine candidateEngine; // Engine run in the shadow; its results are discarded
+    private Outcome outcome;
+    private long primaryMillis; // Time the primary engine took to calculate and save the payslips
+    private Long candidateMillis; // Time the candidate took; null if it did not finish within the budget
+    private int payslipsCompared; // Employees paid by the primary, the candidate or both
+    private int discrepancyCount; // Differing fields, all of them
+    private List<Discrepancy> discrepancies; // Differing fields, capped at app.payroll.shadow.max-reported-discrepancies
+    private String message; // Why the candidate failed or was cut off
+    private LocalDateTime completedAt;
+
+    public enum Outcome {
+        MATCH, // Every field of every payslip is within the tolerance
+        MISMATCH, // See discrepancies
+        TIMED_OUT, // The candidate did not finish within app.payroll.shadow.budget-ms and was cancelled
+        FAILED // The candidate threw an exception
+    }
+
+    /**
+     * A payslip field the engines disagree on. A payslip only one engine produced is reported with
+     * field "payslip" and a null value on the other side.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Discrepancy {
+        private Long employeeId;
+        private String field;
+        private Double primaryValue;
+        private Double candidateValue;
+    }
+}
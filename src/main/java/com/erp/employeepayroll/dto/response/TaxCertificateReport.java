@@ -0,0 +1,22 @@
+package com.erp.employeepayroll.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO summarizing a run of the annual tax certificate job.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaxCertificateReport {
+    private Integer year;
+    private String file; // Path of the bulk file, one certificate per line
+    private int certificates; // Employees with at least one paid payslip in the year
+    private int payslips; // Paid payslips read, live and archived
+    private long elapsedMillis;
+    private double payslipsPerSecond; // Throughput of the streaming pass
+}
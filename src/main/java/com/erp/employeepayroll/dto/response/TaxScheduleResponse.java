@@ -0,0 +1,34 @@
+package com.erp.employeepayroll.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DTO for a progressive tax schedule with its precomputed cumulative tax per bracket.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaxScheduleResponse {
+    private LocalDate effectiveFrom;
+    private List<Bracket> brackets;
+
+    /**
+     * A bracket of the schedule.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bracket {
+        private Double lowerBound;
+        private Double upperBound; // The next bracket's lower bound, null for the top bracket
+        private Double rate; // Percentage (e.g., 20.0 for 20%)
+        private Double baseTax; // Tax on the income below lowerBound
+    }
+}
@@ -0,0 +1,32 @@
+package com.erp.employeepayroll.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for an employee's year-to-date payroll totals; once the year is over it is the annual statement.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class YearToDateResponse {
+    private Long employeeId;
+    private String employeeCode;
+    private String employeeFirstName;
+    private String employeeLastName;
+    private Integer year;
+    private Double grossSalary; // Sum of the gross salaries of the paid payslips
+    private Double employeeTax;
+    private Double pension;
+    private Double medicalInsurance;
+    private Double otherDeductions;
+    private Double netSalary;
+    private Integer monthsPaid; // Approved periods included in the totals
+    private Integer lastMonthPaid; // Latest approved month included in the totals
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,39 @@
+package com.erp.employeepayroll.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+
+/**
+ * A message of a closed payroll year, moved out of the message table by PayrollArchiveService.
+ * Read-only; keeps the id and every column of the original message.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "message_archive")
+public class ArchivedMessage {
+
+    @Id
+    private Long id; // Id of the original message
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "employee_id", referencedColumnName = "id", nullable = false)
+    private Employee employee; // The employee to whom the message was sent
+
+    @Column(columnDefinition = "TEXT", nullable = false)
+    private String message;
+
+    @Column(nullable = false)
+    private Integer month;
+
+    @Column(nullable = false)
+    private Integer year;
+
+    @Column(nullable = false)
+    private LocalDate sentDate;
+}
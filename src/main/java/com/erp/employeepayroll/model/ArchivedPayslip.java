@@ -0,0 +1,72 @@
+package com.erp.employeepayroll.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+
+/**
+ * A payslip of a closed payroll year, moved out of the payslip table by PayrollArchiveService.
+ * Read-only; keeps the id and every column of the original payslip.
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "payslip_archive")
+public class ArchivedPayslip {
+
+    @Id
+    private Long id; // Id of the original payslip
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "employee_id", referencedColumnName = "id", nullable = false)
+    private Employee employee; // The employee this payslip belongs to
+
+    @Column(nullable = false)
+    private Double baseSalaryAtGeneration;
+
+    @Column(nullable = false)
+    private Double houseAmount;
+
+    @Column(nullable = false)
+    private Double transportAmount;
+
+    @Column(nullable = false)
+    private Double employeeTaxedAmount;
+
+    @Column(nullable = false)
+    private Double pensionAmount;
+
+    @Column(nullable = false)
+    private Double medicalInsuranceAmount;
+
+    @Column(nullable = false)
+    private Double otherTaxedAmount;
+
+    @Column(nullable = false)
+    private Double grossSalary;
+
+    @Column(nullable = false)
+    private Double netSalary;
+
+    @Column(nullable = false)
+    private Integer month;
+
+    @Column(nullable = false)
+    private Integer year;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Payslip.PayslipStatus status;
+
+    @Column(nullable = false)
+    private LocalDate generationDate;
+
+    private LocalDate approvalDate;
+
+    @Column(name = "rate_set_id")
+    private Long rateSetId;
+}
@@ -2,12 +2,15 @@ package com.erp.employeepayroll.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Represents a type of deduction that can be applied to an employee's salary.
  * Stores the name of the deduction and its percentage.
  */
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "deduction") // Reference data, kept in the second-level cache
 @Data
 public class Deduction {
 
@@ -15,6 +18,9 @@ public class Deduction {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id; // Primary key, auto-generated
 
+    @Version
+    private Long version; // Optimistic lock, incremented by every update
+
     @Column(nullable = false, length = 50, unique = true)
     private String code; // Unique code for the deduction
 
@@ -0,0 +1,44 @@
+package com.erp.employeepayroll.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One version of a deduction's rate, effective from a date until the next version of the same code.
+ * Rows are only ever added: creating, updating or deleting a Deduction records a new version
+ * (a retired one for deletions), so the rates of any past period can still be resolved.
+ */
+@Entity
+@Table(name = "deduction_rate")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeductionRate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id; // Primary key, auto-generated; also orders versions with the same effective date
+
+    @Column(nullable = false, length = 50)
+    private String code; // Code of the versioned deduction
+
+    @Column(nullable = false, length = 100)
+    private String deductionName;
+
+    @Column(nullable = false)
+    private Double percentage; // Stored as a decimal (e.g., 0.05 for 5%)
+
+    @Column(nullable = false)
+    private LocalDate effectiveFrom; // First day this version applies to
+
+    @Column(nullable = false)
+    private boolean retired; // True if the deduction no longer applies from effectiveFrom
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,52 @@
+package com.erp.employeepayroll.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The deduction rates resolved for a payroll period, frozen once written.
+ * Periods resolving to the same rate versions share one set (identified by their fingerprint),
+ * and every payslip records the set it was calculated with.
+ */
+@Entity
+@Immutable
+@Table(name = "deduction_rate_set")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeductionRateSet {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id; // Primary key, auto-generated
+
+    @Column(nullable = false, length = 64, unique = true)
+    private String fingerprint; // SHA-256 of the ids of the DeductionRate versions in the set
+
+    @Column(nullable = false)
+    private LocalDate effectiveDate; // Date of the first resolution that produced this set
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "deduction_rate_set_entry", joinColumns = @JoinColumn(name = "rate_set_id"))
+    private List<DeductionRateSetEntry> entries = new ArrayList<>(); // One entry per deduction code
+
+    /**
+     * @return The percentages of the set by deduction name, as decimals.
+     */
+    public Map<String, Double> percentagesByName() {
+        return entries.stream().collect(Collectors.toMap(DeductionRateSetEntry::getDeductionName, DeductionRateSetEntry::getPercentage));
+    }
+}
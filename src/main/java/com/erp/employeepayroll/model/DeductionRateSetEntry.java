@@ -0,0 +1,26 @@
+package com.erp.employeepayroll.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The rate of one deduction within a frozen DeductionRateSet.
+ */
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeductionRateSetEntry {
+
+    @Column(nullable = false, length = 50)
+    private String code;
+
+    @Column(nullable = false, length = 100)
+    private String deductionName;
+
+    @Column(nullable = false)
+    private Double percentage; // Stored as a decimal (e.g., 0.05 for 5%)
+}
@@ -2,9 +2,20 @@ package com.erp.employeepayroll.model;
 
 /**
  * Enum to define the possible roles in the ERP system.
+ * Each role owns one fixed bit of Employee.roleMask; never reuse or renumber a bit.
  */
 public enum ERole {
-    ROLE_EMPLOYEE,
-    ROLE_MANAGER,
-    ROLE_ADMIN
+    ROLE_EMPLOYEE(1),
+    ROLE_MANAGER(1 << 1),
+    ROLE_ADMIN(1 << 2);
+
+    private final int bit; // Bit of this role in Employee.roleMask
+
+    ERole(int bit) {
+        this.bit = bit;
+    }
+
+    public int getBit() {
+        return bit;
+    }
 }
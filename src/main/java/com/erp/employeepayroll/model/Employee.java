@@ -8,26 +8,34 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Filter;
+import org.hibernate.annotations.FilterDef;
+import org.hibernate.annotations.ParamDef;
 
 import java.time.LocalDate;
-import java.util.HashSet;
-import java.util.Set;
 
 /**
  * Represents an employee in the ERP system.
  * This entity stores personal and authentication details for an employee.
  */
 @Entity
+@FilterDef(name = Employee.STATUS_FILTER, parameters = @ParamDef(name = "status", type = String.class))
+@Filter(name = Employee.STATUS_FILTER, condition = "status = :status") // Backed by idx_employee_status
 @AllArgsConstructor
 @NoArgsConstructor
 @Data
 public class Employee {
 
+    public static final String STATUS_FILTER = "employeeStatusFilter"; // Session filter, see EmployeeStatusFilter
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id; // Primary key, auto-generated
 
-    @Column( nullable = false, length = 50)
+    @Version
+    private Long version; // Optimistic lock, incremented by every update
+
+    @Column(nullable = false, length = 50, unique = true)
     private String code; // Unique employee code
 
     @NotBlank(message = "First name cannot be blank")
@@ -57,11 +65,8 @@ public class Employee {
     @Column(nullable = false)
     private EmployeeStatus status; // Employee status: ACTIVE or DISABLED
 
-    @ManyToMany(fetch = FetchType.EAGER) // Roles are eagerly fetched with the employee
-    @JoinTable(name = "roles",
-            joinColumns = @JoinColumn(name = "employee_id"),
-            inverseJoinColumns = @JoinColumn(name = "role_id"))
-    private Set<Role> roles = new HashSet<>(); // Set of roles assigned to the employee
+    @Column(name = "role_mask", nullable = false)
+    private int roleMask; // Bitmask of the ERole bits assigned to the employee (resolved via RoleRegistry)
 
     // Enum for Employee Status
     public enum EmployeeStatus {
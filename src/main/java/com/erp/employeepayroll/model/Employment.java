@@ -4,6 +4,8 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 
@@ -12,6 +14,7 @@ import java.time.LocalDate;
  * This entity stores information about an employee's current or past employment.
  */
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employment") // Reference data, kept in the second-level cache
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -21,6 +24,9 @@ public class Employment {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id; // Primary key, auto-generated
 
+    @Version
+    private Long version; // Optimistic lock, incremented by every update
+
     @Column(nullable = false, length = 50, unique = true)
     private String code; // Unique employment record code
 
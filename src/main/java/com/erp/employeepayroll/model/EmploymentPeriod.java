@@ -0,0 +1,57 @@
+package com.erp.employeepayroll.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * One period of an employment record's history: the department, position, salary and status it had
+ * from effectiveFrom (inclusive) until effectiveTo (exclusive, null while current).
+ * Written by EmploymentHistoryService whenever an employment record changes.
+ */
+@Entity
+@Table(name = "employment_history")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmploymentPeriod {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id; // Primary key, auto-generated
+
+    @Column(name = "employment_id", nullable = false)
+    private Long employmentId; // The employment record; a plain id so history survives its deletion
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId; // The employee; a plain id so as-of lookups need no join
+
+    @Column(nullable = false, length = 100)
+    private String department;
+
+    @Column(nullable = false, length = 100)
+    private String position;
+
+    @Column(nullable = false)
+    private Double baseSalary;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Employment.EmploymentStatus status;
+
+    @Column(nullable = false)
+    private LocalDate effectiveFrom; // First day of the period
+
+    private LocalDate effectiveTo; // Day after the last day of the period, null for the current period
+
+    /**
+     * @param date A date.
+     * @return true if the period covers the date.
+     */
+    public boolean covers(LocalDate date) {
+        return !effectiveFrom.isAfter(date) && (effectiveTo == null || effectiveTo.isAfter(date));
+    }
+}
@@ -19,8 +19,10 @@ import java.time.LocalDate;
 public class Message {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id; // Primary key, auto-generated
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "message_id")
+    @TableGenerator(name = "message_id", table = "id_generator", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "message", allocationSize = 50)
+    private Long id; // Primary key, allocated in pooled blocks of 50 so inserts can be JDBC-batched
 
     @ManyToOne(fetch = FetchType.LAZY) // Many-to-one relationship with Employee
     @JoinColumn(referencedColumnName = "id", nullable = false)
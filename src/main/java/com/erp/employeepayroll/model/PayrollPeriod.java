@@ -0,0 +1,91 @@
+package com.erp.employeepayroll.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The lifecycle state of one payroll period (month/year).
+ * Payroll runs and approvals lock this row and check its status instead of scanning the period's payslips;
+ * the allowed transitions are guarded by {@link #moveTo(Status)}.
+ */
+@Entity
+@Table(name = "payroll_period", uniqueConstraints = @UniqueConstraint(name = "uk_payroll_period_year_month", columnNames = {"year", "month"}))
+@Data
+@NoArgsConstructor
+public class PayrollPeriod {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id; // Primary key, auto-generated
+
+    @Version
+    private Long version; // Optimistic lock, incremented by every transition
+
+    @Column(nullable = false)
+    private Integer month; // Month of the period (1-12)
+
+    @Column(nullable = false)
+    private Integer year; // Year of the period
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status = Status.OPEN;
+
+    private LocalDateTime generatedAt; // Last payroll run
+    private LocalDateTime approvedAt;
+    private LocalDateTime closedAt; // When the period's payslips were archived
+
+    public PayrollPeriod(Integer month, Integer year) {
+        this.month = month;
+        this.year = year;
+    }
+
+    /**
+     * Moves the period to another status, stamping the matching timestamp.
+     * @param target The new status.
+     * @throws IllegalStateException if the transition is not allowed from the current status.
+     */
+    public void moveTo(Status target) {
+        if (!status.canMoveTo(target)) {
+            throw new IllegalStateException("Payroll for " + month + "/" + year + " is " + status
+                    + " and cannot move to " + target + ".");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        switch (target) {
+            case GENERATED -> generatedAt = now;
+            case APPROVED -> approvedAt = now;
+            case CLOSED -> closedAt = now;
+            default -> { }
+        }
+        status = target;
+    }
+
+    public enum Status {
+        OPEN, // No payslips yet
+        GENERATED, // Pending payslips; may be regenerated
+        APPROVED, // Payslips paid; locked
+        CLOSED; // Payslips archived
+
+        /**
+         * @param target A status.
+         * @return true if a period in this status may move to the target status.
+         */
+        public boolean canMoveTo(Status target) {
+            return successors().contains(target);
+        }
+
+        private Set<Status> successors() {
+            return switch (this) {
+                case OPEN -> EnumSet.of(GENERATED, CLOSED);
+                case GENERATED -> EnumSet.of(GENERATED, APPROVED);
+                case APPROVED -> EnumSet.of(CLOSED);
+                case CLOSED -> EnumSet.noneOf(Status.class);
+            };
+        }
+    }
+}
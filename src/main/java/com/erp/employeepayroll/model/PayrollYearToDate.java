@@ -0,0 +1,55 @@
+package com.erp.employeepayroll.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Running totals of an employee's paid payslips in one year.
+ * Maintained in bulk by payroll approval (see PayrollYearToDateRepository), never by loading and saving the entity.
+ */
+@Entity
+@Table(name = "payroll_year_to_date", uniqueConstraints = @UniqueConstraint(name = "uk_payroll_year_to_date_employee_year", columnNames = {"employee_id", "year"}))
+@Data
+@NoArgsConstructor
+public class PayrollYearToDate {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id; // Primary key, auto-generated
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId; // The employee; a plain id so the bulk updates need no join
+
+    @Column(nullable = false)
+    private Integer year;
+
+    @Column(nullable = false)
+    private Double grossSalary;
+
+    @Column(nullable = false)
+    private Double employeeTax;
+
+    @Column(nullable = false)
+    private Double pension;
+
+    @Column(nullable = false)
+    private Double medicalInsurance;
+
+    @Column(nullable = false)
+    private Double otherDeductions;
+
+    @Column(nullable = false)
+    private Double netSalary;
+
+    @Column(nullable = false)
+    private Integer monthsPaid; // Approved periods included in the totals
+
+    @Column(nullable = false)
+    private Integer lastMonthPaid; // Latest approved month included in the totals
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -20,8 +20,13 @@ import java.time.LocalDate;
 public class Payslip {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id; // Primary key, auto-generated
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "payslip_id")
+    @TableGenerator(name = "payslip_id", table = "id_generator", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "payslip", allocationSize = 50)
+    private Long id; // Primary key, allocated in pooled blocks of 50 so inserts can be JDBC-batched
+
+    @Version
+    private Long version; // Optimistic lock, incremented by every update
 
     @ManyToOne(fetch = FetchType.LAZY) // Many-to-one relationship with Employee
     @JoinColumn(name = "employee_id", referencedColumnName = "id", nullable = false)
@@ -69,6 +74,9 @@ public class Payslip {
 
     private LocalDate approvalDate; // Date when the payslip was approved (if status is PAID)
 
+    @Column(name = "rate_set_id")
+    private Long rateSetId; // The frozen DeductionRateSet the amounts were calculated with
+
     // Enum for Payslip Status
     public enum PayslipStatus {
         PENDING, PAID
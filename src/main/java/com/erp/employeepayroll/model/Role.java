@@ -1,12 +1,15 @@
 package com.erp.employeepayroll.model;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Represents a user role in the system.
  * Used for role-based access control (RBAC).
  */
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "role") // Reference data, kept in the second-level cache
 @Data
 public class Role {
 
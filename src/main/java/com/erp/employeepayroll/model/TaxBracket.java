@@ -0,0 +1,39 @@
+package com.erp.employeepayroll.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One bracket of a progressive tax schedule: the income from lowerBound up to the next bracket's lowerBound
+ * is taxed at rate. The brackets sharing an effectiveFrom form the schedule in force from that date.
+ */
+@Entity
+@Immutable
+@Table(name = "tax_bracket", uniqueConstraints = @UniqueConstraint(name = "uk_tax_bracket_schedule_bound", columnNames = {"effective_from", "lower_bound"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaxBracket {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id; // Primary key, auto-generated
+
+    @Column(nullable = false)
+    private LocalDate effectiveFrom; // First day the schedule applies to
+
+    @Column(nullable = false)
+    private Double lowerBound; // Monthly income the bracket starts at; the first bracket of a schedule starts at 0
+
+    @Column(nullable = false)
+    private Double rate; // Stored as decimal (e.g., 0.2 for 20%)
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
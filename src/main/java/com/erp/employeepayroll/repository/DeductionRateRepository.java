@@ -0,0 +1,32 @@
+package com.erp.employeepayroll.repository;
+
+import com.erp.employeepayroll.model.DeductionRate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Spring Data JPA repository for the DeductionRate entity (deduction_rate table).
+ */
+public interface DeductionRateRepository extends JpaRepository<DeductionRate, Long> {
+
+    /**
+     * Finds the rate versions effective on or before a date, grouped by code with the latest version first,
+     * served by idx_deduction_rate_effective. The first row of each code is the version in force on that date.
+     * @param date The date to resolve.
+     * @return The versions, ordered by code, then latest first.
+     */
+    @Query("select r from DeductionRate r where r.effectiveFrom <= :date order by r.code, r.effectiveFrom desc, r.id desc")
+    List<DeductionRate> findEffectiveOn(@Param("date") LocalDate date);
+
+    /**
+     * Finds the id of the most recently recorded version. Versions are only ever added,
+     * so the id changes whenever any rate changes.
+     * @return The highest version id, or null if no version exists.
+     */
+    @Query("select max(r.id) from DeductionRate r")
+    Long findLatestVersionId();
+}
@@ -0,0 +1,19 @@
+package com.erp.employeepayroll.repository;
+
+import com.erp.employeepayroll.model.DeductionRateSet;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+/**
+ * Spring Data JPA repository for the DeductionRateSet entity.
+ */
+public interface DeductionRateSetRepository extends JpaRepository<DeductionRateSet, Long> {
+
+    /**
+     * Finds the frozen set holding exactly the given rate versions.
+     * @param fingerprint The SHA-256 fingerprint of the version ids.
+     * @return An Optional containing the set if it was already written.
+     */
+    Optional<DeductionRateSet> findByFingerprint(String fingerprint);
+}
@@ -1,14 +1,32 @@
 package com.erp.employeepayroll.repository;
 
+import com.erp.employeepayroll.config.ReferenceDataCache;
 import com.erp.employeepayroll.model.Deduction;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+
 /**
  * Spring Data JPA repository for the Deduction entity.
+ * The full list and code lookups are served from the query cache (region {@link ReferenceDataCache#QUERY_REGION}).
  */
 public interface DeductionRepository extends JpaRepository<Deduction, Long> {
 
+    /**
+     * Finds all deductions; read by every payroll run, so the result is cached.
+     * @return All deductions.
+     */
+    @Override
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = ReferenceDataCache.QUERY_REGION)})
+    List<Deduction> findAll();
+
     /**
      * Finds a deduction by its name.
      * @param deductionName The name of the deduction.
@@ -23,7 +41,21 @@ public interface DeductionRepository extends JpaRepository<Deduction, Long> {
      */
     Boolean existsByDeductionName(String deductionName);
 
+    /**
+     * Finds a deduction by its unique code.
+     * @param code The code of the deduction.
+     * @return The deduction, or null if none has this code.
+     */
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = ReferenceDataCache.QUERY_REGION)})
     Deduction findByCode(String code);
+
     boolean existsByCode(String code);
 
+    /**
+     * Keyset page of deductions: the next rows after the given id, in id order.
+     * @param id The last id of the previous page (0 for the first page).
+     * @param limit Maximum number of rows to return.
+     * @return Deductions with an id greater than the given one.
+     */
+    List<Deduction> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
\ No newline at end of file
@@ -1,7 +1,10 @@
 package com.erp.employeepayroll.repository;
 
 import com.erp.employeepayroll.model.Employee;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -37,4 +40,19 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
      * @return An Optional containing the employee if found, otherwise empty.
      */
     Optional<Employee> findByCode(String code);
+
+    /**
+     * Finds all employees with the given status (e.g. the ACTIVE headcount for a payroll run).
+     * @param status The employee status.
+     * @return Employees with this status.
+     */
+    List<Employee> findByStatus(Employee.EmployeeStatus status);
+
+    /**
+     * Keyset page of employees: the next rows after the given id, in id order.
+     * @param id The last id of the previous page (0 for the first page).
+     * @param limit Maximum number of rows to return.
+     * @return Employees with an id greater than the given one.
+     */
+    List<Employee> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
 }
@@ -0,0 +1,41 @@
+package com.erp.employeepayroll.repository;
+
+import com.erp.employeepayroll.model.Employee;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Scopes Employee queries to one status by enabling the Employee status filter on the current session.
+ * Every Employee query run inside the scope gets "status = ?" added to its SQL, so soft-deleted (DISABLED)
+ * employees are excluded by the database, using idx_employee_status, instead of in memory.
+ * Must be called inside a transaction so the queries share the filtered session.
+ */
+@Component
+public class EmployeeStatusFilter {
+
+    private final EntityManager entityManager;
+
+    public EmployeeStatusFilter(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Runs the given queries with the status filter enabled.
+     * @param status The status employees must have.
+     * @param queries The repository calls to run.
+     * @param <T> The result type.
+     * @return The result of the queries.
+     */
+    public <T> T apply(Employee.EmployeeStatus status, Supplier<T> queries) {
+        Session session = entityManager.unwrap(Session.class);
+        session.enableFilter(Employee.STATUS_FILTER).setParameter("status", status.name());
+        try {
+            return queries.get();
+        } finally {
+            session.disableFilter(Employee.STATUS_FILTER);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.erp.employeepayroll.repository;
+
+import com.erp.employeepayroll.model.Employment;
+import com.erp.employeepayroll.model.EmploymentPeriod;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Spring Data JPA repository for the EmploymentPeriod entity (employment_history table).
+ */
+public interface EmploymentHistoryRepository extends JpaRepository<EmploymentPeriod, Long> {
+
+    /**
+     * Finds the history of one employment record, oldest period first.
+     * @param employmentId The ID of the employment record.
+     * @return The periods of the record.
+     */
+    List<EmploymentPeriod> findByEmploymentIdOrderByEffectiveFromAsc(Long employmentId);
+
+    /**
+     * Finds the ACTIVE period covering a date for each of the given employees, in one query
+     * served by idx_employment_history_employee_from. Employees without one on that date are absent.
+     * @param employeeIds The employees to resolve.
+     * @param date The as-of date.
+     * @return At most one period per employee.
+     */
+    @Query("select h from EmploymentPeriod h where h.employeeId in :employeeIds and " + ACTIVE_AS_OF)
+    List<EmploymentPeriod> findActiveAsOf(@Param("employeeIds") Collection<Long> employeeIds, @Param("date") LocalDate date);
+
+    /**
+     * Finds the ACTIVE periods of the given employees that overlap [from, to).
+     * @param employeeIds The employees to load.
+     * @param from First day of the range.
+     * @param to Day after the last day of the range.
+     * @return The overlapping periods.
+     */
+    @Query("select h from EmploymentPeriod h where h.employeeId in :employeeIds and " + ACTIVE_OVERLAPPING)
+    List<EmploymentPeriod> findActiveOverlapping(@Param("employeeIds") Collection<Long> employeeIds,
+                                                 @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Finds the ACTIVE periods of all employees that overlap [from, to).
+     * @see #findActiveOverlapping(Collection, LocalDate, LocalDate)
+     */
+    @Query("select h from EmploymentPeriod h where " + ACTIVE_OVERLAPPING)
+    List<EmploymentPeriod> findAllActiveOverlapping(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Removes the periods of an employment record starting on or after a date, which a change effective
+     * on that date supersedes.
+     * @return The number of removed periods.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("delete from EmploymentPeriod h where h.employmentId = :employmentId and h.effectiveFrom >= :date")
+    int deleteStartingFrom(@Param("employmentId") Long employmentId, @Param("date") LocalDate date);
+
+    /**
+     * Ends the period of an employment record that is still running on a date.
+     * @return The number of closed periods (0 or 1).
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update EmploymentPeriod h set h.effectiveTo = :date where h.employmentId = :employmentId "
+            + "and (h.effectiveTo is null or h.effectiveTo > :date)")
+    int closeAt(@Param("employmentId") Long employmentId, @Param("date") LocalDate date);
+
+    /**
+     * Bulk form of {@link #deleteStartingFrom} for the employment records matching a salary adjustment filter.
+     * @see EmploymentRepository#adjustSalaries
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("delete from EmploymentPeriod h where h.effectiveFrom >= :date and h.employmentId in "
+            + "(select e.id from Employment e where " + EmploymentRepository.ADJUSTMENT_FILTER + ")")
+    int deleteStartingFromMatching(@Param("status") Employment.EmploymentStatus status, @Param("department") String department,
+                                   @Param("position") String position, @Param("date") LocalDate date);
+
+    /**
+     * Bulk form of {@link #closeAt} for the employment records matching a salary adjustment filter.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update EmploymentPeriod h set h.effectiveTo = :date where (h.effectiveTo is null or h.effectiveTo > :date) "
+            + "and h.employmentId in (select e.id from Employment e where " + EmploymentRepository.ADJUSTMENT_FILTER + ")")
+    int closeAtMatching(@Param("status") Employment.EmploymentStatus status, @Param("department") String department,
+                        @Param("position") String position, @Param("date") LocalDate date);
+
+    /**
+     * Opens a period from a date with the current values of every employment record matching a salary adjustment filter.
+     * @return The number of opened periods.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("insert into EmploymentPeriod (employmentId, employeeId, department, position, baseSalary, status, effectiveFrom) "
+            + "select e.id, e.employee.id, e.department, e.position, e.baseSalary, e.status, :date "
+            + "from Employment e where " + EmploymentRepository.ADJUSTMENT_FILTER)
+    int openFromMatching(@Param("status") Employment.EmploymentStatus status, @Param("department") String department,
+                         @Param("position") String position, @Param("date") LocalDate date);
+
+    String ACTIVE_AS_OF = "h.status = com.erp.employeepayroll.model.Employment.EmploymentStatus.ACTIVE "
+            + "and h.effectiveFrom <= :date and (h.effectiveTo is null or h.effectiveTo > :date)";
+    String ACTIVE_OVERLAPPING = "h.status = com.erp.employeepayroll.model.Employment.EmploymentStatus.ACTIVE "
+            + "and h.effectiveFrom < :to and (h.effectiveTo is null or h.effectiveTo > :from)";
+}
@@ -1,12 +1,23 @@
 package com.erp.employeepayroll.repository;
 
+import com.erp.employeepayroll.config.ReferenceDataCache;
+import com.erp.employeepayroll.dto.response.SalaryAdjustmentResponse;
 import com.erp.employeepayroll.model.Employee;
 import com.erp.employeepayroll.model.Employment;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+
 /**
  * Spring Data JPA repository for the Employment entity.
  */
@@ -26,9 +37,65 @@ public interface EmploymentRepository extends JpaRepository<Employment, Long> {
      * @param code The code of the employment record.
      * @return An Optional containing the employment record if found.
      */
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = ReferenceDataCache.QUERY_REGION)})
     Optional<Employment> findByCode(String code);
 
     Employment findByEmployeeCode(String employeeCode);
 
+    /**
+     * Finds all employment records with the given status; the ACTIVE set is read by every payroll run,
+     * so the result is cached and the records themselves come from the Employment entity region.
+     * @param employmentStatus The status to filter on.
+     * @return Employment records with this status.
+     */
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = ReferenceDataCache.QUERY_REGION)})
     List<Employment> findByStatus(Employment.EmploymentStatus employmentStatus);
+
+    /**
+     * Keyset page of employment records: the next rows after the given id, in id order.
+     * @param id The last id of the previous page (0 for the first page).
+     * @param limit Maximum number of rows to return.
+     * @return Employment records with an id greater than the given one.
+     */
+    List<Employment> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Previews a bulk salary adjustment: count and base salary totals of the matching records before and after
+     * applying newSalary = round(baseSalary * factor + offset, 2), evaluated in one aggregate query.
+     * @param status Status of the records to adjust.
+     * @param department Department filter, or null for all.
+     * @param position Position filter, or null for all.
+     * @param factor Multiplier applied to each base salary (1 + percentage / 100).
+     * @param offset Amount added to each base salary after the multiplier.
+     * @return The preview; applied is false.
+     */
+    @Query("select new com.erp.employeepayroll.dto.response.SalaryAdjustmentResponse("
+            + "count(e), sum(e.baseSalary), sum(" + ADJUSTED_SALARY + "), min(" + ADJUSTED_SALARY + ")) "
+            + "from Employment e where " + ADJUSTMENT_FILTER)
+    SalaryAdjustmentResponse previewSalaryAdjustment(@Param("status") Employment.EmploymentStatus status,
+                                                     @Param("department") String department,
+                                                     @Param("position") String position,
+                                                     @Param("factor") double factor,
+                                                     @Param("offset") double offset);
+
+    /**
+     * Applies a bulk salary adjustment in one set-based UPDATE, bumping the version of every changed record
+     * so concurrent single-record edits fail with an optimistic lock error instead of overwriting it.
+     * Bypasses the persistence context and the second-level cache; callers must evict the Employment region.
+     * @return The number of updated records.
+     * @see #previewSalaryAdjustment
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Employment e set e.baseSalary = " + ADJUSTED_SALARY + ", e.version = e.version + 1 "
+            + "where " + ADJUSTMENT_FILTER)
+    int adjustSalaries(@Param("status") Employment.EmploymentStatus status,
+                       @Param("department") String department,
+                       @Param("position") String position,
+                       @Param("factor") double factor,
+                       @Param("offset") double offset);
+
+    String ADJUSTED_SALARY = "round(e.baseSalary * :factor + :offset, 2)";
+    String ADJUSTMENT_FILTER = "e.status = :status "
+            + "and (:department is null or e.department = :department) "
+            + "and (:position is null or e.position = :position)";
 }
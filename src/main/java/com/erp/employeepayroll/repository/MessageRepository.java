@@ -1,12 +1,19 @@
 package com.erp.employeepayroll.repository;
 
+import com.erp.employeepayroll.dto.response.MessageResponse;
 import com.erp.employeepayroll.model.Employee;
 import com.erp.employeepayroll.model.Message;
+import com.erp.employeepayroll.util.PageCursor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Spring Data JPA repository for the Message entity.
+ * The response finders read both the message table and message_archive (closed years moved by
+ * PayrollArchiveService) and merge the results.
  */
 public interface MessageRepository extends JpaRepository<Message, Long> {
 
@@ -16,4 +23,46 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
      * @return A list of messages for the given employee.
      */
     List<Message> findByEmployee(Employee employee);
+
+    /**
+     * Loads a single message directly as a response DTO, joining the employee in the same query.
+     * @param id The ID of the message.
+     * @return An Optional containing the message response if found.
+     */
+    default Optional<MessageResponse> findResponseById(Long id) {
+        Optional<MessageResponse> message = findLiveResponseById(id);
+        return message.isPresent() ? message : findArchivedResponseById(id);
+    }
+
+    /**
+     * Keyset page of an employee's messages as response DTOs: the next rows after the given id, in id order.
+     * @param employeeId The ID of the employee.
+     * @param afterId The last id of the previous page (0 for the first page).
+     * @param limit Maximum number of rows to return.
+     * @return Message responses of the employee with an id greater than afterId.
+     */
+    default List<MessageResponse> findResponsesByEmployeeId(Long employeeId, Long afterId, Limit limit) {
+        return PageCursor.mergeById(findLiveResponsesByEmployeeId(employeeId, afterId, limit),
+                findArchivedResponsesByEmployeeId(employeeId, afterId, limit), limit, MessageResponse::getId);
+    }
+
+    // Per-table halves of the response finders above
+
+    @Query(MESSAGE_RESPONSE_SELECT + "where m.id = :id")
+    Optional<MessageResponse> findLiveResponseById(Long id);
+
+    @Query(ARCHIVED_MESSAGE_RESPONSE_SELECT + "where m.id = :id")
+    Optional<MessageResponse> findArchivedResponseById(Long id);
+
+    @Query(MESSAGE_RESPONSE_SELECT + "where e.id = :employeeId and m.id > :afterId order by m.id")
+    List<MessageResponse> findLiveResponsesByEmployeeId(Long employeeId, Long afterId, Limit limit);
+
+    @Query(ARCHIVED_MESSAGE_RESPONSE_SELECT + "where e.id = :employeeId and m.id > :afterId order by m.id")
+    List<MessageResponse> findArchivedResponsesByEmployeeId(Long employeeId, Long afterId, Limit limit);
+
+    // Constructor projection matching the field order of MessageResponse; one row per message, no lazy loads
+    String MESSAGE_RESPONSE_COLUMNS = "select new com.erp.employeepayroll.dto.response.MessageResponse("
+            + "m.id, e.id, e.code, e.firstName, e.lastName, m.message, m.month, m.year, m.sentDate) ";
+    String MESSAGE_RESPONSE_SELECT = MESSAGE_RESPONSE_COLUMNS + "from Message m join m.employee e ";
+    String ARCHIVED_MESSAGE_RESPONSE_SELECT = MESSAGE_RESPONSE_COLUMNS + "from ArchivedMessage m join m.employee e ";
 }
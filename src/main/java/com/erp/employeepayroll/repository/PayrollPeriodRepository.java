@@ -0,0 +1,31 @@
+package com.erp.employeepayroll.repository;
+
+import com.erp.employeepayroll.model.PayrollPeriod;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.Optional;
+
+import static org.hibernate.jpa.SpecHints.HINT_SPEC_LOCK_TIMEOUT;
+
+/**
+ * Spring Data JPA repository for the PayrollPeriod entity.
+ */
+public interface PayrollPeriodRepository extends JpaRepository<PayrollPeriod, Long> {
+
+    /**
+     * Finds a period and locks its row for the rest of the transaction, without waiting:
+     * if another payroll run or approval holds the lock, the call fails at once with a
+     * {@link org.springframework.dao.PessimisticLockingFailureException} instead of queueing behind it.
+     * @param month The month (1-12).
+     * @param year The year.
+     * @return An Optional containing the locked period if it exists.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = HINT_SPEC_LOCK_TIMEOUT, value = "0")) // 0 = NOWAIT
+    Optional<PayrollPeriod> findForUpdateByMonthAndYear(Integer month, Integer year);
+
+}
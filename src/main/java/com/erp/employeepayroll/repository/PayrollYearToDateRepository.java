@@ -0,0 +1,75 @@
+package com.erp.employeepayroll.repository;
+
+import com.erp.employeepayroll.dto.response.YearToDateResponse;
+import com.erp.employeepayroll.model.PayrollYearToDate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Optional;
+
+/**
+ * Spring Data JPA repository for the PayrollYearToDate entity.
+ * Approval of a period calls {@link #openMissing} and then {@link #addPaidPeriod}, both set-based, in its transaction;
+ * the period lock and the APPROVED status guarantee that a period is added once.
+ */
+public interface PayrollYearToDateRepository extends JpaRepository<PayrollYearToDate, Long> {
+
+    /**
+     * Creates zero totals for the employees paid in a period that have none for its year yet.
+     * Approvals of other months of the same year may open the same rows concurrently; a row another transaction
+     * inserted first is waited for and kept instead of failing on uk_payroll_year_to_date_employee_year.
+     * Rows are inserted in employee order so two such approvals cannot deadlock. The no-op update names the target
+     * table, since MySQL rejects an unqualified employee_id as ambiguous with the selected payslip's.
+     * @param month The month (1-12).
+     * @param year The year.
+     * @return The number of affected rows, as counted by the database.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO payroll_year_to_date (employee_id, year, gross_salary, employee_tax, pension, medical_insurance, "
+            + "other_deductions, net_salary, months_paid, last_month_paid, updated_at) "
+            + "SELECT p.employee_id, p.year, 0, 0, 0, 0, 0, 0, 0, 0, CURRENT_TIMESTAMP "
+            + "FROM payslip p WHERE p.month = :month AND p.year = :year AND p.status = 'PAID' AND NOT EXISTS "
+            + "(SELECT 1 FROM payroll_year_to_date y WHERE y.employee_id = p.employee_id AND y.year = p.year) "
+            + "ORDER BY p.employee_id "
+            + "ON DUPLICATE KEY UPDATE payroll_year_to_date.employee_id = payroll_year_to_date.employee_id", nativeQuery = true)
+    int openMissing(Integer month, Integer year);
+
+    /**
+     * Adds the paid payslips of a period to the totals of their employees.
+     * @param month The month (1-12).
+     * @param year The year.
+     * @return The number of updated rows.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("update PayrollYearToDate y set "
+            + "y.grossSalary = y.grossSalary + (select p.grossSalary " + PAYSLIP_OF_ROW + "), "
+            + "y.employeeTax = y.employeeTax + (select p.employeeTaxedAmount " + PAYSLIP_OF_ROW + "), "
+            + "y.pension = y.pension + (select p.pensionAmount " + PAYSLIP_OF_ROW + "), "
+            + "y.medicalInsurance = y.medicalInsurance + (select p.medicalInsuranceAmount " + PAYSLIP_OF_ROW + "), "
+            + "y.otherDeductions = y.otherDeductions + (select p.otherTaxedAmount " + PAYSLIP_OF_ROW + "), "
+            + "y.netSalary = y.netSalary + (select p.netSalary " + PAYSLIP_OF_ROW + "), "
+            + "y.monthsPaid = y.monthsPaid + 1, "
+            + "y.lastMonthPaid = case when y.lastMonthPaid > :month then y.lastMonthPaid else :month end, "
+            + "y.updatedAt = current_timestamp "
+            + "where y.year = :year and exists (select 1 " + PAYSLIP_OF_ROW + ")")
+    int addPaidPeriod(Integer month, Integer year);
+
+    /**
+     * Loads an employee's totals for a year directly as a response DTO, joining the employee in the same query.
+     * @param employeeId The ID of the employee.
+     * @param year The year.
+     * @return An Optional containing the totals if the employee was paid in that year.
+     */
+    @Query("select new com.erp.employeepayroll.dto.response.YearToDateResponse("
+            + "e.id, e.code, e.firstName, e.lastName, y.year, y.grossSalary, y.employeeTax, y.pension, y.medicalInsurance, "
+            + "y.otherDeductions, y.netSalary, y.monthsPaid, y.lastMonthPaid, y.updatedAt) "
+            + "from PayrollYearToDate y join Employee e on e.id = y.employeeId "
+            + "where y.employeeId = :employeeId and y.year = :year")
+    Optional<YearToDateResponse> findResponseByEmployeeIdAndYear(Long employeeId, Integer year);
+
+    String PAID_IN_PERIOD = "p.month = :month and p.year = :year "
+            + "and p.status = com.erp.employeepayroll.model.Payslip.PayslipStatus.PAID";
+    // The row's payslip in the period; unique per employee and period
+    String PAYSLIP_OF_ROW = "from Payslip p where p.employee.id = y.employeeId and " + PAID_IN_PERIOD;
+}
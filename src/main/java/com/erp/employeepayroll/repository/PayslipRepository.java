@@ -1,13 +1,21 @@
 package com.erp.employeepayroll.repository;
 
+import com.erp.employeepayroll.dto.response.PayslipResponse;
 import com.erp.employeepayroll.model.Employee;
 import com.erp.employeepayroll.model.Payslip;
+import com.erp.employeepayroll.util.PageCursor;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * Spring Data JPA repository for the Payslip entity.
+ * The response finders read both the payslip table and payslip_archive (closed years moved by
+ * PayrollArchiveService) and merge the results, so callers never need to know where a period lives.
  */
 public interface PayslipRepository extends JpaRepository<Payslip, Long> {
 
@@ -35,4 +43,128 @@ public interface PayslipRepository extends JpaRepository<Payslip, Long> {
      * @return A list of payslips for the given month and year.
      */
     List<Payslip> findByMonthAndYear(Integer month, Integer year);
+
+    /**
+     * Finds all payslips for a given month and year with their employees fetched in the same query.
+     * Use this instead of findByMonthAndYear when the employee details are read for every payslip.
+     * @param month The month (1-12).
+     * @param year The year.
+     * @return A list of payslips with initialized employees.
+     */
+    @EntityGraph(attributePaths = "employee")
+    List<Payslip> findWithEmployeeByMonthAndYear(Integer month, Integer year);
+
+    /**
+     * Loads a single payslip directly as a response DTO, joining the employee in the same query.
+     * @param id The ID of the payslip.
+     * @return An Optional containing the payslip response if found.
+     */
+    default Optional<PayslipResponse> findResponseById(Long id) {
+        Optional<PayslipResponse> payslip = findLiveResponseById(id);
+        return payslip.isPresent() ? payslip : findArchivedResponseById(id);
+    }
+
+    /**
+     * Keyset page of an employee's payslips as response DTOs: the next rows after the given id, in id order.
+     * @param employeeId The ID of the employee.
+     * @param afterId The last id of the previous page (0 for the first page).
+     * @param limit Maximum number of rows to return.
+     * @return Payslip responses of the employee with an id greater than afterId.
+     */
+    default List<PayslipResponse> findResponsesByEmployeeId(Long employeeId, Long afterId, Limit limit) {
+        return PageCursor.mergeById(findLiveResponsesByEmployeeId(employeeId, afterId, limit),
+                findArchivedResponsesByEmployeeId(employeeId, afterId, limit), limit, PayslipResponse::getId);
+    }
+
+    /**
+     * Keyset page of a period's payslips as response DTOs: the next rows after the given id, in id order.
+     * @param month The month (1-12).
+     * @param year The year.
+     * @param afterId The last id of the previous page (0 for the first page).
+     * @param limit Maximum number of rows to return.
+     * @return Payslip responses of the period with an id greater than afterId.
+     */
+    default List<PayslipResponse> findResponsesByMonthAndYear(Integer month, Integer year, Long afterId, Limit limit) {
+        return PageCursor.mergeById(findLiveResponsesByMonthAndYear(month, year, afterId, limit),
+                findArchivedResponsesByMonthAndYear(month, year, afterId, limit), limit, PayslipResponse::getId);
+    }
+
+    /**
+     * Loads only what decides whether a payslip's response changed, without building the response.
+     * @param id The ID of the payslip.
+     * @return An Optional containing the payslip's tag if found.
+     */
+    default Optional<PayslipTag> findTagById(Long id) {
+        Optional<PayslipTag> tag = findLiveTagById(id);
+        return tag.isPresent() ? tag : findArchivedTagById(id);
+    }
+
+    /**
+     * Tags of the same keyset page findResponsesByEmployeeId returns, in id order.
+     * @param employeeId The ID of the employee.
+     * @param afterId The last id of the previous page (0 for the first page).
+     * @param limit Maximum number of rows to return.
+     * @return Payslip tags of the employee with an id greater than afterId.
+     */
+    default List<PayslipTag> findTagsByEmployeeId(Long employeeId, Long afterId, Limit limit) {
+        return PageCursor.mergeById(findLiveTagsByEmployeeId(employeeId, afterId, limit),
+                findArchivedTagsByEmployeeId(employeeId, afterId, limit), limit, PayslipTag::id);
+    }
+
+    /**
+     * Deletes the payslips of a period in one statement, before the period is regenerated.
+     * @param month The month (1-12).
+     * @param year The year.
+     * @return The number of deleted payslips.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("delete from Payslip p where p.month = :month and p.year = :year")
+    int deleteByMonthAndYear(Integer month, Integer year);
+
+    // Per-table halves of the response finders above
+
+    @Query(PAYSLIP_RESPONSE_SELECT + "where p.id = :id")
+    Optional<PayslipResponse> findLiveResponseById(Long id);
+
+    @Query(ARCHIVED_PAYSLIP_RESPONSE_SELECT + "where p.id = :id")
+    Optional<PayslipResponse> findArchivedResponseById(Long id);
+
+    @Query(PAYSLIP_RESPONSE_SELECT + "where e.id = :employeeId and p.id > :afterId order by p.id")
+    List<PayslipResponse> findLiveResponsesByEmployeeId(Long employeeId, Long afterId, Limit limit);
+
+    @Query(ARCHIVED_PAYSLIP_RESPONSE_SELECT + "where e.id = :employeeId and p.id > :afterId order by p.id")
+    List<PayslipResponse> findArchivedResponsesByEmployeeId(Long employeeId, Long afterId, Limit limit);
+
+    @Query(PAYSLIP_RESPONSE_SELECT + "where p.month = :month and p.year = :year and p.id > :afterId order by p.id")
+    List<PayslipResponse> findLiveResponsesByMonthAndYear(Integer month, Integer year, Long afterId, Limit limit);
+
+    @Query(ARCHIVED_PAYSLIP_RESPONSE_SELECT + "where p.month = :month and p.year = :year and p.id > :afterId order by p.id")
+    List<PayslipResponse> findArchivedResponsesByMonthAndYear(Integer month, Integer year, Long afterId, Limit limit);
+
+    @Query(PAYSLIP_TAG_SELECT + "where p.id = :id")
+    Optional<PayslipTag> findLiveTagById(Long id);
+
+    @Query(ARCHIVED_PAYSLIP_TAG_SELECT + "where p.id = :id")
+    Optional<PayslipTag> findArchivedTagById(Long id);
+
+    @Query(PAYSLIP_TAG_SELECT + "where e.id = :employeeId and p.id > :afterId order by p.id")
+    List<PayslipTag> findLiveTagsByEmployeeId(Long employeeId, Long afterId, Limit limit);
+
+    @Query(ARCHIVED_PAYSLIP_TAG_SELECT + "where e.id = :employeeId and p.id > :afterId order by p.id")
+    List<PayslipTag> findArchivedTagsByEmployeeId(Long employeeId, Long afterId, Limit limit);
+
+    // Constructor projection matching the field order of PayslipResponse; one row per payslip, no lazy loads
+    String PAYSLIP_RESPONSE_COLUMNS = "select new com.erp.employeepayroll.dto.response.PayslipResponse("
+            + "p.id, e.id, e.code, e.firstName, e.lastName, p.baseSalaryAtGeneration, p.houseAmount, "
+            + "p.transportAmount, p.employeeTaxedAmount, p.pensionAmount, p.medicalInsuranceAmount, "
+            + "p.otherTaxedAmount, p.grossSalary, p.netSalary, p.month, p.year, p.status, "
+            + "p.generationDate, p.approvalDate, p.rateSetId) ";
+    String PAYSLIP_RESPONSE_SELECT = PAYSLIP_RESPONSE_COLUMNS + "from Payslip p join p.employee e ";
+    String ARCHIVED_PAYSLIP_RESPONSE_SELECT = PAYSLIP_RESPONSE_COLUMNS + "from ArchivedPayslip p join p.employee e ";
+
+    // Constructor projection of PayslipTag; reads no amounts, so conditional GETs skip building the response
+    String PAYSLIP_TAG_COLUMNS = "select new com.erp.employeepayroll.repository.PayslipTag("
+            + "p.id, p.status, p.approvalDate, e.code, e.version) ";
+    String PAYSLIP_TAG_SELECT = PAYSLIP_TAG_COLUMNS + "from Payslip p join p.employee e ";
+    String ARCHIVED_PAYSLIP_TAG_SELECT = PAYSLIP_TAG_COLUMNS + "from ArchivedPayslip p join p.employee e ";
 }
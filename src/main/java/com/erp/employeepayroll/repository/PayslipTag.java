@@ -0,0 +1,31 @@
+package com.erp.employeepayroll.repository;
+
+import com.erp.employeepayroll.model.Payslip;
+
+import java.time.LocalDate;
+
+/**
+ * The few columns that decide whether a payslip response has changed: a payslip only changes by being
+ * approved (status and approval date), and the response also shows the employee's current name, which
+ * moves the employee's version. So even a PAID payslip's response can change, and it is cached with a short
+ * max-age and revalidated rather than marked immutable. Read instead of the full response to answer conditional GETs.
+ * @param id The payslip id.
+ * @param status The payslip status.
+ * @param approvalDate The approval date, null while PENDING.
+ * @param employeeCode The employee's code, for the ownership check.
+ * @param employeeVersion The employee's optimistic-lock version.
+ */
+public record PayslipTag(Long id, Payslip.PayslipStatus status, LocalDate approvalDate, String employeeCode,
+                         Long employeeVersion) {
+
+    /**
+     * @return The identity of this payslip's current response, as fed to the ETag.
+     */
+    public String value() {
+        return id + ":" + status + ":" + approvalDate + ":" + employeeVersion;
+    }
+
+    public boolean isPaid() {
+        return status == Payslip.PayslipStatus.PAID;
+    }
+}
@@ -1,10 +1,17 @@
 package com.erp.employeepayroll.repository;
 
+import com.erp.employeepayroll.config.ReferenceDataCache;
 import com.erp.employeepayroll.model.ERole;
 import com.erp.employeepayroll.model.Role;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
 import java.util.Optional;
 
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHE_REGION;
+
 /**
  * Spring Data JPA repository for the Role entity.
  */
@@ -15,5 +22,6 @@ public interface RoleRepository extends JpaRepository<Role, Integer> {
      * @param name The name of the role (e.g., ROLE_EMPLOYEE).
      * @return An Optional containing the role if found.
      */
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"), @QueryHint(name = HINT_CACHE_REGION, value = ReferenceDataCache.QUERY_REGION)})
     Optional<Role> findByName(ERole name);
 }
\ No newline at end of file
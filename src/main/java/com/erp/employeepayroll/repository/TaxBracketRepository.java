@@ -0,0 +1,32 @@
+package com.erp.employeepayroll.repository;
+
+import com.erp.employeepayroll.model.TaxBracket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Spring Data JPA repository for the TaxBracket entity.
+ */
+public interface TaxBracketRepository extends JpaRepository<TaxBracket, Long> {
+
+    /**
+     * Finds the effective date of the schedule in force on a date.
+     * @param date The date.
+     * @return The latest effective date on or before the date, if any schedule starts by then.
+     */
+    @Query("select max(b.effectiveFrom) from TaxBracket b where b.effectiveFrom <= :date")
+    Optional<LocalDate> findEffectiveFromOn(LocalDate date);
+
+    /**
+     * Finds the brackets of one schedule.
+     * @param effectiveFrom The effective date of the schedule.
+     * @return Its brackets by ascending lower bound.
+     */
+    List<TaxBracket> findByEffectiveFromOrderByLowerBound(LocalDate effectiveFrom);
+
+    boolean existsByEffectiveFrom(LocalDate effectiveFrom);
+}
@@ -1,19 +1,12 @@
 package com.erp.employeepayroll.security;
 
 import com.erp.employeepayroll.model.Employee;
-import com.erp.employeepayroll.model.Role;
 import com.erp.employeepayroll.repository.EmployeeRepository;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Collection;
-import java.util.Set;
-import java.util.stream.Collectors;
-
 /**
  * Custom implementation of Spring Security's UserDetailsService.
  * Loads user-specific data (Employee details) during the authentication process.
@@ -22,9 +15,11 @@ import java.util.stream.Collectors;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final EmployeeRepository employeeRepository;
+    private final RoleRegistry roleRegistry;
 
-    public CustomUserDetailsService(EmployeeRepository employeeRepository) {
+    public CustomUserDetailsService(EmployeeRepository employeeRepository, RoleRegistry roleRegistry) {
         this.employeeRepository = employeeRepository;
+        this.roleRegistry = roleRegistry;
     }
 
     /**
@@ -40,22 +35,11 @@ public class CustomUserDetailsService implements UserDetailsService {
         Employee employee = employeeRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("Employee not found with email: " + email));
 
-        // Convert employee roles to Spring Security GrantedAuthorities
+        // Convert the employee's role bitmask to Spring Security GrantedAuthorities
         return new org.springframework.security.core.userdetails.User(
                 employee.getEmail(),
                 employee.getPassword(),
-                mapRolesToAuthorities(employee.getRoles())
+                roleRegistry.authoritiesOf(employee.getRoleMask())
         );
     }
-
-    /**
-     * Helper method to map set of Role entities to a collection of GrantedAuthority.
-     * @param roles Set of roles associated with the employee.
-     * @return Collection of GrantedAuthority objects.
-     */
-    private Collection<? extends GrantedAuthority> mapRolesToAuthorities(Set<Role> roles) {
-        return roles.stream()
-                .map(role -> new SimpleGrantedAuthority(role.getName().name()))
-                .collect(Collectors.toList());
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,151 @@
+package com.erp.employeepayroll.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control for expensive endpoints (login, payroll generation).
+ * Each configured route gets a token bucket per client (principal + IP) which answers 429 when empty,
+ * and a route-wide concurrency bulkhead which answers 503 when all permits are in use.
+ * Rejections are counted in the "payroll.ratelimit.rejected" meter, tagged by route and reason.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitProperties properties;
+    private final List<GuardedRoute> routes = new ArrayList<>();
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public RateLimitFilter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        for (Map.Entry<String, RateLimitProperties.Route> entry : properties.getRoutes().entrySet()) {
+            routes.add(new GuardedRoute(entry.getKey(), entry.getValue(), properties.getMaxKeys(), meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    /**
+     * Applies the rate limit and bulkhead of the first matching route; other requests pass straight through.
+     *
+     * @param request The HttpServletRequest.
+     * @param response The HttpServletResponse.
+     * @param filterChain The FilterChain.
+     * @throws ServletException If a servlet-specific error occurs.
+     * @throws IOException If an input or output exception occurs.
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        GuardedRoute route = findRoute(request);
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = route.limiter.tryAcquire(clientKey(request));
+        if (waitNanos > 0) {
+            route.throttled.increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, toRetryAfterSeconds(waitNanos),
+                    "Too many requests. Please retry later.");
+            return;
+        }
+
+        if (!route.bulkhead.tryAcquire()) {
+            route.saturated.increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, route.config.getRetryAfterSeconds(),
+                    "Server is busy processing similar requests. Please retry later.");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            route.bulkhead.release();
+        }
+    }
+
+    private GuardedRoute findRoute(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (GuardedRoute route : routes) {
+            String method = route.config.getMethod();
+            if ((method == null || method.equalsIgnoreCase(request.getMethod()))
+                    && pathMatcher.match(route.config.getPattern(), path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Builds the bucket key from the authenticated principal (if any) and the client IP,
+     * so one user cannot exhaust another user's budget from a shared address and vice versa.
+     * The IP is the connection's remote address: headers such as X-Forwarded-For are chosen by the client and
+     * would give an attacker a fresh bucket per request. Behind a reverse proxy, set
+     * server.forward-headers-strategy so the container resolves the address from its trusted proxies only.
+     */
+    private String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String principal = (authentication == null || authentication instanceof AnonymousAuthenticationToken)
+                ? "anonymous" : authentication.getName();
+        return principal + "@" + request.getRemoteAddr();
+    }
+
+    private long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType("text/plain;charset=UTF-8");
+        response.getWriter().write(message);
+    }
+
+    // A configured route together with its limiter, bulkhead and rejection counters
+    private static final class GuardedRoute {
+        private final RateLimitProperties.Route config;
+        private final TokenBucketRateLimiter limiter;
+        private final Semaphore bulkhead;
+        private final Counter throttled;
+        private final Counter saturated;
+
+        private GuardedRoute(String name, RateLimitProperties.Route config, int maxKeys, MeterRegistry meterRegistry) {
+            this.config = config;
+            this.limiter = new TokenBucketRateLimiter(config.getCapacity(), config.getRefillPerSecond(), maxKeys);
+            this.bulkhead = new Semaphore(config.getMaxConcurrent());
+            this.throttled = Counter.builder("payroll.ratelimit.rejected")
+                    .description("Requests rejected by admission control")
+                    .tag("route", name)
+                    .tag("reason", "rate_limited")
+                    .register(meterRegistry);
+            this.saturated = Counter.builder("payroll.ratelimit.rejected")
+                    .description("Requests rejected by admission control")
+                    .tag("route", name)
+                    .tag("reason", "bulkhead_full")
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.erp.employeepayroll.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-route rate limiting and concurrency settings, bound from {@code app.rate-limit.*}.
+ * Each route can be overridden individually, e.g. {@code app.rate-limit.routes.login.capacity=5}.
+ */
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+@Data
+public class RateLimitProperties {
+
+    private boolean enabled = true; // Master switch for the rate limit filter
+
+    private int maxKeys = 65536; // Client buckets kept per route; past this, buckets are evicted before they refill
+
+    private Map<String, Route> routes = new LinkedHashMap<>(Map.of(
+            // BCrypt makes every login attempt expensive, so keep the burst small per client
+            "login", new Route("POST", "/api/auth/login", 10, 1.0, 32, 1),
+            // A payroll run is heavy and must not overlap with another run
+            "payroll-generate", new Route("POST", "/api/payslips/generate", 2, 1.0 / 30, 1, 30)
+    ));
+
+    /**
+     * Limits applied to a single route.
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Route {
+        private String method; // HTTP method to match, or null for any method
+        private String pattern; // Ant-style path pattern (e.g. "/api/auth/login")
+        private int capacity; // Maximum burst of requests per client key
+        private double refillPerSecond; // Tokens added back per second per client key
+        private int maxConcurrent; // Bulkhead size: requests allowed in flight at once for the whole route
+        private long retryAfterSeconds; // Retry-After sent when the bulkhead is full
+    }
+}
@@ -0,0 +1,138 @@
+package com.erp.employeepayroll.security;
+
+import com.erp.employeepayroll.exception.ResourceNotFoundException;
+import com.erp.employeepayroll.model.ERole;
+import com.erp.employeepayroll.model.Role;
+import com.erp.employeepayroll.repository.RoleRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * Immutable in-memory registry of the system roles, loaded once at startup.
+ * Employees store their roles as a bitmask (Employee.roleMask); this registry turns role names into
+ * mask bits and masks into authorities/names using tables precomputed for every possible mask,
+ * so neither employee loads nor authority checks touch the role table.
+ */
+@Component
+public class RoleRegistry {
+
+    private final RoleRepository roleRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private Map<ERole, Role> rolesByName; // Role rows, kept for reference data consumers
+    private List<List<GrantedAuthority>> authoritiesByMask; // Index = mask
+    private List<Set<String>> namesByMask; // Index = mask
+    private int knownBits; // Bits of all ERole values; other bits of a stored mask are ignored
+
+    public RoleRegistry(RoleRepository roleRepository, PlatformTransactionManager transactionManager) {
+        this.roleRepository = roleRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Loads the role rows (creating any that are missing) and precomputes the per-mask lookup tables.
+     */
+    @PostConstruct
+    void load() {
+        EnumMap<ERole, Role> roles = new EnumMap<>(ERole.class);
+        // One read-write transaction, so the rows are read from the primary that the missing ones are written to
+        transactionTemplate.executeWithoutResult(status -> {
+            roleRepository.findAll().forEach(role -> roles.put(role.getName(), role));
+            for (ERole eRole : ERole.values()) {
+                roles.computeIfAbsent(eRole, missing -> {
+                    Role role = new Role();
+                    role.setName(missing);
+                    return roleRepository.save(role);
+                });
+            }
+        });
+        this.rolesByName = Collections.unmodifiableMap(roles);
+
+        int maskCount = 1 << ERole.values().length;
+        List<List<GrantedAuthority>> authorities = new ArrayList<>(maskCount);
+        List<Set<String>> names = new ArrayList<>(maskCount);
+        for (int mask = 0; mask < maskCount; mask++) {
+            List<GrantedAuthority> maskAuthorities = new ArrayList<>();
+            Set<String> maskNames = new LinkedHashSet<>();
+            for (ERole eRole : ERole.values()) {
+                if ((mask & eRole.getBit()) != 0) {
+                    maskAuthorities.add(new SimpleGrantedAuthority(eRole.name()));
+                    maskNames.add(eRole.name());
+                }
+            }
+            authorities.add(List.copyOf(maskAuthorities));
+            names.add(Collections.unmodifiableSet(maskNames));
+        }
+        this.authoritiesByMask = List.copyOf(authorities);
+        this.namesByMask = List.copyOf(names);
+        this.knownBits = maskCount - 1;
+    }
+
+    /**
+     * Resolves a role name (case-insensitive, e.g. "role_manager") to its ERole.
+     * @param roleName The role name.
+     * @return The matching ERole.
+     * @throws ResourceNotFoundException if no such role exists.
+     */
+    public ERole resolve(String roleName) {
+        for (ERole eRole : ERole.values()) {
+            if (eRole.name().equalsIgnoreCase(roleName)) {
+                return eRole;
+            }
+        }
+        throw new ResourceNotFoundException("Role name " + roleName);
+    }
+
+    /**
+     * Builds the role bitmask for a set of role names.
+     * @param roleNames The role names; null or empty yields the given default.
+     * @param defaultRole Role to assign when no names are given, or null for none.
+     * @return The role bitmask.
+     * @throws ResourceNotFoundException if any role name is unknown.
+     */
+    public int maskOf(Collection<String> roleNames, ERole defaultRole) {
+        if (roleNames == null || roleNames.isEmpty()) {
+            return defaultRole == null ? 0 : defaultRole.getBit();
+        }
+        int mask = 0;
+        for (String roleName : roleNames) {
+            mask |= resolve(roleName).getBit();
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the Spring Security authorities for a role bitmask (shared, immutable list).
+     * Bits of no known role (a bad row, or a role added by a newer release during a rolling deploy) grant nothing.
+     * @param roleMask The employee's role bitmask.
+     * @return The granted authorities.
+     */
+    public List<GrantedAuthority> authoritiesOf(int roleMask) {
+        return authoritiesByMask.get(roleMask & knownBits);
+    }
+
+    /**
+     * Returns the role names for a role bitmask (shared, immutable set).
+     * Bits of no known role are ignored, as in authoritiesOf.
+     * @param roleMask The employee's role bitmask.
+     * @return The role names, e.g. ["ROLE_EMPLOYEE", "ROLE_MANAGER"].
+     */
+    public Set<String> namesOf(int roleMask) {
+        return namesByMask.get(roleMask & knownBits);
+    }
+
+    /**
+     * Returns the persisted role row for a role.
+     * @param eRole The role.
+     * @return The Role entity loaded at startup.
+     */
+    public Role roleOf(ERole eRole) {
+        return rolesByName.get(eRole);
+    }
+}
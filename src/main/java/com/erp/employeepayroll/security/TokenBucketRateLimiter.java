@@ -0,0 +1,74 @@
+package com.erp.employeepayroll.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket keyed by an arbitrary client key (principal and/or IP).
+ * Each bucket is a single AtomicLong holding the "theoretical arrival time" of the next request
+ * (the GCRA form of a token bucket), so acquiring a token from an existing bucket is one CAS.
+ * Buckets live in a size-bounded Caffeine cache and expire once they have been idle long enough to refill,
+ * at which point they behave exactly like a missing bucket.
+ */
+public class TokenBucketRateLimiter {
+
+    private final long emissionIntervalNanos; // Time it takes to refill one token
+    private final long burstToleranceNanos; // How far ahead of "now" a bucket may run (capacity - 1 tokens)
+    private final LongSupplier nanoClock;
+    private final Cache<String, AtomicLong> buckets;
+
+    public TokenBucketRateLimiter(int capacity, double refillPerSecond, int maxKeys) {
+        this(capacity, refillPerSecond, maxKeys, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(int capacity, double refillPerSecond, int maxKeys, LongSupplier nanoClock) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Rate limit capacity must be >= 1 and refill rate must be > 0");
+        }
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * (capacity - 1);
+        this.nanoClock = nanoClock;
+        // A bucket untouched for capacity intervals is full again; evicting a bucket earlier forgives its client
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(Duration.ofNanos(emissionIntervalNanos * capacity))
+                .ticker(nanoClock::getAsLong)
+                .build();
+    }
+
+    /**
+     * Tries to take one token for the given key.
+     * @param key The client key (e.g. "user@mail.com@10.0.0.1").
+     * @return 0 if the request is allowed, otherwise the number of nanoseconds until a token is available.
+     */
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        AtomicLong bucket = buckets.getIfPresent(key);
+        if (bucket == null) {
+            bucket = buckets.get(key, k -> new AtomicLong(now));
+        }
+
+        while (true) {
+            long tat = bucket.get();
+            long next = Math.max(tat, now) + emissionIntervalNanos;
+            long allowAt = next - emissionIntervalNanos - burstToleranceNanos;
+            if (now < allowAt) {
+                return allowAt - now; // Bucket is empty
+            }
+            if (bucket.compareAndSet(tat, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // Number of buckets held, after pending evictions and expirations have run
+    long trackedKeys() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+}
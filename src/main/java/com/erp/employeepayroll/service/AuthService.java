@@ -6,10 +6,9 @@ import com.erp.employeepayroll.dto.response.EmployeeResponse;
 import com.erp.employeepayroll.dto.response.JwtAuthResponse;
 import com.erp.employeepayroll.model.ERole;
 import com.erp.employeepayroll.model.Employee;
-import com.erp.employeepayroll.model.Role;
 import com.erp.employeepayroll.repository.EmployeeRepository;
-import com.erp.employeepayroll.repository.RoleRepository;
 import com.erp.employeepayroll.security.JwtTokenProvider;
+import com.erp.employeepayroll.security.RoleRegistry;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -18,11 +17,6 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Collections;
-import java.util.HashSet;
-import java.util.Set;
-import java.util.stream.Collectors;
-
 /**
  * Service for handling user authentication and registration.
  */
@@ -31,20 +25,23 @@ public class AuthService {
 
     private final AuthenticationManager authenticationManager;
     private final EmployeeRepository employeeRepository;
-    private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;
+    private final EmployeeSearchIndex employeeSearchIndex;
 
     public AuthService(AuthenticationManager authenticationManager,
                        EmployeeRepository employeeRepository,
-                       RoleRepository roleRepository,
+                       RoleRegistry roleRegistry,
                        PasswordEncoder passwordEncoder,
-                       JwtTokenProvider jwtTokenProvider) {
+                       JwtTokenProvider jwtTokenProvider,
+                       EmployeeSearchIndex employeeSearchIndex) {
         this.authenticationManager = authenticationManager;
         this.employeeRepository = employeeRepository;
-        this.roleRepository = roleRepository;
+        this.roleRegistry = roleRegistry;
         this.passwordEncoder = passwordEncoder;
         this.jwtTokenProvider = jwtTokenProvider;
+        this.employeeSearchIndex = employeeSearchIndex;
     }
 
     /**
@@ -64,9 +61,7 @@ public class AuthService {
         Employee authenticatedEmployee = employeeRepository.findByEmail(authRequest.getEmail())
                 .orElseThrow(() -> new RuntimeException("Authenticated employee not found. This should not happen."));
 
-        String rolesString = authenticatedEmployee.getRoles().stream()
-                .map(role -> role.getName().name())
-                .collect(Collectors.joining(","));
+        String rolesString = String.join(",", roleRegistry.namesOf(authenticatedEmployee.getRoleMask()));
 
         return new JwtAuthResponse(token, authenticatedEmployee.getCode(), authenticatedEmployee.getEmail(), rolesString);
     }
@@ -96,39 +91,10 @@ public class AuthService {
         employee.setDateOfBirth(employeeRequest.getDateOfBirth());
         employee.setStatus(employeeRequest.getStatus()); // Should typically be ACTIVE upon registration
 
-        Set<String> strRoles = employeeRequest.getRoles();
-        Set<Role> roles = new HashSet<>();
-
-        if (strRoles == null || strRoles.isEmpty()) {
-            // Default role if none specified
-            Role employeeRole = roleRepository.findByName(ERole.ROLE_EMPLOYEE)
-                    .orElseThrow(() -> new RuntimeException("Error: Role ROLE_EMPLOYEE is not found."));
-            roles.add(employeeRole);
-        } else {
-            strRoles.forEach(role -> {
-                switch (role.toUpperCase()) {
-                    case "ROLE_ADMIN":
-                        Role adminRole = roleRepository.findByName(ERole.ROLE_ADMIN)
-                                .orElseThrow(() -> new RuntimeException("Error: Role ROLE_ADMIN is not found."));
-                        roles.add(adminRole);
-                        break;
-                    case "ROLE_MANAGER":
-                        Role managerRole = roleRepository.findByName(ERole.ROLE_MANAGER)
-                                .orElseThrow(() -> new RuntimeException("Error: Role ROLE_MANAGER is not found."));
-                        roles.add(managerRole);
-                        break;
-                    case "ROLE_EMPLOYEE":
-                        Role empRole = roleRepository.findByName(ERole.ROLE_EMPLOYEE)
-                                .orElseThrow(() -> new RuntimeException("Error: Role ROLE_EMPLOYEE is not found."));
-                        roles.add(empRole);
-                        break;
-                    default:
-                        throw new RuntimeException("Error: Role " + role + " does not exist.");
-                }
-            });
-        }
-        employee.setRoles(roles);
+        // Default role if none specified
+        employee.setRoleMask(roleRegistry.maskOf(employeeRequest.getRoles(), ERole.ROLE_EMPLOYEE));
         Employee savedEmployee = employeeRepository.save(employee);
+        employeeSearchIndex.indexAfterCommit(savedEmployee);
 
         return mapToEmployeeResponse(savedEmployee);
     }
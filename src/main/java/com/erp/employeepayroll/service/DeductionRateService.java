@@ -0,0 +1,211 @@
+package com.erp.employeepayroll.service;
+
+import com.erp.employeepayroll.dto.response.DeductionRateSetResponse;
+import com.erp.employeepayroll.exception.ResourceNotFoundException;
+import com.erp.employeepayroll.exception.ValidationException;
+import com.erp.employeepayroll.model.Deduction;
+import com.erp.employeepayroll.model.DeductionRate;
+import com.erp.employeepayroll.model.DeductionRateSet;
+import com.erp.employeepayroll.model.DeductionRateSetEntry;
+import com.erp.employeepayroll.repository.DeductionRateRepository;
+import com.erp.employeepayroll.repository.DeductionRateSetRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Effective-dated deduction rates.
+ * Every change of a deduction is recorded as a DeductionRate version; the rates of a payroll period are the
+ * versions in force on its last day, frozen into a DeductionRateSet shared by all periods resolving to the
+ * same versions. Resolved sets are cached per date and reused by regeneration, previews and audits until
+ * a new version is recorded anywhere, which is detected with one max-id lookup.
+ */
+@Service
+public class DeductionRateService {
+
+    private final DeductionRateRepository rateRepository;
+    private final DeductionRateSetRepository rateSetRepository;
+    private final TransactionTemplate requiresNewTransaction; // Sets are committed on their own, whatever the caller's outcome
+    private final Map<LocalDate, Resolved> resolvedSets = new ConcurrentHashMap<>();
+
+    public DeductionRateService(DeductionRateRepository rateRepository, DeductionRateSetRepository rateSetRepository,
+                                PlatformTransactionManager transactionManager) {
+        this.rateRepository = rateRepository;
+        this.rateSetRepository = rateSetRepository;
+        this.requiresNewTransaction = new TransactionTemplate(transactionManager);
+        this.requiresNewTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Records the current code, name and percentage of a deduction as a version effective from a date.
+     * @param deduction The deduction, after the change.
+     * @param effectiveFrom First day the version applies to.
+     */
+    @Transactional
+    public void recordRate(Deduction deduction, LocalDate effectiveFrom) {
+        rateRepository.save(versionOf(deduction, effectiveFrom, false));
+    }
+
+    /**
+     * Records that a deduction no longer applies from a date.
+     * @param deduction The deduction, before the change (its current code is retired).
+     * @param effectiveFrom First day the deduction no longer applies to.
+     */
+    @Transactional
+    public void recordRetirement(Deduction deduction, LocalDate effectiveFrom) {
+        rateRepository.save(versionOf(deduction, effectiveFrom, true));
+    }
+
+    /**
+     * Resolves the rate set of a payroll period: the versions in force on the last day of the month.
+     * @param month The month (1-12).
+     * @param year The year.
+     * @return The frozen rate set, written on first use.
+     */
+    public DeductionRateSet rateSetFor(int month, int year) {
+        return rateSetOn(YearMonth.of(year, month).atEndOfMonth());
+    }
+
+    /**
+     * Resolves the rate set in force on a date.
+     * @param date The date to resolve.
+     * @return The frozen rate set, written on first use.
+     */
+    public DeductionRateSet rateSetOn(LocalDate date) {
+        Long latestVersionId = rateRepository.findLatestVersionId();
+        Resolved cached = resolvedSets.get(date);
+        if (cached != null && Objects.equals(cached.latestVersionId, latestVersionId)) {
+            return cached.rateSet;
+        }
+        DeductionRateSet rateSet;
+        try {
+            rateSet = requiresNewTransaction.execute(status -> resolve(date));
+        } catch (DataIntegrityViolationException e) {
+            // Another run wrote the same set concurrently; the fingerprint now finds it
+            rateSet = requiresNewTransaction.execute(status -> resolve(date));
+        }
+        resolvedSets.put(date, new Resolved(latestVersionId, rateSet));
+        return rateSet;
+    }
+
+    /**
+     * Retrieves a frozen rate set, e.g. the one a payslip was calculated with.
+     * @param id The ID of the rate set.
+     * @return DeductionRateSetResponse DTO.
+     * @throws ResourceNotFoundException if the rate set is not found.
+     */
+    @Transactional(readOnly = true)
+    public DeductionRateSetResponse getRateSet(Long id) {
+        return mapToResponse(rateSetRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Deduction rate set " + id)));
+    }
+
+    /**
+     * Resolves the rate set of a payroll period, as generating its payroll would.
+     * @param month The month (1-12).
+     * @param year The year.
+     * @return DeductionRateSetResponse DTO.
+     * @throws ValidationException if the month is not between 1 and 12.
+     */
+    public DeductionRateSetResponse getRateSetFor(int month, int year) {
+        if (month < 1 || month > 12) {
+            throw new ValidationException("Month must be between 1 and 12.");
+        }
+        return mapToResponse(rateSetFor(month, year));
+    }
+
+    /**
+     * Reads the percentages in force on a date without freezing them into a rate set, for previews that
+     * must not write anything.
+     * @param date The date to resolve.
+     * @return Percentages by deduction name, as decimals (see DeductionRateSet.percentagesByName).
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Double> percentagesOn(LocalDate date) {
+        return inForce(date).stream()
+                .collect(Collectors.toMap(DeductionRate::getDeductionName, DeductionRate::getPercentage, (first, second) -> first));
+    }
+
+    // Picks the latest version of each code and drops retired codes
+    private List<DeductionRate> inForce(LocalDate date) {
+        List<DeductionRate> inForce = new ArrayList<>();
+        String previousCode = null;
+        for (DeductionRate version : rateRepository.findEffectiveOn(date)) {
+            if (!version.getCode().equals(previousCode) && !version.isRetired()) {
+                inForce.add(version);
+            }
+            previousCode = version.getCode();
+        }
+        return inForce;
+    }
+
+    // Finds or writes the set matching the versions in force
+    private DeductionRateSet resolve(LocalDate date) {
+        List<DeductionRate> inForce = inForce(date);
+        String fingerprint = fingerprint(inForce);
+        return rateSetRepository.findByFingerprint(fingerprint).orElseGet(() -> {
+            DeductionRateSet rateSet = new DeductionRateSet();
+            rateSet.setFingerprint(fingerprint);
+            rateSet.setEffectiveDate(date);
+            rateSet.setCreatedAt(LocalDateTime.now());
+            rateSet.setEntries(inForce.stream()
+                    .map(version -> new DeductionRateSetEntry(version.getCode(), version.getDeductionName(), version.getPercentage()))
+                    .collect(Collectors.toList()));
+            return rateSetRepository.saveAndFlush(rateSet);
+        });
+    }
+
+    // SHA-256 of the ordered version ids; equal for every date resolving to the same versions
+    private static String fingerprint(List<DeductionRate> versions) {
+        String ids = versions.stream().map(version -> version.getId().toString()).collect(Collectors.joining(","));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(ids.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static DeductionRate versionOf(Deduction deduction, LocalDate effectiveFrom, boolean retired) {
+        DeductionRate version = new DeductionRate();
+        version.setCode(deduction.getCode());
+        version.setDeductionName(deduction.getDeductionName());
+        version.setPercentage(deduction.getPercentage());
+        version.setEffectiveFrom(effectiveFrom);
+        version.setRetired(retired);
+        version.setCreatedAt(LocalDateTime.now());
+        return version;
+    }
+
+    private DeductionRateSetResponse mapToResponse(DeductionRateSet rateSet) {
+        return DeductionRateSetResponse.builder()
+                .id(rateSet.getId())
+                .effectiveDate(rateSet.getEffectiveDate())
+                .createdAt(rateSet.getCreatedAt())
+                .rates(rateSet.getEntries().stream()
+                        .map(entry -> new DeductionRateSetResponse.Rate(entry.getCode(), entry.getDeductionName(), entry.getPercentage() * 100.0))
+                        .toList())
+                .build();
+    }
+
+    // A resolved set with the latest version id it was resolved against
+    private record Resolved(Long latestVersionId, DeductionRateSet rateSet) {
+    }
+}
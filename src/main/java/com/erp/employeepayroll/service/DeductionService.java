@@ -1,26 +1,36 @@
 package com.erp.employeepayroll.service;
 
+import com.erp.employeepayroll.config.ReferenceDataCache;
 import com.erp.employeepayroll.dto.request.DeductionRequest;
+import com.erp.employeepayroll.dto.response.CursorPage;
 import com.erp.employeepayroll.dto.response.DeductionResponse;
 import com.erp.employeepayroll.exception.ResourceNotFoundException;
 import com.erp.employeepayroll.model.Deduction;
 import com.erp.employeepayroll.repository.DeductionRepository;
+import com.erp.employeepayroll.util.OptimisticLocking;
+import com.erp.employeepayroll.util.PageCursor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Service for managing deduction types and their percentages.
+ * Every change is also recorded as an effective-dated rate version (see DeductionRateService).
  */
 @Service
 public class DeductionService {
 
     private final DeductionRepository deductionRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final DeductionRateService deductionRateService;
 
-    public DeductionService(DeductionRepository deductionRepository) {
+    public DeductionService(DeductionRepository deductionRepository, ReferenceDataCache referenceDataCache,
+                            DeductionRateService deductionRateService) {
         this.deductionRepository = deductionRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.deductionRateService = deductionRateService;
     }
 
     /**
@@ -44,6 +54,8 @@ public class DeductionService {
         deduction.setPercentage(request.getPercentage() / 100.0); // Store as decimal (e.g., 0.05 for 5%)
 
         Deduction savedDeduction = deductionRepository.save(deduction);
+        deductionRateService.recordRate(savedDeduction, effectiveFrom(request));
+        referenceDataCache.evictAfterCommit(Deduction.class, savedDeduction.getId());
         return mapToResponse(savedDeduction);
     }
 
@@ -53,6 +65,7 @@ public class DeductionService {
      * @return DeductionResponse DTO.
      * @throws ResourceNotFoundException if deduction is not found.
      */
+    @Transactional(readOnly = true)
     public DeductionResponse getDeductionById(Long id) {
         Deduction deduction = deductionRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Deduction" +id));
@@ -60,14 +73,16 @@ public class DeductionService {
     }
 
     /**
-     * Retrieves all deductions.
-     * @return List of DeductionResponse DTOs.
+     * Retrieves one page of deductions, ordered by id.
+     * @param cursor The nextCursor of the previous page, or null for the first page.
+     * @param size The requested page size.
+     * @return A CursorPage of DeductionResponse DTOs.
      */
-    public List<DeductionResponse> getAllDeductions() {
-        List<Deduction> deductions = deductionRepository.findAll();
-        return deductions.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPage<DeductionResponse> getAllDeductions(String cursor, Integer size) {
+        List<Deduction> deductions = deductionRepository.findByIdGreaterThanOrderByIdAsc(
+                PageCursor.decode(cursor), PageCursor.limitFor(size));
+        return CursorPage.of(deductions, size, Deduction::getId, this::mapToResponse);
     }
 
     /**
@@ -77,10 +92,15 @@ public class DeductionService {
      * @return DeductionResponse DTO of the updated deduction.
      * @throws ResourceNotFoundException if deduction is not found.
      * @throws RuntimeException if updated deduction name or code is taken by another deduction.
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException if the deduction changed since the client read it.
      */
     @Transactional
     public DeductionResponse updateDeduction(String code, DeductionRequest request) {
         Deduction deduction = deductionRepository.findByCode(code);
+        if (deduction == null) {
+            throw new ResourceNotFoundException("Deduction code " + code);
+        }
+        OptimisticLocking.checkVersion(request.getVersion(), deduction.getVersion(), Deduction.class, deduction.getId());
 
         // Check if name changed and if new name is taken by another deduction
         if (!deduction.getDeductionName().equalsIgnoreCase(request.getDeductionName()) &&
@@ -93,11 +113,18 @@ public class DeductionService {
             throw new RuntimeException("Deduction with code '" + request.getCode() + "' already exists for another record.");
         }
 
+        // The live record holds the latest definition; payroll periods read the version in force for them
+        LocalDate effectiveFrom = effectiveFrom(request);
+        if (!deduction.getCode().equals(request.getCode())) {
+            deductionRateService.recordRetirement(deduction, effectiveFrom);
+        }
         deduction.setCode(request.getCode());
         deduction.setDeductionName(request.getDeductionName());
         deduction.setPercentage(request.getPercentage() / 100.0); // Store as decimal
 
-        Deduction updatedDeduction = deductionRepository.save(deduction);
+        Deduction updatedDeduction = deductionRepository.saveAndFlush(deduction); // Flush so the response carries the incremented version
+        deductionRateService.recordRate(updatedDeduction, effectiveFrom);
+        referenceDataCache.evictAfterCommit(Deduction.class, updatedDeduction.getId());
         return mapToResponse(updatedDeduction);
     }
 
@@ -111,6 +138,12 @@ public class DeductionService {
         Deduction deduction = deductionRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Deduction"+id));
         deductionRepository.delete(deduction);
+        deductionRateService.recordRetirement(deduction, LocalDate.now());
+        referenceDataCache.evictAfterCommit(Deduction.class, id);
+    }
+
+    private static LocalDate effectiveFrom(DeductionRequest request) {
+        return request.getEffectiveFrom() != null ? request.getEffectiveFrom() : LocalDate.now();
     }
 
     // Helper method to map Deduction entity to DeductionResponse DTO
@@ -120,6 +153,7 @@ public class DeductionService {
                 .code(deduction.getCode())
                 .deductionName(deduction.getDeductionName())
                 .percentage(deduction.getPercentage() * 100.0) // Return as percentage (e.g., 5.0 for 5%)
+                .version(deduction.getVersion())
                 .build();
     }
 }
\ No newline at end of file
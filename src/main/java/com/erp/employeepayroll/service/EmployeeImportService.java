@@ -0,0 +1,485 @@
+package com.erp.employeepayroll.service;
+
+import com.erp.employeepayroll.config.BatchWork;
+import com.erp.employeepayroll.config.ImportProperties;
+import com.erp.employeepayroll.config.ReferenceDataCache;
+import com.erp.employeepayroll.dto.request.EmployeeImportRow;
+import com.erp.employeepayroll.dto.response.EmployeeSearchHit;
+import com.erp.employeepayroll.dto.response.ImportReport;
+import com.erp.employeepayroll.exception.ResourceNotFoundException;
+import com.erp.employeepayroll.exception.ValidationException;
+import com.erp.employeepayroll.model.ERole;
+import com.erp.employeepayroll.model.Employee;
+import com.erp.employeepayroll.model.Employment;
+import com.erp.employeepayroll.security.RoleRegistry;
+import com.erp.employeepayroll.util.DataIntegrityViolations;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of employees (and optionally their employment records) from a CSV or JSON upload.
+ * The upload is streamed row by row: each row is validated against the unique keys already in the database,
+ * loaded once into memory, and against the rows accepted before it. Accepted rows are collected into chunks of
+ * {@code app.import.chunk-size}; the passwords of a chunk are hashed in parallel on a bounded pool and the chunk is
+ * written with JDBC batch inserts in one transaction. A chunk the database rejects is retried row by row,
+ * so one bad row only fails itself. Rejected rows are listed in the returned report.
+ */
+@Service
+public class EmployeeImportService {
+
+    /**
+     * Supported upload formats.
+     */
+    public enum Format { CSV, JSON }
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeImportService.class);
+
+    // CSV header names; they match the EmployeeImportRow properties used by the JSON format
+    private static final Set<String> CSV_COLUMNS = Set.of("code", "firstName", "lastName", "email", "password", "mobile",
+            "dateOfBirth", "status", "roles", "employmentCode", "department", "position", "baseSalary",
+            "employmentStatus", "joiningDate");
+
+    private static final String INSERT_EMPLOYEE = "INSERT INTO employee "
+            + "(code, first_name, last_name, email, password, mobile, date_of_birth, status, role_mask, version) "
+            + "VALUES (:code, :firstName, :lastName, :email, :password, :mobile, :dateOfBirth, :status, :roleMask, 0)";
+    private static final String INSERT_EMPLOYMENT = "INSERT INTO employment "
+            + "(code, employee_id, department, position, base_salary, status, joining_date, version) "
+            + "VALUES (:code, :employeeId, :department, :position, :baseSalary, :status, :joiningDate, 0)";
+    // Imported employment records start their history at the joining date, see EmploymentHistoryService
+    private static final String INSERT_EMPLOYMENT_HISTORY = "INSERT INTO employment_history "
+            + "(employment_id, employee_id, department, position, base_salary, status, effective_from) "
+            + "SELECT id, employee_id, department, position, base_salary, status, joining_date FROM employment WHERE code IN (:codes)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final RoleRegistry roleRegistry;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ReferenceDataCache referenceDataCache;
+    private final ImportProperties properties;
+    private final EmployeeSearchIndex employeeSearchIndex;
+    private final ExecutorService passwordHashPool;
+
+    public EmployeeImportService(NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                 PasswordEncoder passwordEncoder, RoleRegistry roleRegistry, Validator validator,
+                                 ObjectMapper objectMapper, ReferenceDataCache referenceDataCache, ImportProperties properties,
+                                 EmployeeSearchIndex employeeSearchIndex) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+        this.roleRegistry = roleRegistry;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.referenceDataCache = referenceDataCache;
+        this.properties = properties;
+        this.employeeSearchIndex = employeeSearchIndex;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.passwordHashPool = Executors.newFixedThreadPool(properties.getHashThreads(), task -> {
+            Thread thread = new Thread(task, "import-hash-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        passwordHashPool.shutdownNow();
+    }
+
+    /**
+     * Imports employees from an upload.
+     * CSV uploads start with a header row naming the columns (see {@link EmployeeImportRow}); roles are separated
+     * by ';' and values containing commas are double-quoted. JSON uploads are an array of EmployeeImportRow objects.
+     * @param input The upload, read once and not closed.
+     * @param format The upload format.
+     * @return The report of imported and rejected rows.
+     * @throws IOException if the upload cannot be read.
+     * @throws ValidationException if the CSV header names an unknown column.
+     */
+    @BatchWork
+    public ImportReport importEmployees(InputStream input, Format format) throws IOException {
+        long start = System.nanoTime();
+        ImportRun run = new ImportRun(
+                loadKeys("SELECT LOWER(email) FROM employee WHERE email IS NOT NULL"),
+                loadKeys("SELECT LOWER(code) FROM employee"),
+                loadKeys("SELECT LOWER(code) FROM employment"));
+        if (format == Format.CSV) {
+            readCsv(input, run);
+        } else {
+            readJson(input, run);
+        }
+        run.flush();
+
+        ImportReport report = run.report();
+        logger.info("Imported {} of {} employee rows in {} ms ({} rejected)", report.getImported(), report.getTotalRows(),
+                (System.nanoTime() - start) / 1_000_000, report.getFailed());
+        return report;
+    }
+
+    private Set<String> loadKeys(String sql) {
+        return new HashSet<>(jdbcTemplate.queryForList(sql, Map.of(), String.class));
+    }
+
+    private void readCsv(InputStream input, ImportRun run) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String headerLine = reader.readLine();
+        if (headerLine == null) {
+            return;
+        }
+        List<String> header = splitCsvLine(headerLine.replace("\uFEFF", ""));
+        for (String column : header) {
+            if (!CSV_COLUMNS.contains(column)) {
+                throw new ValidationException("Unknown CSV column '" + column + "'. Expected columns: " + CSV_COLUMNS);
+            }
+        }
+
+        int row = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            row++;
+            List<String> values;
+            try {
+                values = splitCsvLine(line);
+            } catch (IllegalArgumentException e) {
+                run.reject(row, null, "Unreadable row: " + e.getMessage());
+                continue;
+            }
+            EmployeeImportRow parsed;
+            try {
+                parsed = fromCsv(header, values);
+            } catch (IllegalArgumentException | DateTimeException e) {
+                int codeIndex = header.indexOf("code");
+                run.reject(row, codeIndex >= 0 && codeIndex < values.size() ? values.get(codeIndex) : null,
+                        "Unreadable row: " + e.getMessage());
+                continue;
+            }
+            run.accept(row, parsed);
+        }
+    }
+
+    private void readJson(InputStream input, ImportRun run) throws IOException {
+        int row = 0;
+        try (MappingIterator<EmployeeImportRow> rows = objectMapper.readerFor(EmployeeImportRow.class).readValues(input)) {
+            while (rows.hasNextValue()) {
+                row++;
+                try {
+                    run.accept(row, rows.nextValue());
+                } catch (JsonMappingException e) {
+                    run.reject(row, null, "Unreadable row: " + e.getOriginalMessage());
+                }
+            }
+        } catch (JsonProcessingException e) {
+            // Malformed JSON cannot be resynchronized; keep what was accepted so far and report where it stopped
+            run.reject(row + 1, null, "Malformed JSON, import stopped: " + e.getOriginalMessage());
+        }
+    }
+
+    private EmployeeImportRow fromCsv(List<String> header, List<String> values) {
+        EmployeeImportRow row = new EmployeeImportRow();
+        for (int i = 0; i < header.size() && i < values.size(); i++) {
+            String value = values.get(i);
+            if (value.isEmpty()) {
+                continue;
+            }
+            switch (header.get(i)) {
+                case "code" -> row.setCode(value);
+                case "firstName" -> row.setFirstName(value);
+                case "lastName" -> row.setLastName(value);
+                case "email" -> row.setEmail(value);
+                case "password" -> row.setPassword(value);
+                case "mobile" -> row.setMobile(value);
+                case "dateOfBirth" -> row.setDateOfBirth(LocalDate.parse(value));
+                case "status" -> row.setStatus(Employee.EmployeeStatus.valueOf(value.toUpperCase(Locale.ROOT)));
+                case "roles" -> row.setRoles(Arrays.stream(value.split(";")).map(String::trim)
+                        .filter(role -> !role.isEmpty()).collect(Collectors.toCollection(LinkedHashSet::new)));
+                case "employmentCode" -> row.setEmploymentCode(value);
+                case "department" -> row.setDepartment(value);
+                case "position" -> row.setPosition(value);
+                case "baseSalary" -> row.setBaseSalary(Double.valueOf(value));
+                case "employmentStatus" -> row.setEmploymentStatus(Employment.EmploymentStatus.valueOf(value.toUpperCase(Locale.ROOT)));
+                case "joiningDate" -> row.setJoiningDate(LocalDate.parse(value));
+                default -> throw new IllegalArgumentException("unknown column " + header.get(i));
+            }
+        }
+        return row;
+    }
+
+    /**
+     * Splits one CSV line into trimmed values. Values may be enclosed in double quotes to contain commas;
+     * a doubled quote inside a quoted value stands for one quote. Quoted values cannot span lines.
+     */
+    static List<String> splitCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    value.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString().trim());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted value");
+        }
+        values.add(value.toString().trim());
+        return values;
+    }
+
+    // An accepted row waiting for its chunk to be written
+    private static final class PendingRow {
+        private final int row;
+        private final EmployeeImportRow data;
+        private final int roleMask;
+        private String passwordHash;
+
+        private PendingRow(int row, EmployeeImportRow data, int roleMask) {
+            this.row = row;
+            this.data = data;
+            this.roleMask = roleMask;
+        }
+    }
+
+    // State of one import: the known unique keys, the chunk being filled and the report counters
+    private final class ImportRun {
+        private final Set<String> emails;
+        private final Set<String> employeeCodes;
+        private final Set<String> employmentCodes;
+        private final List<PendingRow> pending = new ArrayList<>();
+        private final List<ImportReport.RowError> errors = new ArrayList<>();
+        private int totalRows;
+        private int imported;
+        private int failed;
+
+        private ImportRun(Set<String> emails, Set<String> employeeCodes, Set<String> employmentCodes) {
+            this.emails = emails;
+            this.employeeCodes = employeeCodes;
+            this.employmentCodes = employmentCodes;
+        }
+
+        private void accept(int row, EmployeeImportRow data) {
+            totalRows = Math.max(totalRows, row);
+            Set<ConstraintViolation<EmployeeImportRow>> violations = validator.validate(data);
+            if (!violations.isEmpty()) {
+                reject(row, data.getCode(), violations.stream().map(ConstraintViolation::getMessage).sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+            int roleMask;
+            try {
+                roleMask = roleRegistry.maskOf(data.getRoles(), ERole.ROLE_EMPLOYEE);
+            } catch (ResourceNotFoundException e) {
+                reject(row, data.getCode(), "Unknown role: " + e.getMessage());
+                return;
+            }
+            String email = data.getEmail().toLowerCase(Locale.ROOT);
+            String code = data.getCode().toLowerCase(Locale.ROOT);
+            String employmentCode = data.hasEmployment() ? data.getEmploymentCode().toLowerCase(Locale.ROOT) : null;
+            if (emails.contains(email)) {
+                reject(row, data.getCode(), "Employee with this email already exists: " + data.getEmail());
+                return;
+            }
+            if (employeeCodes.contains(code)) {
+                reject(row, data.getCode(), "Employee with this code already exists: " + data.getCode());
+                return;
+            }
+            if (employmentCode != null && employmentCodes.contains(employmentCode)) {
+                reject(row, data.getCode(), "Employment with code '" + data.getEmploymentCode() + "' already exists.");
+                return;
+            }
+
+            emails.add(email);
+            employeeCodes.add(code);
+            if (employmentCode != null) {
+                employmentCodes.add(employmentCode);
+            }
+            pending.add(new PendingRow(row, data, roleMask));
+            if (pending.size() >= properties.getChunkSize()) {
+                flush();
+            }
+        }
+
+        private void reject(int row, String code, String message) {
+            totalRows = Math.max(totalRows, row);
+            failed++;
+            if (errors.size() < properties.getMaxReportedErrors()) {
+                errors.add(new ImportReport.RowError(row, code, message));
+            }
+        }
+
+        // Hashes and writes the pending chunk; on a database error retries its rows one at a time
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            hashPasswords(pending);
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(pending));
+                imported += pending.size();
+            } catch (DataAccessException chunkFailure) {
+                logger.warn("Import chunk of {} rows rejected, retrying row by row: {}", pending.size(),
+                        chunkFailure.getMostSpecificCause().getMessage());
+                for (PendingRow row : pending) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> insert(List.of(row)));
+                        imported++;
+                    } catch (DataAccessException rowFailure) {
+                        // The database's message names constraints and values, so it is only logged
+                        logger.warn("Import row {} rejected: {}", row.row, rowFailure.getMostSpecificCause().getMessage());
+                        reject(row.row, row.data.getCode(), DataIntegrityViolations.isUniqueKeyViolation(rowFailure)
+                                ? "Employee with this code or email, or employment with this code, already exists."
+                                : "The row could not be saved. Check its values and import it again.");
+                    }
+                }
+            }
+            pending.clear();
+        }
+
+        private ImportReport report() {
+            return ImportReport.builder()
+                    .totalRows(totalRows)
+                    .imported(imported)
+                    .failed(failed)
+                    .errors(errors)
+                    .errorsTruncated(failed > errors.size())
+                    .build();
+        }
+    }
+
+    // BCrypt dominates the per-row cost, so the chunk's passwords are hashed concurrently on the bounded pool
+    private void hashPasswords(List<PendingRow> rows) {
+        List<Future<String>> hashes = new ArrayList<>(rows.size());
+        for (PendingRow row : rows) {
+            hashes.add(passwordHashPool.submit(() -> passwordEncoder.encode(row.data.getPassword())));
+        }
+        try {
+            for (int i = 0; i < rows.size(); i++) {
+                rows.get(i).passwordHash = hashes.get(i).get();
+            }
+        } catch (InterruptedException e) {
+            hashes.forEach(hash -> hash.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Import interrupted while hashing passwords", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    // Batch-inserts the employees, then their employment records keyed by the generated employee ids
+    private void insert(List<PendingRow> rows) {
+        jdbcTemplate.batchUpdate(INSERT_EMPLOYEE, rows.stream().map(this::employeeParameters).toArray(SqlParameterSource[]::new));
+
+        Map<String, Long> employeeIds = new HashMap<>();
+        jdbcTemplate.query("SELECT id, code FROM employee WHERE code IN (:codes)",
+                Map.of("codes", rows.stream().map(row -> row.data.getCode()).toList()),
+                rs -> {
+                    employeeIds.put(rs.getString("code"), rs.getLong("id"));
+                });
+        employeeSearchIndex.indexAfterCommit(rows.stream().map(row -> searchHitOf(row, employeeIds.get(row.data.getCode()))).toList());
+
+        List<PendingRow> withEmployment = rows.stream().filter(row -> row.data.hasEmployment()).toList();
+        if (withEmployment.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_EMPLOYMENT, withEmployment.stream()
+                .map(row -> employmentParameters(row, employeeIds.get(row.data.getCode())))
+                .toArray(SqlParameterSource[]::new));
+        jdbcTemplate.update(INSERT_EMPLOYMENT_HISTORY,
+                Map.of("codes", withEmployment.stream().map(row -> row.data.getEmploymentCode()).toList()));
+        referenceDataCache.evictAfterCommit(Employment.class, null);
+    }
+
+    private SqlParameterSource employeeParameters(PendingRow row) {
+        EmployeeImportRow data = row.data;
+        return new MapSqlParameterSource()
+                .addValue("code", data.getCode())
+                .addValue("firstName", data.getFirstName())
+                .addValue("lastName", data.getLastName())
+                .addValue("email", data.getEmail())
+                .addValue("password", row.passwordHash)
+                .addValue("mobile", data.getMobile())
+                .addValue("dateOfBirth", data.getDateOfBirth())
+                .addValue("status", data.getStatus().name())
+                .addValue("roleMask", row.roleMask);
+    }
+
+    private EmployeeSearchHit searchHitOf(PendingRow row, Long employeeId) {
+        EmployeeImportRow data = row.data;
+        return EmployeeSearchHit.builder()
+                .id(employeeId)
+                .code(data.getCode())
+                .firstName(data.getFirstName())
+                .lastName(data.getLastName())
+                .email(data.getEmail())
+                .mobile(data.getMobile())
+                .status(data.getStatus())
+                .build();
+    }
+
+    private SqlParameterSource employmentParameters(PendingRow row, Long employeeId) {
+        EmployeeImportRow data = row.data;
+        return new MapSqlParameterSource()
+                .addValue("code", data.getEmploymentCode())
+                .addValue("employeeId", employeeId)
+                .addValue("department", data.getDepartment())
+                .addValue("position", data.getPosition())
+                .addValue("baseSalary", data.getBaseSalary())
+                .addValue("status", data.getEmploymentStatus().name())
+                .addValue("joiningDate", data.getJoiningDate());
+    }
+}
@@ -0,0 +1,302 @@
+package com.erp.employeepayroll.service;
+
+import com.erp.employeepayroll.config.BatchWork;
+import com.erp.employeepayroll.dto.response.EmployeeSearchHit;
+import com.erp.employeepayroll.dto.response.SearchPage;
+import com.erp.employeepayroll.model.Employee;
+import com.erp.employeepayroll.util.PageCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory typeahead index over employee code, names, email and mobile.
+ * Every field is split into lower-case tokens kept in a sorted map (token -> employee ids), so a query term
+ * is answered with one range scan over the tokens it prefixes. Multi-word queries match employees having
+ * a token for every term and are ranked by exact over prefix matches, identifiers (code, email, mobile) over names.
+ * Writes through the services update the index after their transaction commits; the whole index is also
+ * rebuilt from the database at startup and every {@code app.search.rebuild-interval-ms}, which picks up
+ * changes made by other application instances or outside the services.
+ */
+@Service
+public class EmployeeSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmployeeSearchIndex.class);
+
+    private static final int MAX_TERMS = 5; // Further query words are ignored
+    private static final int LOCAL_MOBILE_DIGITS = 9; // Mobile numbers are also indexed without country code
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private volatile Snapshot snapshot = new Snapshot();
+    private final Object rebuildLock = new Object(); // One rebuild at a time, so each has its own missed updates
+    private List<EmployeeSearchHit> missedByRebuild; // Updates made while a rebuild reads the table; null when none runs, guarded by this
+
+    public EmployeeSearchIndex(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Searches employees by prefix of any word of their code, names, email or mobile.
+     * @param query Space-separated search terms; each must prefix-match some field of a result.
+     * @param status Only employees with this status, or all if null.
+     * @param page The 0-based page number.
+     * @param size The requested page size.
+     * @return The page of matching employees, best match first.
+     */
+    public SearchPage<EmployeeSearchHit> search(String query, Employee.EmployeeStatus status, Integer page, Integer size) {
+        int pageSize = PageCursor.pageSize(size);
+        int pageNumber = page == null || page < 0 ? 0 : page;
+        List<String> terms = queryTerms(query);
+        if (terms.isEmpty()) {
+            return new SearchPage<>(List.of(), 0, pageNumber, pageSize);
+        }
+
+        // The longest term is usually the most selective one; the other terms are checked per candidate
+        Snapshot current = snapshot;
+        String driver = terms.stream().max(Comparator.comparingInt(String::length)).orElseThrow();
+        Set<Long> candidates = new HashSet<>();
+        for (Set<Long> ids : current.postings.subMap(driver, true, driver + Character.MAX_VALUE, true).values()) {
+            candidates.addAll(ids);
+        }
+
+        List<Match> matches = new ArrayList<>();
+        for (Long id : candidates) {
+            Entry entry = current.entries.get(id);
+            if (entry == null || (status != null && entry.hit.getStatus() != status)) {
+                continue;
+            }
+            int score = score(entry, terms);
+            if (score > 0) {
+                matches.add(new Match(entry.hit, score));
+            }
+        }
+        matches.sort(Comparator.comparingInt(Match::score).reversed()
+                .thenComparing(match -> match.hit.getLastName(), Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                .thenComparing(match -> match.hit.getFirstName(), Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+                .thenComparing(match -> match.hit.getId()));
+
+        int from = (int) Math.min((long) pageNumber * pageSize, matches.size());
+        int to = Math.min(from + pageSize, matches.size());
+        List<EmployeeSearchHit> items = matches.subList(from, to).stream().map(Match::hit).toList();
+        return new SearchPage<>(items, matches.size(), pageNumber, pageSize);
+    }
+
+    /**
+     * Adds or refreshes an employee in the index once the current transaction commits
+     * (immediately when no transaction is active).
+     * @param employee The saved employee.
+     */
+    public void indexAfterCommit(Employee employee) {
+        indexAfterCommit(List.of(hitOf(employee)));
+    }
+
+    /**
+     * Adds or refreshes employees in the index once the current transaction commits
+     * (immediately when no transaction is active).
+     * @param hits The saved employees, with their ids.
+     */
+    public void indexAfterCommit(Collection<EmployeeSearchHit> hits) {
+        List<EmployeeSearchHit> copy = List.copyOf(hits);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    index(copy);
+                }
+            });
+        } else {
+            index(copy);
+        }
+    }
+
+    /**
+     * Replaces the index with the current contents of the employee table.
+     * Updates indexed while the table is read may be missing from what was read, so they are replayed onto the new index before it is used.
+     */
+    @BatchWork
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.search.rebuild-interval-ms:600000}", initialDelayString = "${app.search.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            long start = System.nanoTime();
+            synchronized (this) {
+                missedByRebuild = new ArrayList<>();
+            }
+            Snapshot rebuilt = new Snapshot();
+            try {
+                jdbcTemplate.query("SELECT id, code, first_name, last_name, email, mobile, status FROM employee", Map.of(), rs -> {
+                    rebuilt.put(EmployeeSearchHit.builder()
+                            .id(rs.getLong("id"))
+                            .code(rs.getString("code"))
+                            .firstName(rs.getString("first_name"))
+                            .lastName(rs.getString("last_name"))
+                            .email(rs.getString("email"))
+                            .mobile(rs.getString("mobile"))
+                            .status(Employee.EmployeeStatus.valueOf(rs.getString("status")))
+                            .build());
+                });
+                synchronized (this) {
+                    for (EmployeeSearchHit hit : missedByRebuild) {
+                        rebuilt.put(hit);
+                    }
+                    snapshot = rebuilt;
+                }
+            } finally {
+                synchronized (this) {
+                    missedByRebuild = null;
+                }
+            }
+            logger.info("Employee search index rebuilt: {} employees, {} tokens in {} ms", rebuilt.entries.size(),
+                    rebuilt.postings.size(), (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    /**
+     * Maps an employee to the fields kept in the index.
+     * @param employee The employee, with its id.
+     * @return The search hit for the employee.
+     */
+    public static EmployeeSearchHit hitOf(Employee employee) {
+        return EmployeeSearchHit.builder()
+                .id(employee.getId())
+                .code(employee.getCode())
+                .firstName(employee.getFirstName())
+                .lastName(employee.getLastName())
+                .email(employee.getEmail())
+                .mobile(employee.getMobile())
+                .status(employee.getStatus())
+                .build();
+    }
+
+    // Writers are serialized; readers see each entry either before or after the change
+    private synchronized void index(List<EmployeeSearchHit> hits) {
+        for (EmployeeSearchHit hit : hits) {
+            snapshot.put(hit);
+        }
+        if (missedByRebuild != null) {
+            missedByRebuild.addAll(hits);
+        }
+    }
+
+    // Sum over the terms of the best match of each term; 0 if any term matches nothing
+    private static int score(Entry entry, List<String> terms) {
+        int total = 0;
+        for (String term : terms) {
+            int best = 0;
+            for (Map.Entry<String, Boolean> token : entry.tokens.entrySet()) {
+                boolean identifier = token.getValue();
+                if (token.getKey().equals(term)) {
+                    best = Math.max(best, identifier ? 4 : 3);
+                } else if (token.getKey().startsWith(term)) {
+                    best = Math.max(best, identifier ? 2 : 1);
+                }
+            }
+            if (best == 0) {
+                return 0;
+            }
+            total += best;
+        }
+        return total;
+    }
+
+    private static List<String> queryTerms(String query) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        List<String> terms = new ArrayList<>();
+        for (String word : query.trim().toLowerCase(Locale.ROOT).split("\\s+")) {
+            String term = word.matches("[+0-9()-]+") ? word.replaceAll("\\D", "") : word;
+            if (!term.isEmpty() && terms.size() < MAX_TERMS) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    // Tokens of an employee, mapped to true for identifier fields (code, email, mobile) and false for names
+    private static Map<String, Boolean> tokensOf(EmployeeSearchHit hit) {
+        Map<String, Boolean> tokens = new LinkedHashMap<>();
+        addWords(tokens, hit.getFirstName(), false);
+        addWords(tokens, hit.getLastName(), false);
+        if (hit.getCode() != null) {
+            String code = hit.getCode().toLowerCase(Locale.ROOT);
+            tokens.put(code, true);
+            addWords(tokens, code, true);
+        }
+        if (hit.getEmail() != null) {
+            String email = hit.getEmail().toLowerCase(Locale.ROOT);
+            tokens.put(email, true);
+            addWords(tokens, email.substring(0, Math.max(0, email.indexOf('@'))), true);
+        }
+        if (hit.getMobile() != null) {
+            String digits = hit.getMobile().replaceAll("\\D", "");
+            if (!digits.isEmpty()) {
+                tokens.put(digits, true);
+                if (digits.length() > LOCAL_MOBILE_DIGITS) {
+                    tokens.put(digits.substring(digits.length() - LOCAL_MOBILE_DIGITS), true);
+                }
+            }
+        }
+        return tokens;
+    }
+
+    private static void addWords(Map<String, Boolean> tokens, String text, boolean identifier) {
+        if (text == null) {
+            return;
+        }
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                tokens.merge(word, identifier, Boolean::logicalOr);
+            }
+        }
+    }
+
+    // An indexed employee with its tokens
+    private record Entry(EmployeeSearchHit hit, Map<String, Boolean> tokens) {
+    }
+
+    private record Match(EmployeeSearchHit hit, int score) {
+    }
+
+    // The index data; replaced as a whole by rebuild()
+    private static final class Snapshot {
+        private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListMap<String, Set<Long>> postings = new ConcurrentSkipListMap<>();
+
+        private void put(EmployeeSearchHit hit) {
+            Entry entry = new Entry(hit, tokensOf(hit));
+            Entry previous = entries.put(hit.getId(), entry);
+            if (previous != null) {
+                for (String token : previous.tokens.keySet()) {
+                    if (!entry.tokens.containsKey(token)) {
+                        postings.computeIfPresent(token, (key, ids) -> {
+                            ids.remove(hit.getId());
+                            return ids.isEmpty() ? null : ids;
+                        });
+                    }
+                }
+            }
+            for (String token : entry.tokens.keySet()) {
+                postings.computeIfAbsent(token, key -> ConcurrentHashMap.newKeySet()).add(hit.getId());
+            }
+        }
+    }
+}
@@ -1,13 +1,18 @@
 package com.erp.employeepayroll.service;
 
 import com.erp.employeepayroll.dto.request.EmployeeRequest;
+import com.erp.employeepayroll.dto.response.CursorPage;
 import com.erp.employeepayroll.dto.response.EmployeeResponse;
+import com.erp.employeepayroll.dto.response.EmployeeSearchHit;
+import com.erp.employeepayroll.dto.response.SearchPage;
 import com.erp.employeepayroll.exception.ResourceNotFoundException;
 import com.erp.employeepayroll.model.ERole;
 import com.erp.employeepayroll.model.Employee;
-import com.erp.employeepayroll.model.Role;
 import com.erp.employeepayroll.repository.EmployeeRepository;
-import com.erp.employeepayroll.repository.RoleRepository;
+import com.erp.employeepayroll.repository.EmployeeStatusFilter;
+import com.erp.employeepayroll.security.RoleRegistry;
+import com.erp.employeepayroll.util.OptimisticLocking;
+import com.erp.employeepayroll.util.PageCursor;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,10 +20,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Service for managing Employee personal information.
@@ -27,13 +29,18 @@ import java.util.stream.Collectors;
 public class EmployeeService {
 
     private final EmployeeRepository employeeRepository;
-    private final RoleRepository roleRepository;
+    private final RoleRegistry roleRegistry;
     private final PasswordEncoder passwordEncoder;
+    private final EmployeeStatusFilter employeeStatusFilter;
+    private final EmployeeSearchIndex employeeSearchIndex;
 
-    public EmployeeService(EmployeeRepository employeeRepository, RoleRepository roleRepository, PasswordEncoder passwordEncoder) {
+    public EmployeeService(EmployeeRepository employeeRepository, RoleRegistry roleRegistry, PasswordEncoder passwordEncoder,
+                           EmployeeStatusFilter employeeStatusFilter, EmployeeSearchIndex employeeSearchIndex) {
         this.employeeRepository = employeeRepository;
-        this.roleRepository = roleRepository;
+        this.roleRegistry = roleRegistry;
         this.passwordEncoder = passwordEncoder;
+        this.employeeStatusFilter = employeeStatusFilter;
+        this.employeeSearchIndex = employeeSearchIndex;
     }
 
     /**
@@ -68,23 +75,11 @@ public class EmployeeService {
         employee.setDateOfBirth(request.getDateOfBirth());
         employee.setStatus(request.getStatus());
 
-        Set<Role> roles = new HashSet<>();
-        if (request.getRoles() != null && !request.getRoles().isEmpty()) {
-            request.getRoles().forEach(roleName -> {
-                ERole eRole = ERole.valueOf(roleName.toUpperCase()); // Convert string to ERole enum
-                Role role = roleRepository.findByName(eRole)
-                        .orElseThrow(() -> new ResourceNotFoundException("Role with name" + roleName + " not found in database."));
-                roles.add(role);
-            });
-        } else {
-            // Assign default EMPLOYEE role if none specified (or decide to throw error)
-            Role defaultRole = roleRepository.findByName(ERole.ROLE_EMPLOYEE)
-                    .orElseThrow(() -> new ResourceNotFoundException("Role not found"));
-            roles.add(defaultRole);
-        }
-        employee.setRoles(roles);
+        // Assign default EMPLOYEE role if none specified
+        employee.setRoleMask(roleRegistry.maskOf(request.getRoles(), ERole.ROLE_EMPLOYEE));
 
         Employee savedEmployee = employeeRepository.save(employee);
+        employeeSearchIndex.indexAfterCommit(savedEmployee);
         return mapToResponse(savedEmployee);
     }
 
@@ -94,6 +89,7 @@ public class EmployeeService {
      * @return EmployeeResponse DTO.
      * @throws ResourceNotFoundException if employee is not found.
      */
+    @Transactional(readOnly = true)
     public EmployeeResponse getEmployeeById(Long id) throws AccessDeniedException {
         // Get authenticated user's details
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -119,6 +115,7 @@ public class EmployeeService {
      * @return EmployeeResponse DTO.
      * @throws ResourceNotFoundException if employee is not found.
      */
+    @Transactional(readOnly = true)
     public EmployeeResponse getEmployeeByCode(String code) throws AccessDeniedException {
         // Get authenticated user's details
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -139,14 +136,30 @@ public class EmployeeService {
     }
 
     /**
-     * Retrieves all employees.
-     * @return List of EmployeeResponse DTOs.
+     * Retrieves one page of employees with the given status, ordered by id.
+     * @param status The status to list (ACTIVE when null, so soft-deleted employees are hidden by default).
+     * @param cursor The nextCursor of the previous page, or null for the first page.
+     * @param size The requested page size.
+     * @return A CursorPage of EmployeeResponse DTOs.
      */
-    public List<EmployeeResponse> getAllEmployees() {
-        List<Employee> employees = employeeRepository.findAll();
-        return employees.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPage<EmployeeResponse> getAllEmployees(Employee.EmployeeStatus status, String cursor, Integer size) {
+        Employee.EmployeeStatus listedStatus = status == null ? Employee.EmployeeStatus.ACTIVE : status;
+        List<Employee> employees = employeeStatusFilter.apply(listedStatus, () -> employeeRepository.findByIdGreaterThanOrderByIdAsc(
+                PageCursor.decode(cursor), PageCursor.limitFor(size)));
+        return CursorPage.of(employees, size, Employee::getId, this::mapToResponse);
+    }
+
+    /**
+     * Typeahead search over employee code, names, email and mobile, answered from the in-memory EmployeeSearchIndex.
+     * @param query Space-separated search terms, each matched as a word prefix.
+     * @param status The status to search (ACTIVE when null, like getAllEmployees).
+     * @param page The 0-based page number.
+     * @param size The requested page size.
+     * @return A SearchPage of matching employees, best match first.
+     */
+    public SearchPage<EmployeeSearchHit> searchEmployees(String query, Employee.EmployeeStatus status, Integer page, Integer size) {
+        return employeeSearchIndex.search(query, status == null ? Employee.EmployeeStatus.ACTIVE : status, page, size);
     }
 
     /**
@@ -156,11 +169,13 @@ public class EmployeeService {
      * @return EmployeeResponse DTO of the updated employee.
      * @throws ResourceNotFoundException if employee is not found.
      * @throws RuntimeException if email or code already exists for another employee.
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException if the employee changed since the client read it.
      */
     @Transactional
     public EmployeeResponse updateEmployee(Long id, EmployeeRequest request) {
         Employee employee = employeeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Employee id"+ id));
+        OptimisticLocking.checkVersion(request.getVersion(), employee.getVersion(), Employee.class, id);
 
         // Check if email changed and if new email is taken by another employee
         if (!employee.getEmail().equalsIgnoreCase(request.getEmail()) && employeeRepository.existsByEmail(request.getEmail())) {
@@ -183,18 +198,10 @@ public class EmployeeService {
         employee.setDateOfBirth(request.getDateOfBirth());
         employee.setStatus(request.getStatus());
 
-        Set<Role> roles = new HashSet<>();
-        if (request.getRoles() != null && !request.getRoles().isEmpty()) {
-            request.getRoles().forEach(roleName -> {
-                ERole eRole = ERole.valueOf(roleName.toUpperCase());
-                Role role = roleRepository.findByName(eRole)
-                        .orElseThrow(() -> new ResourceNotFoundException("Role name"+roleName));
-                roles.add(role);
-            });
-        }
-        employee.setRoles(roles);
+        employee.setRoleMask(roleRegistry.maskOf(request.getRoles(), null));
 
-        Employee updatedEmployee = employeeRepository.save(employee);
+        Employee updatedEmployee = employeeRepository.saveAndFlush(employee); // Flush so the response carries the incremented version
+        employeeSearchIndex.indexAfterCommit(updatedEmployee);
         return mapToResponse(updatedEmployee);
     }
 
@@ -209,6 +216,7 @@ public class EmployeeService {
                 .orElseThrow(() -> new ResourceNotFoundException("Employee" + id));
         employee.setStatus(Employee.EmployeeStatus.DISABLED); // Soft delete
         employeeRepository.save(employee);
+        employeeSearchIndex.indexAfterCommit(employee);
         // Alternatively, for hard delete: employeeRepository.delete(employee);
     }
 
@@ -223,7 +231,8 @@ public class EmployeeService {
                 .mobile(employee.getMobile())
                 .dateOfBirth(employee.getDateOfBirth())
                 .status(employee.getStatus())
-                .roles(employee.getRoles().stream().map(role -> role.getName().name()).collect(Collectors.toSet()))
+                .roles(roleRegistry.namesOf(employee.getRoleMask()))
+                .version(employee.getVersion())
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,132 @@
+package com.erp.employeepayroll.service;
+
+import com.erp.employeepayroll.dto.response.EmploymentPeriodResponse;
+import com.erp.employeepayroll.exception.ValidationException;
+import com.erp.employeepayroll.model.Employment;
+import com.erp.employeepayroll.model.EmploymentPeriod;
+import com.erp.employeepayroll.repository.EmploymentHistoryRepository;
+import com.erp.employeepayroll.util.AppConstants;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Maintains and queries the effective-dated history of employment records.
+ * Every change to an employment record ends the period running on its effective date and opens a new one
+ * with the record's new values; changes effective on the same day replace each other. The write methods join
+ * the caller's transaction, so history and record are committed together.
+ */
+@Service
+public class EmploymentHistoryService {
+
+    private final EmploymentHistoryRepository historyRepository;
+
+    public EmploymentHistoryService(EmploymentHistoryRepository historyRepository) {
+        this.historyRepository = historyRepository;
+    }
+
+    /**
+     * Records the current values of an employment record as effective from a date.
+     * Periods starting on or after the date are superseded; the period running on it is ended there.
+     * @param employment The saved employment record.
+     * @param effectiveFrom The first day the values apply.
+     */
+    @Transactional
+    public void recordChange(Employment employment, LocalDate effectiveFrom) {
+        historyRepository.deleteStartingFrom(employment.getId(), effectiveFrom);
+        historyRepository.closeAt(employment.getId(), effectiveFrom);
+        historyRepository.save(new EmploymentPeriod(null, employment.getId(), employment.getEmployee().getId(),
+                employment.getDepartment(), employment.getPosition(), employment.getBaseSalary(), employment.getStatus(),
+                effectiveFrom, null));
+    }
+
+    /**
+     * Ends the history of a deleted employment record.
+     * @param employmentId The ID of the deleted record.
+     * @param date The first day the record no longer applies.
+     */
+    @Transactional
+    public void recordDeletion(Long employmentId, LocalDate date) {
+        historyRepository.deleteStartingFrom(employmentId, date);
+        historyRepository.closeAt(employmentId, date);
+    }
+
+    /**
+     * Set-based form of recordChange for all employment records matching a salary adjustment filter;
+     * call it after the bulk update so the new periods carry the adjusted values.
+     * @param status Status filter.
+     * @param department Department filter, or null for all.
+     * @param position Position filter, or null for all.
+     * @param effectiveFrom The first day the adjusted values apply.
+     */
+    @Transactional
+    public void recordBulkChange(Employment.EmploymentStatus status, String department, String position, LocalDate effectiveFrom) {
+        historyRepository.deleteStartingFromMatching(status, department, position, effectiveFrom);
+        historyRepository.closeAtMatching(status, department, position, effectiveFrom);
+        historyRepository.openFromMatching(status, department, position, effectiveFrom);
+    }
+
+    /**
+     * Retrieves the history of one employment record.
+     * @param employmentId The ID of the employment record.
+     * @return Its periods, oldest first.
+     */
+    @Transactional(readOnly = true)
+    public List<EmploymentPeriodResponse> getHistory(Long employmentId) {
+        return historyRepository.findByEmploymentIdOrderByEffectiveFromAsc(employmentId).stream()
+                .map(this::mapToResponse)
+                .toList();
+    }
+
+    /**
+     * Resolves the employment (department, position, salary) of many employees on a date in one indexed query.
+     * @param employeeIds The employees to resolve, at most AppConstants.MAX_PAGE_SIZE.
+     * @param date The as-of date.
+     * @return The ACTIVE period covering the date for each employee that had one.
+     * @throws ValidationException if too many employees are requested.
+     */
+    @Transactional(readOnly = true)
+    public List<EmploymentPeriodResponse> getSalariesAsOf(Collection<Long> employeeIds, LocalDate date) {
+        if (employeeIds.size() > AppConstants.MAX_PAGE_SIZE) {
+            throw new ValidationException("At most " + AppConstants.MAX_PAGE_SIZE + " employees can be resolved per request.");
+        }
+        if (employeeIds.isEmpty()) {
+            return List.of();
+        }
+        return historyRepository.findActiveAsOf(employeeIds, date).stream()
+                .map(this::mapToResponse)
+                .toList();
+    }
+
+    /**
+     * Loads the ACTIVE periods overlapping [from, to) into an in-memory interval index,
+     * for recalculations that need as-of lookups for many employees and dates.
+     * @param employeeIds The employees to load, or null for all employees.
+     * @param from First day of the range.
+     * @param to Day after the last day of the range.
+     * @return The timeline.
+     */
+    @Transactional(readOnly = true)
+    public EmploymentTimeline timeline(Collection<Long> employeeIds, LocalDate from, LocalDate to) {
+        List<EmploymentPeriod> periods = employeeIds == null
+                ? historyRepository.findAllActiveOverlapping(from, to)
+                : historyRepository.findActiveOverlapping(employeeIds, from, to);
+        return new EmploymentTimeline(periods);
+    }
+
+    private EmploymentPeriodResponse mapToResponse(EmploymentPeriod period) {
+        return EmploymentPeriodResponse.builder()
+                .employmentId(period.getEmploymentId())
+                .employeeId(period.getEmployeeId())
+                .department(period.getDepartment())
+                .position(period.getPosition())
+                .baseSalary(period.getBaseSalary())
+                .status(period.getStatus())
+                .effectiveFrom(period.getEffectiveFrom())
+                .effectiveTo(period.getEffectiveTo())
+                .build();
+    }
+}
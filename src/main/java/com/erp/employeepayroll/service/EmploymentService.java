@@ -1,17 +1,26 @@
 package com.erp.employeepayroll.service;
 
+import com.erp.employeepayroll.config.ReferenceDataCache;
+import com.erp.employeepayroll.config.ReplicaLagGuard;
 import com.erp.employeepayroll.dto.request.EmploymentRequest;
+import com.erp.employeepayroll.dto.request.SalaryAdjustmentRequest;
+import com.erp.employeepayroll.dto.response.CursorPage;
 import com.erp.employeepayroll.dto.response.EmploymentResponse;
+import com.erp.employeepayroll.dto.response.SalaryAdjustmentResponse;
 import com.erp.employeepayroll.exception.ResourceNotFoundException;
+import com.erp.employeepayroll.exception.ValidationException;
 import com.erp.employeepayroll.model.Employee;
 import com.erp.employeepayroll.model.Employment;
 import com.erp.employeepayroll.repository.EmployeeRepository;
 import com.erp.employeepayroll.repository.EmploymentRepository;
+import com.erp.employeepayroll.util.OptimisticLocking;
+import com.erp.employeepayroll.util.PageCursor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
 
 /**
  * Service for managing Employee employment details.
@@ -21,10 +30,18 @@ public class EmploymentService {
 
     private final EmploymentRepository employmentRepository;
     private final EmployeeRepository employeeRepository;
+    private final ReferenceDataCache referenceDataCache;
+    private final ReplicaLagGuard replicaLagGuard;
+    private final EmploymentHistoryService employmentHistoryService;
 
-    public EmploymentService(EmploymentRepository employmentRepository, EmployeeRepository employeeRepository) {
+    public EmploymentService(EmploymentRepository employmentRepository, EmployeeRepository employeeRepository,
+                             ReferenceDataCache referenceDataCache, ReplicaLagGuard replicaLagGuard,
+                             EmploymentHistoryService employmentHistoryService) {
         this.employmentRepository = employmentRepository;
         this.employeeRepository = employeeRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.replicaLagGuard = replicaLagGuard;
+        this.employmentHistoryService = employmentHistoryService;
     }
 
     /**
@@ -60,6 +77,8 @@ public class EmploymentService {
         employment.setJoiningDate(request.getJoiningDate());
 
         Employment savedEmployment = employmentRepository.save(employment);
+        employmentHistoryService.recordChange(savedEmployment, savedEmployment.getJoiningDate());
+        referenceDataCache.evictAfterCommit(Employment.class, savedEmployment.getId());
         return mapToResponse(savedEmployment);
     }
 
@@ -69,6 +88,7 @@ public class EmploymentService {
      * @return EmploymentResponse DTO.
      * @throws ResourceNotFoundException if employment record is not found.
      */
+    @Transactional(readOnly = true)
     public EmploymentResponse getEmploymentById(Long id) {
         Employment employment = employmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Employment id"+id));
@@ -76,29 +96,34 @@ public class EmploymentService {
     }
 
     /**
-     * Retrieves all employment records.
-     * @return List of EmploymentResponse DTOs.
+     * Retrieves one page of employment records, ordered by id.
+     * @param cursor The nextCursor of the previous page, or null for the first page.
+     * @param size The requested page size.
+     * @return A CursorPage of EmploymentResponse DTOs.
      */
-    public List<EmploymentResponse> getAllEmployments() {
-        List<Employment> employments = employmentRepository.findAll();
-        return employments.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPage<EmploymentResponse> getAllEmployments(String cursor, Integer size) {
+        List<Employment> employments = employmentRepository.findByIdGreaterThanOrderByIdAsc(
+                PageCursor.decode(cursor), PageCursor.limitFor(size));
+        return CursorPage.of(employments, size, Employment::getId, this::mapToResponse);
     }
 
     /**
-     * Updates an existing employment record.
+     * Updates an existing employment record. If department, position, salary, status or employee change,
+     * the new values are recorded in the employment history from request.effectiveFrom (today if not given).
      * @param id The ID of the employment record to update.
      * @param request EmploymentRequest DTO with updated information.
      * @return EmploymentResponse DTO of the updated employment.
      * @throws ResourceNotFoundException if employment record or associated employee is not found.
      * @throws RuntimeException if an active employment already exists for the employee (if status changes to ACTIVE)
      * or employment code is duplicate for another record.
+     * @throws org.springframework.orm.ObjectOptimisticLockingFailureException if the record changed since the client read it.
      */
     @Transactional
     public EmploymentResponse updateEmployment(Long id, EmploymentRequest request) {
         Employment employment = employmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Employment id" + id));
+        OptimisticLocking.checkVersion(request.getVersion(), employment.getVersion(), Employment.class, id);
 
         Employee employee = employeeRepository.findById(request.getEmployeeId())
                 .orElseThrow(() -> new ResourceNotFoundException("Employee id " +request.getEmployeeId()));
@@ -119,6 +144,12 @@ public class EmploymentService {
         }
 
 
+        boolean historyChanged = !employee.getId().equals(employment.getEmployee().getId())
+                || !Objects.equals(employment.getDepartment(), request.getDepartment())
+                || !Objects.equals(employment.getPosition(), request.getPosition())
+                || !Objects.equals(employment.getBaseSalary(), request.getBaseSalary())
+                || employment.getStatus() != request.getStatus();
+
         employment.setEmployee(employee); // Can update employee if needed, though usually fixed
         employment.setCode(request.getCode());
         employment.setDepartment(request.getDepartment());
@@ -127,10 +158,49 @@ public class EmploymentService {
         employment.setStatus(request.getStatus());
         employment.setJoiningDate(request.getJoiningDate());
 
-        Employment updatedEmployment = employmentRepository.save(employment);
+        Employment updatedEmployment = employmentRepository.saveAndFlush(employment); // Flush so the response carries the incremented version
+        if (historyChanged) {
+            employmentHistoryService.recordChange(updatedEmployment,
+                    request.getEffectiveFrom() != null ? request.getEffectiveFrom() : LocalDate.now());
+        }
+        referenceDataCache.evictAfterCommit(Employment.class, updatedEmployment.getId());
         return mapToResponse(updatedEmployment);
     }
 
+    /**
+     * Adjusts the base salary of every employment record matching the request filters in one set-based UPDATE,
+     * or with dryRun only reports how many records would change and the resulting cost delta.
+     * @param request SalaryAdjustmentRequest DTO with the filters, adjustment and dry-run flag.
+     * @return SalaryAdjustmentResponse with the affected count and base salary totals before and after.
+     * @throws ValidationException if the adjustment would make a base salary negative.
+     */
+    @Transactional
+    public SalaryAdjustmentResponse adjustSalaries(SalaryAdjustmentRequest request) {
+        Employment.EmploymentStatus status = request.getStatus() != null ? request.getStatus() : Employment.EmploymentStatus.ACTIVE;
+        boolean percentage = request.getType() == SalaryAdjustmentRequest.AdjustmentType.PERCENTAGE;
+        double factor = percentage ? 1.0 + request.getAmount() / 100.0 : 1.0;
+        double offset = percentage ? 0.0 : request.getAmount();
+
+        SalaryAdjustmentResponse preview = employmentRepository.previewSalaryAdjustment(
+                status, request.getDepartment(), request.getPosition(), factor, offset);
+        if (preview.getLowestAdjustedSalary() != null && preview.getLowestAdjustedSalary() < 0) {
+            throw new ValidationException("Adjustment would make a base salary negative (lowest result: "
+                    + preview.getLowestAdjustedSalary() + ").");
+        }
+        if (request.isDryRun() || preview.getAffectedCount() == 0) {
+            return preview;
+        }
+
+        int updated = employmentRepository.adjustSalaries(status, request.getDepartment(), request.getPosition(), factor, offset);
+        employmentHistoryService.recordBulkChange(status, request.getDepartment(), request.getPosition(), LocalDate.now());
+        // The bulk UPDATE bypasses the second-level cache, and replicas lag behind a write of this size
+        referenceDataCache.evictAfterCommit(Employment.class, null);
+        replicaLagGuard.pinPrimaryAfterCommit();
+        preview.setAffectedCount(updated);
+        preview.setApplied(true);
+        return preview;
+    }
+
     /**
      * Deletes an employment record by its ID.
      * @param id The ID of the employment record to delete.
@@ -141,6 +211,8 @@ public class EmploymentService {
         Employment employment = employmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Employment id"+ id));
         employmentRepository.delete(employment);
+        employmentHistoryService.recordDeletion(id, LocalDate.now());
+        referenceDataCache.evictAfterCommit(Employment.class, id);
     }
 
     // Helper method to map Employment entity to EmploymentResponse DTO
@@ -157,6 +229,7 @@ public class EmploymentService {
                 .baseSalary(employment.getBaseSalary())
                 .status(employment.getStatus())
                 .joiningDate(employment.getJoiningDate())
+                .version(employment.getVersion())
                 .build();
     }
 }
\ No newline at end of file
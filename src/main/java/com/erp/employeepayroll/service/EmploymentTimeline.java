@@ -0,0 +1,75 @@
+package com.erp.employeepayroll.service;
+
+import com.erp.employeepayroll.model.EmploymentPeriod;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory interval index over employment periods for bulk recalculations: built once from a single query
+ * (see EmploymentHistoryService.timeline), then answers as-of lookups for any employee and date with a
+ * binary search over that employee's period start days, without further database round trips.
+ * Assumes the loaded periods of one employee do not overlap, which holds for ACTIVE periods since an employee
+ * has at most one ACTIVE employment record at a time.
+ */
+public final class EmploymentTimeline {
+
+    private final Map<Long, EmploymentPeriod[]> periodsByEmployee = new HashMap<>(); // Sorted by effectiveFrom
+    private final Map<Long, long[]> startDaysByEmployee = new HashMap<>(); // effectiveFrom as epoch days, same order
+
+    EmploymentTimeline(List<EmploymentPeriod> periods) {
+        Map<Long, List<EmploymentPeriod>> grouped = periods.stream()
+                .collect(Collectors.groupingBy(EmploymentPeriod::getEmployeeId));
+        grouped.forEach((employeeId, employeePeriods) -> {
+            EmploymentPeriod[] sorted = employeePeriods.stream()
+                    .sorted(Comparator.comparing(EmploymentPeriod::getEffectiveFrom))
+                    .toArray(EmploymentPeriod[]::new);
+            periodsByEmployee.put(employeeId, sorted);
+            startDaysByEmployee.put(employeeId, Arrays.stream(sorted).mapToLong(p -> p.getEffectiveFrom().toEpochDay()).toArray());
+        });
+    }
+
+    /**
+     * Finds the period of an employee covering a date.
+     * @param employeeId The employee.
+     * @param date The as-of date.
+     * @return The covering period, or null if the employee had no loaded period on that date.
+     */
+    public EmploymentPeriod periodAsOf(Long employeeId, LocalDate date) {
+        long[] startDays = startDaysByEmployee.get(employeeId);
+        if (startDays == null) {
+            return null;
+        }
+        int index = Arrays.binarySearch(startDays, date.toEpochDay());
+        // Not found: insertion point - 1 is the last period starting before the date
+        int candidate = index >= 0 ? index : -index - 2;
+        if (candidate < 0) {
+            return null;
+        }
+        EmploymentPeriod period = periodsByEmployee.get(employeeId)[candidate];
+        return period.covers(date) ? period : null;
+    }
+
+    /**
+     * Resolves an employee's base salary on a date.
+     * @param employeeId The employee.
+     * @param date The as-of date.
+     * @return The base salary, or null if the employee had no loaded period on that date.
+     */
+    public Double salaryAsOf(Long employeeId, LocalDate date) {
+        EmploymentPeriod period = periodAsOf(employeeId, date);
+        return period == null ? null : period.getBaseSalary();
+    }
+
+    /**
+     * @return The number of employees with at least one loaded period.
+     */
+    public int employeeCount() {
+        return periodsByEmployee.size();
+    }
+}
@@ -0,0 +1,63 @@
+package com.erp.employeepayroll.service;
+
+import com.erp.employeepayroll.config.PayrollProperties;
+import com.erp.employeepayroll.exception.ExcessiveDeductionsException;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * The payroll calculation done in Java, one employee at a time.
+ */
+@Component
+public class JavaPayrollEngine implements PayrollEngine {
+
+    @Override
+    public PayrollProperties.Engine engine() {
+        return PayrollProperties.Engine.JAVA;
+    }
+
+    @Override
+    public List<PayslipFigures> calculate(PayrollSnapshot snapshot) {
+        return snapshot.entries().stream().map(entry -> checked(evaluate(entry, snapshot.rates()), entry)).toList();
+    }
+
+    /**
+     * Calculates the amounts of one payslip without checking them, e.g. for a what-if simulation that reports
+     * excessive deductions instead of failing.
+     * @param entry The employee.
+     * @param rates The rates to apply.
+     * @return The amounts; the net salary is negative if the deductions exceed the gross salary.
+     */
+    static PayslipFigures evaluate(PayrollSnapshot.Entry entry, PayrollRates rates) {
+        double baseSalary = entry.baseSalary();
+
+        // Gross Salary Calculation
+        double housingAmount = baseSalary * rates.housing();
+        double transportAmount = baseSalary * rates.transport();
+        double grossSalary = baseSalary + housingAmount + transportAmount;
+
+        // Deductions Calculation
+        double employeeTaxedAmount = rates.employeeTaxOn(baseSalary);
+        double pensionAmount = baseSalary * rates.pension();
+        double medicalInsuranceAmount = baseSalary * rates.medicalInsurance();
+        double otherTaxedAmount = baseSalary * rates.others();
+
+        // Net Salary Calculation
+        double totalDeductions = employeeTaxedAmount + pensionAmount + medicalInsuranceAmount + otherTaxedAmount;
+        double netSalary = grossSalary - totalDeductions;
+
+        return new PayslipFigures(entry.employeeId(), baseSalary, housingAmount, transportAmount, employeeTaxedAmount,
+                pensionAmount, medicalInsuranceAmount, otherTaxedAmount, grossSalary, netSalary);
+    }
+
+    // Ensure deductions do not exceed gross salary (as a safeguard, though unlikely with current formula)
+    private static PayslipFigures checked(PayslipFigures figures, PayrollSnapshot.Entry entry) {
+        if (figures.totalDeductions() > figures.grossSalary()) {
+            throw new ExcessiveDeductionsException(
+                    String.format("Total deductions (%.2f) exceed gross salary (%.2f) for employee %s",
+                            figures.totalDeductions(), figures.grossSalary(), entry.employeeCode()));
+        }
+        return figures;
+    }
+}
@@ -1,11 +1,13 @@
 package com.erp.employeepayroll.service;
 
+import com.erp.employeepayroll.dto.response.CursorPage;
 import com.erp.employeepayroll.dto.response.MessageResponse;
 import com.erp.employeepayroll.exception.ResourceNotFoundException;
 import com.erp.employeepayroll.model.Employee;
 import com.erp.employeepayroll.model.Message;
 import com.erp.employeepayroll.repository.EmployeeRepository;
 import com.erp.employeepayroll.repository.MessageRepository;
+import com.erp.employeepayroll.util.PageCursor;
 import org.springframework.security.access.AccessDeniedException; // Import AccessDeniedException
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -14,7 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 /**
  * Service for managing messages sent to employees, especially for payroll notifications.
@@ -51,8 +53,9 @@ public class MessageService {
         System.out.println("DEBUG: Sending email to " + employee.getEmail() + ": " + messageContent);
     }
 
+    @Transactional(readOnly = true)
     public MessageResponse getMessageById(Long id) {
-        Message message = messageRepository.findById(id)
+        MessageResponse message = messageRepository.findResponseById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Message id"+ id));
 
         // Get authenticated user's details
@@ -63,14 +66,15 @@ public class MessageService {
         boolean isEmployeeRole = authentication.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_EMPLOYEE"));
 
-        if (isEmployeeRole && !message.getEmployee().getCode().equals(authenticatedEmployeeCode)) {
+        if (isEmployeeRole && !message.getEmployeeCode().equals(authenticatedEmployeeCode)) {
             throw new AccessDeniedException("You are not authorized to access other employees' messages.");
         }
 
-        return mapToResponse(message);
+        return message;
     }
 
-    public List<MessageResponse> getMessagesByEmployee(Long employeeId) {
+    @Transactional(readOnly = true)
+    public CursorPage<MessageResponse> getMessagesByEmployee(Long employeeId, String cursor, Integer size) {
         // Get authenticated user's details
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String authenticatedEmployeeCode = authentication.getName();
@@ -86,23 +90,8 @@ public class MessageService {
             throw new AccessDeniedException("You are not authorized to access other employees' messages.");
         }
 
-        List<Message> messages = messageRepository.findByEmployee(requestedEmployee);
-        return messages.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
-    }
-
-    private MessageResponse mapToResponse(Message message) {
-        return MessageResponse.builder()
-                .id(message.getId())
-                .employeeId(message.getEmployee().getId())
-                .employeeCode(message.getEmployee().getCode())
-                .employeeFirstName(message.getEmployee().getFirstName())
-                .employeeLastName(message.getEmployee().getLastName())
-                .messageContent(message.getMessage())
-                .month(message.getMonth())
-                .year(message.getYear())
-                .sentDate(message.getSentDate())
-                .build();
+        List<MessageResponse> messages = messageRepository.findResponsesByEmployeeId(
+                requestedEmployee.getId(), PageCursor.decode(cursor), PageCursor.limitFor(size));
+        return CursorPage.of(messages, size, MessageResponse::getId, Function.identity());
     }
 }
\ No newline at end of file
@@ -0,0 +1,116 @@
+package com.erp.employeepayroll.service;
+
+import com.erp.employeepayroll.config.ArchiveProperties;
+import com.erp.employeepayroll.config.BatchWork;
+import com.erp.employeepayroll.exception.ValidationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Year;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves closed payroll years from the payslip and message tables into payslip_archive and message_archive.
+ * Rows are moved in chunks of {@code app.archive.chunk-size}, each chunk in its own short transaction
+ * (copy, then delete by id), so no long-lived locks are held on the hot tables while a year is archived.
+ * The repositories read both tables, so a year stays fully visible while it is being moved.
+ */
+@Service
+public class PayrollArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PayrollArchiveService.class);
+
+    private static final String PAYSLIP_COLUMNS = "id, employee_id, base_salary_at_generation, house_amount, "
+            + "transport_amount, employee_taxed_amount, pension_amount, medical_insurance_amount, other_taxed_amount, "
+            + "gross_salary, net_salary, month, year, status, generation_date, approval_date, rate_set_id";
+    private static final String MESSAGE_COLUMNS = "id, employee_id, message, month, year, sent_date";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ArchiveProperties properties;
+
+    public PayrollArchiveService(NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                 ArchiveProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    /**
+     * Scheduled run: archives every closed year that has no pending payslips left.
+     */
+    @BatchWork
+    @Scheduled(cron = "${app.archive.cron:0 30 2 * * *}")
+    public void archiveClosedYears() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        List<Integer> years = jdbcTemplate.queryForList(
+                "SELECT DISTINCT year FROM payslip WHERE year <= :lastClosedYear AND year NOT IN "
+                        + "(SELECT year FROM payslip WHERE status = 'PENDING') ORDER BY year",
+                Map.of("lastClosedYear", lastClosedYear()), Integer.class);
+        for (Integer year : years) {
+            archiveYear(year);
+        }
+    }
+
+    /**
+     * Moves all payslips and messages of a closed year to the archive tables.
+     * @param year The year to archive.
+     * @return The number of payslips moved.
+     * @throws ValidationException if the year is not closed yet or still has pending payslips.
+     */
+    @BatchWork
+    public int archiveYear(int year) {
+        if (year > lastClosedYear()) {
+            throw new ValidationException("Year " + year + " is not closed for archival yet (last closed year is "
+                    + lastClosedYear() + ").");
+        }
+        Integer pending = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM payslip WHERE year = :year AND status = 'PENDING'", Map.of("year", year), Integer.class);
+        if (pending != null && pending > 0) {
+            throw new ValidationException("Year " + year + " still has " + pending + " PENDING payslips.");
+        }
+
+        int payslips = moveInChunks("payslip", "payslip_archive", PAYSLIP_COLUMNS, year);
+        int messages = moveInChunks("message", "message_archive", MESSAGE_COLUMNS, year);
+        jdbcTemplate.update("UPDATE payroll_period SET status = 'CLOSED', closed_at = CURRENT_TIMESTAMP, version = version + 1 "
+                + "WHERE year = :year AND status <> 'CLOSED'", Map.of("year", year));
+        logger.info("Archived payroll year {}: {} payslips, {} messages", year, payslips, messages);
+        return payslips;
+    }
+
+    private int lastClosedYear() {
+        return Year.now().getValue() - 1 - properties.getRetainedYears();
+    }
+
+    // Copies and deletes the rows of a year one chunk (one transaction) at a time; returns the number of rows moved
+    private int moveInChunks(String table, String archiveTable, String columns, int year) {
+        int moved = 0;
+        while (true) {
+            Integer chunk = transactionTemplate.execute(status -> {
+                List<Long> ids = jdbcTemplate.queryForList(
+                        "SELECT id FROM " + table + " WHERE year = :year ORDER BY id LIMIT :chunkSize",
+                        Map.of("year", year, "chunkSize", properties.getChunkSize()), Long.class);
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                Map<String, List<Long>> params = Map.of("ids", ids);
+                jdbcTemplate.update("INSERT INTO " + archiveTable + " (" + columns + ") SELECT " + columns
+                        + " FROM " + table + " WHERE id IN (:ids)", params);
+                jdbcTemplate.update("DELETE FROM " + table + " WHERE id IN (:ids)", params);
+                return ids.size();
+            });
+            if (chunk == null || chunk == 0) {
+                return moved;
+            }
+            moved += chunk;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.erp.employeepayroll.service;
+
+import com.erp.employeepayroll.config.PayrollProperties;
+
+import java.util.List;
+
+/**
+ * A payroll calculation: turns a snapshot of the workforce into payslip amounts without persisting anything.
+ * Used to run a candidate engine in the shadow of the primary one (see PayrollShadowRunner).
+ */
+public interface PayrollEngine {
+
+    /**
+     * @return The engine this implementation provides.
+     */
+    PayrollProperties.Engine engine();
+
+    /**
+     * Calculates the payslips of a snapshot.
+     * @param snapshot The run's input.
+     * @return One result per snapshot entry, in snapshot order.
+     * @throws com.erp.employeepayroll.exception.ExcessiveDeductionsException if the deductions of an employee exceed the gross salary.
+     */
+    List<PayslipFigures> calculate(PayrollSnapshot snapshot);
+}
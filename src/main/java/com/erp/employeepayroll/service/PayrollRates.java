@@ -0,0 +1,43 @@
+package com.erp.employeepayroll.service;
+
+import java.util.Map;
+
+/**
+ * Allowance and deduction rates of a payroll run, as decimals (e.g., 0.05 for 5%), and the progressive
+ * tax schedule that replaces the flat employee tax rate when one is in force.
+ * @param housing Housing allowance, added to the gross salary.
+ * @param transport Transport allowance, added to the gross salary.
+ * @param employeeTax Employee tax deduction.
+ * @param pension Pension deduction.
+ * @param medicalInsurance Medical insurance deduction.
+ * @param others Other deductions.
+ * @param taxSchedule The tax schedule in force, or null to apply employeeTax.
+ */
+public record PayrollRates(double housing, double transport, double employeeTax, double pension, double medicalInsurance,
+                           double others, TaxSchedule taxSchedule) {
+
+    /**
+     * Picks the rates by the deduction names from the project description.
+     * @param percentagesByName Percentages by deduction name, as decimals (see DeductionRateSet.percentagesByName).
+     * @param taxSchedule The tax schedule in force, or null.
+     * @return The rates, with the historical defaults for names that are not configured.
+     */
+    public static PayrollRates of(Map<String, Double> percentagesByName, TaxSchedule taxSchedule) {
+        return new PayrollRates(
+                percentagesByName.getOrDefault("Housing", 0.14),
+                percentagesByName.getOrDefault("Transport", 0.14),
+                percentagesByName.getOrDefault("Employee Tax", 0.3),
+                percentagesByName.getOrDefault("Pension", 0.06),
+                percentagesByName.getOrDefault("MedicalInsurance", 0.5),
+                percentagesByName.getOrDefault("Others", 0.5),
+                taxSchedule);
+    }
+
+    /**
+     * @param baseSalary A base salary.
+     * @return The employee tax on it: progressive if a schedule is in force, flat otherwise.
+     */
+    public double employeeTaxOn(double baseSalary) {
+        return taxSchedule != null ? taxSchedule.tax(baseSalary) : baseSalary * employeeTax;
+    }
+}
@@ -0,0 +1,217 @@
+package com.erp.employeepayroll.service;
+
+import com.erp.employeepayroll.config.PayrollProperties;
+import com.erp.employeepayroll.dto.response.PayslipResponse;
+import com.erp.employeepayroll.dto.response.ShadowRunReport;
+import com.erp.employeepayroll.exception.ResourceNotFoundException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Dual-run verification of payroll engines. While the primary engine calculates and saves a run, the candidate
+ * configured in {@code app.payroll.shadow.engine} calculates the same input snapshot on a separate thread and
+ * discards its results. Once the primary is done, it waits at most {@code app.payroll.shadow.budget-ms} for the
+ * candidate, then every payslip field is compared and the report, with the timing of both engines, is logged and
+ * kept for the period. A candidate that fails never fails the primary run. A candidate that is late is cancelled:
+ * its thread is interrupted, and the SQL engine stops between statements, each of which also times out after the budget.
+ * One candidate runs at a time; a run that starts while the previous candidate is still running skips its shadow.
+ */
+@Service
+public class PayrollShadowRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(PayrollShadowRunner.class);
+
+    // Compared payslip fields, in report order
+    private static final List<Map.Entry<String, ToDoubleFunction<PayslipFigures>>> FIELDS = List.of(
+            Map.entry("baseSalaryAtGeneration", PayslipFigures::baseSalary),
+            Map.entry("houseAmount", PayslipFigures::houseAmount),
+            Map.entry("transportAmount", PayslipFigures::transportAmount),
+            Map.entry("employeeTaxedAmount", PayslipFigures::employeeTaxedAmount),
+            Map.entry("pensionAmount", PayslipFigures::pensionAmount),
+            Map.entry("medicalInsuranceAmount", PayslipFigures::medicalInsuranceAmount),
+            Map.entry("otherTaxedAmount", PayslipFigures::otherTaxedAmount),
+            Map.entry("grossSalary", PayslipFigures::grossSalary),
+            Map.entry("netSalary", PayslipFigures::netSalary));
+
+    private final Map<PayrollProperties.Engine, PayrollEngine> engines = new EnumMap<>(PayrollProperties.Engine.class);
+    private final PayrollProperties properties;
+    private final Map<YearMonth, ShadowRunReport> latestReports = new ConcurrentHashMap<>(); // Last report of each period
+    private final ExecutorService shadowPool;
+
+    public PayrollShadowRunner(List<PayrollEngine> engines, PayrollProperties properties) {
+        engines.forEach(engine -> this.engines.put(engine.engine(), engine));
+        this.properties = properties;
+        AtomicInteger threadNumber = new AtomicInteger();
+        // A single thread and no queue: a candidate is never waited for, so while one runs the next is rejected
+        this.shadowPool = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new SynchronousQueue<>(), task -> {
+            Thread thread = new Thread(task, "payroll-shadow-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        shadowPool.shutdownNow();
+    }
+
+    /**
+     * A candidate calculation in progress.
+     */
+    public record Run(PayrollProperties.Engine candidate, Future<Result> result) {
+    }
+
+    // What the candidate calculated and how long it took
+    record Result(List<PayslipFigures> figures, long nanos) {
+    }
+
+    /**
+     * Starts the configured candidate engine on a snapshot, unless no shadow is configured, the candidate is
+     * the primary itself or the previous candidate is still running.
+     * @param primary The engine whose payslips are saved.
+     * @param snapshot The input the primary calculates from.
+     * @return The candidate run, or null if there is none.
+     */
+    public Run start(PayrollProperties.Engine primary, PayrollSnapshot snapshot) {
+        PayrollProperties.Engine candidate = properties.getShadow().getEngine();
+        if (candidate == null || candidate == primary) {
+            return null;
+        }
+        PayrollEngine engine = engines.get(candidate);
+        try {
+            return new Run(candidate, shadowPool.submit(() -> {
+                long start = System.nanoTime();
+                List<PayslipFigures> figures = engine.calculate(snapshot);
+                return new Result(figures, System.nanoTime() - start);
+            }));
+        } catch (RejectedExecutionException e) {
+            logger.warn("Shadow run {}/{} skipped: the previous {} candidate is still running", snapshot.month(), snapshot.year(), candidate);
+            return null;
+        }
+    }
+
+    /**
+     * Waits for a candidate run within the budget, compares it with the primary's saved payslips and keeps the report.
+     * @param run The run returned by {@link #start}, or null.
+     * @param primary The engine whose payslips were saved.
+     * @param month The month (1-12).
+     * @param year The year.
+     * @param primaryPayslips The payslips the primary saved.
+     * @param primaryNanos Time the primary took to calculate and save them.
+     */
+    public void finish(Run run, PayrollProperties.Engine primary, int month, int year, List<PayslipResponse> primaryPayslips,
+                       long primaryNanos) {
+        if (run == null) {
+            return;
+        }
+        ShadowRunReport.ShadowRunReportBuilder report = ShadowRunReport.builder()
+                .month(month)
+                .year(year)
+                .primaryEngine(primary)
+                .candidateEngine(run.candidate())
+                .primaryMillis(TimeUnit.NANOSECONDS.toMillis(primaryNanos))
+                .discrepancies(List.of());
+        try {
+            Result result = run.result().get(properties.getShadow().getBudgetMs(), TimeUnit.MILLISECONDS);
+            report.candidateMillis(TimeUnit.NANOSECONDS.toMillis(result.nanos()));
+            compare(primaryPayslips.stream().map(PayslipFigures::of).toList(), result.figures(),
+                    properties.getShadow().getTolerance(), properties.getShadow().getMaxReportedDiscrepancies(), report);
+        } catch (TimeoutException e) {
+            run.result().cancel(true);
+            report.outcome(ShadowRunReport.Outcome.TIMED_OUT)
+                    .message("Candidate did not finish within " + properties.getShadow().getBudgetMs() + " ms");
+        } catch (ExecutionException e) {
+            report.outcome(ShadowRunReport.Outcome.FAILED)
+                    .message(e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.result().cancel(true);
+            report.outcome(ShadowRunReport.Outcome.TIMED_OUT).message("Interrupted while waiting for the candidate");
+        }
+        ShadowRunReport completed = report.completedAt(LocalDateTime.now()).build();
+        latestReports.put(YearMonth.of(year, month), completed);
+        if (completed.getOutcome() == ShadowRunReport.Outcome.MATCH) {
+            logger.info("Shadow run {}/{}: {} matches {} on {} payslips ({} ms vs {} ms)", month, year, run.candidate(), primary,
+                    completed.getPayslipsCompared(), completed.getCandidateMillis(), completed.getPrimaryMillis());
+        } else {
+            logger.warn("Shadow run {}/{}: {} against {} is {} with {} discrepancies ({} ms vs {} ms) {}", month, year,
+                    run.candidate(), primary, completed.getOutcome(), completed.getDiscrepancyCount(),
+                    completed.getCandidateMillis(), completed.getPrimaryMillis(),
+                    completed.getMessage() != null ? completed.getMessage() : completed.getDiscrepancies());
+        }
+    }
+
+    /**
+     * Retrieves the report of the last shadow run of a period.
+     * @param month The month (1-12).
+     * @param year The year.
+     * @return The report.
+     * @throws ResourceNotFoundException if the period has not been run with a shadow engine since startup.
+     */
+    public ShadowRunReport getLatestReport(Integer month, Integer year) {
+        ShadowRunReport report = month >= 1 && month <= 12 ? latestReports.get(YearMonth.of(year, month)) : null;
+        if (report == null) {
+            throw new ResourceNotFoundException("Shadow run report month/year " + month + "/" + year);
+        }
+        return report;
+    }
+
+    // Compares both results employee by employee and sets the outcome, counts and discrepancies of the report
+    static void compare(List<PayslipFigures> primary, List<PayslipFigures> candidate, double tolerance, int maxReported,
+                        ShadowRunReport.ShadowRunReportBuilder report) {
+        Map<Long, PayslipFigures[]> byEmployee = new TreeMap<>();
+        primary.forEach(figures -> byEmployee.computeIfAbsent(figures.employeeId(), id -> new PayslipFigures[2])[0] = figures);
+        candidate.forEach(figures -> byEmployee.computeIfAbsent(figures.employeeId(), id -> new PayslipFigures[2])[1] = figures);
+
+        List<ShadowRunReport.Discrepancy> discrepancies = new ArrayList<>();
+        int count = 0;
+        for (Map.Entry<Long, PayslipFigures[]> entry : byEmployee.entrySet()) {
+            PayslipFigures ours = entry.getValue()[0];
+            PayslipFigures theirs = entry.getValue()[1];
+            if (ours == null || theirs == null) {
+                count++;
+                if (discrepancies.size() < maxReported) {
+                    discrepancies.add(new ShadowRunReport.Discrepancy(entry.getKey(), "payslip",
+                            ours != null ? ours.netSalary() : null, theirs != null ? theirs.netSalary() : null));
+                }
+                continue;
+            }
+            for (Map.Entry<String, ToDoubleFunction<PayslipFigures>> field : FIELDS) {
+                double primaryValue = field.getValue().applyAsDouble(ours);
+                double candidateValue = field.getValue().applyAsDouble(theirs);
+                // Exact comparison by default; compare(...) also treats two NaNs as equal
+                if (Double.compare(primaryValue, candidateValue) != 0 && !(Math.abs(primaryValue - candidateValue) <= tolerance)) {
+                    count++;
+                    if (discrepancies.size() < maxReported) {
+                        discrepancies.add(new ShadowRunReport.Discrepancy(entry.getKey(), field.getKey(), primaryValue, candidateValue));
+                    }
+                }
+            }
+        }
+        report.payslipsCompared(byEmployee.size())
+                .discrepancyCount(count)
+                .discrepancies(discrepancies)
+                .outcome(count == 0 ? ShadowRunReport.Outcome.MATCH : ShadowRunReport.Outcome.MISMATCH);
+    }
+}
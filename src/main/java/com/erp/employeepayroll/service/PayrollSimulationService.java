@@ -0,0 +1,288 @@
+package com.erp.employeepayroll.service;
+
+import com.erp.employeepayroll.config.PayrollProperties;
+import com.erp.employeepayroll.dto.request.PayrollSimulationRequest;
+import com.erp.employeepayroll.dto.response.PayrollSimulationResponse;
+import com.erp.employeepayroll.exception.ValidationException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What-if payroll simulation: proposed deduction and allowance rates are compared with the rates in force for a
+ * period over the whole workforce, without writing anything. The employees and salaries a payroll run would use
+ * are read into an in-memory snapshot that is reused for {@code app.payroll.simulation.snapshot-ttl-seconds}, so
+ * finance can try several proposals in a row; each simulation evaluates the snapshot in parallel on a dedicated
+ * pool with the same formulas as JavaPayrollEngine and aggregates totals, departments and the top-N employees.
+ */
+@Service
+public class PayrollSimulationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PayrollSimulationService.class);
+
+    // The deduction names payroll reads (see PayrollRates.of); other names have no effect on a payslip
+    private static final List<String> RATE_NAMES = List.of("Housing", "Transport", "Employee Tax", "Pension",
+            "MedicalInsurance", "Others");
+    private static final int DEFAULT_TOP_AFFECTED = 10;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final DeductionRateService deductionRateService;
+    private final TaxBracketService taxBracketService;
+    private final PayrollProperties properties;
+    private final ForkJoinPool simulationPool;
+    private volatile Workforce workforce; // Cached snapshot, null until the first simulation
+
+    public PayrollSimulationService(NamedParameterJdbcTemplate jdbcTemplate, DeductionRateService deductionRateService,
+                                    TaxBracketService taxBracketService, PayrollProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.deductionRateService = deductionRateService;
+        this.taxBracketService = taxBracketService;
+        this.properties = properties;
+        this.simulationPool = new ForkJoinPool(Math.max(1, properties.getSimulation().getParallelism()));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        simulationPool.shutdownNow();
+    }
+
+    /**
+     * Simulates a period under proposed rates.
+     * Overriding "Employee Tax" replaces a progressive tax schedule in force with the proposed flat rate.
+     * @param request The period, the proposed percentages by deduction name and the size of the top-N list.
+     * @return Baseline and proposed totals with their deltas, per department and for the most affected employees.
+     * @throws ValidationException if an override names a deduction payroll does not use, or too many employees are asked for.
+     */
+    public PayrollSimulationResponse simulate(PayrollSimulationRequest request) {
+        long start = System.nanoTime();
+        YearMonth period = YearMonth.now();
+        if (request.getYear() != null) {
+            period = period.withYear(request.getYear());
+        }
+        if (request.getMonth() != null) {
+            period = period.withMonth(request.getMonth());
+        }
+        int topAffected = request.getTopAffected() != null ? request.getTopAffected() : DEFAULT_TOP_AFFECTED;
+        if (topAffected > properties.getSimulation().getMaxTopAffected()) {
+            throw new ValidationException("topAffected cannot exceed " + properties.getSimulation().getMaxTopAffected() + ".");
+        }
+        for (String name : request.getOverrides().keySet()) {
+            if (!RATE_NAMES.contains(name)) {
+                throw new ValidationException("Unknown rate '" + name + "'; payroll uses " + String.join(", ", RATE_NAMES) + ".");
+            }
+        }
+
+        // The rates a payroll run of the period would use, read without freezing a rate set
+        LocalDate lastDay = period.atEndOfMonth();
+        Map<String, Double> inForce = deductionRateService.percentagesOn(lastDay);
+        TaxSchedule taxSchedule = taxBracketService.scheduleOn(lastDay).orElse(null);
+        PayrollRates baseline = PayrollRates.of(inForce, taxSchedule);
+
+        Map<String, Double> proposedPercentages = new HashMap<>(inForce);
+        request.getOverrides().forEach((name, percentage) -> proposedPercentages.put(name, percentage / 100.0));
+        PayrollRates proposed = PayrollRates.of(proposedPercentages,
+                request.getOverrides().containsKey("Employee Tax") ? null : taxSchedule);
+
+        Workforce snapshot = workforce(request.isRefreshSnapshot());
+        Aggregate aggregate = simulationPool.submit(() -> snapshot.workers().parallelStream().collect(
+                () -> new Aggregate(topAffected),
+                (accumulator, worker) -> accumulator.add(worker, JavaPayrollEngine.evaluate(worker.entry(), baseline),
+                        JavaPayrollEngine.evaluate(worker.entry(), proposed)),
+                Aggregate::merge)).join();
+
+        PayrollSimulationResponse response = PayrollSimulationResponse.builder()
+                .month(period.getMonthValue())
+                .year(period.getYear())
+                .proposedRates(percentages(proposed))
+                .snapshotTakenAt(snapshot.takenAt())
+                .employees(snapshot.workers().size())
+                .excessiveDeductions(aggregate.excessiveDeductions)
+                .baseline(aggregate.baseline.toTotals())
+                .proposed(aggregate.proposed.toTotals())
+                .delta(aggregate.proposed.minus(aggregate.baseline).toTotals())
+                .departments(aggregate.departments.values().stream() // TreeMap: by department name
+                        .map(DepartmentSums::toImpact)
+                        .toList())
+                .topAffected(aggregate.topAffected.stream()
+                        .sorted(Impact.ORDER.reversed())
+                        .map(Impact::toResponse)
+                        .toList())
+                .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start))
+                .build();
+        logger.info("Payroll simulation {}/{} over {} employees: net salary delta {} in {} ms", response.getMonth(),
+                response.getYear(), response.getEmployees(), response.getDelta().getNetSalary(), response.getElapsedMillis());
+        return response;
+    }
+
+    // The cached snapshot, reloaded when asked to or once it is older than the TTL
+    private synchronized Workforce workforce(boolean refresh) {
+        Workforce cached = workforce;
+        long ttlNanos = TimeUnit.SECONDS.toNanos(properties.getSimulation().getSnapshotTtlSeconds());
+        if (cached != null && !refresh && System.nanoTime() - cached.loadedAtNanos() < ttlNanos) {
+            return cached;
+        }
+        List<Worker> workers = jdbcTemplate.query("SELECT e.id, e.code, e.first_name, e.last_name, m.department, m.base_salary"
+                        + SqlPayrollEngine.ACTIVE_WORKFORCE + " ORDER BY e.id", Map.of(),
+                (rs, rowNum) -> new Worker(new PayrollSnapshot.Entry(rs.getLong("id"), rs.getString("code"), rs.getDouble("base_salary")),
+                        rs.getString("first_name"), rs.getString("last_name"), rs.getString("department")));
+        workforce = new Workforce(List.copyOf(workers), LocalDateTime.now(), System.nanoTime());
+        return workforce;
+    }
+
+    private static Map<String, Double> percentages(PayrollRates rates) {
+        Map<String, Double> percentages = new LinkedHashMap<>();
+        percentages.put("Housing", rates.housing() * 100.0);
+        percentages.put("Transport", rates.transport() * 100.0);
+        if (rates.taxSchedule() == null) {
+            percentages.put("Employee Tax", rates.employeeTax() * 100.0); // Progressive when a schedule applies
+        }
+        percentages.put("Pension", rates.pension() * 100.0);
+        percentages.put("MedicalInsurance", rates.medicalInsurance() * 100.0);
+        percentages.put("Others", rates.others() * 100.0);
+        return percentages;
+    }
+
+    private record Workforce(List<Worker> workers, LocalDateTime takenAt, long loadedAtNanos) {
+    }
+
+    // An employee of the snapshot, with the payroll input prebuilt
+    private record Worker(PayrollSnapshot.Entry entry, String firstName, String lastName, String department) {
+    }
+
+    // Running sums of simulated payslips
+    private static final class Sums {
+        private double grossSalary;
+        private double employeeTax;
+        private double pension;
+        private double medicalInsurance;
+        private double otherDeductions;
+        private double netSalary;
+
+        void add(PayslipFigures figures) {
+            grossSalary += figures.grossSalary();
+            employeeTax += figures.employeeTaxedAmount();
+            pension += figures.pensionAmount();
+            medicalInsurance += figures.medicalInsuranceAmount();
+            otherDeductions += figures.otherTaxedAmount();
+            netSalary += figures.netSalary();
+        }
+
+        void add(Sums other) {
+            grossSalary += other.grossSalary;
+            employeeTax += other.employeeTax;
+            pension += other.pension;
+            medicalInsurance += other.medicalInsurance;
+            otherDeductions += other.otherDeductions;
+            netSalary += other.netSalary;
+        }
+
+        Sums minus(Sums other) {
+            Sums difference = new Sums();
+            difference.grossSalary = grossSalary - other.grossSalary;
+            difference.employeeTax = employeeTax - other.employeeTax;
+            difference.pension = pension - other.pension;
+            difference.medicalInsurance = medicalInsurance - other.medicalInsurance;
+            difference.otherDeductions = otherDeductions - other.otherDeductions;
+            difference.netSalary = netSalary - other.netSalary;
+            return difference;
+        }
+
+        PayrollSimulationResponse.Totals toTotals() {
+            return new PayrollSimulationResponse.Totals(grossSalary, employeeTax, pension, medicalInsurance, otherDeductions, netSalary);
+        }
+    }
+
+    private static final class DepartmentSums {
+        private final String department;
+        private final Sums baseline = new Sums();
+        private final Sums proposed = new Sums();
+        private int employees;
+
+        DepartmentSums(String department) {
+            this.department = department;
+        }
+
+        void add(DepartmentSums other) {
+            employees += other.employees;
+            baseline.add(other.baseline);
+            proposed.add(other.proposed);
+        }
+
+        PayrollSimulationResponse.DepartmentImpact toImpact() {
+            return new PayrollSimulationResponse.DepartmentImpact(department, employees, baseline.grossSalary,
+                    proposed.grossSalary - baseline.grossSalary, baseline.netSalary, proposed.netSalary - baseline.netSalary);
+        }
+    }
+
+    private record Impact(Worker worker, double baselineNet, double proposedNet) {
+        // Smallest change first, ties broken by employee id, so a min-heap keeps the largest changes
+        static final Comparator<Impact> ORDER = Comparator.comparingDouble((Impact impact) -> Math.abs(impact.proposedNet - impact.baselineNet))
+                .thenComparing(impact -> impact.worker.entry().employeeId(), Comparator.reverseOrder());
+
+        PayrollSimulationResponse.EmployeeImpact toResponse() {
+            PayrollSnapshot.Entry entry = worker.entry();
+            return new PayrollSimulationResponse.EmployeeImpact(entry.employeeId(), entry.employeeCode(), worker.firstName(),
+                    worker.lastName(), worker.department(), baselineNet, proposedNet, proposedNet - baselineNet);
+        }
+    }
+
+    // Per-thread result of the parallel evaluation, merged pairwise
+    private static final class Aggregate {
+        private final int topN;
+        private final Sums baseline = new Sums();
+        private final Sums proposed = new Sums();
+        private final Map<String, DepartmentSums> departments = new TreeMap<>();
+        private final PriorityQueue<Impact> topAffected = new PriorityQueue<>(Impact.ORDER);
+        private int excessiveDeductions;
+
+        Aggregate(int topN) {
+            this.topN = topN;
+        }
+
+        void add(Worker worker, PayslipFigures baselineFigures, PayslipFigures proposedFigures) {
+            baseline.add(baselineFigures);
+            proposed.add(proposedFigures);
+            DepartmentSums department = departments.computeIfAbsent(worker.department(), DepartmentSums::new);
+            department.employees++;
+            department.baseline.add(baselineFigures);
+            department.proposed.add(proposedFigures);
+            if (proposedFigures.totalDeductions() > proposedFigures.grossSalary()) {
+                excessiveDeductions++;
+            }
+            offer(new Impact(worker, baselineFigures.netSalary(), proposedFigures.netSalary()));
+        }
+
+        void merge(Aggregate other) {
+            baseline.add(other.baseline);
+            proposed.add(other.proposed);
+            other.departments.forEach((name, sums) -> departments.computeIfAbsent(name, DepartmentSums::new).add(sums));
+            excessiveDeductions += other.excessiveDeductions;
+            other.topAffected.forEach(this::offer);
+        }
+
+        private void offer(Impact impact) {
+            if (topAffected.size() < topN) {
+                topAffected.add(impact);
+            } else if (Impact.ORDER.compare(impact, topAffected.peek()) > 0) {
+                topAffected.poll();
+                topAffected.add(impact);
+            }
+        }
+    }
+}
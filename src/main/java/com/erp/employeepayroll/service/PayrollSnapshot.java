@@ -0,0 +1,25 @@
+package com.erp.employeepayroll.service;
+
+import java.util.List;
+
+/**
+ * The input of a payroll run, read once: the rates of the period and the base salary of every employee to pay.
+ * Engines calculate from it without reading employees or employments themselves, so a primary and a shadow
+ * engine given the same snapshot see exactly the same data.
+ * @param month The month (1-12).
+ * @param year The year.
+ * @param rateSetId The DeductionRateSet the rates come from.
+ * @param rates The rates of the period.
+ * @param entries One entry per employee, by ascending employee id.
+ */
+public record PayrollSnapshot(int month, int year, Long rateSetId, PayrollRates rates, List<Entry> entries) {
+
+    /**
+     * An employee to pay.
+     * @param employeeId The employee.
+     * @param employeeCode The employee's code, for error messages.
+     * @param baseSalary The base salary of the employee's active employment.
+     */
+    public record Entry(Long employeeId, String employeeCode, double baseSalary) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.erp.employeepayroll.service;
+
+import com.erp.employeepayroll.dto.response.PayslipResponse;
+
+/**
+ * The calculated amounts of one payslip, as produced by a PayrollEngine.
+ */
+public record PayslipFigures(Long employeeId, double baseSalary, double houseAmount, double transportAmount,
+                             double employeeTaxedAmount, double pensionAmount, double medicalInsuranceAmount,
+                             double otherTaxedAmount, double grossSalary, double netSalary) {
+
+    /**
+     * @return The four deductions, summed in the order the engines sum them.
+     */
+    public double totalDeductions() {
+        return employeeTaxedAmount + pensionAmount + medicalInsuranceAmount + otherTaxedAmount;
+    }
+
+    /**
+     * @param payslip A saved payslip.
+     * @return Its amounts.
+     */
+    public static PayslipFigures of(PayslipResponse payslip) {
+        return new PayslipFigures(payslip.getEmployeeId(), payslip.getBaseSalaryAtGeneration(), payslip.getHouseAmount(),
+                payslip.getTransportAmount(), payslip.getEmployeeTaxedAmount(), payslip.getPensionAmount(),
+                payslip.getMedicalInsuranceAmount(), payslip.getOtherTaxedAmount(), payslip.getGrossSalary(),
+                payslip.getNetSalary());
+    }
+}
@@ -1,14 +1,21 @@
 package com.erp.employeepayroll.service;
 
+import com.erp.employeepayroll.config.BatchWork;
+import com.erp.employeepayroll.config.PayrollProperties;
+import com.erp.employeepayroll.config.ReplicaLagGuard;
 import com.erp.employeepayroll.dto.request.PayslipGenerationRequest;
+import com.erp.employeepayroll.dto.response.CursorPage;
 import com.erp.employeepayroll.dto.response.PayslipResponse;
-import com.erp.employeepayroll.exception.ExcessiveDeductionsException;
+import com.erp.employeepayroll.dto.response.ShadowRunReport;
+import com.erp.employeepayroll.dto.response.YearToDateResponse;
 import com.erp.employeepayroll.exception.ResourceNotFoundException;
 import com.erp.employeepayroll.model.*;
 import com.erp.employeepayroll.repository.*;
+import com.erp.employeepayroll.util.PageCursor;
 
 import io.swagger.v3.oas.models.info.Contact;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -16,10 +23,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -30,124 +39,157 @@ import java.util.stream.Collectors;
 public class PayslipService {
 
     private final PayslipRepository payslipRepository;
+    private final PayrollPeriodRepository payrollPeriodRepository; // Lifecycle and lock of each month/year
+    private final PayrollYearToDateRepository payrollYearToDateRepository; // Per-employee yearly totals, added to on approval
     private final EmployeeRepository employeeRepository;
     private final EmploymentRepository employmentRepository;
-    private final DeductionRepository deductionRepository;
+    private final DeductionRateService deductionRateService; // Rates in force for the period, frozen per run
+    private final TaxBracketService taxBracketService; // Progressive tax schedule in force for the period, if any
     private final MessageService messageService; // Inject MessageService for post-approval messaging
     private final EmailService emailService;
+    private final JavaPayrollEngine javaPayrollEngine;
+    private final SqlPayrollEngine sqlPayrollEngine; // Set-based alternative to the Java calculation loop
+    private final PayrollShadowRunner payrollShadowRunner; // Optional candidate engine run alongside, for comparison
+    private final PayrollProperties payrollProperties;
+    private final ReplicaLagGuard replicaLagGuard; // Keeps reads on the primary until replicas catch up with a payroll run
 
     /**
      * Generates payslips for all active employees for a given month and year.
      * Prevents duplicate generation for the same month/year.
+     * The payslips are calculated by the engine the request names, or app.payroll.engine: JAVA computes them
+     * here and saves them through JPA, SQL lets the database compute and insert them in one statement.
+     * With app.payroll.shadow.engine set, the other engine calculates the same snapshot in parallel and its
+     * results are only compared with the saved payslips.
      *
      * @param request PayslipGenerationRequest containing month and year.
      * @return List of generated PayslipResponse DTOs.
-     * @throws RuntimeException if payroll for the specified month/year already exists.
+     * @throws IllegalStateException if payroll for the specified month/year has been approved or archived.
+     * @throws org.springframework.dao.PessimisticLockingFailureException if another run or approval of the period is in progress.
      */
+    @BatchWork
     @Transactional
     public List<PayslipResponse> generatePayroll(PayslipGenerationRequest request) {
+        replicaLagGuard.pinPrimaryAfterCommit();
+
         Integer month = request.getMonth();
         Integer year = request.getYear();
 
-        // Prevent duplicate payroll generation
-        List<Payslip> existingPayslips = payslipRepository.findByMonthAndYear(month, year);
-        if (!existingPayslips.isEmpty()) {
-            // Check if any of them are NOT pending. If any are paid, prevent re-generation.
-            // If all are pending, then it implies a previous generation attempt that wasn't approved.
-            // For simplicity, we'll prevent re-generation if ANY exists, assuming "pending" status can be overwritten/retried
-            // by deleting existing ones if needed, or by a specific re-generation endpoint.
-            // For now, simple prevention.
-            if (existingPayslips.stream().anyMatch(p -> p.getStatus() == Payslip.PayslipStatus.PAID)) {
-                throw new RuntimeException("Payroll for " + month + "/" + year + " has already been approved. Cannot re-generate.");
-            } else {
-                // If there are existing PENDING payslips, we assume we can delete them and regenerate.
-                // This might be a business decision. For this implementation, we will delete and regenerate.
-                payslipRepository.deleteAll(existingPayslips);
-            }
+        // The period row serializes runs and approvals of the period; its status replaces a scan of the payslips
+        PayrollPeriod period = lockPeriod(month, year);
+        boolean regenerating = period.getStatus() == PayrollPeriod.Status.GENERATED;
+        period.moveTo(PayrollPeriod.Status.GENERATED); // Rejects approved and archived periods
+        if (regenerating) {
+            // A previous run that was not approved yet: its pending payslips are replaced
+            payslipRepository.deleteByMonthAndYear(month, year);
+        }
+
+        // Rates versioned by effective date; every payslip records the frozen set it was calculated with
+        DeductionRateSet rateSet = deductionRateService.rateSetFor(month, year);
+        // Progressive tax brackets in force on the same day replace the flat "Employee Tax" rate
+        PayrollRates rates = PayrollRates.of(rateSet.percentagesByName(), taxBracketService.scheduleFor(month, year).orElse(null));
+
+        PayrollProperties.Engine engine = request.getEngine() != null ? request.getEngine() : payrollProperties.getEngine();
+        if (engine == PayrollProperties.Engine.SQL) {
+            // The snapshot is only read when a shadow engine will calculate from it
+            PayrollProperties.Engine candidate = payrollProperties.getShadow().getEngine();
+            PayrollShadowRunner.Run shadowRun = candidate != null && candidate != engine
+                    ? payrollShadowRunner.start(engine, sqlPayrollEngine.loadSnapshot(month, year, rateSet.getId(), rates))
+                    : null;
+            long start = System.nanoTime();
+            sqlPayrollEngine.insertPayslips(month, year, rateSet.getId(), rates);
+            List<PayslipResponse> payslips = payslipRepository.findLiveResponsesByMonthAndYear(month, year, 0L, Limit.unlimited());
+            payrollShadowRunner.finish(shadowRun, engine, month, year, payslips, System.nanoTime() - start);
+            return payslips;
         }
 
-        List<Employee> activeEmployees = employeeRepository.findAll().stream()
-                .filter(e -> e.getStatus() == Employee.EmployeeStatus.ACTIVE)
-                .toList();
-
-        List<Deduction> deductions = deductionRepository.findAll();
-        Map<String, Double> deductionPercentages = deductions.stream()
-                .collect(Collectors.toMap(Deduction::getDeductionName, Deduction::getPercentage));
-
-        // Define deduction names from the project description for easy access
-        Double employeeTax = deductionPercentages.getOrDefault("Employee Tax", 0.3);
-        Double pension = deductionPercentages.getOrDefault("Pension", 0.06);
-        Double medicalInsurance = deductionPercentages.getOrDefault("MedicalInsurance", 0.5);
-        Double others = deductionPercentages.getOrDefault("Others", 0.5);
-        Double housing = deductionPercentages.getOrDefault("Housing", 0.14);
-        Double transport = deductionPercentages.getOrDefault("Transport", 0.14);
-
-        List<Payslip> generatedPayslips = activeEmployees.stream()
-                .map(employee -> {
-                    Employment activeEmployment = employmentRepository.findByEmployeeAndStatus(employee, Employment.EmploymentStatus.ACTIVE)
-                            .orElse(null); // Employee might not have an active employment
-
-                    if (activeEmployment == null) {
-                        System.out.println("Skipping employee " + employee.getCode() + ": No active employment found.");
-                        return null; // Skip employees without active employment
-                    }
-
-                    Double baseSalary = activeEmployment.getBaseSalary();
-
-                    // Gross Salary Calculation
-                    Double housingAmount = baseSalary * housing;
-                    Double transportAmount = baseSalary * transport;
-                    Double grossSalary = baseSalary + housingAmount + transportAmount;
-
-                    // Deductions Calculation
-                    Double employeeTaxedAmount = baseSalary * employeeTax;
-                    Double pensionAmount = baseSalary * pension;
-                    Double medicalInsuranceAmount = baseSalary * medicalInsurance;
-                    Double otherTaxedAmount = baseSalary * others;
-
-                    // Net Salary Calculation
-                    Double totalDeductions = employeeTaxedAmount + pensionAmount + medicalInsuranceAmount + otherTaxedAmount;
-
-                    // Ensure deductions do not exceed gross salary (as a safeguard, though unlikely with current formula)
-                    double netSalary;
-                    if (totalDeductions > grossSalary) {
-                        throw new ExcessiveDeductionsException(
-                                String.format("Total deductions (%.2f) exceed gross salary (%.2f) for employee %s",
-                                        totalDeductions,
-                                        grossSalary,
-                                        employee.getCode())
-                        );
-                    } else {
-                        netSalary = grossSalary - totalDeductions;
-                    }
-
-
-                    Payslip payslip = Payslip.builder()
-                            .employee(employee)
-                            .baseSalaryAtGeneration(baseSalary)
-                            .houseAmount(housingAmount)
-                            .transportAmount(transportAmount)
-                            .employeeTaxedAmount(employeeTaxedAmount)
-                            .pensionAmount(pensionAmount)
-                            .medicalInsuranceAmount(medicalInsuranceAmount)
-                            .otherTaxedAmount(otherTaxedAmount)
-                            .grossSalary(grossSalary)
-                            .netSalary(netSalary)
-                            .month(month)
-                            .year(year)
-                            .status(Payslip.PayslipStatus.PENDING) // Initially pending
-                            .generationDate(LocalDate.now())
-                            .build();
-
-                    return payslip;
-                })
-                .filter(Objects::nonNull) // Filter out nulls from skipped employees
+        List<Employee> activeEmployees = employeeRepository.findByStatus(Employee.EmployeeStatus.ACTIVE);
+
+        // Load all active employments once instead of one lookup per employee
+        Map<Long, Employment> activeEmploymentsByEmployeeId = employmentRepository.findByStatus(Employment.EmploymentStatus.ACTIVE).stream()
+                .collect(Collectors.toMap(employment -> employment.getEmployee().getId(), employment -> employment, (first, second) -> first));
+
+        Map<Long, Employee> employeesById = new HashMap<>();
+        List<PayrollSnapshot.Entry> entries = new ArrayList<>();
+        for (Employee employee : activeEmployees) {
+            Employment activeEmployment = activeEmploymentsByEmployeeId.get(employee.getId()); // Employee might not have an active employment
+
+            if (activeEmployment == null) {
+                System.out.println("Skipping employee " + employee.getCode() + ": No active employment found.");
+                continue; // Skip employees without active employment
+            }
+            employeesById.put(employee.getId(), employee);
+            entries.add(new PayrollSnapshot.Entry(employee.getId(), employee.getCode(), activeEmployment.getBaseSalary()));
+        }
+        entries.sort(Comparator.comparing(PayrollSnapshot.Entry::employeeId));
+        PayrollSnapshot snapshot = new PayrollSnapshot(month, year, rateSet.getId(), rates, entries);
+
+        PayrollShadowRunner.Run shadowRun = payrollShadowRunner.start(engine, snapshot);
+        long start = System.nanoTime();
+        List<Payslip> generatedPayslips = javaPayrollEngine.calculate(snapshot).stream()
+                .map(figures -> Payslip.builder()
+                        .employee(employeesById.get(figures.employeeId()))
+                        .baseSalaryAtGeneration(figures.baseSalary())
+                        .houseAmount(figures.houseAmount())
+                        .transportAmount(figures.transportAmount())
+                        .employeeTaxedAmount(figures.employeeTaxedAmount())
+                        .pensionAmount(figures.pensionAmount())
+                        .medicalInsuranceAmount(figures.medicalInsuranceAmount())
+                        .otherTaxedAmount(figures.otherTaxedAmount())
+                        .grossSalary(figures.grossSalary())
+                        .netSalary(figures.netSalary())
+                        .month(month)
+                        .year(year)
+                        .status(Payslip.PayslipStatus.PENDING) // Initially pending
+                        .generationDate(LocalDate.now())
+                        .rateSetId(rateSet.getId())
+                        .build())
                 .collect(Collectors.toList());
 
         List<Payslip> savedPayslips = payslipRepository.saveAll(generatedPayslips);
-        return savedPayslips.stream()
+        List<PayslipResponse> payslips = savedPayslips.stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
+        payrollShadowRunner.finish(shadowRun, engine, month, year, payslips, System.nanoTime() - start);
+        return payslips;
+    }
+
+    /**
+     * Retrieves an employee's year-to-date totals, which is the annual statement once the year is over.
+     * A single-row read of the totals maintained by {@link #approvePayroll}.
+     * @param employeeId The ID of the employee.
+     * @param year The year.
+     * @return YearToDateResponse DTO.
+     * @throws ResourceNotFoundException if the employee has no approved payslip in that year.
+     */
+    @Transactional(readOnly = true)
+    public YearToDateResponse getYearToDate(Long employeeId, Integer year) {
+        YearToDateResponse yearToDate = payrollYearToDateRepository.findResponseByEmployeeIdAndYear(employeeId, year)
+                .orElseThrow(() -> new ResourceNotFoundException("Year-to-date totals employee id/year " + employeeId + "/" + year));
+
+        // Get authenticated user's details
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String authenticatedEmployeeCode = authentication.getName();
+
+        // Check if the authenticated user has ROLE_EMPLOYEE and is trying to access another employee's totals
+        boolean isEmployeeRole = authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_EMPLOYEE"));
+
+        if (isEmployeeRole && !yearToDate.getEmployeeCode().equals(authenticatedEmployeeCode)) {
+            throw new AccessDeniedException("You are not authorized to access other employees' payslips.");
+        }
+
+        return yearToDate;
+    }
+
+    /**
+     * Retrieves the report of the last shadow run of a period (see app.payroll.shadow).
+     * @param month The month (1-12).
+     * @param year The year.
+     * @return The report comparing the primary engine with the candidate.
+     * @throws ResourceNotFoundException if the period has not been generated with a shadow engine since startup.
+     */
+    public ShadowRunReport getShadowRunReport(Integer month, Integer year) {
+        return payrollShadowRunner.getLatestReport(month, year);
     }
 
     /**
@@ -157,22 +199,25 @@ public class PayslipService {
      * @param year The year for which to approve payroll.
      * @return List of approved PayslipResponse DTOs.
      * @throws ResourceNotFoundException if no pending payslips are found for the given month/year.
-     * @throws RuntimeException if some payslips for the period are already paid.
+     * @throws IllegalStateException if payroll for the period has already been approved or archived.
+     * @throws org.springframework.dao.PessimisticLockingFailureException if another run or approval of the period is in progress.
      */
+    @BatchWork
     @Transactional
     public List<PayslipResponse> approvePayroll(Integer month, Integer year) {
-        List<Payslip> payslipsToApprove = payslipRepository.findByMonthAndYear(month, year);
+        replicaLagGuard.pinPrimaryAfterCommit();
 
-        if (payslipsToApprove.isEmpty()) {
-            throw new ResourceNotFoundException("Payslips"+ "month/year"+ month + "/" + year + " (no pending payslips found)");
-        }
+        // A GENERATED period has only pending payslips, so its status replaces checking each of them
+        PayrollPeriod period = payrollPeriodRepository.findForUpdateByMonthAndYear(month, year)
+                .filter(p -> p.getStatus() != PayrollPeriod.Status.OPEN)
+                .orElseThrow(() -> new ResourceNotFoundException("Payslips"+ "month/year"+ month + "/" + year + " (no pending payslips found)"));
+        period.moveTo(PayrollPeriod.Status.APPROVED); // Rejects approved and archived periods
 
-        // Ensure all are pending before approving
-        boolean allPending = payslipsToApprove.stream()
-                .allMatch(p -> p.getStatus() == Payslip.PayslipStatus.PENDING);
+        // Employees are fetched with the payslips since both the messages and the responses read them
+        List<Payslip> payslipsToApprove = payslipRepository.findWithEmployeeByMonthAndYear(month, year);
 
-        if (!allPending) {
-            throw new RuntimeException("Cannot approve payroll: Some payslips for " + month + "/" + year + " are not in PENDING status.");
+        if (payslipsToApprove.isEmpty()) {
+            throw new ResourceNotFoundException("Payslips"+ "month/year"+ month + "/" + year + " (no pending payslips found)");
         }
 
         for (Payslip payslip : payslipsToApprove) {
@@ -190,6 +235,10 @@ public class PayslipService {
 
         }
 
+        // The period's paid payslips are added to the year-to-date totals in two statements
+        payrollYearToDateRepository.openMissing(month, year);
+        payrollYearToDateRepository.addPaidPeriod(month, year);
+
         return payslipsToApprove.stream()
                 .map(this::mapToResponse)
                 .collect(Collectors.toList());
@@ -201,8 +250,36 @@ public class PayslipService {
      * @return PayslipResponse DTO.
      * @throws ResourceNotFoundException if payslip is not found.
      */
+    @Transactional(readOnly = true)
     public PayslipResponse getPayslipById(Long payslipId) {
-        Payslip payslip = payslipRepository.findById(payslipId)
+        PayslipResponse payslip = payslipRepository.findResponseById(payslipId)
+                .orElseThrow(() -> new ResourceNotFoundException("Payslip id"+ payslipId));
+
+        // Get authenticated user's details
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String authenticatedEmployeeCode = authentication.getName();
+
+        // Check if the authenticated user has ROLE_EMPLOYEE and is trying to access another employee's payslip
+        boolean isEmployeeRole = authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_EMPLOYEE"));
+
+        if (isEmployeeRole && !payslip.getEmployeeCode().equals(authenticatedEmployeeCode)) {
+            throw new AccessDeniedException("You are not authorized to access other employees' payslips.");
+        }
+
+        return payslip;
+    }
+
+    /**
+     * Reads only what decides whether a payslip's response changed, for conditional GETs.
+     * Applies the same access check as getPayslipById, so a 304 is never answered for a payslip the caller may not read.
+     * @param payslipId The ID of the payslip.
+     * @return The payslip's tag.
+     * @throws ResourceNotFoundException if payslip is not found.
+     */
+    @Transactional(readOnly = true)
+    public PayslipTag getPayslipTag(Long payslipId) {
+        PayslipTag tag = payslipRepository.findTagById(payslipId)
                 .orElseThrow(() -> new ResourceNotFoundException("Payslip id"+ payslipId));
 
         // Get authenticated user's details
@@ -213,20 +290,23 @@ public class PayslipService {
         boolean isEmployeeRole = authentication.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_EMPLOYEE"));
 
-        if (isEmployeeRole && !payslip.getEmployee().getCode().equals(authenticatedEmployeeCode)) {
+        if (isEmployeeRole && !tag.employeeCode().equals(authenticatedEmployeeCode)) {
             throw new AccessDeniedException("You are not authorized to access other employees' payslips.");
         }
 
-        return mapToResponse(payslip);
+        return tag;
     }
 
     /**
-     * Retrieves all payslips for a specific employee.
+     * Retrieves one page of payslips for a specific employee, ordered by id.
      * @param employeeId The ID of the employee.
-     * @return List of PayslipResponse DTOs.
+     * @param cursor The nextCursor of the previous page, or null for the first page.
+     * @param size The requested page size.
+     * @return A CursorPage of PayslipResponse DTOs.
      * @throws ResourceNotFoundException if employee is not found.
      */
-    public List<PayslipResponse> getPayslipsByEmployee(Long employeeId) {
+    @Transactional(readOnly = true)
+    public CursorPage<PayslipResponse> getPayslipsByEmployee(Long employeeId, String cursor, Integer size) {
         // Get authenticated user's details
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String authenticatedEmployeeCode = authentication.getName();
@@ -242,24 +322,60 @@ public class PayslipService {
             throw new AccessDeniedException("You are not authorized to access other employees' payslips.");
         }
 
-        List<Payslip> payslips = payslipRepository.findByEmployee(requestedEmployee);
-        return payslips.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        List<PayslipResponse> payslips = payslipRepository.findResponsesByEmployeeId(
+                requestedEmployee.getId(), PageCursor.decode(cursor), PageCursor.limitFor(size));
+        return CursorPage.of(payslips, size, PayslipResponse::getId, Function.identity());
+    }
+
+    /**
+     * Reads the tags of the page getPayslipsByEmployee would return for the same arguments, including the
+     * look-ahead row that decides its nextCursor, with the same access check.
+     * @param employeeId The ID of the employee.
+     * @param cursor The nextCursor of the previous page, or null for the first page.
+     * @param size The requested page size.
+     * @return The tags of the page's payslips, in id order.
+     * @throws ResourceNotFoundException if employee is not found.
+     */
+    @Transactional(readOnly = true)
+    public List<PayslipTag> getPayslipTagsByEmployee(Long employeeId, String cursor, Integer size) {
+        // Get authenticated user's details
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String authenticatedEmployeeCode = authentication.getName();
+
+        Employee requestedEmployee = employeeRepository.findById(employeeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Employee id"+ employeeId));
+
+        // Check if the authenticated user has ROLE_EMPLOYEE and is trying to access another employee's payslips
+        boolean isEmployeeRole = authentication.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_EMPLOYEE"));
+
+        if (isEmployeeRole && !requestedEmployee.getCode().equals(authenticatedEmployeeCode)) {
+            throw new AccessDeniedException("You are not authorized to access other employees' payslips.");
+        }
+
+        return payslipRepository.findTagsByEmployeeId(requestedEmployee.getId(), PageCursor.decode(cursor), PageCursor.limitFor(size));
     }
 
     /**
-     * Retrieves all payslips for a given month and year.
+     * Retrieves one page of payslips for a given month and year, ordered by id.
      * @param month The month (1-12).
      * @param year The year.
-     * @return List of PayslipResponse DTOs.
+     * @param cursor The nextCursor of the previous page, or null for the first page.
+     * @param size The requested page size.
+     * @return A CursorPage of PayslipResponse DTOs.
      */
-    public List<PayslipResponse> getPayslipsByMonthAndYear(Integer month, Integer year) {
-        List<Payslip> payslips = payslipRepository.findByMonthAndYear(month, year);
+    @Transactional(readOnly = true)
+    public CursorPage<PayslipResponse> getPayslipsByMonthAndYear(Integer month, Integer year, String cursor, Integer size) {
+        List<PayslipResponse> payslips = payslipRepository.findResponsesByMonthAndYear(
+                month, year, PageCursor.decode(cursor), PageCursor.limitFor(size));
         // No employee-specific access check here as it's for general payroll overview
-        return payslips.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return CursorPage.of(payslips, size, PayslipResponse::getId, Function.identity());
+    }
+
+    // Locks the period row without waiting, creating it as OPEN on the period's first run
+    private PayrollPeriod lockPeriod(Integer month, Integer year) {
+        return payrollPeriodRepository.findForUpdateByMonthAndYear(month, year)
+                .orElseGet(() -> payrollPeriodRepository.saveAndFlush(new PayrollPeriod(month, year)));
     }
 
     // Helper method to map Payslip entity to PayslipResponse DTO
@@ -284,6 +400,7 @@ public class PayslipService {
                 .status(payslip.getStatus())
                 .generationDate(payslip.getGenerationDate())
                 .approvalDate(payslip.getApprovalDate())
+                .rateSetId(payslip.getRateSetId())
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,222 @@
+package com.erp.employeepayroll.service;
+
+import com.erp.employeepayroll.config.BatchWork;
+import com.erp.employeepayroll.config.PayrollProperties;
+import com.erp.employeepayroll.exception.ExcessiveDeductionsException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Set-based payroll engine: the payslips of a whole period are calculated and inserted by the database
+ * with one INSERT ... SELECT over employee and employment, so no row travels to the application.
+ * The formulas are those of JavaPayrollEngine, written in the same
+ * evaluation order so both produce identical doubles (see PayrollEngineCrossCheckTests).
+ * Runs inside the caller's transaction, after the period has been locked and cleared.
+ * As a shadow engine it evaluates the same expressions over a snapshot's salaries instead (see {@link #calculate}).
+ */
+@Component
+public class SqlPayrollEngine implements PayrollEngine {
+
+    private static final int ID_BLOCK_SIZE = 50; // allocationSize of the payslip @TableGenerator
+
+    // First ACTIVE employment (lowest id) of every ACTIVE employee; the Java engine skips employees without one.
+    // Shared with PayrollSimulationService, which simulates the same workforce
+    static final String ACTIVE_WORKFORCE = " FROM employee e"
+            + " JOIN (SELECT employee_id, MIN(id) AS id FROM employment WHERE status = 'ACTIVE' GROUP BY employee_id) f ON f.employee_id = e.id"
+            + " JOIN employment m ON m.id = f.id"
+            + " WHERE e.status = 'ACTIVE'";
+
+    private static final String INSERT_PAYSLIPS = "INSERT INTO payslip (id, version, employee_id, base_salary_at_generation,"
+            + " house_amount, transport_amount, employee_taxed_amount, pension_amount, medical_insurance_amount,"
+            + " other_taxed_amount, gross_salary, net_salary, month, year, status, generation_date, rate_set_id)"
+            + " SELECT :firstId + ROW_NUMBER() OVER (ORDER BY e.id) - 1, 0, e.id, %s"
+            + ", :month, :year, 'PENDING', :generationDate, :rateSetId"
+            + ACTIVE_WORKFORCE;
+
+    private static final int CALCULATE_CHUNK_SIZE = 500; // Snapshot entries bound per SELECT (two parameters each)
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate shadowJdbcTemplate; // Statements time out after the shadow budget
+    private final TransactionTemplate idAllocation; // Ids are reserved in their own short transaction, as Hibernate does
+
+    public SqlPayrollEngine(NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                            PayrollProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        JdbcTemplate timed = new JdbcTemplate(jdbcTemplate.getJdbcTemplate().getDataSource());
+        timed.setQueryTimeout((int) Math.max(1, (properties.getShadow().getBudgetMs() + 999) / 1000)); // Whole seconds, rounded up
+        this.shadowJdbcTemplate = new NamedParameterJdbcTemplate(timed);
+        this.idAllocation = new TransactionTemplate(transactionManager);
+        this.idAllocation.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Inserts the PENDING payslips of a period for every active employee with an active employment.
+     * @param month The month (1-12).
+     * @param year The year.
+     * @param rateSetId The DeductionRateSet the rates come from, recorded on every payslip.
+     * @param rates The allowance and deduction rates, as decimals.
+     * @return The number of inserted payslips.
+     * @throws ExcessiveDeductionsException if the deductions exceed the gross salary of any employee.
+     * @throws IllegalStateException if the active workforce changed while the run was in progress.
+     */
+    public int insertPayslips(int month, int year, Long rateSetId, PayrollRates rates) {
+        Integer workforce = jdbcTemplate.queryForObject("SELECT COUNT(*)" + ACTIVE_WORKFORCE, Map.of(), Integer.class);
+        if (workforce == null || workforce == 0) {
+            return 0;
+        }
+
+        MapSqlParameterSource params = rateParameters(rates)
+                .addValue("firstId", reserveIds(workforce))
+                .addValue("month", month)
+                .addValue("year", year)
+                .addValue("generationDate", LocalDate.now())
+                .addValue("rateSetId", rateSetId);
+        int inserted = jdbcTemplate.update(INSERT_PAYSLIPS.formatted(figures("m.base_salary", rates)), params);
+        if (inserted != workforce) {
+            // Ids past the reserved block may belong to other writers; the caller's transaction rolls the rows back
+            throw new IllegalStateException("The active workforce changed during the payroll run for " + month + "/" + year
+                    + " (" + workforce + " expected, " + inserted + " inserted). Retry the run.");
+        }
+
+        // Same condition as the Java engine (deductions > gross), reported for the first employee by id
+        List<Map<String, Object>> excessive = jdbcTemplate.queryForList("SELECT e.code, p.gross_salary, p.net_salary"
+                + " FROM payslip p JOIN employee e ON e.id = p.employee_id"
+                + " WHERE p.month = :month AND p.year = :year AND p.net_salary < 0 ORDER BY e.id LIMIT 1", params);
+        if (!excessive.isEmpty()) {
+            Map<String, Object> row = excessive.get(0);
+            double gross = ((Number) row.get("gross_salary")).doubleValue();
+            double net = ((Number) row.get("net_salary")).doubleValue();
+            throw new ExcessiveDeductionsException(String.format("Total deductions (%.2f) exceed gross salary (%.2f) for employee %s",
+                    gross - net, gross, row.get("code")));
+        }
+        return inserted;
+    }
+
+    /**
+     * Reads the input of a run with the same workforce selection as {@link #insertPayslips}, for a shadow engine
+     * to calculate from. Call it in the run's transaction, before the insert.
+     * @param month The month (1-12).
+     * @param year The year.
+     * @param rateSetId The DeductionRateSet the rates come from.
+     * @param rates The rates of the period.
+     * @return The snapshot, by ascending employee id.
+     */
+    public PayrollSnapshot loadSnapshot(int month, int year, Long rateSetId, PayrollRates rates) {
+        List<PayrollSnapshot.Entry> entries = jdbcTemplate.query("SELECT e.id, e.code, m.base_salary" + ACTIVE_WORKFORCE + " ORDER BY e.id",
+                Map.of(), (rs, rowNum) -> new PayrollSnapshot.Entry(rs.getLong("id"), rs.getString("code"), rs.getDouble("base_salary")));
+        return new PayrollSnapshot(month, year, rateSetId, rates, entries);
+    }
+
+    @Override
+    public PayrollProperties.Engine engine() {
+        return PayrollProperties.Engine.SQL;
+    }
+
+    /**
+     * Evaluates the engine's expressions in the database over the snapshot's salaries, bound as parameters,
+     * without reading or writing any table. Runs as a shadow candidate: each statement times out after
+     * {@code app.payroll.shadow.budget-ms}, and an interrupted calculation stops before its next statement.
+     * @throws CancellationException if the calculating thread is interrupted.
+     */
+    @Override
+    @BatchWork
+    public List<PayslipFigures> calculate(PayrollSnapshot snapshot) {
+        List<PayslipFigures> results = new ArrayList<>(snapshot.entries().size());
+        List<PayrollSnapshot.Entry> entries = snapshot.entries();
+        for (int from = 0; from < entries.size(); from += CALCULATE_CHUNK_SIZE) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Shadow calculation cancelled after " + from + " of " + entries.size() + " payslips");
+            }
+            List<PayrollSnapshot.Entry> chunk = entries.subList(from, Math.min(from + CALCULATE_CHUNK_SIZE, entries.size()));
+            MapSqlParameterSource params = rateParameters(snapshot.rates());
+            StringJoiner input = new StringJoiner(" UNION ALL ");
+            for (int i = 0; i < chunk.size(); i++) {
+                input.add("SELECT " + i + " AS position, CAST(:salary" + i + " AS DOUBLE) AS base_salary");
+                params.addValue("salary" + i, chunk.get(i).baseSalary());
+            }
+            List<double[]> rows = shadowJdbcTemplate.query("SELECT " + figures("s.base_salary", snapshot.rates()) + " FROM (" + input + ") s ORDER BY s.position",
+                    params, (rs, rowNum) -> {
+                        double[] row = new double[9];
+                        for (int column = 0; column < row.length; column++) {
+                            row[column] = rs.getDouble(column + 1);
+                        }
+                        return row;
+                    });
+            for (int i = 0; i < chunk.size(); i++) {
+                double[] row = rows.get(i);
+                results.add(new PayslipFigures(chunk.get(i).employeeId(), row[0], row[1], row[2], row[3], row[4], row[5],
+                        row[6], row[7], row[8]));
+            }
+        }
+        return results;
+    }
+
+    // Base salary, the six amounts, gross and net salary; the same evaluation order as JavaPayrollEngine
+    private static String figures(String baseSalary, PayrollRates rates) {
+        String tax = employeeTax(baseSalary, rates.taxSchedule());
+        String gross = "(" + baseSalary + " + " + baseSalary + " * :housing + " + baseSalary + " * :transport)";
+        String deductions = "(" + tax + " + " + baseSalary + " * :pension + "
+                + baseSalary + " * :medicalInsurance + " + baseSalary + " * :others)";
+        return baseSalary + ", " + baseSalary + " * :housing, " + baseSalary + " * :transport, "
+                + tax + ", " + baseSalary + " * :pension, " + baseSalary + " * :medicalInsurance, "
+                + baseSalary + " * :others, " + gross + ", " + gross + " - " + deductions;
+    }
+
+    // Flat rate, or the compiled schedule as a CASE from the top bracket down: baseTax + (salary - lowerBound) * rate
+    private static String employeeTax(String baseSalary, TaxSchedule schedule) {
+        if (schedule == null) {
+            return baseSalary + " * :employeeTax";
+        }
+        StringBuilder expression = new StringBuilder("(CASE");
+        for (int i = schedule.brackets() - 1; i > 0; i--) {
+            expression.append(" WHEN ").append(baseSalary).append(" >= :taxBound").append(i).append(" THEN ").append(bracketTax(baseSalary, i));
+        }
+        return expression.append(" ELSE ").append(bracketTax(baseSalary, 0)).append(" END)").toString();
+    }
+
+    private static String bracketTax(String baseSalary, int bracket) {
+        return ":taxBase" + bracket + " + (" + baseSalary + " - :taxBound" + bracket + ") * :taxRate" + bracket;
+    }
+
+    private static MapSqlParameterSource rateParameters(PayrollRates rates) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("housing", rates.housing())
+                .addValue("transport", rates.transport())
+                .addValue("employeeTax", rates.employeeTax())
+                .addValue("pension", rates.pension())
+                .addValue("medicalInsurance", rates.medicalInsurance())
+                .addValue("others", rates.others());
+        TaxSchedule schedule = rates.taxSchedule();
+        for (int i = 0; schedule != null && i < schedule.brackets(); i++) {
+            params.addValue("taxBound" + i, schedule.lowerBound(i))
+                    .addValue("taxRate" + i, schedule.rate(i))
+                    .addValue("taxBase" + i, schedule.baseTax(i));
+        }
+        return params;
+    }
+
+    // Claims ids for count payslips from the pooled payslip generator. A stored value V means Hibernate would
+    // hand out V-49..V next; this run takes V-49.. onwards and moves the stored value past its last id.
+    private long reserveIds(int count) {
+        Long reserved = idAllocation.execute(status -> {
+            Long next = jdbcTemplate.queryForObject(
+                    "SELECT next_val FROM id_generator WHERE sequence_name = 'payslip' FOR UPDATE", Map.of(), Long.class);
+            jdbcTemplate.update("UPDATE id_generator SET next_val = :next WHERE sequence_name = 'payslip'",
+                    Map.of("next", next + count));
+            return next - (ID_BLOCK_SIZE - 1);
+        });
+        return reserved;
+    }
+}
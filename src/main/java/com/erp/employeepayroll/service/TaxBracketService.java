@@ -0,0 +1,116 @@
+package com.erp.employeepayroll.service;
+
+import com.erp.employeepayroll.dto.request.TaxScheduleRequest;
+import com.erp.employeepayroll.dto.response.TaxScheduleResponse;
+import com.erp.employeepayroll.exception.ResourceNotFoundException;
+import com.erp.employeepayroll.exception.ValidationException;
+import com.erp.employeepayroll.model.TaxBracket;
+import com.erp.employeepayroll.repository.TaxBracketRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Effective-dated progressive tax schedules.
+ * A payroll period is taxed with the schedule in force on its last day, like its deduction rates. Schedules are
+ * append-only, so each one is compiled into a TaxSchedule once and cached by its effective date; resolving the
+ * schedule of a period costs one max() lookup.
+ */
+@Service
+public class TaxBracketService {
+
+    private final TaxBracketRepository taxBracketRepository;
+    private final Map<LocalDate, TaxSchedule> compiledSchedules = new ConcurrentHashMap<>(); // By effective date
+
+    public TaxBracketService(TaxBracketRepository taxBracketRepository) {
+        this.taxBracketRepository = taxBracketRepository;
+    }
+
+    /**
+     * Creates the schedule in force from a date until the next schedule.
+     * @param request The effective date and the brackets, rates in percent.
+     * @return The created schedule.
+     * @throws ValidationException if a schedule already starts on that date, the first bracket does not start at 0,
+     * or the lower bounds are not strictly ascending.
+     */
+    @Transactional
+    public TaxScheduleResponse createSchedule(TaxScheduleRequest request) {
+        LocalDate effectiveFrom = request.getEffectiveFrom();
+        if (taxBracketRepository.existsByEffectiveFrom(effectiveFrom)) {
+            throw new ValidationException("A tax schedule already starts on " + effectiveFrom
+                    + "; schedules cannot be changed, create one with a later effective date.");
+        }
+        List<TaxScheduleRequest.Bracket> brackets = request.getBrackets();
+        if (brackets.get(0).getLowerBound() != 0.0) {
+            throw new ValidationException("The first tax bracket must start at 0.");
+        }
+        for (int i = 1; i < brackets.size(); i++) {
+            if (brackets.get(i).getLowerBound() <= brackets.get(i - 1).getLowerBound()) {
+                throw new ValidationException("Tax bracket lower bounds must be strictly ascending.");
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<TaxBracket> saved = new ArrayList<>();
+        for (TaxScheduleRequest.Bracket bracket : brackets) {
+            saved.add(taxBracketRepository.save(new TaxBracket(null, effectiveFrom, bracket.getLowerBound(),
+                    bracket.getRate() / 100.0, now)));
+        }
+        TaxSchedule schedule = TaxSchedule.compile(effectiveFrom, saved);
+        compiledSchedules.put(effectiveFrom, schedule);
+        return mapToResponse(schedule);
+    }
+
+    /**
+     * Resolves the schedule of a payroll period: the one in force on the last day of the month.
+     * @param month The month (1-12).
+     * @param year The year.
+     * @return The compiled schedule, or empty if the flat "Employee Tax" rate applies.
+     */
+    public Optional<TaxSchedule> scheduleFor(int month, int year) {
+        return scheduleOn(YearMonth.of(year, month).atEndOfMonth());
+    }
+
+    /**
+     * Resolves the schedule in force on a date.
+     * @param date The date.
+     * @return The compiled schedule, or empty if no schedule starts on or before the date.
+     */
+    public Optional<TaxSchedule> scheduleOn(LocalDate date) {
+        return taxBracketRepository.findEffectiveFromOn(date).map(effectiveFrom -> compiledSchedules.computeIfAbsent(
+                effectiveFrom, key -> TaxSchedule.compile(key, taxBracketRepository.findByEffectiveFromOrderByLowerBound(key))));
+    }
+
+    /**
+     * Retrieves the schedule in force on a date.
+     * @param date The date.
+     * @return TaxScheduleResponse DTO.
+     * @throws ResourceNotFoundException if no schedule starts on or before the date.
+     */
+    @Transactional(readOnly = true)
+    public TaxScheduleResponse getScheduleOn(LocalDate date) {
+        return mapToResponse(scheduleOn(date)
+                .orElseThrow(() -> new ResourceNotFoundException("Tax schedule in force on " + date)));
+    }
+
+    private static TaxScheduleResponse mapToResponse(TaxSchedule schedule) {
+        List<TaxScheduleResponse.Bracket> brackets = new ArrayList<>();
+        for (int i = 0; i < schedule.brackets(); i++) {
+            Double upperBound = i + 1 < schedule.brackets() ? schedule.lowerBound(i + 1) : null;
+            brackets.add(new TaxScheduleResponse.Bracket(schedule.lowerBound(i), upperBound, schedule.rate(i) * 100.0,
+                    schedule.baseTax(i)));
+        }
+        return TaxScheduleResponse.builder()
+                .effectiveFrom(schedule.effectiveFrom())
+                .brackets(brackets)
+                .build();
+    }
+}
@@ -0,0 +1,206 @@
+package com.erp.employeepayroll.service;
+
+import com.erp.employeepayroll.config.BatchWork;
+import com.erp.employeepayroll.config.CertificateProperties;
+import com.erp.employeepayroll.dto.response.TaxCertificateReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Year-end tax and pension certificates for every employee paid in a year.
+ * The year's PAID payslips, live and archived, are streamed in one query ordered by employee; the totals of the
+ * current employee are kept in a single accumulator that is written out as a CSV line and reset when the next
+ * employee starts, so memory use does not grow with the workforce. All certificates go to one bulk file.
+ */
+@Service
+public class TaxCertificateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaxCertificateService.class);
+
+    private static final String HEADER = "year,employeeId,employeeCode,firstName,lastName,monthsPaid,grossSalary,"
+            + "employeeTax,pension,medicalInsurance,otherDeductions,netSalary";
+
+    private static final String PAID_COLUMNS = "employee_id, month, gross_salary, employee_taxed_amount, pension_amount, "
+            + "medical_insurance_amount, other_taxed_amount, net_salary";
+    private static final String PAID_PAYSLIPS = "SELECT p.employee_id, e.code, e.first_name, e.last_name, p.gross_salary, "
+            + "p.employee_taxed_amount, p.pension_amount, p.medical_insurance_amount, p.other_taxed_amount, p.net_salary "
+            + "FROM (SELECT " + PAID_COLUMNS + " FROM payslip WHERE year = :year AND status = 'PAID' "
+            + "UNION ALL SELECT " + PAID_COLUMNS + " FROM payslip_archive WHERE year = :year AND status = 'PAID') p "
+            + "JOIN employee e ON e.id = p.employee_id ORDER BY p.employee_id, p.month";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final CertificateProperties properties;
+
+    public TaxCertificateService(DataSource dataSource, CertificateProperties properties) {
+        JdbcTemplate streamingTemplate = new JdbcTemplate(dataSource);
+        streamingTemplate.setFetchSize(properties.getFetchSize());
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(streamingTemplate);
+        this.properties = properties;
+    }
+
+    /**
+     * Writes the certificates of a year to {@code tax-certificates-<year>.csv} in app.certificates.directory,
+     * replacing the file of a previous run only once the new one is complete.
+     * @param year The year.
+     * @return The report of the run, with its throughput.
+     * @throws UncheckedIOException if the file cannot be written.
+     */
+    @BatchWork
+    @Transactional(readOnly = true)
+    public TaxCertificateReport generateCertificates(int year) {
+        long start = System.nanoTime();
+        Path directory = Path.of(properties.getDirectory());
+        Path target = directory.resolve("tax-certificates-" + year + ".csv");
+        try {
+            Files.createDirectories(directory);
+            Path partial = Files.createTempFile(directory, "tax-certificates-" + year + "-", ".partial");
+            CertificateWriter writer;
+            try (BufferedWriter out = Files.newBufferedWriter(partial, StandardCharsets.UTF_8)) {
+                out.write(HEADER);
+                out.newLine();
+                writer = new CertificateWriter(year, out, start);
+                jdbcTemplate.query(PAID_PAYSLIPS, Map.of("year", year), writer);
+                writer.finish();
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(partial);
+                throw e;
+            }
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            long elapsedNanos = System.nanoTime() - start;
+            TaxCertificateReport report = TaxCertificateReport.builder()
+                    .year(year)
+                    .file(target.toString())
+                    .certificates(writer.certificates)
+                    .payslips(writer.payslips)
+                    .elapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                    .payslipsPerSecond(perSecond(writer.payslips, elapsedNanos))
+                    .build();
+            logger.info("Tax certificates {}: {} certificates from {} payslips in {} ms ({} payslips/s) written to {}", year,
+                    report.getCertificates(), report.getPayslips(), report.getElapsedMillis(),
+                    Math.round(report.getPayslipsPerSecond()), target);
+            return report;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write the tax certificates of " + year + " to " + target, e);
+        }
+    }
+
+    private static double perSecond(long count, long nanos) {
+        return nanos > 0 ? count * 1e9 / nanos : 0;
+    }
+
+    // Reads a stored amount as the decimal it was written as, so summing a year adds no binary rounding error
+    private static BigDecimal amount(ResultSet rs, String column) throws SQLException {
+        return BigDecimal.valueOf(rs.getDouble(column));
+    }
+
+    // Certificate amounts are fixed two-decimal figures, never scientific notation (1.2E7)
+    private static String format(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).toPlainString();
+    }
+
+    // Quotes a CSV value if it contains a separator, a quote or a line break
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    // Accumulates the ordered rows of one employee at a time and writes a line whenever the employee changes
+    private final class CertificateWriter implements RowCallbackHandler {
+        private final int year;
+        private final BufferedWriter out;
+        private final long start;
+        private int certificates;
+        private int payslips;
+
+        private long employeeId = -1;
+        private String code;
+        private String firstName;
+        private String lastName;
+        private int monthsPaid;
+        private BigDecimal grossSalary = BigDecimal.ZERO;
+        private BigDecimal employeeTax = BigDecimal.ZERO;
+        private BigDecimal pension = BigDecimal.ZERO;
+        private BigDecimal medicalInsurance = BigDecimal.ZERO;
+        private BigDecimal otherDeductions = BigDecimal.ZERO;
+        private BigDecimal netSalary = BigDecimal.ZERO;
+
+        private CertificateWriter(int year, BufferedWriter out, long start) {
+            this.year = year;
+            this.out = out;
+            this.start = start;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long rowEmployeeId = rs.getLong("employee_id");
+            if (rowEmployeeId != employeeId) {
+                finish();
+                employeeId = rowEmployeeId;
+                code = rs.getString("code");
+                firstName = rs.getString("first_name");
+                lastName = rs.getString("last_name");
+            }
+            monthsPaid++;
+            grossSalary = grossSalary.add(amount(rs, "gross_salary"));
+            employeeTax = employeeTax.add(amount(rs, "employee_taxed_amount"));
+            pension = pension.add(amount(rs, "pension_amount"));
+            medicalInsurance = medicalInsurance.add(amount(rs, "medical_insurance_amount"));
+            otherDeductions = otherDeductions.add(amount(rs, "other_taxed_amount"));
+            netSalary = netSalary.add(amount(rs, "net_salary"));
+            payslips++;
+        }
+
+        // Writes the certificate of the current employee, if any, and resets the accumulator
+        private void finish() {
+            if (monthsPaid == 0) {
+                return;
+            }
+            try {
+                out.write(String.join(",", String.valueOf(year), String.valueOf(employeeId), csv(code), csv(firstName),
+                        csv(lastName), String.valueOf(monthsPaid), format(grossSalary), format(employeeTax),
+                        format(pension), format(medicalInsurance), format(otherDeductions), format(netSalary)));
+                out.newLine();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            certificates++;
+            if (certificates % properties.getProgressInterval() == 0) {
+                logger.info("Tax certificates {}: {} certificates, {} payslips ({} payslips/s)", year, certificates, payslips,
+                        Math.round(perSecond(payslips, System.nanoTime() - start)));
+            }
+            monthsPaid = 0;
+            grossSalary = BigDecimal.ZERO;
+            employeeTax = BigDecimal.ZERO;
+            pension = BigDecimal.ZERO;
+            medicalInsurance = BigDecimal.ZERO;
+            otherDeductions = BigDecimal.ZERO;
+            netSalary = BigDecimal.ZERO;
+        }
+    }
+}
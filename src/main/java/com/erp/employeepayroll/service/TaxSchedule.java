@@ -0,0 +1,90 @@
+package com.erp.employeepayroll.service;
+
+import com.erp.employeepayroll.model.TaxBracket;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A progressive tax schedule compiled for evaluation: per bracket its lower bound, its rate and the cumulative
+ * tax on all income below it, in flat arrays padded to a power of two. {@link #tax(double)} then finds the
+ * bracket with a fixed number of halving steps whose comparisons select an offset instead of branching, and
+ * allocates nothing, so it stays cheap over millions of evaluations in back-pay and simulation runs.
+ * Instances are immutable and shared between threads.
+ */
+public final class TaxSchedule {
+
+    private final LocalDate effectiveFrom;
+    private final int brackets; // Real brackets; the arrays are padded past them
+    private final int firstStep; // Half the padded length; 0 for a single bracket
+    private final double[] lowerBounds; // Padded with +Infinity, never selected
+    private final double[] rates;
+    private final double[] baseTax; // Tax on the income below each lower bound
+
+    private TaxSchedule(LocalDate effectiveFrom, double[] bounds, double[] bracketRates) {
+        this.effectiveFrom = effectiveFrom;
+        this.brackets = bounds.length;
+        int padded = brackets == 1 ? 1 : Integer.highestOneBit(brackets - 1) << 1;
+        this.firstStep = padded / 2;
+        this.lowerBounds = Arrays.copyOf(bounds, padded);
+        this.rates = Arrays.copyOf(bracketRates, padded);
+        this.baseTax = new double[padded];
+        Arrays.fill(lowerBounds, brackets, padded, Double.POSITIVE_INFINITY);
+        for (int i = 1; i < brackets; i++) {
+            baseTax[i] = baseTax[i - 1] + (lowerBounds[i] - lowerBounds[i - 1]) * rates[i - 1];
+        }
+    }
+
+    /**
+     * Compiles a schedule.
+     * @param effectiveFrom First day the schedule applies to.
+     * @param brackets Its brackets by ascending lower bound, the first starting at 0.
+     * @return The compiled schedule.
+     */
+    public static TaxSchedule compile(LocalDate effectiveFrom, List<TaxBracket> brackets) {
+        return new TaxSchedule(effectiveFrom,
+                brackets.stream().mapToDouble(TaxBracket::getLowerBound).toArray(),
+                brackets.stream().mapToDouble(TaxBracket::getRate).toArray());
+    }
+
+    /**
+     * Calculates the tax on a monthly income.
+     * @param income The taxable income, not negative.
+     * @return The tax: the cumulative tax below the income's bracket plus the bracket's rate on the rest.
+     */
+    public double tax(double income) {
+        int index = 0;
+        for (int step = firstStep; step > 0; step >>= 1) {
+            index += lowerBounds[index + step] <= income ? step : 0;
+        }
+        return baseTax[index] + (income - lowerBounds[index]) * rates[index];
+    }
+
+    public LocalDate effectiveFrom() {
+        return effectiveFrom;
+    }
+
+    /**
+     * @return The number of brackets.
+     */
+    public int brackets() {
+        return brackets;
+    }
+
+    public double lowerBound(int bracket) {
+        return lowerBounds[bracket];
+    }
+
+    public double rate(int bracket) {
+        return rates[bracket];
+    }
+
+    /**
+     * @param bracket A bracket index.
+     * @return The tax on the income below the bracket's lower bound.
+     */
+    public double baseTax(int bracket) {
+        return baseTax[bracket];
+    }
+}
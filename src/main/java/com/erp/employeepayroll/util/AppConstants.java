@@ -1,4 +1,6 @@
 package com.erp.employeepayroll.util;
 
 public class AppConstants {
+    public static final int DEFAULT_PAGE_SIZE = 50; // Page size used by list endpoints when none is requested
+    public static final int MAX_PAGE_SIZE = 500; // Upper bound on the page size a client may request
 }
@@ -0,0 +1,38 @@
+package com.erp.employeepayroll.util;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.sql.SQLException;
+
+/**
+ * Classifies database integrity failures without exposing the database's message, which names
+ * constraints and repeats the rejected values.
+ */
+public final class DataIntegrityViolations {
+
+    private static final String UNIQUE_VIOLATION_SQL_STATE = "23505"; // Standard SQLState (H2, PostgreSQL)
+    private static final int MYSQL_DUPLICATE_ENTRY = 1062; // ER_DUP_ENTRY; MySQL reports every integrity violation as 23000
+
+    private DataIntegrityViolations() {
+    }
+
+    /**
+     * Tells a duplicate of a unique key (e.g. uk_payslip_employee_period) from a NOT NULL or foreign key failure.
+     * @param ex The failure.
+     * @return Whether the failure is a unique key violation.
+     */
+    public static boolean isUniqueKeyViolation(DataAccessException ex) {
+        if (ex instanceof DuplicateKeyException) {
+            return true;
+        }
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException
+                    && (UNIQUE_VIOLATION_SQL_STATE.equals(sqlException.getSQLState())
+                    || sqlException.getErrorCode() == MYSQL_DUPLICATE_ENTRY)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
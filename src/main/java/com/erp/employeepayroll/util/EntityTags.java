@@ -0,0 +1,62 @@
+package com.erp.employeepayroll.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * Builds strong ETags from the values that identify a response and evaluates If-None-Match against them.
+ * The tag is a digest of those values, so it is the same on every instance and reveals nothing about them.
+ */
+public final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    /**
+     * Builds the strong ETag of a response.
+     * @param values The values that change whenever the response changes, in a fixed order.
+     * @return The quoted ETag.
+     */
+    public static String of(List<String> values) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String value : values) {
+                digest.update(value.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            // 128 bits are plenty to tell two versions of the same resource apart
+            return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Evaluates an If-None-Match header: true when the client already holds the current representation.
+     * Uses the weak comparison RFC 9110 prescribes for If-None-Match, so a W/ prefix added by a proxy still matches.
+     * @param ifNoneMatch The If-None-Match header value, or null if absent.
+     * @param etag The current quoted ETag.
+     * @return Whether the request can be answered with 304 Not Modified.
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        if (ifNoneMatch.trim().equals("*")) {
+            return true;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,28 @@
+package com.erp.employeepayroll.util;
+
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+/**
+ * Version check for read-modify-write updates that span two HTTP requests.
+ * The @Version column only protects a single transaction; comparing the version the client read
+ * with the current one also catches updates made between the client's GET and its PUT.
+ */
+public final class OptimisticLocking {
+
+    private OptimisticLocking() {
+    }
+
+    /**
+     * Fails if the client sent a version that no longer matches the stored one.
+     * @param expectedVersion The version sent by the client, or null to skip the check.
+     * @param currentVersion The version of the loaded entity.
+     * @param entityClass The entity type, for the error message.
+     * @param id The entity id, for the error message.
+     * @throws ObjectOptimisticLockingFailureException if the versions differ (answered with 409 Conflict).
+     */
+    public static void checkVersion(Long expectedVersion, Long currentVersion, Class<?> entityClass, Object id) {
+        if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+            throw new ObjectOptimisticLockingFailureException(entityClass, id);
+        }
+    }
+}
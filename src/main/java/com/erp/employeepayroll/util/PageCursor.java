@@ -0,0 +1,101 @@
+package com.erp.employeepayroll.util;
+
+import com.erp.employeepayroll.exception.ValidationException;
+import org.springframework.data.domain.Limit;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Encodes and decodes the opaque cursor tokens used by keyset-paginated list endpoints.
+ * A cursor is the URL-safe Base64 form of the last id returned on the previous page, so the
+ * next page is always an index seek on "id > cursor" no matter how deep the client has paged.
+ */
+public final class PageCursor {
+
+    private PageCursor() {
+    }
+
+    /**
+     * Decodes a cursor token into the id to seek past.
+     * @param cursor The token returned as nextCursor, or null/blank for the first page.
+     * @return The last id of the previous page, or 0 for the first page.
+     * @throws ValidationException if the token is malformed.
+     */
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid page cursor: " + cursor);
+        }
+    }
+
+    /**
+     * Encodes the last id of a page into a cursor token.
+     * @param lastId The id of the last row on the page.
+     * @return The cursor token.
+     */
+    public static String encode(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(lastId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Builds the repository limit for a requested page size. One extra row is fetched
+     * to find out whether another page exists without running a count query.
+     * @param size The requested page size (may be null).
+     * @return The limit to pass to the repository.
+     */
+    public static Limit limitFor(Integer size) {
+        return Limit.of(pageSize(size) + 1);
+    }
+
+    /**
+     * Clamps a requested page size to [1, MAX_PAGE_SIZE], defaulting to DEFAULT_PAGE_SIZE.
+     * @param size The requested page size (may be null).
+     * @return The effective page size.
+     */
+    public static int pageSize(Integer size) {
+        if (size == null || size < 1) {
+            return AppConstants.DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, AppConstants.MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Merges two keyset pages of the same query over different tables (e.g. hot and archive) into one.
+     * Both inputs must be in ascending id order and have been fetched with the same limit.
+     * @param first The rows from the first table.
+     * @param second The rows from the second table.
+     * @param limit The limit both pages were fetched with.
+     * @param idOf Extracts the id of a row.
+     * @param <T> The row type.
+     * @return Up to limit rows from both inputs, in ascending id order.
+     */
+    public static <T> List<T> mergeById(List<T> first, List<T> second, Limit limit, Function<T, Long> idOf) {
+        if (second.isEmpty()) {
+            return first;
+        }
+        if (first.isEmpty()) {
+            return second;
+        }
+        int max = limit.max();
+        List<T> merged = new ArrayList<>(Math.min(max, first.size() + second.size()));
+        int i = 0;
+        int j = 0;
+        while (merged.size() < max && (i < first.size() || j < second.size())) {
+            if (j >= second.size() || (i < first.size() && idOf.apply(first.get(i)) < idOf.apply(second.get(j)))) {
+                merged.add(first.get(i++));
+            } else {
+                merged.add(second.get(j++));
+            }
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,88 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Brings a schema created by ddl-auto=update up to V1, keeping its data. V1 skips tables that already exist,
+ * so this adds what the old entity mappings did not produce: the role_mask column and the named unique keys.
+ * Each change is made only when the database metadata shows it missing, so a fresh V1 schema is left untouched.
+ * Written in Java because MySQL has no "ADD COLUMN IF NOT EXISTS"; Flyway finds it next to the SQL migrations.
+ */
+public class V1_1__Align_ddl_auto_schema extends BaseJavaMigration {
+
+    private static final List<UniqueKey> UNIQUE_KEYS = List.of(
+            new UniqueKey("role", "uk_role_name", "name"),
+            new UniqueKey("employee", "uk_employee_email", "email"),
+            new UniqueKey("employment", "uk_employment_code", "code"),
+            new UniqueKey("deduction", "uk_deduction_code", "code"),
+            new UniqueKey("deduction", "uk_deduction_name", "deduction_name"));
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        DatabaseMetaData metaData = connection.getMetaData();
+        try (Statement statement = connection.createStatement()) {
+            if (!hasColumn(connection, metaData, "employee", "role_mask")) {
+                // Filled from the old employee/role join table by V1_2
+                statement.execute("ALTER TABLE employee ADD COLUMN role_mask INT NOT NULL DEFAULT 0");
+            }
+            for (UniqueKey key : UNIQUE_KEYS) {
+                // ddl-auto created most of these under generated names; any unique index on the column will do
+                if (!hasUniqueIndex(connection, metaData, key.table(), key.column())) {
+                    statement.execute("ALTER TABLE " + key.table() + " ADD CONSTRAINT " + key.name()
+                            + " UNIQUE (" + key.column() + ")");
+                }
+            }
+        }
+    }
+
+    private static boolean hasColumn(Connection connection, DatabaseMetaData metaData, String table, String column)
+            throws SQLException {
+        try (ResultSet columns = metaData.getColumns(connection.getCatalog(), connection.getSchema(),
+                identifier(metaData, table), identifier(metaData, column))) {
+            return columns.next();
+        }
+    }
+
+    // True if a unique index covers exactly the given column
+    private static boolean hasUniqueIndex(Connection connection, DatabaseMetaData metaData, String table, String column)
+            throws SQLException {
+        Map<String, Set<String>> columnsByIndex = new HashMap<>();
+        try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(),
+                identifier(metaData, table), true, false)) {
+            while (indexes.next()) {
+                String indexName = indexes.getString("INDEX_NAME");
+                String columnName = indexes.getString("COLUMN_NAME");
+                if (indexName != null && columnName != null) {
+                    columnsByIndex.computeIfAbsent(indexName, name -> new TreeSet<>(String.CASE_INSENSITIVE_ORDER))
+                            .add(columnName);
+                }
+            }
+        }
+        return columnsByIndex.values().stream()
+                .anyMatch(columns -> columns.size() == 1 && columns.contains(column));
+    }
+
+    // Metadata lookups match the case the database stores unquoted identifiers in (upper case on H2)
+    private static String identifier(DatabaseMetaData metaData, String name) throws SQLException {
+        if (metaData.storesUpperCaseIdentifiers()) {
+            return name.toUpperCase();
+        }
+        return metaData.storesLowerCaseIdentifiers() ? name.toLowerCase() : name;
+    }
+
+    private record UniqueKey(String table, String name, String column) {
+    }
+}
@@ -0,0 +1,33 @@
+-- Year-to-date totals of each employee's paid payslips, maintained by payroll approval so that
+-- YTD figures and annual statements are single-row reads instead of sums over the year's payslips.
+CREATE TABLE payroll_year_to_date (
+    id                BIGINT    NOT NULL AUTO_INCREMENT,
+    employee_id       BIGINT    NOT NULL,
+    year              INT       NOT NULL,
+    gross_salary      DOUBLE    NOT NULL,
+    employee_tax      DOUBLE    NOT NULL,
+    pension           DOUBLE    NOT NULL,
+    medical_insurance DOUBLE    NOT NULL,
+    other_deductions  DOUBLE    NOT NULL,
+    net_salary        DOUBLE    NOT NULL,
+    months_paid       INT       NOT NULL,
+    last_month_paid   INT       NOT NULL,
+    updated_at        TIMESTAMP NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_payroll_year_to_date_employee_year UNIQUE (employee_id, year),
+    CONSTRAINT fk_payroll_year_to_date_employee FOREIGN KEY (employee_id) REFERENCES employee (id)
+);
+
+-- Totals of the payslips already paid, live and archived.
+INSERT INTO payroll_year_to_date (employee_id, year, gross_salary, employee_tax, pension, medical_insurance,
+                                  other_deductions, net_salary, months_paid, last_month_paid, updated_at)
+SELECT employee_id, year, SUM(gross_salary), SUM(employee_taxed_amount), SUM(pension_amount),
+       SUM(medical_insurance_amount), SUM(other_taxed_amount), SUM(net_salary), COUNT(*), MAX(month), CURRENT_TIMESTAMP
+FROM (SELECT employee_id, year, month, gross_salary, employee_taxed_amount, pension_amount, medical_insurance_amount,
+             other_taxed_amount, net_salary
+      FROM payslip WHERE status = 'PAID'
+      UNION ALL
+      SELECT employee_id, year, month, gross_salary, employee_taxed_amount, pension_amount, medical_insurance_amount,
+             other_taxed_amount, net_salary
+      FROM payslip_archive WHERE status = 'PAID') paid
+GROUP BY employee_id, year;
@@ -0,0 +1,13 @@
+-- Progressive income tax schedules. All brackets sharing an effective_from form one schedule, in force from
+-- that date until the next schedule; a bracket taxes the income from its lower_bound up to the next bracket's
+-- lower_bound at its rate (a decimal). Schedules are never edited: a change is a new schedule.
+-- Without any schedule in force, payroll keeps applying the flat "Employee Tax" deduction.
+CREATE TABLE tax_bracket (
+    id             BIGINT    NOT NULL AUTO_INCREMENT,
+    effective_from DATE      NOT NULL,
+    lower_bound    DOUBLE    NOT NULL,
+    rate           DOUBLE    NOT NULL,
+    created_at     TIMESTAMP NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_tax_bracket_schedule_bound UNIQUE (effective_from, lower_bound)
+);
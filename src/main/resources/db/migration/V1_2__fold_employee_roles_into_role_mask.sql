@@ -0,0 +1,19 @@
+-- Folds the employee/role join table of the original mapping (@JoinTable "roles") into employee.role_mask,
+-- so employees of an upgraded database keep their authorities. Fresh databases never had the join table;
+-- an empty one is created so the same statements run everywhere.
+
+CREATE TABLE IF NOT EXISTS roles (
+    employee_id BIGINT NOT NULL,
+    role_id     INT    NOT NULL,
+    PRIMARY KEY (employee_id, role_id)
+);
+
+-- Bits as defined by ERole; the primary key keeps each role once per employee, so the sum is the mask
+UPDATE employee SET role_mask = (
+    SELECT COALESCE(SUM(CASE r.name WHEN 'ROLE_EMPLOYEE' THEN 1 WHEN 'ROLE_MANAGER' THEN 2 WHEN 'ROLE_ADMIN' THEN 4 ELSE 0 END), 0)
+    FROM roles er
+    JOIN role r ON r.id = er.role_id
+    WHERE er.employee_id = employee.id)
+WHERE EXISTS (SELECT 1 FROM roles er WHERE er.employee_id = employee.id);
+
+DROP TABLE roles;
@@ -0,0 +1,81 @@
+-- Baseline payroll schema, matching the JPA entity mappings.
+-- A database created earlier by ddl-auto=update already has these tables (Flyway baselines it at version 0),
+-- so every table is created only if missing; V1_1 then adds what ddl-auto did not create.
+
+CREATE TABLE IF NOT EXISTS role (
+    id   INT         NOT NULL AUTO_INCREMENT,
+    name VARCHAR(20) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_role_name UNIQUE (name)
+);
+
+CREATE TABLE IF NOT EXISTS employee (
+    id            BIGINT       NOT NULL AUTO_INCREMENT,
+    code          VARCHAR(50)  NOT NULL,
+    first_name    VARCHAR(255),
+    last_name     VARCHAR(255),
+    email         VARCHAR(255),
+    password      VARCHAR(255) NOT NULL,
+    mobile        VARCHAR(255),
+    date_of_birth DATE         NOT NULL,
+    status        ENUM ('ACTIVE', 'DISABLED') NOT NULL,
+    role_mask     INT          NOT NULL DEFAULT 0,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_employee_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS employment (
+    id           BIGINT       NOT NULL AUTO_INCREMENT,
+    code         VARCHAR(50)  NOT NULL,
+    employee_id  BIGINT       NOT NULL,
+    department   VARCHAR(100) NOT NULL,
+    position     VARCHAR(100) NOT NULL,
+    base_salary  DOUBLE       NOT NULL,
+    status       ENUM ('ACTIVE', 'INACTIVE') NOT NULL,
+    joining_date DATE         NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_employment_code UNIQUE (code),
+    CONSTRAINT fk_employment_employee FOREIGN KEY (employee_id) REFERENCES employee (id)
+);
+
+CREATE TABLE IF NOT EXISTS deduction (
+    id             BIGINT       NOT NULL AUTO_INCREMENT,
+    code           VARCHAR(50)  NOT NULL,
+    deduction_name VARCHAR(100) NOT NULL,
+    percentage     DOUBLE       NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_deduction_code UNIQUE (code),
+    CONSTRAINT uk_deduction_name UNIQUE (deduction_name)
+);
+
+CREATE TABLE IF NOT EXISTS payslip (
+    id                        BIGINT NOT NULL AUTO_INCREMENT,
+    employee_id               BIGINT NOT NULL,
+    base_salary_at_generation DOUBLE NOT NULL,
+    house_amount              DOUBLE NOT NULL,
+    transport_amount          DOUBLE NOT NULL,
+    employee_taxed_amount     DOUBLE NOT NULL,
+    pension_amount            DOUBLE NOT NULL,
+    medical_insurance_amount  DOUBLE NOT NULL,
+    other_taxed_amount        DOUBLE NOT NULL,
+    gross_salary              DOUBLE NOT NULL,
+    net_salary                DOUBLE NOT NULL,
+    month                     INT    NOT NULL,
+    year                      INT    NOT NULL,
+    status                    ENUM ('PENDING', 'PAID') NOT NULL,
+    generation_date           DATE   NOT NULL,
+    approval_date             DATE,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_payslip_employee FOREIGN KEY (employee_id) REFERENCES employee (id)
+);
+
+CREATE TABLE IF NOT EXISTS message (
+    id          BIGINT NOT NULL AUTO_INCREMENT,
+    employee_id BIGINT NOT NULL,
+    message     TEXT   NOT NULL,
+    month       INT    NOT NULL,
+    year        INT    NOT NULL,
+    sent_date   DATE   NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_message_employee FOREIGN KEY (employee_id) REFERENCES employee (id)
+);
@@ -0,0 +1,22 @@
+-- Indexes designed around the repository finders. Each index lists the finder(s) it serves.
+
+-- EmployeeRepository.findByCode / existsByCode: employee codes are unique identifiers.
+ALTER TABLE employee ADD CONSTRAINT uk_employee_code UNIQUE (code);
+
+-- EmploymentRepository.findByEmployeeAndStatus (active employment lookup during payroll generation).
+CREATE INDEX idx_employment_employee_status ON employment (employee_id, status);
+
+-- EmploymentRepository.findByStatus.
+CREATE INDEX idx_employment_status ON employment (status);
+
+-- PayslipRepository.findByMonthAndYear when checking the status of a period (generate/approve).
+CREATE INDEX idx_payslip_period_status ON payslip (year, month, status);
+
+-- PayslipRepository.findResponsesByMonthAndYear: keyset pages of a period in id order.
+CREATE INDEX idx_payslip_period ON payslip (year, month, id);
+
+-- PayslipRepository.findByEmployeeAndMonthAndYear.
+CREATE INDEX idx_payslip_employee_period ON payslip (employee_id, year, month);
+
+-- MessageRepository.findByEmployee / findResponsesByEmployeeId: keyset pages of an employee's messages.
+CREATE INDEX idx_message_employee ON message (employee_id, id);
@@ -0,0 +1,13 @@
+-- Pooled id allocation for the high-volume payslip and message tables (see @TableGenerator on the entities).
+-- IDENTITY ids force Hibernate to insert row by row; table-allocated ids let inserts be JDBC-batched.
+
+CREATE TABLE id_generator (
+    sequence_name VARCHAR(255) NOT NULL,
+    next_val      BIGINT,
+    PRIMARY KEY (sequence_name)
+);
+
+-- Seed past the existing ids. The pooled optimizer hands out (next_val - 49 .. next_val) for a stored value,
+-- so next_val starts one full block (50) above the current maximum.
+INSERT INTO id_generator (sequence_name, next_val) SELECT 'payslip', COALESCE(MAX(id), 0) + 51 FROM payslip;
+INSERT INTO id_generator (sequence_name, next_val) SELECT 'message', COALESCE(MAX(id), 0) + 51 FROM message;
@@ -0,0 +1,47 @@
+-- Archive tables for closed payroll years. PayrollArchiveService moves whole years out of payslip/message
+-- in small chunks; rows keep their ids, so the repositories can merge hot and archived rows in id order.
+-- MySQL cannot partition tables that have foreign keys, hence an active/archive split instead of PARTITION BY RANGE.
+
+CREATE TABLE payslip_archive (
+    id                        BIGINT NOT NULL,
+    employee_id               BIGINT NOT NULL,
+    base_salary_at_generation DOUBLE NOT NULL,
+    house_amount              DOUBLE NOT NULL,
+    transport_amount          DOUBLE NOT NULL,
+    employee_taxed_amount     DOUBLE NOT NULL,
+    pension_amount            DOUBLE NOT NULL,
+    medical_insurance_amount  DOUBLE NOT NULL,
+    other_taxed_amount        DOUBLE NOT NULL,
+    gross_salary              DOUBLE NOT NULL,
+    net_salary                DOUBLE NOT NULL,
+    month                     INT    NOT NULL,
+    year                      INT    NOT NULL,
+    status                    ENUM ('PENDING', 'PAID') NOT NULL,
+    generation_date           DATE   NOT NULL,
+    approval_date             DATE,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_payslip_archive_employee FOREIGN KEY (employee_id) REFERENCES employee (id)
+);
+
+-- PayslipRepository.findArchivedResponsesByMonthAndYear: keyset pages of an archived period in id order.
+CREATE INDEX idx_payslip_archive_period ON payslip_archive (year, month, id);
+
+-- PayslipRepository.findArchivedResponsesByEmployeeId: keyset pages of an employee's archived payslips.
+CREATE INDEX idx_payslip_archive_employee ON payslip_archive (employee_id, id);
+
+CREATE TABLE message_archive (
+    id          BIGINT NOT NULL,
+    employee_id BIGINT NOT NULL,
+    message     TEXT   NOT NULL,
+    month       INT    NOT NULL,
+    year        INT    NOT NULL,
+    sent_date   DATE   NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_message_archive_employee FOREIGN KEY (employee_id) REFERENCES employee (id)
+);
+
+-- MessageRepository.findArchivedResponsesByEmployeeId: keyset pages of an employee's archived messages.
+CREATE INDEX idx_message_archive_employee ON message_archive (employee_id, id);
+
+-- PayrollArchiveService: chunked selection of the rows of a year to move.
+CREATE INDEX idx_message_year ON message (year, id);
@@ -0,0 +1,3 @@
+-- EmployeeRepository.findByStatus (active headcount for payroll generation) and keyset pages of
+-- EmployeeService.getAllEmployees under the Employee status filter ("status = ? and id > ? order by id").
+CREATE INDEX idx_employee_status ON employee (status, id);
@@ -0,0 +1,11 @@
+-- Version columns for JPA optimistic locking (@Version) on the entities edited through the API.
+ALTER TABLE employee ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE employment ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE deduction ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE payslip ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+
+-- One payslip per employee and period, enforced by the database so two concurrent payroll runs
+-- cannot both insert. The unique key has the same columns as idx_payslip_employee_period and
+-- replaces it; it is created first because the employee foreign key needs an index at all times.
+ALTER TABLE payslip ADD CONSTRAINT uk_payslip_employee_period UNIQUE (employee_id, year, month);
+DROP INDEX idx_payslip_employee_period ON payslip;
@@ -0,0 +1,27 @@
+-- Effective-dated employment history: one row per period in which an employment record had a given
+-- department, position, salary and status. Periods are half-open [effective_from, effective_to);
+-- the current period of a record has effective_to NULL.
+CREATE TABLE employment_history (
+    id             BIGINT       NOT NULL AUTO_INCREMENT,
+    employment_id  BIGINT       NOT NULL, -- No FK: history outlives a deleted employment record
+    employee_id    BIGINT       NOT NULL,
+    department     VARCHAR(100) NOT NULL,
+    position       VARCHAR(100) NOT NULL,
+    base_salary    DOUBLE       NOT NULL,
+    status         ENUM ('ACTIVE', 'INACTIVE') NOT NULL,
+    effective_from DATE         NOT NULL,
+    effective_to   DATE,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_employment_history_employee FOREIGN KEY (employee_id) REFERENCES employee (id)
+);
+
+-- EmploymentHistoryRepository.findActiveAsOf: as-of salary lookup for a set of employees
+-- ("employee_id in (...) and effective_from <= ? and (effective_to is null or effective_to > ?)").
+CREATE INDEX idx_employment_history_employee_from ON employment_history (employee_id, effective_from, effective_to);
+
+-- EmploymentHistoryService.recordChange: closing the open period of one employment record.
+CREATE INDEX idx_employment_history_employment ON employment_history (employment_id, effective_from);
+
+-- Existing records start their history at the joining date with their current values.
+INSERT INTO employment_history (employment_id, employee_id, department, position, base_salary, status, effective_from, effective_to)
+SELECT id, employee_id, department, position, base_salary, status, joining_date, NULL FROM employment;
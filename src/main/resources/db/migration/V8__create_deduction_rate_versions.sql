@@ -0,0 +1,43 @@
+-- Effective-dated deduction rate versions. Each change of a deduction (created, re-rated, deleted) adds a row;
+-- the rate of a code on a date is its latest version effective on or before that date, unless that version is retired.
+CREATE TABLE deduction_rate (
+    id             BIGINT       NOT NULL AUTO_INCREMENT,
+    code           VARCHAR(50)  NOT NULL,
+    deduction_name VARCHAR(100) NOT NULL,
+    percentage     DOUBLE       NOT NULL,
+    effective_from DATE         NOT NULL,
+    retired        BOOLEAN      NOT NULL DEFAULT FALSE,
+    created_at     TIMESTAMP    NOT NULL,
+    PRIMARY KEY (id)
+);
+
+-- DeductionRateRepository.findEffectiveOn: versions effective on or before a date, latest first per code.
+CREATE INDEX idx_deduction_rate_effective ON deduction_rate (effective_from, code);
+
+-- Frozen rate sets: the rates resolved for a payroll period. Identical resolutions share one set (same fingerprint),
+-- and every payslip records the set it was calculated with.
+CREATE TABLE deduction_rate_set (
+    id             BIGINT      NOT NULL AUTO_INCREMENT,
+    fingerprint    VARCHAR(64) NOT NULL, -- SHA-256 of the resolved version ids
+    effective_date DATE        NOT NULL, -- Date of the first resolution that produced this set
+    created_at     TIMESTAMP   NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_deduction_rate_set_fingerprint UNIQUE (fingerprint)
+);
+
+CREATE TABLE deduction_rate_set_entry (
+    rate_set_id    BIGINT       NOT NULL,
+    code           VARCHAR(50)  NOT NULL,
+    deduction_name VARCHAR(100) NOT NULL,
+    percentage     DOUBLE       NOT NULL,
+    PRIMARY KEY (rate_set_id, code),
+    CONSTRAINT fk_deduction_rate_set_entry_set FOREIGN KEY (rate_set_id) REFERENCES deduction_rate_set (id)
+);
+
+ALTER TABLE payslip ADD COLUMN rate_set_id BIGINT;
+ALTER TABLE payslip ADD CONSTRAINT fk_payslip_rate_set FOREIGN KEY (rate_set_id) REFERENCES deduction_rate_set (id);
+ALTER TABLE payslip_archive ADD COLUMN rate_set_id BIGINT;
+
+-- Existing deductions become the first version, effective for every past period.
+INSERT INTO deduction_rate (code, deduction_name, percentage, effective_from, retired, created_at)
+SELECT code, deduction_name, percentage, DATE '1970-01-01', FALSE, CURRENT_TIMESTAMP FROM deduction;
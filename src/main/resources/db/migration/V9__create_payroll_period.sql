@@ -0,0 +1,29 @@
+-- Lifecycle of each payroll period: OPEN -> GENERATED -> APPROVED -> CLOSED (archived).
+-- Payroll runs and approvals lock this row instead of scanning the period's payslips for their statuses.
+CREATE TABLE payroll_period (
+    id           BIGINT      NOT NULL AUTO_INCREMENT,
+    month        INT         NOT NULL,
+    year         INT         NOT NULL,
+    status       VARCHAR(20) NOT NULL,
+    version      BIGINT      NOT NULL DEFAULT 0,
+    generated_at TIMESTAMP,
+    approved_at  TIMESTAMP,
+    closed_at    TIMESTAMP,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_payroll_period_year_month UNIQUE (year, month)
+);
+
+-- Periods with live payslips: GENERATED while any is still pending (approval is all-or-nothing), APPROVED otherwise.
+-- The DATE maxima are stored as midnight of that day; no CAST, since MySQL has no TIMESTAMP cast target.
+INSERT INTO payroll_period (month, year, status, version, generated_at, approved_at)
+SELECT month, year,
+       CASE WHEN SUM(CASE WHEN status = 'PENDING' THEN 1 ELSE 0 END) > 0 THEN 'GENERATED' ELSE 'APPROVED' END,
+       0, MAX(generation_date), MAX(approval_date)
+FROM payslip GROUP BY year, month;
+
+-- Archived periods are closed.
+INSERT INTO payroll_period (month, year, status, version, generated_at, approved_at, closed_at)
+SELECT month, year, 'CLOSED', 0, MAX(generation_date), MAX(approval_date), CURRENT_TIMESTAMP
+FROM payslip_archive a
+WHERE NOT EXISTS (SELECT 1 FROM payroll_period p WHERE p.year = a.year AND p.month = a.month)
+GROUP BY year, month;
@@ -0,0 +1,76 @@
+package com.erp.employeepayroll.config;
+
+import com.erp.employeepayroll.dto.request.DeductionRequest;
+import com.erp.employeepayroll.model.Deduction;
+import com.erp.employeepayroll.repository.DeductionRepository;
+import com.erp.employeepayroll.service.DeductionService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class ReferenceDataCacheTests {
+
+	private static final String CODE = "CACHE-TEST";
+
+	@Autowired
+	private DeductionService deductionService;
+
+	@Autowired
+	private DeductionRepository deductionRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		deductionService.createDeduction(new DeductionRequest(CODE, "Cache Test", 5.0, null, null));
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@AfterEach
+	void tearDown() {
+		deductionService.deleteDeduction(findByCode().getId());
+	}
+
+	@Test
+	void repeatedCodeLookupIsServedFromTheCache() {
+		Long id = findByCode().getId();
+		long statementsAfterFirstLookup = statistics.getPrepareStatementCount();
+
+		assertThat(findByCode().getId()).isEqualTo(id);
+		String code = transactionTemplate.execute(status -> deductionRepository.findById(id).orElseThrow().getCode());
+		assertThat(code).isEqualTo(CODE);
+
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsAfterFirstLookup);
+		assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+		assertThat(statistics.getDomainDataRegionStatistics("deduction").getHitCount()).isPositive();
+	}
+
+	@Test
+	void updateThroughTheServiceEvictsTheCachedLookup() {
+		assertThat(findByCode().getPercentage()).isEqualTo(0.05);
+
+		deductionService.updateDeduction(CODE, new DeductionRequest(CODE, "Cache Test", 7.0, null, null));
+
+		assertThat(findByCode().getPercentage()).isEqualTo(0.07);
+	}
+
+	private Deduction findByCode() {
+		return transactionTemplate.execute(status -> deductionRepository.findByCode(CODE));
+	}
+}
@@ -0,0 +1,111 @@
+package com.erp.employeepayroll.config;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.configuration.FluentConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Upgrades a schema shaped like the one ddl-auto=update created from the original entity mappings,
+ * with the same Flyway settings the application uses.
+ */
+@SpringBootTest
+class SchemaUpgradeTests {
+
+	private static final String URL = "jdbc:h2:mem:ddlauto;MODE=MySQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=MONTH,YEAR,VALUE";
+
+	@Autowired
+	private ObjectProvider<FlywayConfigurationCustomizer> customizers;
+
+	private DriverManagerDataSource dataSource;
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		dataSource = new DriverManagerDataSource(URL, "sa", "");
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		// Tables as Hibernate generated them: generated constraint names, roles in a join table, no version columns
+		jdbcTemplate.execute("CREATE TABLE role (id INTEGER NOT NULL AUTO_INCREMENT, name VARCHAR(20) NOT NULL, PRIMARY KEY (id))");
+		jdbcTemplate.execute("ALTER TABLE role ADD CONSTRAINT UK8sewwnpamngi6b1dwaa88askk UNIQUE (name)");
+		jdbcTemplate.execute("CREATE TABLE employee (id BIGINT NOT NULL AUTO_INCREMENT, code VARCHAR(50) NOT NULL, "
+				+ "date_of_birth DATE NOT NULL, email VARCHAR(255), first_name VARCHAR(255), last_name VARCHAR(255), "
+				+ "mobile VARCHAR(255), password VARCHAR(255) NOT NULL, status ENUM ('ACTIVE','DISABLED') NOT NULL, PRIMARY KEY (id))");
+		jdbcTemplate.execute("ALTER TABLE employee ADD CONSTRAINT UKfopic1oh5oln2khj8eat6ino0 UNIQUE (email)");
+		jdbcTemplate.execute("CREATE TABLE roles (employee_id BIGINT NOT NULL, role_id INTEGER NOT NULL, PRIMARY KEY (employee_id, role_id), "
+				+ "CONSTRAINT FKdpvc6d7xqpqr43dfuk1s27cqh FOREIGN KEY (role_id) REFERENCES role (id), "
+				+ "CONSTRAINT FK4qu1hxg4xgnjbmhdm5yyfj21m FOREIGN KEY (employee_id) REFERENCES employee (id))");
+		jdbcTemplate.execute("CREATE TABLE employment (id BIGINT NOT NULL AUTO_INCREMENT, base_salary FLOAT(53) NOT NULL, "
+				+ "code VARCHAR(50) NOT NULL, department VARCHAR(100) NOT NULL, joining_date DATE NOT NULL, position VARCHAR(100) NOT NULL, "
+				+ "status ENUM ('ACTIVE','INACTIVE') NOT NULL, employee_id BIGINT NOT NULL, PRIMARY KEY (id), "
+				+ "CONSTRAINT UKk6u5a1qh9bqjmw1bp0fhcttfh UNIQUE (employee_id), CONSTRAINT UK5o0cwp6iy2x1ka1omutbvqmyb UNIQUE (code), "
+				+ "CONSTRAINT FKp6xr1pkh0jwbicovo6ww6d8ys FOREIGN KEY (employee_id) REFERENCES employee (id))");
+		// The deduction name key is left out to check that missing keys are added
+		jdbcTemplate.execute("CREATE TABLE deduction (id BIGINT NOT NULL AUTO_INCREMENT, code VARCHAR(50) NOT NULL, "
+				+ "deduction_name VARCHAR(100) NOT NULL, percentage FLOAT(53) NOT NULL, PRIMARY KEY (id), "
+				+ "CONSTRAINT UKqpsyt2xe7lnu4cwqhbn0mwc2i UNIQUE (code))");
+		jdbcTemplate.execute("CREATE TABLE payslip (id BIGINT NOT NULL AUTO_INCREMENT, approval_date DATE, "
+				+ "base_salary_at_generation FLOAT(53) NOT NULL, employee_taxed_amount FLOAT(53) NOT NULL, generation_date DATE NOT NULL, "
+				+ "gross_salary FLOAT(53) NOT NULL, house_amount FLOAT(53) NOT NULL, medical_insurance_amount FLOAT(53) NOT NULL, "
+				+ "month INTEGER NOT NULL, net_salary FLOAT(53) NOT NULL, other_taxed_amount FLOAT(53) NOT NULL, "
+				+ "pension_amount FLOAT(53) NOT NULL, status ENUM ('PENDING','PAID') NOT NULL, transport_amount FLOAT(53) NOT NULL, "
+				+ "year INTEGER NOT NULL, employee_id BIGINT NOT NULL, PRIMARY KEY (id), "
+				+ "CONSTRAINT FKsqyeh8xcu1sn7ruf2ogtbpfk8 FOREIGN KEY (employee_id) REFERENCES employee (id))");
+		jdbcTemplate.execute("CREATE TABLE message (id BIGINT NOT NULL AUTO_INCREMENT, message TEXT NOT NULL, month INTEGER NOT NULL, "
+				+ "sent_date DATE NOT NULL, year INTEGER NOT NULL, employee_id BIGINT NOT NULL, PRIMARY KEY (id), "
+				+ "CONSTRAINT FK7xe7lh2bjcw9mhd6ixb8k2qc4 FOREIGN KEY (employee_id) REFERENCES employee (id))");
+
+		// Role ids in another order than the bits, as ddl-auto assigned them on first use
+		jdbcTemplate.update("INSERT INTO role (id, name) VALUES (1, 'ROLE_ADMIN'), (2, 'ROLE_EMPLOYEE'), (3, 'ROLE_MANAGER')");
+		jdbcTemplate.update("INSERT INTO employee (id, code, date_of_birth, email, password, status) VALUES "
+				+ "(1, 'EMP-1', DATE '1980-01-01', 'admin@payroll.test', 'secret', 'ACTIVE'), "
+				+ "(2, 'EMP-2', DATE '1990-01-01', 'staff@payroll.test', 'secret', 'ACTIVE')");
+		jdbcTemplate.update("INSERT INTO roles (employee_id, role_id) VALUES (1, 1), (1, 3), (2, 2)");
+		jdbcTemplate.update("INSERT INTO employment (base_salary, code, department, joining_date, position, status, employee_id) "
+				+ "VALUES (1000, 'EMPL-2', 'Finance', DATE '2024-01-01', 'Officer', 'ACTIVE', 2)");
+		jdbcTemplate.update("INSERT INTO deduction (code, deduction_name, percentage) VALUES ('PEN', 'Pension', 6)");
+		jdbcTemplate.update("INSERT INTO payslip (approval_date, base_salary_at_generation, employee_taxed_amount, generation_date, "
+				+ "gross_salary, house_amount, medical_insurance_amount, month, net_salary, other_taxed_amount, pension_amount, "
+				+ "status, transport_amount, year, employee_id) "
+				+ "VALUES (DATE '2024-01-31', 1000, 300, DATE '2024-01-30', 1280, 140, 50, 1, 804, 50, 60, 'PAID', 140, 2024, 2)");
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.execute("DROP ALL OBJECTS");
+	}
+
+	@Test
+	void ddlAutoSchemaIsUpgradedInPlace() {
+		FluentConfiguration configuration = Flyway.configure()
+				.dataSource(dataSource)
+				.locations("classpath:db/migration");
+		customizers.orderedStream().forEach(customizer -> customizer.customize(configuration));
+
+		configuration.load().migrate();
+
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employee", Integer.class)).isEqualTo(2);
+		assertThat(jdbcTemplate.queryForObject("SELECT role_mask FROM employee WHERE id = 1", Integer.class)).isEqualTo(6); // Admin and manager
+		assertThat(jdbcTemplate.queryForObject("SELECT role_mask FROM employee WHERE id = 2", Integer.class)).isEqualTo(1); // Employee
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_NAME = 'ROLES'", Integer.class)).isZero();
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM payroll_year_to_date WHERE employee_id = 2", Integer.class)).isEqualTo(1);
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employment_history", Integer.class)).isEqualTo(1);
+		assertThat(jdbcTemplate.queryForObject("SELECT CONCAT(status, ' ', CAST(approved_at AS DATE)) FROM payroll_period "
+				+ "WHERE year = 2024 AND month = 1", String.class)).isEqualTo("APPROVED 2024-01-31");
+		assertThat(jdbcTemplate.queryForList("SELECT CONSTRAINT_NAME FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS "
+				+ "WHERE TABLE_NAME = 'DEDUCTION' AND CONSTRAINT_TYPE = 'UNIQUE'", String.class))
+				.contains("UK_DEDUCTION_NAME")
+				.doesNotContain("UK_DEDUCTION_CODE");
+		assertThat(jdbcTemplate.queryForList("SELECT \"version\" FROM \"flyway_schema_history\" WHERE \"version\" IS NOT NULL AND \"success\" ORDER BY \"installed_rank\"", String.class))
+				.startsWith("0", "1", "1.1", "1.2")
+				.endsWith("11");
+	}
+}
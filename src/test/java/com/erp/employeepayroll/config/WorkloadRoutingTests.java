@@ -0,0 +1,85 @@
+package com.erp.employeepayroll.config;
+
+import com.erp.employeepayroll.dto.request.PayslipGenerationRequest;
+import com.erp.employeepayroll.service.PayslipService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+		"app.datasource.replica.url=" + WorkloadRoutingTests.REPLICA_URL,
+		"app.datasource.replica.username=sa",
+		"app.datasource.replica.max-lag=1h"
+})
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class) // Payroll runs pin reads to the primary for the rest of the class
+class WorkloadRoutingTests {
+
+	static final String REPLICA_URL = "jdbc:h2:mem:payroll_replica;MODE=MySQL;DB_CLOSE_DELAY=-1;NON_KEYWORDS=MONTH,YEAR,VALUE";
+
+	static {
+		// Stands in for replication: the replica needs the primary's schema before the context starts reading from it
+		Flyway.configure().dataSource(REPLICA_URL, "sa", "").load().migrate();
+	}
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ReplicaLagGuard replicaLagGuard;
+
+	@Autowired
+	private PayslipService payslipService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Test
+	@Order(2)
+	void payrollJobsAcquireConnectionsFromTheBatchPool() {
+		long batchAcquired = acquiredConnections("batch");
+		long interactiveAcquired = acquiredConnections("interactive");
+
+		payslipService.generatePayroll(new PayslipGenerationRequest(1, 2099));
+
+		assertThat(acquiredConnections("batch")).isGreaterThan(batchAcquired);
+		assertThat(acquiredConnections("interactive")).isEqualTo(interactiveAcquired);
+		assertThat(currentDatabase(true)).isEqualTo("PAYROLL");
+	}
+
+	@Test
+	@Order(1)
+	void readOnlyTransactionsUseTheReplicaUntilAPayrollWriteCommits() {
+		assertThat(currentDatabase(false)).isEqualTo("PAYROLL");
+		assertThat(currentDatabase(true)).isEqualTo("PAYROLL_REPLICA");
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> replicaLagGuard.pinPrimaryAfterCommit());
+
+		assertThat(currentDatabase(true)).isEqualTo("PAYROLL");
+	}
+
+	// Hikari registers a pool's meters when the pool starts, so a pool that was never used has none
+	private long acquiredConnections(String pool) {
+		Timer acquire = meterRegistry.find("hikaricp.connections.acquire").tag("pool", pool).timer();
+		return acquire == null ? 0 : acquire.count();
+	}
+
+	private String currentDatabase(boolean readOnly) {
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		transactionTemplate.setReadOnly(readOnly);
+		return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("SELECT DATABASE()", String.class));
+	}
+}
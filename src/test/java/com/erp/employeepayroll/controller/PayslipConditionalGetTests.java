@@ -0,0 +1,131 @@
+package com.erp.employeepayroll.controller;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PayslipConditionalGetTests {
+
+	private static final long EMPLOYEE_ID = 790_001L;
+	private static final int YEAR = 2098;
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate.update("INSERT INTO employee (id, code, first_name, last_name, email, password, date_of_birth, status, role_mask) "
+				+ "VALUES (?, 'ETAG-E790001', 'Entity', 'Tag', 'etag790001@payroll.test', 'secret', DATE '1990-01-01', 'ACTIVE', 1)", EMPLOYEE_ID);
+		insertPayslip(790_001L, 1, "PAID");
+		insertPayslip(790_002L, 2, "PENDING");
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE FROM payslip WHERE year = ?", YEAR);
+		jdbcTemplate.update("DELETE FROM employee WHERE id = ?", EMPLOYEE_ID);
+	}
+
+	@Test
+	@WithMockUser(roles = "MANAGER")
+	void paidPayslipIsCachedBrieflyAndRevalidatedAfterARename() throws Exception {
+		String etag = mockMvc.perform(get("/api/payslips/790001"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.status").value("PAID"))
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=300, must-revalidate, private"))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(etag).matches("\"[0-9a-f]{32}\"");
+
+		mockMvc.perform(get("/api/payslips/790001").header(HttpHeaders.IF_NONE_MATCH, "\"stale\", W/" + etag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string(HttpHeaders.ETAG, etag))
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=300, must-revalidate, private"))
+				.andExpect(content().string(""));
+
+		// A rename shows up on the next revalidation, since the response carries the employee's current name
+		jdbcTemplate.update("UPDATE employee SET last_name = 'Renamed', version = version + 1 WHERE id = ?", EMPLOYEE_ID);
+
+		mockMvc.perform(get("/api/payslips/790001").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.employeeLastName").value("Renamed"))
+				.andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+	}
+
+	@Test
+	@WithMockUser(roles = "MANAGER")
+	void pendingPayslipMustBeRevalidatedAndApprovalChangesItsTag() throws Exception {
+		String etag = mockMvc.perform(get("/api/payslips/790002"))
+				.andExpect(status().isOk())
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		mockMvc.perform(get("/api/payslips/790002").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified());
+
+		jdbcTemplate.update("UPDATE payslip SET status = 'PAID', approval_date = CURRENT_DATE WHERE id = 790002");
+
+		String paidEtag = mockMvc.perform(get("/api/payslips/790002").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.status").value("PAID"))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		assertThat(paidEtag).isNotEqualTo(etag);
+	}
+
+	@Test
+	@WithMockUser(roles = "MANAGER")
+	void employeePageTagChangesWhenAPayslipIsAdded() throws Exception {
+		String etag = mockMvc.perform(get("/api/payslips/employee/790001"))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.items.length()").value(2))
+				.andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+		mockMvc.perform(get("/api/payslips/employee/790001").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andExpect(content().string(""));
+
+		insertPayslip(790_003L, 3, "PENDING");
+
+		mockMvc.perform(get("/api/payslips/employee/790001").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.items.length()").value(3));
+	}
+
+	@Test
+	@WithMockUser(username = "ETAG-OTHER", roles = "EMPLOYEE")
+	void matchingTagDoesNotBypassTheOwnershipCheck() throws Exception {
+		// The denial is answered instead of a 304; its status is whatever the exception handler maps it to
+		mockMvc.perform(get("/api/payslips/790001").header(HttpHeaders.IF_NONE_MATCH, "*"))
+				.andExpect(header().doesNotExist(HttpHeaders.ETAG))
+				.andExpect(content().string(containsString("not authorized")));
+	}
+
+	private void insertPayslip(long id, int month, String status) {
+		jdbcTemplate.update("INSERT INTO payslip (id, employee_id, base_salary_at_generation, house_amount, transport_amount, "
+				+ "employee_taxed_amount, pension_amount, medical_insurance_amount, other_taxed_amount, gross_salary, "
+				+ "net_salary, month, year, status, generation_date, approval_date) VALUES (?, ?, 100, 14, 14, 30, 6, 5, 5, 128, 82, "
+				+ "?, ?, ?, CURRENT_DATE, ?)", id, EMPLOYEE_ID, month, YEAR, status,
+				"PAID".equals(status) ? LocalDate.of(YEAR, 1, 31) : null);
+	}
+}
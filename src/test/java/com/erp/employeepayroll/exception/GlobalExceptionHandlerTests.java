@@ -0,0 +1,49 @@
+package com.erp.employeepayroll.exception;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GlobalExceptionHandlerTests {
+
+	private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+	@Test
+	void duplicateUniqueKeyIsAConflictWithoutTheDatabaseMessage() {
+		// MySQL reports duplicates as 23000 with error code 1062, H2 as 23505
+		ResponseEntity<String> mysql = handle(new SQLException(
+				"Duplicate entry '7-2025-1' for key 'payslip.uk_payslip_employee_period'", "23000", 1062));
+		ResponseEntity<String> h2 = handle(new SQLException(
+				"Unique index or primary key violation: \"PUBLIC.UK_PAYSLIP_EMPLOYEE_PERIOD ON PUBLIC.PAYSLIP\"", "23505", 23505));
+
+		assertThat(mysql.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+		assertThat(h2.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+		assertThat(mysql.getBody()).doesNotContainIgnoringCase("uk_payslip").doesNotContain("payslip.");
+		assertThat(h2.getBody()).isEqualTo(mysql.getBody());
+	}
+
+	@Test
+	void foreignKeyAndNotNullFailuresAreBadRequests() {
+		ResponseEntity<String> foreignKey = handle(new SQLException("Cannot add or update a child row: a foreign key constraint "
+				+ "fails (`payroll`.`payslip`, CONSTRAINT `fk_payslip_employee` ...)", "23000", 1452));
+		ResponseEntity<String> notNull = handle(new SQLException("NULL not allowed for column \"NET_SALARY\"", "23502", 23502));
+
+		assertThat(foreignKey.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+		assertThat(notNull.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+		assertThat(foreignKey.getBody()).doesNotContain("fk_payslip_employee");
+		assertThat(notNull.getBody()).doesNotContain("NET_SALARY");
+	}
+
+	// Wrapped the way Spring translates a Hibernate constraint violation
+	private ResponseEntity<String> handle(SQLException sqlException) {
+		ConstraintViolationException hibernate = new ConstraintViolationException("could not execute statement", sqlException,
+				"insert into payslip", null);
+		return handler.handleDataIntegrityViolationException(new DataIntegrityViolationException("could not execute statement", hibernate));
+	}
+}
@@ -0,0 +1,64 @@
+package com.erp.employeepayroll.repository;
+
+import com.erp.employeepayroll.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import(EmployeeStatusFilter.class)
+class EmployeeStatusFilterTests {
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private EmployeeStatusFilter employeeStatusFilter;
+
+	@BeforeEach
+	void setUp() {
+		for (int i = 0; i < 6; i++) {
+			entityManager.persist(employee(i, i % 3 == 0 ? Employee.EmployeeStatus.DISABLED : Employee.EmployeeStatus.ACTIVE));
+		}
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	void filterRestrictsEmployeeQueriesToTheRequestedStatus() {
+		List<Employee> active = employeeStatusFilter.apply(Employee.EmployeeStatus.ACTIVE,
+				() -> employeeRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(100)));
+		List<Employee> disabled = employeeStatusFilter.apply(Employee.EmployeeStatus.DISABLED,
+				() -> employeeRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(100)));
+
+		assertThat(active).hasSize(4).allMatch(employee -> employee.getStatus() == Employee.EmployeeStatus.ACTIVE);
+		assertThat(disabled).hasSize(2).allMatch(employee -> employee.getStatus() == Employee.EmployeeStatus.DISABLED);
+		assertThat(employeeRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(100))).hasSize(6);
+	}
+
+	private Employee employee(int index, Employee.EmployeeStatus status) {
+		Employee employee = new Employee();
+		employee.setCode("FLT" + index);
+		employee.setFirstName("First" + index);
+		employee.setLastName("Last" + index);
+		employee.setEmail("filter" + index + "@payroll.test");
+		employee.setPassword("secret");
+		employee.setMobile("+250788" + String.format("%06d", index));
+		employee.setDateOfBirth(LocalDate.of(1990, 1, 1));
+		employee.setStatus(status);
+		employee.setRoleMask(1);
+		return employee;
+	}
+}
@@ -0,0 +1,131 @@
+package com.erp.employeepayroll.repository;
+
+import com.erp.employeepayroll.dto.response.MessageResponse;
+import com.erp.employeepayroll.dto.response.PayslipResponse;
+import com.erp.employeepayroll.model.Employee;
+import com.erp.employeepayroll.model.Message;
+import com.erp.employeepayroll.model.Payslip;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class PayslipRepositoryTests {
+
+	private static final int PERIOD_SIZE = 1_000;
+	private static final int MONTH = 5;
+	private static final int YEAR = 2025;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private PayslipRepository payslipRepository;
+
+	@Autowired
+	private MessageRepository messageRepository;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	void setUp() {
+		for (int i = 0; i < PERIOD_SIZE; i++) {
+			Employee employee = employee(i);
+			entityManager.persist(employee);
+			entityManager.persist(payslip(employee));
+			entityManager.persist(message(employee));
+		}
+		entityManager.flush();
+		entityManager.clear();
+
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.setStatisticsEnabled(true);
+		statistics.clear();
+	}
+
+	@Test
+	void periodPayslipResponsesAreLoadedInOneStatementPerTable() {
+		List<PayslipResponse> responses = payslipRepository.findResponsesByMonthAndYear(MONTH, YEAR, 0L, Limit.of(PERIOD_SIZE));
+
+		assertThat(responses).hasSize(PERIOD_SIZE);
+		assertThat(responses).allSatisfy(response -> assertThat(response.getEmployeeCode()).startsWith("EMP"));
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2); // payslip and payslip_archive
+	}
+
+	@Test
+	void approvalLoadFetchesEmployeesWithPayslips() {
+		List<Payslip> payslips = payslipRepository.findWithEmployeeByMonthAndYear(MONTH, YEAR);
+		payslips.forEach(payslip -> payslip.getEmployee().getFirstName());
+
+		assertThat(payslips).hasSize(PERIOD_SIZE);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+	}
+
+	@Test
+	void employeeMessageResponsesAreLoadedInOneStatementPerTable() {
+		Long employeeId = payslipRepository.findResponsesByMonthAndYear(MONTH, YEAR, 0L, Limit.of(1)).get(0).getEmployeeId();
+		statistics.clear();
+
+		List<MessageResponse> responses = messageRepository.findResponsesByEmployeeId(employeeId, 0L, Limit.of(10));
+
+		assertThat(responses).hasSize(1);
+		assertThat(responses.get(0).getEmployeeId()).isEqualTo(employeeId);
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(2); // message and message_archive
+	}
+
+	private Employee employee(int index) {
+		Employee employee = new Employee();
+		employee.setCode("EMP" + index);
+		employee.setFirstName("First" + index);
+		employee.setLastName("Last" + index);
+		employee.setEmail("employee" + index + "@payroll.test");
+		employee.setPassword("secret");
+		employee.setMobile("+250788" + String.format("%06d", index));
+		employee.setDateOfBirth(LocalDate.of(1990, 1, 1));
+		employee.setStatus(Employee.EmployeeStatus.ACTIVE);
+		return employee;
+	}
+
+	private Payslip payslip(Employee employee) {
+		return Payslip.builder()
+				.employee(employee)
+				.baseSalaryAtGeneration(100_000.0)
+				.houseAmount(14_000.0)
+				.transportAmount(14_000.0)
+				.employeeTaxedAmount(30_000.0)
+				.pensionAmount(6_000.0)
+				.medicalInsuranceAmount(5_000.0)
+				.otherTaxedAmount(5_000.0)
+				.grossSalary(128_000.0)
+				.netSalary(82_000.0)
+				.month(MONTH)
+				.year(YEAR)
+				.status(Payslip.PayslipStatus.PENDING)
+				.generationDate(LocalDate.of(YEAR, MONTH, 28))
+				.build();
+	}
+
+	private Message message(Employee employee) {
+		return Message.builder()
+				.employee(employee)
+				.message("Salary credited")
+				.month(MONTH)
+				.year(YEAR)
+				.sentDate(LocalDate.of(YEAR, MONTH, 30))
+				.build();
+	}
+}
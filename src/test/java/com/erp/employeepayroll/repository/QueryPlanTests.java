@@ -0,0 +1,174 @@
+package com.erp.employeepayroll.repository;
+
+import com.erp.employeepayroll.model.Employee;
+import com.erp.employeepayroll.model.Employment;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the SQL Hibernate generates for the repository finders is answered from the indexes created by the migrations.
+ * Each finder is run once, and the statement it sent is captured and explained with its parameters left unbound.
+ */
+@DataJpaTest
+@Import(EmployeeStatusFilter.class)
+class QueryPlanTests {
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private SqlCapture sqlCapture;
+
+	@Autowired
+	private EmployeeStatusFilter employeeStatusFilter;
+
+	@Autowired
+	private EmployeeRepository employeeRepository;
+
+	@Autowired
+	private EmploymentRepository employmentRepository;
+
+	@Autowired
+	private PayslipRepository payslipRepository;
+
+	@Autowired
+	private MessageRepository messageRepository;
+
+	@Autowired
+	private EmploymentHistoryRepository employmentHistoryRepository;
+
+	private Employee employee;
+
+	@BeforeEach
+	void setUp() {
+		employee = new Employee();
+		employee.setCode("PLAN1");
+		employee.setFirstName("Query");
+		employee.setLastName("Plan");
+		employee.setEmail("plan1@payroll.test");
+		employee.setPassword("secret");
+		employee.setMobile("+250788000001");
+		employee.setDateOfBirth(LocalDate.of(1990, 1, 1));
+		employee.setStatus(Employee.EmployeeStatus.ACTIVE);
+		entityManager.persistAndFlush(employee);
+		sqlCapture.statements.clear();
+	}
+
+	@Test
+	void findByCodeUsesUniqueEmployeeCode() {
+		employeeRepository.findByCode("PLAN1");
+		assertThat(indexUsedOn("EMPLOYEE")).startsWith("UK_EMPLOYEE_CODE");
+	}
+
+	@Test
+	void activeEmployeeKeysetPageUsesEmployeeStatusIndex() {
+		employeeStatusFilter.apply(Employee.EmployeeStatus.ACTIVE, () -> employeeRepository.findByIdGreaterThanOrderByIdAsc(100L, Limit.of(51)));
+		assertThat(indexUsedOn("EMPLOYEE")).isEqualTo("IDX_EMPLOYEE_STATUS");
+	}
+
+	@Test
+	void findByEmployeeAndStatusUsesEmploymentEmployeeStatusIndex() {
+		employmentRepository.findByEmployeeAndStatus(employee, Employment.EmploymentStatus.ACTIVE);
+		assertThat(indexUsedOn("EMPLOYMENT")).isEqualTo("IDX_EMPLOYMENT_EMPLOYEE_STATUS");
+	}
+
+	@Test
+	void periodStatusCheckUsesPayslipPeriodStatusIndex() {
+		payslipRepository.findByMonthAndYear(5, 2025);
+		assertThat(indexUsedOn("PAYSLIP")).isEqualTo("IDX_PAYSLIP_PERIOD_STATUS");
+	}
+
+	@Test
+	void periodKeysetPageUsesPayslipPeriodIndex() {
+		payslipRepository.findLiveResponsesByMonthAndYear(5, 2025, 100L, Limit.of(51));
+		assertThat(indexUsedOn("PAYSLIP")).isEqualTo("IDX_PAYSLIP_PERIOD");
+	}
+
+	@Test
+	void findByEmployeeAndMonthAndYearUsesPayslipEmployeePeriodUniqueKey() {
+		payslipRepository.findByEmployeeAndMonthAndYear(employee, 5, 2025);
+		assertThat(indexUsedOn("PAYSLIP")).startsWith("UK_PAYSLIP_EMPLOYEE_PERIOD");
+	}
+
+	@Test
+	void employeeMessagesUseMessageEmployeeIndex() {
+		messageRepository.findLiveResponsesByEmployeeId(employee.getId(), 0L, Limit.of(51));
+		assertThat(indexUsedOn("MESSAGE")).isEqualTo("IDX_MESSAGE_EMPLOYEE");
+	}
+
+	@Test
+	void archivedPeriodKeysetPageUsesPayslipArchivePeriodIndex() {
+		payslipRepository.findArchivedResponsesByMonthAndYear(5, 2020, 100L, Limit.of(51));
+		assertThat(indexUsedOn("PAYSLIP_ARCHIVE")).isEqualTo("IDX_PAYSLIP_ARCHIVE_PERIOD");
+	}
+
+	@Test
+	void archivedEmployeeMessagesUseMessageArchiveEmployeeIndex() {
+		messageRepository.findArchivedResponsesByEmployeeId(employee.getId(), 0L, Limit.of(51));
+		assertThat(indexUsedOn("MESSAGE_ARCHIVE")).isEqualTo("IDX_MESSAGE_ARCHIVE_EMPLOYEE");
+	}
+
+	@Test
+	void asOfSalaryLookupUsesEmploymentHistoryEmployeeIndex() {
+		employmentHistoryRepository.findActiveAsOf(List.of(1L, 2L, 3L), LocalDate.of(2025, 5, 1));
+		assertThat(indexUsedOn("EMPLOYMENT_HISTORY")).isEqualTo("IDX_EMPLOYMENT_HISTORY_EMPLOYEE_FROM");
+	}
+
+	// Returns the index H2 picked for the table in the last statement the finder sent, e.g. "IDX_PAYSLIP_PERIOD"
+	private String indexUsedOn(String table) {
+		assertThat(sqlCapture.statements).as("statements sent by the finder").isNotEmpty();
+		String sql = sqlCapture.statements.get(sqlCapture.statements.size() - 1);
+		String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+		Matcher matcher = Pattern.compile("\"PUBLIC\"\\.\"" + table + "\" \"\\w+\"\\s+/\\* PUBLIC\\.(\\w+):").matcher(plan);
+		assertThat(matcher.find()).as("index on %s in plan: %s", table, plan).isTrue();
+		return matcher.group(1);
+	}
+
+	// Records the SQL of every statement Hibernate prepares
+	static class SqlCapture implements StatementInspector {
+
+		private final List<String> statements = new CopyOnWriteArrayList<>();
+
+		@Override
+		public String inspect(String sql) {
+			statements.add(sql);
+			return sql;
+		}
+	}
+
+	@TestConfiguration
+	static class SqlCaptureConfig {
+
+		@Bean
+		SqlCapture sqlCapture() {
+			return new SqlCapture();
+		}
+
+		@Bean
+		HibernatePropertiesCustomizer sqlCaptureCustomizer(SqlCapture sqlCapture) {
+			return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, sqlCapture);
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package com.erp.employeepayroll.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// A small login burst with a 100 s refill, and a generate bulkhead without permits so every admitted run is turned away
+@SpringBootTest(properties = {
+		"app.rate-limit.routes.login.method=POST",
+		"app.rate-limit.routes.login.pattern=/api/auth/login",
+		"app.rate-limit.routes.login.capacity=2",
+		"app.rate-limit.routes.login.refill-per-second=0.01",
+		"app.rate-limit.routes.login.max-concurrent=32",
+		"app.rate-limit.routes.login.retry-after-seconds=1",
+		"app.rate-limit.routes.payroll-generate.method=POST",
+		"app.rate-limit.routes.payroll-generate.pattern=/api/payslips/generate",
+		"app.rate-limit.routes.payroll-generate.capacity=1",
+		"app.rate-limit.routes.payroll-generate.refill-per-second=0.01",
+		"app.rate-limit.routes.payroll-generate.max-concurrent=0",
+		"app.rate-limit.routes.payroll-generate.retry-after-seconds=30"
+})
+@AutoConfigureMockMvc
+class RateLimitFilterTests {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void loginBurstIsThrottledWhateverForwardedForTheClientSends() throws Exception {
+		for (int attempt = 0; attempt < 2; attempt++) {
+			int status = mockMvc.perform(login("10.0.0." + attempt)).andReturn().getResponse().getStatus();
+			assertThat(status).isNotEqualTo(429);
+		}
+
+		mockMvc.perform(login("10.0.0.99"))
+				.andExpect(status().isTooManyRequests())
+				.andExpect(header().string(HttpHeaders.RETRY_AFTER, "100"));
+	}
+
+	@Test
+	@WithMockUser(username = "ratelimit-admin", roles = "ADMIN")
+	void generateIsTurnedAwayByTheBulkheadThenByTheRateLimit() throws Exception {
+		mockMvc.perform(generate())
+				.andExpect(status().isServiceUnavailable())
+				.andExpect(header().string(HttpHeaders.RETRY_AFTER, "30"));
+
+		mockMvc.perform(generate())
+				.andExpect(status().isTooManyRequests());
+	}
+
+	private static MockHttpServletRequestBuilder login(String forwardedFor) {
+		return post("/api/auth/login")
+				.header("X-Forwarded-For", forwardedFor)
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"email\": \"nobody@payroll.test\", \"password\": \"wrong\"}");
+	}
+
+	private static MockHttpServletRequestBuilder generate() {
+		return post("/api/payslips/generate")
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"month\": 1, \"year\": 2099}");
+	}
+}
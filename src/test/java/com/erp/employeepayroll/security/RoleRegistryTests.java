@@ -0,0 +1,24 @@
+package com.erp.employeepayroll.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.GrantedAuthority;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+class RoleRegistryTests {
+
+	@Autowired
+	private RoleRegistry roleRegistry;
+
+	@Test
+	void unknownBitsOfAStoredMaskGrantNothing() {
+		// Bit 3 belongs to no role of this release; the sign bit makes the mask negative
+		assertThat(roleRegistry.authoritiesOf(1 << 3 | 1).stream().map(GrantedAuthority::getAuthority))
+				.containsExactly("ROLE_EMPLOYEE");
+		assertThat(roleRegistry.namesOf(Integer.MIN_VALUE | 1 << 2)).containsExactly("ROLE_ADMIN");
+		assertThat(roleRegistry.authoritiesOf(1 << 8)).isEmpty();
+	}
+}
@@ -0,0 +1,88 @@
+package com.erp.employeepayroll.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketRateLimiterTests {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	private final AtomicLong clock = new AtomicLong(1_000 * SECOND);
+	private final TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, 1.0, 64, clock::get);
+
+	@Test
+	void fullBucketAllowsABurstOfCapacityRequests() {
+		assertThat(limiter.tryAcquire("a")).isZero();
+		assertThat(limiter.tryAcquire("a")).isZero();
+		assertThat(limiter.tryAcquire("a")).isZero();
+
+		assertThat(limiter.tryAcquire("a")).isEqualTo(SECOND); // One emission interval until the next token
+		assertThat(limiter.tryAcquire("b")).isZero(); // Other keys have their own bucket
+	}
+
+	@Test
+	void waitShrinksAsTimePassesAndOneTokenRefillsPerInterval() {
+		drain("a");
+
+		clock.addAndGet(SECOND * 4 / 10);
+		assertThat(limiter.tryAcquire("a")).isEqualTo(SECOND * 6 / 10);
+
+		clock.addAndGet(SECOND * 6 / 10);
+		assertThat(limiter.tryAcquire("a")).isZero();
+		assertThat(limiter.tryAcquire("a")).isEqualTo(SECOND);
+	}
+
+	@Test
+	void idleBucketRefillsOnlyUpToItsCapacity() {
+		drain("a");
+
+		clock.addAndGet(60 * SECOND);
+
+		assertThat(limiter.tryAcquire("a")).isZero();
+		assertThat(limiter.tryAcquire("a")).isZero();
+		assertThat(limiter.tryAcquire("a")).isZero();
+		assertThat(limiter.tryAcquire("a")).isPositive();
+	}
+
+	@Test
+	void rejectedRequestsDoNotConsumeTokens() {
+		drain("a");
+		for (int i = 0; i < 10; i++) {
+			limiter.tryAcquire("a");
+		}
+
+		clock.addAndGet(SECOND);
+
+		assertThat(limiter.tryAcquire("a")).isZero();
+	}
+
+	@Test
+	void bucketsAreBoundedByMaxKeys() {
+		for (int i = 0; i < 1_000; i++) {
+			limiter.tryAcquire("client" + i);
+		}
+
+		assertThat(limiter.trackedKeys()).isLessThanOrEqualTo(64);
+	}
+
+	@Test
+	void bucketExpiresOnceIdleLongEnoughToRefill() {
+		drain("a");
+
+		clock.addAndGet(2 * SECOND);
+		assertThat(limiter.trackedKeys()).isEqualTo(1);
+
+		clock.addAndGet(SECOND);
+		assertThat(limiter.trackedKeys()).isZero();
+	}
+
+	private void drain(String key) {
+		while (limiter.tryAcquire(key) == 0) {
+			// Take every token of the burst
+		}
+	}
+}
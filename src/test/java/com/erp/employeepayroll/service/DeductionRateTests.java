@@ -0,0 +1,123 @@
+package com.erp.employeepayroll.service;
+
+import com.erp.employeepayroll.config.ReferenceDataCache;
+import com.erp.employeepayroll.dto.request.DeductionRequest;
+import com.erp.employeepayroll.dto.request.PayslipGenerationRequest;
+import com.erp.employeepayroll.dto.response.DeductionResponse;
+import com.erp.employeepayroll.model.DeductionRateSet;
+import com.erp.employeepayroll.model.Employment;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest
+class DeductionRateTests {
+
+	private static final String CODE = "RATE-TEST";
+	private static final String CODES = "RATE-%"; // CODE and the deductions created for payroll runs
+	private static final String NAME = "Rate Test";
+
+	@Autowired
+	private DeductionService deductionService;
+
+	@Autowired
+	private DeductionRateService deductionRateService;
+
+	@Autowired
+	private PayslipService payslipService;
+
+	@Autowired
+	private ReferenceDataCache referenceDataCache;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private DeductionResponse created;
+
+	@BeforeEach
+	void setUp() {
+		created = deductionService.createDeduction(new DeductionRequest(CODE, NAME, 5.0, null, null));
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE FROM payslip WHERE year = 2091");
+		jdbcTemplate.update("DELETE FROM employment WHERE employee_id = 720001");
+		jdbcTemplate.update("DELETE FROM employee WHERE id = 720001");
+		jdbcTemplate.update("DELETE FROM deduction WHERE code LIKE ?", CODES);
+		List<Long> rateSetIds = jdbcTemplate.queryForList(
+				"SELECT DISTINCT rate_set_id FROM deduction_rate_set_entry WHERE code LIKE ?", Long.class, CODES);
+		for (Long rateSetId : rateSetIds) {
+			jdbcTemplate.update("DELETE FROM deduction_rate_set_entry WHERE rate_set_id = ?", rateSetId);
+			jdbcTemplate.update("DELETE FROM deduction_rate_set WHERE id = ?", rateSetId);
+		}
+		jdbcTemplate.update("DELETE FROM deduction_rate WHERE code LIKE ?", CODES);
+	}
+
+	@Test
+	void futureRateChangeAppliesFromItsEffectiveDate() {
+		deductionService.updateDeduction(CODE, new DeductionRequest(CODE, NAME, 7.0, null, LocalDate.of(2090, 3, 1)));
+
+		assertThat(deductionRateService.rateSetFor(2, 2090).percentagesByName()).containsEntry(NAME, 0.05);
+		assertThat(deductionRateService.rateSetFor(3, 2090).percentagesByName()).containsEntry(NAME, 0.07);
+		assertThat(deductionService.getDeductionById(created.getId()).getPercentage()).isCloseTo(7.0, within(1e-9));
+	}
+
+	@Test
+	void periodsResolvingToTheSameRatesShareOneFrozenSet() {
+		DeductionRateSet january = deductionRateService.rateSetFor(1, 2090);
+		long sets = countRateSets();
+
+		assertThat(deductionRateService.rateSetFor(2, 2090).getId()).isEqualTo(january.getId());
+		assertThat(deductionRateService.rateSetFor(1, 2090).getId()).isEqualTo(january.getId());
+		assertThat(countRateSets()).isEqualTo(sets);
+
+		deductionService.updateDeduction(CODE, new DeductionRequest(CODE, NAME, 6.0, null, LocalDate.of(2090, 2, 1)));
+
+		DeductionRateSet february = deductionRateService.rateSetFor(2, 2090);
+		assertThat(february.getId()).isNotEqualTo(january.getId());
+		assertThat(deductionRateService.rateSetFor(1, 2090).getId()).isEqualTo(january.getId());
+		assertThat(deductionRateService.getRateSet(january.getId()).getRates())
+				.anySatisfy(rate -> assertThat(rate.getPercentage()).isEqualTo(5.0));
+	}
+
+	@Test
+	void deletedDeductionIsRetiredFromLaterPeriods() {
+		deductionService.deleteDeduction(created.getId());
+
+		Map<String, Double> percentages = deductionRateService.rateSetOn(LocalDate.now()).percentagesByName();
+		assertThat(percentages).doesNotContainKey(NAME);
+	}
+
+	@Test
+	void payslipsRecordTheRateSetTheyWereCalculatedWith() {
+		// Without them the run falls back to 50% each and the deductions exceed the gross salary
+		deductionService.createDeduction(new DeductionRequest("RATE-MED", "MedicalInsurance", 5.0, null, null));
+		deductionService.createDeduction(new DeductionRequest("RATE-OTH", "Others", 5.0, null, null));
+		jdbcTemplate.update("INSERT INTO employee (id, code, first_name, last_name, email, password, date_of_birth, status, role_mask) "
+				+ "VALUES (720001, 'RATE-E720001', 'Rate', 'Test', 'rate720001@payroll.test', 'secret', DATE '1990-01-01', 'ACTIVE', 1)");
+		jdbcTemplate.update("INSERT INTO employment (code, employee_id, department, position, base_salary, status, joining_date) "
+				+ "VALUES ('RATE-720001', 720001, 'Finance', 'Officer', 1000, 'ACTIVE', DATE '2024-01-01')");
+		referenceDataCache.evictAfterCommit(Employment.class, null); // The active-employment finder is cached
+
+		payslipService.generatePayroll(new PayslipGenerationRequest(1, 2091));
+
+		Long rateSetId = jdbcTemplate.queryForObject(
+				"SELECT rate_set_id FROM payslip WHERE employee_id = 720001 AND year = 2091", Long.class);
+		assertThat(rateSetId).isEqualTo(deductionRateService.rateSetFor(1, 2091).getId());
+	}
+
+	private long countRateSets() {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM deduction_rate_set", Long.class);
+	}
+}
@@ -0,0 +1,36 @@
+package com.erp.employeepayroll.service;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Inserts employees and employments straight into their tables, with fixed ids that the test's teardown deletes.
+ * Employee codes are {@code <prefix>-E<id>} and emails {@code <prefix><id>@payroll.test}, so each test class stays
+ * inside its own prefix.
+ */
+final class EmployeeFixtures {
+
+	private final JdbcTemplate jdbcTemplate;
+	private final String prefix;
+
+	EmployeeFixtures(JdbcTemplate jdbcTemplate, String prefix) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.prefix = prefix;
+	}
+
+	// An ACTIVE employee with one ACTIVE employment coded <prefix>-<id>
+	void insertActiveEmployee(long id, String department, double baseSalary) {
+		insertEmployee(id, "Test", "Employee", "ACTIVE");
+		insertEmployment(id, prefix + "-" + id, department, baseSalary, "ACTIVE");
+	}
+
+	void insertEmployee(long id, String firstName, String lastName, String status) {
+		jdbcTemplate.update("INSERT INTO employee (id, code, first_name, last_name, email, password, date_of_birth, status, role_mask) "
+				+ "VALUES (?, ?, ?, ?, ?, 'secret', DATE '1990-01-01', ?, 1)",
+				id, prefix + "-E" + id, firstName, lastName, prefix.toLowerCase() + id + "@payroll.test", status);
+	}
+
+	void insertEmployment(long employeeId, String code, String department, double baseSalary, String status) {
+		jdbcTemplate.update("INSERT INTO employment (code, employee_id, department, position, base_salary, status, joining_date) "
+				+ "VALUES (?, ?, ?, 'Officer', ?, ?, DATE '2024-01-01')", code, employeeId, department, baseSalary, status);
+	}
+}
@@ -0,0 +1,121 @@
+package com.erp.employeepayroll.service;
+
+import com.erp.employeepayroll.dto.response.EmployeeSearchHit;
+import com.erp.employeepayroll.dto.response.ImportReport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.import.chunk-size=2")
+class EmployeeImportServiceTests {
+
+	@Autowired
+	private EmployeeImportService employeeImportService;
+
+	@Autowired
+	private EmployeeSearchIndex employeeSearchIndex;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE FROM employment_history WHERE employee_id IN (SELECT id FROM employee WHERE code LIKE 'IMP-%')");
+		jdbcTemplate.update("DELETE FROM employment WHERE code LIKE 'IMP-%'");
+		jdbcTemplate.update("DELETE FROM employee WHERE code LIKE 'IMP-%'");
+	}
+
+	@Test
+	void csvImportInsertsValidRowsAndReportsTheOthers() throws IOException {
+		String csv = """
+				code,firstName,lastName,email,password,dateOfBirth,status,roles,employmentCode,department,position,baseSalary,employmentStatus,joiningDate
+				IMP-1,Alice,Uwase,alice@import.test,secret1,1990-01-01,ACTIVE,ROLE_EMPLOYEE,IMP-E1,Finance,Accountant,500000,ACTIVE,2024-01-01
+				IMP-2,Bob,"Mugisha, Jr",bob@import.test,secret2,1991-02-02,ACTIVE,,,,,,,
+				IMP-3,Carol,Ineza,ALICE@import.test,secret3,1992-03-03,ACTIVE,,,,,,,
+				IMP-4,Dan,Habimana,dan@import.test,secret4,not-a-date,ACTIVE,,,,,,,
+				IMP-5,Eve,Keza,eve@import.test,secret5,1993-04-04,ACTIVE,ROLE_UNKNOWN,,,,,,
+				IMP-6,Fred,Nkusi,fred@import.test,secret6,1994-05-05,DISABLED,ROLE_EMPLOYEE;ROLE_MANAGER,IMP-E6,HR,Officer,400000,ACTIVE,2024-02-01
+				IMP-7,Gina,Umutoni,gina@import.test,secret7,1995-06-06,ACTIVE,,IMP-E1,HR,Officer,300000,ACTIVE,2024-03-01
+				""";
+
+		ImportReport report = employeeImportService.importEmployees(stream(csv), EmployeeImportService.Format.CSV);
+
+		assertThat(report.getTotalRows()).isEqualTo(7);
+		assertThat(report.getImported()).isEqualTo(3);
+		assertThat(report.getFailed()).isEqualTo(4);
+		assertThat(report.getErrors()).extracting(ImportReport.RowError::getRow).containsExactly(3, 4, 5, 7);
+		assertThat(jdbcTemplate.queryForObject("SELECT last_name FROM employee WHERE code = 'IMP-2'", String.class))
+				.isEqualTo("Mugisha, Jr");
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employment e JOIN employee p ON p.id = e.employee_id "
+				+ "WHERE p.code IN ('IMP-1', 'IMP-6')", Integer.class)).isEqualTo(2);
+		String hash = jdbcTemplate.queryForObject("SELECT password FROM employee WHERE code = 'IMP-1'", String.class);
+		assertThat(hash).isNotEqualTo("secret1").startsWith("$2");
+		assertThat(employeeSearchIndex.search("mugisha jr", null, 0, 10).getItems())
+				.extracting(EmployeeSearchHit::getCode).containsExactly("IMP-2");
+	}
+
+	@Test
+	void jsonImportReportsUnreadableRowsAndContinues() throws IOException {
+		String json = """
+				[
+				  {"code": "IMP-10", "firstName": "Henry", "lastName": "Mutabazi", "email": "henry@import.test",
+				   "password": "secret10", "dateOfBirth": "1990-01-01", "status": "ACTIVE"},
+				  {"code": "IMP-11", "firstName": "Iris", "lastName": "Uwera", "email": "iris@import.test",
+				   "password": "secret11", "dateOfBirth": "1990-01-01", "status": "RETIRED"},
+				  {"code": "IMP-12", "firstName": "Jack", "lastName": "Gatete", "email": "jack@import.test",
+				   "password": "secret12", "dateOfBirth": "1990-01-01", "status": "ACTIVE", "employmentCode": "IMP-E12"}
+				]
+				""";
+
+		ImportReport report = employeeImportService.importEmployees(stream(json), EmployeeImportService.Format.JSON);
+
+		assertThat(report.getTotalRows()).isEqualTo(3);
+		assertThat(report.getImported()).isEqualTo(1);
+		assertThat(report.getErrors()).extracting(ImportReport.RowError::getRow).containsExactly(2, 3);
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employee WHERE code LIKE 'IMP-%'", Integer.class))
+				.isEqualTo(1);
+	}
+
+	@Test
+	void rowRejectedByTheDatabaseIsReportedWithoutTheDatabaseMessage() throws IOException {
+		String csv = """
+				code,firstName,lastName,email,password,dateOfBirth,status
+				IMP-20,Kevin,Mugabo,kevin@import.test,secret20,1990-01-01,ACTIVE
+				IMP-21,Lina,Ishimwe,lina@import.test,secret21,1990-01-01,ACTIVE
+				""";
+		// Another request saves IMP-20 after the import has loaded the existing keys
+		ByteArrayInputStream upload = new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)) {
+			private boolean started;
+
+			@Override
+			public synchronized int read(byte[] buffer, int offset, int length) {
+				if (!started) {
+					started = true;
+					jdbcTemplate.update("INSERT INTO employee (code, first_name, last_name, email, password, date_of_birth, status, role_mask) "
+							+ "VALUES ('IMP-20', 'Other', 'Request', 'other20@import.test', 'secret', DATE '1990-01-01', 'ACTIVE', 1)");
+				}
+				return super.read(buffer, offset, length);
+			}
+		};
+
+		ImportReport report = employeeImportService.importEmployees(upload, EmployeeImportService.Format.CSV);
+
+		assertThat(report.getImported()).isEqualTo(1);
+		assertThat(report.getErrors()).singleElement().satisfies(error -> {
+			assertThat(error.getRow()).isEqualTo(1);
+			assertThat(error.getMessage()).isEqualTo("Employee with this code or email, or employment with this code, already exists.");
+		});
+	}
+
+	private static ByteArrayInputStream stream(String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -0,0 +1,104 @@
+package com.erp.employeepayroll.service;
+
+import com.erp.employeepayroll.dto.response.EmployeeSearchHit;
+import com.erp.employeepayroll.dto.response.SearchPage;
+import com.erp.employeepayroll.model.Employee;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmployeeSearchIndexTests {
+
+	private EmployeeSearchIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new EmployeeSearchIndex(null);
+		index.indexAfterCommit(List.of(
+				hit(1L, "EMP-001", "Alice", "Uwase", "alice.uwase@payroll.test", "+250788111222", Employee.EmployeeStatus.ACTIVE),
+				hit(2L, "EMP-002", "Alain", "Mugisha", "alain@payroll.test", "0788333444", Employee.EmployeeStatus.ACTIVE),
+				hit(3L, "EMP-003", "Bella", "Alice", "bella@payroll.test", null, Employee.EmployeeStatus.ACTIVE),
+				hit(4L, "EMP-004", "Alice", "Keza", "keza@payroll.test", null, Employee.EmployeeStatus.DISABLED)));
+	}
+
+	@Test
+	void prefixOfAnyWordMatchesAndIdentifierAndExactMatchesRankFirst() {
+		// Alice Uwase and Alain also match through their email, ties are ordered by last name
+		assertThat(ids(index.search("al", null, 0, 10))).containsExactly(2L, 1L, 3L, 4L);
+		assertThat(ids(index.search("alice", null, 0, 10))).containsExactly(1L, 3L, 4L);
+	}
+
+	@Test
+	void everyTermMustMatchAndStatusFilters() {
+		assertThat(ids(index.search("alice uw", null, 0, 10))).containsExactly(1L);
+		assertThat(ids(index.search("alice", Employee.EmployeeStatus.ACTIVE, 0, 10))).containsExactly(1L, 3L);
+	}
+
+	@Test
+	void codeEmailAndMobileAreSearchable() {
+		assertThat(ids(index.search("emp-002", null, 0, 10))).containsExactly(2L);
+		assertThat(ids(index.search("alice.uwase@", null, 0, 10))).containsExactly(1L);
+		assertThat(ids(index.search("0788 333", null, 0, 10))).isEmpty();
+		assertThat(ids(index.search("0788333", null, 0, 10))).containsExactly(2L);
+		assertThat(ids(index.search("788111", null, 0, 10))).containsExactly(1L);
+	}
+
+	@Test
+	void updateReplacesTheOldTokens() {
+		index.indexAfterCommit(List.of(hit(2L, "EMP-002", "Alain", "Nkusi", "alain@payroll.test", null, Employee.EmployeeStatus.ACTIVE)));
+
+		assertThat(ids(index.search("mugisha", null, 0, 10))).isEmpty();
+		assertThat(ids(index.search("nkusi", null, 0, 10))).containsExactly(2L);
+	}
+
+	@Test
+	void resultsArePaged() {
+		SearchPage<EmployeeSearchHit> second = index.search("emp", null, 1, 3);
+
+		assertThat(second.getTotal()).isEqualTo(4);
+		assertThat(second.getItems()).hasSize(1);
+	}
+
+	@Test
+	void updateIndexedWhileRebuildReadsTheTableIsKept() {
+		NamedParameterJdbcTemplate jdbcTemplate = new NamedParameterJdbcTemplate(
+				new DriverManagerDataSource("jdbc:h2:mem:searchrebuild;DB_CLOSE_DELAY=-1", "sa", ""));
+		jdbcTemplate.getJdbcTemplate().execute("CREATE TABLE IF NOT EXISTS employee (id BIGINT, code VARCHAR(50), first_name VARCHAR(255), "
+				+ "last_name VARCHAR(255), email VARCHAR(255), mobile VARCHAR(255), status VARCHAR(20))");
+		jdbcTemplate.getJdbcTemplate().update("DELETE FROM employee");
+		jdbcTemplate.getJdbcTemplate().update("INSERT INTO employee VALUES "
+				+ "(1, 'EMP-001', 'Alice', 'Uwase', 'alice.uwase@payroll.test', NULL, 'ACTIVE'), "
+				+ "(2, 'EMP-002', 'Alain', 'Mugisha', 'alain@payroll.test', NULL, 'ACTIVE')");
+		EmployeeSearchIndex[] rebuilding = new EmployeeSearchIndex[1];
+		// Employee 2 is renamed after the SELECT has read the old row, before the new index is swapped in
+		rebuilding[0] = new EmployeeSearchIndex(new NamedParameterJdbcTemplate(jdbcTemplate.getJdbcTemplate()) {
+			@Override
+			public void query(String sql, Map<String, ?> paramMap, RowCallbackHandler rch) {
+				super.query(sql, paramMap, rch);
+				rebuilding[0].indexAfterCommit(List.of(hit(2L, "EMP-002", "Alain", "Nkusi", "alain@payroll.test", null, Employee.EmployeeStatus.ACTIVE)));
+			}
+		});
+
+		rebuilding[0].rebuild();
+
+		assertThat(ids(rebuilding[0].search("nkusi", null, 0, 10))).containsExactly(2L);
+		assertThat(ids(rebuilding[0].search("mugisha", null, 0, 10))).isEmpty();
+		assertThat(ids(rebuilding[0].search("uwase", null, 0, 10))).containsExactly(1L);
+	}
+
+	private static List<Long> ids(SearchPage<EmployeeSearchHit> page) {
+		return page.getItems().stream().map(EmployeeSearchHit::getId).toList();
+	}
+
+	private static EmployeeSearchHit hit(Long id, String code, String firstName, String lastName, String email, String mobile,
+										 Employee.EmployeeStatus status) {
+		return new EmployeeSearchHit(id, code, firstName, lastName, email, mobile, status);
+	}
+}
@@ -0,0 +1,103 @@
+package com.erp.employeepayroll.service;
+
+import com.erp.employeepayroll.dto.request.EmploymentRequest;
+import com.erp.employeepayroll.dto.request.SalaryAdjustmentRequest;
+import com.erp.employeepayroll.dto.response.EmploymentPeriodResponse;
+import com.erp.employeepayroll.dto.response.EmploymentResponse;
+import com.erp.employeepayroll.model.Employment;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+class EmploymentHistoryTests {
+
+	private static final long EMPLOYEE_ID = 720_001L;
+	private static final String DEPARTMENT = "History Test";
+
+	@Autowired
+	private EmploymentService employmentService;
+
+	@Autowired
+	private EmploymentHistoryService employmentHistoryService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private EmploymentResponse employment;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate.update("INSERT INTO employee (id, code, first_name, last_name, email, password, date_of_birth, status, role_mask) "
+				+ "VALUES (?, 'HIST1', 'Hist', 'Ory', 'history@payroll.test', 'secret', DATE '1990-01-01', 'ACTIVE', 1)", EMPLOYEE_ID);
+		employment = employmentService.createEmployment(request(1000.0, null, null));
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE FROM employment_history WHERE employee_id = ?", EMPLOYEE_ID);
+		jdbcTemplate.update("DELETE FROM employment WHERE employee_id = ?", EMPLOYEE_ID);
+		jdbcTemplate.update("DELETE FROM employee WHERE id = ?", EMPLOYEE_ID);
+	}
+
+	@Test
+	void updatesAreRecordedAsEffectiveDatedPeriods() {
+		employmentService.updateEmployment(employment.getId(), request(1500.0, LocalDate.of(2024, 6, 1), employment.getVersion()));
+
+		assertThat(employmentHistoryService.getHistory(employment.getId()))
+				.extracting(EmploymentPeriodResponse::getBaseSalary, EmploymentPeriodResponse::getEffectiveFrom, EmploymentPeriodResponse::getEffectiveTo)
+				.containsExactly(
+						tuple(1000.0, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 6, 1)),
+						tuple(1500.0, LocalDate.of(2024, 6, 1), null));
+		assertThat(salaryAsOf(LocalDate.of(2024, 5, 31))).isEqualTo(1000.0);
+		assertThat(salaryAsOf(LocalDate.of(2024, 6, 1))).isEqualTo(1500.0);
+		assertThat(employmentHistoryService.getSalariesAsOf(List.of(EMPLOYEE_ID), LocalDate.of(2023, 12, 31))).isEmpty();
+
+		EmploymentTimeline timeline = employmentHistoryService.timeline(List.of(EMPLOYEE_ID), LocalDate.of(2024, 1, 1), LocalDate.of(2025, 1, 1));
+		assertThat(timeline.salaryAsOf(EMPLOYEE_ID, LocalDate.of(2024, 3, 15))).isEqualTo(1000.0);
+		assertThat(timeline.salaryAsOf(EMPLOYEE_ID, LocalDate.of(2024, 12, 31))).isEqualTo(1500.0);
+		assertThat(timeline.salaryAsOf(EMPLOYEE_ID, LocalDate.of(2023, 12, 31))).isNull();
+	}
+
+	@Test
+	void bulkAdjustmentOpensANewPeriodFromToday() {
+		employmentService.adjustSalaries(SalaryAdjustmentRequest.builder()
+				.department(DEPARTMENT)
+				.type(SalaryAdjustmentRequest.AdjustmentType.PERCENTAGE)
+				.amount(10.0)
+				.build());
+
+		assertThat(salaryAsOf(LocalDate.now().minusDays(1))).isEqualTo(1000.0);
+		assertThat(salaryAsOf(LocalDate.now())).isEqualTo(1100.0);
+		assertThat(employmentHistoryService.getHistory(employment.getId())).hasSize(2);
+	}
+
+	private Double salaryAsOf(LocalDate date) {
+		List<EmploymentPeriodResponse> periods = employmentHistoryService.getSalariesAsOf(List.of(EMPLOYEE_ID), date);
+		assertThat(periods).hasSize(1);
+		return periods.get(0).getBaseSalary();
+	}
+
+	private EmploymentRequest request(double baseSalary, LocalDate effectiveFrom, Long version) {
+		return EmploymentRequest.builder()
+				.code("HIST-E1")
+				.employeeId(EMPLOYEE_ID)
+				.department(DEPARTMENT)
+				.position("Analyst")
+				.baseSalary(baseSalary)
+				.status(Employment.EmploymentStatus.ACTIVE)
+				.joiningDate(LocalDate.of(2024, 1, 1))
+				.effectiveFrom(effectiveFrom)
+				.version(version)
+				.build();
+	}
+}
@@ -0,0 +1,50 @@
+package com.erp.employeepayroll.service;
+
+import com.erp.employeepayroll.dto.request.DeductionRequest;
+import com.erp.employeepayroll.dto.response.DeductionResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class OptimisticLockingTests {
+
+	private static final String CODE = "LOCK-TEST";
+
+	@Autowired
+	private DeductionService deductionService;
+
+	private DeductionResponse created;
+
+	@BeforeEach
+	void setUp() {
+		created = deductionService.createDeduction(new DeductionRequest(CODE, "Lock Test", 5.0, null, null));
+	}
+
+	@AfterEach
+	void tearDown() {
+		deductionService.deleteDeduction(created.getId());
+	}
+
+	@Test
+	void updateWithTheCurrentVersionSucceedsAndBumpsIt() {
+		DeductionResponse updated = deductionService.updateDeduction(CODE, new DeductionRequest(CODE, "Lock Test", 6.0, created.getVersion(), null));
+
+		assertThat(updated.getVersion()).isEqualTo(created.getVersion() + 1);
+	}
+
+	@Test
+	void updateWithAStaleVersionIsRejected() {
+		deductionService.updateDeduction(CODE, new DeductionRequest(CODE, "Lock Test", 6.0, created.getVersion(), null));
+
+		assertThatThrownBy(() -> deductionService.updateDeduction(CODE, new DeductionRequest(CODE, "Lock Test", 7.0, created.getVersion(), null)))
+				.isInstanceOf(ObjectOptimisticLockingFailureException.class);
+		assertThat(deductionService.getDeductionById(created.getId()).getPercentage()).isEqualTo(6.0);
+	}
+}
@@ -0,0 +1,107 @@
+package com.erp.employeepayroll.service;
+
+import com.erp.employeepayroll.dto.response.MessageResponse;
+import com.erp.employeepayroll.dto.response.PayslipResponse;
+import com.erp.employeepayroll.exception.ValidationException;
+import com.erp.employeepayroll.repository.MessageRepository;
+import com.erp.employeepayroll.repository.PayslipRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Year;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "app.archive.chunk-size=2")
+class PayrollArchiveServiceTests {
+
+	private static final long EMPLOYEE_ID = 700_000L;
+	private static final int CLOSED_YEAR = 2020;
+	private static final int CURRENT_YEAR = Year.now().getValue();
+
+	@Autowired
+	private PayrollArchiveService payrollArchiveService;
+
+	@Autowired
+	private PayslipRepository payslipRepository;
+
+	@Autowired
+	private MessageRepository messageRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate.update("INSERT INTO employee (id, code, first_name, last_name, email, password, mobile, date_of_birth, "
+				+ "status, role_mask) VALUES (?, 'ARCH1', 'Archie', 'Ved', 'archie@payroll.test', 'secret', '+250700000000', "
+				+ "DATE '1990-01-01', 'ACTIVE', 1)", EMPLOYEE_ID);
+		// Five closed-year payslips interleaved (by id) with two current-year ones
+		long id = 700_000L;
+		for (int month = 1; month <= 5; month++) {
+			insertPayslip(id++, month, CLOSED_YEAR, "PAID");
+			insertMessage(id++, month, CLOSED_YEAR);
+		}
+		insertPayslip(700_003L + 100, 1, CURRENT_YEAR, "PENDING");
+		insertPayslip(700_005L + 100, 2, CURRENT_YEAR, "PENDING");
+	}
+
+	@AfterEach
+	void tearDown() {
+		for (String table : List.of("payslip_archive", "payslip", "message_archive", "message")) {
+			jdbcTemplate.update("DELETE FROM " + table + " WHERE employee_id = ?", EMPLOYEE_ID);
+		}
+		jdbcTemplate.update("DELETE FROM employee WHERE id = ?", EMPLOYEE_ID);
+	}
+
+	@Test
+	void closedYearIsMovedInChunksAndStaysVisibleThroughTheRepositories() {
+		List<PayslipResponse> before = payslipRepository.findResponsesByEmployeeId(EMPLOYEE_ID, 0L, Limit.of(100));
+
+		assertThat(payrollArchiveService.archiveYear(CLOSED_YEAR)).isEqualTo(5);
+
+		assertThat(countByYear("payslip", CLOSED_YEAR)).isZero();
+		assertThat(countByYear("payslip_archive", CLOSED_YEAR)).isEqualTo(5);
+		assertThat(countByYear("message", CLOSED_YEAR)).isZero();
+		assertThat(countByYear("message_archive", CLOSED_YEAR)).isEqualTo(5);
+
+		List<PayslipResponse> after = payslipRepository.findResponsesByEmployeeId(EMPLOYEE_ID, 0L, Limit.of(100));
+		assertThat(after).extracting(PayslipResponse::getId).containsExactlyElementsOf(
+				before.stream().map(PayslipResponse::getId).toList());
+		assertThat(payslipRepository.findResponsesByEmployeeId(EMPLOYEE_ID, 0L, Limit.of(4)))
+				.extracting(PayslipResponse::getId).containsExactly(700_000L, 700_002L, 700_004L, 700_006L);
+		assertThat(payslipRepository.findResponsesByMonthAndYear(3, CLOSED_YEAR, 0L, Limit.of(10))).hasSize(1);
+		assertThat(payslipRepository.findResponseById(700_000L)).isPresent();
+		assertThat(messageRepository.findResponsesByEmployeeId(EMPLOYEE_ID, 0L, Limit.of(100)))
+				.extracting(MessageResponse::getYear).containsOnly(CLOSED_YEAR).hasSize(5);
+	}
+
+	@Test
+	void openYearsCannotBeArchived() {
+		assertThatThrownBy(() -> payrollArchiveService.archiveYear(CURRENT_YEAR)).isInstanceOf(ValidationException.class);
+	}
+
+	private int countByYear(String table, int year) {
+		return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " WHERE employee_id = ? AND year = ?",
+				Integer.class, EMPLOYEE_ID, year);
+	}
+
+	private void insertPayslip(long id, int month, int year, String status) {
+		jdbcTemplate.update("INSERT INTO payslip (id, employee_id, base_salary_at_generation, house_amount, transport_amount, "
+				+ "employee_taxed_amount, pension_amount, medical_insurance_amount, other_taxed_amount, gross_salary, "
+				+ "net_salary, month, year, status, generation_date) VALUES (?, ?, 100, 14, 14, 30, 6, 5, 5, 128, 82, ?, ?, ?, "
+				+ "CURRENT_DATE)", id, EMPLOYEE_ID, month, year, status);
+	}
+
+	private void insertMessage(long id, int month, int year) {
+		jdbcTemplate.update("INSERT INTO message (id, employee_id, message, month, year, sent_date) "
+				+ "VALUES (?, ?, 'Paid', ?, ?, CURRENT_DATE)", id, EMPLOYEE_ID, month, year);
+	}
+}
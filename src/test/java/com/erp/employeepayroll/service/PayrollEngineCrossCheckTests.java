@@ -0,0 +1,139 @@
+package com.erp.employeepayroll.service;
+
+import com.erp.employeepayroll.config.PayrollProperties;
+import com.erp.employeepayroll.config.ReferenceDataCache;
+import com.erp.employeepayroll.dto.request.DeductionRequest;
+import com.erp.employeepayroll.dto.request.PayslipGenerationRequest;
+import com.erp.employeepayroll.dto.request.TaxScheduleRequest;
+import com.erp.employeepayroll.model.Employment;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest
+class PayrollEngineCrossCheckTests {
+
+	private static final String CODES = "XCHK-%";
+	private static final int YEAR = 2093;
+
+	@Autowired
+	private PayslipService payslipService;
+
+	@Autowired
+	private DeductionService deductionService;
+
+	@Autowired
+	private TaxBracketService taxBracketService;
+
+	@Autowired
+	private ReferenceDataCache referenceDataCache;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private EmployeeFixtures employees;
+
+	@BeforeEach
+	void setUp() {
+		employees = new EmployeeFixtures(jdbcTemplate, "XCHK");
+		deductionService.createDeduction(new DeductionRequest("XCHK-TAX", "Employee Tax", 30.0, null, null));
+		deductionService.createDeduction(new DeductionRequest("XCHK-PEN", "Pension", 6.0, null, null));
+		deductionService.createDeduction(new DeductionRequest("XCHK-MED", "MedicalInsurance", 5.0, null, null));
+		deductionService.createDeduction(new DeductionRequest("XCHK-OTH", "Others", 5.0, null, null));
+		deductionService.createDeduction(new DeductionRequest("XCHK-HOU", "Housing", 14.0, null, null));
+		deductionService.createDeduction(new DeductionRequest("XCHK-TRA", "Transport", 14.0, null, null));
+
+		// Salaries with inexact binary fractions, a disabled employee, one without employment and one with two
+		employees.insertEmployee(740_001L, "Cross", "Check", "ACTIVE");
+		employees.insertEmployment(740_001L, "XCHK-1", "Finance", 123456.78, "ACTIVE");
+		employees.insertEmployee(740_002L, "Cross", "Check", "ACTIVE");
+		employees.insertEmployment(740_002L, "XCHK-2", "Finance", 1000.01, "ACTIVE");
+		employees.insertEmployee(740_003L, "Cross", "Check", "ACTIVE");
+		employees.insertEmployment(740_003L, "XCHK-3a", "Finance", 0.1, "ACTIVE");
+		employees.insertEmployment(740_003L, "XCHK-3b", "Finance", 999999.99, "ACTIVE");
+		employees.insertEmployee(740_004L, "Cross", "Check", "DISABLED");
+		employees.insertEmployment(740_004L, "XCHK-4", "Finance", 5000.0, "ACTIVE");
+		employees.insertEmployee(740_005L, "Cross", "Check", "ACTIVE");
+		employees.insertEmployee(740_006L, "Cross", "Check", "ACTIVE");
+		employees.insertEmployment(740_006L, "XCHK-6", "Finance", 7777.77, "INACTIVE");
+		referenceDataCache.evictAfterCommit(Employment.class, null); // The active-employment finder is cached
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE FROM payslip WHERE year = ?", YEAR);
+		jdbcTemplate.update("DELETE FROM payroll_period WHERE year = ?", YEAR);
+		jdbcTemplate.update("DELETE FROM tax_bracket WHERE effective_from = ?", LocalDate.of(YEAR, 1, 1));
+		jdbcTemplate.update("DELETE FROM employment WHERE employee_id BETWEEN 740001 AND 740006");
+		jdbcTemplate.update("DELETE FROM employee WHERE id BETWEEN 740001 AND 740006");
+		jdbcTemplate.update("DELETE FROM deduction WHERE code LIKE ?", CODES);
+		List<Long> rateSetIds = jdbcTemplate.queryForList(
+				"SELECT DISTINCT rate_set_id FROM deduction_rate_set_entry WHERE code LIKE ?", Long.class, CODES);
+		for (Long rateSetId : rateSetIds) {
+			jdbcTemplate.update("DELETE FROM deduction_rate_set_entry WHERE rate_set_id = ?", rateSetId);
+			jdbcTemplate.update("DELETE FROM deduction_rate_set WHERE id = ?", rateSetId);
+		}
+		jdbcTemplate.update("DELETE FROM deduction_rate WHERE code LIKE ?", CODES);
+	}
+
+	@Test
+	void sqlEngineMatchesTheJavaEngineRowForRow() {
+		assertThat(payslipService.generatePayroll(request(1, PayrollProperties.Engine.JAVA))).hasSize(3);
+		List<Map<String, Object>> javaRows = payslips(1);
+
+		// Regenerating the still pending period replaces the Java rows
+		assertThat(payslipService.generatePayroll(request(1, PayrollProperties.Engine.SQL))).hasSize(3);
+		List<Map<String, Object>> sqlRows = payslips(1);
+
+		assertThat(sqlRows).hasSize(3).isEqualTo(javaRows);
+	}
+
+	@Test
+	void sqlEngineReservesItsIdsFromThePayslipGenerator() {
+		payslipService.generatePayroll(request(1, PayrollProperties.Engine.SQL));
+		payslipService.generatePayroll(request(2, PayrollProperties.Engine.JAVA));
+
+		assertThat(payslips(2)).isEqualTo(payslips(1).stream().map(row -> {
+			row.put("MONTH", 2);
+			return row;
+		}).toList());
+	}
+
+	@Test
+	void enginesApplyTheProgressiveTaxScheduleIdentically() {
+		taxBracketService.createSchedule(new TaxScheduleRequest(LocalDate.of(YEAR, 1, 1), List.of(
+				new TaxScheduleRequest.Bracket(0.0, 0.0),
+				new TaxScheduleRequest.Bracket(500.0, 10.0),
+				new TaxScheduleRequest.Bracket(5000.0, 20.0),
+				new TaxScheduleRequest.Bracket(100000.0, 35.0))));
+
+		payslipService.generatePayroll(request(1, PayrollProperties.Engine.JAVA));
+		List<Map<String, Object>> javaRows = payslips(1);
+		payslipService.generatePayroll(request(1, PayrollProperties.Engine.SQL));
+
+		assertThat(payslips(1)).hasSize(3).isEqualTo(javaRows);
+		assertThat(jdbcTemplate.queryForObject("SELECT employee_taxed_amount FROM payslip WHERE employee_id = 740002 AND year = ?",
+				Double.class, YEAR)).isCloseTo(50.001, within(1e-9));
+	}
+
+	private List<Map<String, Object>> payslips(int month) {
+		return jdbcTemplate.queryForList("SELECT employee_id, base_salary_at_generation, house_amount, transport_amount, "
+				+ "employee_taxed_amount, pension_amount, medical_insurance_amount, other_taxed_amount, gross_salary, "
+				+ "net_salary, month, year, status, generation_date, approval_date, rate_set_id, version "
+				+ "FROM payslip WHERE year = ? AND month = ? ORDER BY employee_id", YEAR, month);
+	}
+
+	private static PayslipGenerationRequest request(int month, PayrollProperties.Engine engine) {
+		return new PayslipGenerationRequest(month, YEAR, engine);
+	}
+}
@@ -0,0 +1,127 @@
+package com.erp.employeepayroll.service;
+
+import com.erp.employeepayroll.dto.request.PayslipGenerationRequest;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput of PayslipService.generatePayroll for a 50k-employee workforce, with JDBC batch size 1 versus the
+ * configured batch size. Both use the pooled TABLE ids, so this measures batching alone, not the IDENTITY mapping
+ * it replaced. Each setting is warmed up first, then measured runs alternate between them and the median is logged.
+ * Not part of the regular test run; execute with: mvn test -Dtest=PayrollGenerationBenchmark
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PayrollGenerationBenchmark {
+
+	private static final Logger logger = LoggerFactory.getLogger(PayrollGenerationBenchmark.class);
+
+	private static final int EMPLOYEES = 50_000;
+	private static final int YEAR = 2030;
+	private static final int WARMUP_RUNS = 2;
+	private static final int MEASURED_RUNS = 3;
+
+	@Autowired
+	private PayslipService payslipService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private EntityManager entityManager;
+
+	@BeforeAll
+	void seedWorkforce() {
+		jdbcTemplate.update("DELETE FROM payslip");
+		jdbcTemplate.update("DELETE FROM message");
+		jdbcTemplate.update("DELETE FROM employment");
+		jdbcTemplate.update("DELETE FROM payroll_year_to_date");
+		jdbcTemplate.update("DELETE FROM employee");
+		jdbcTemplate.update("DELETE FROM deduction");
+		jdbcTemplate.update("DELETE FROM deduction_rate");
+
+		jdbcTemplate.batchUpdate("INSERT INTO deduction (code, deduction_name, percentage) VALUES (?, ?, ?)", List.of(
+				new Object[]{"TAX", "Employee Tax", 0.30},
+				new Object[]{"PEN", "Pension", 0.06},
+				new Object[]{"MED", "MedicalInsurance", 0.05},
+				new Object[]{"OTH", "Others", 0.05},
+				new Object[]{"HOU", "Housing", 0.14},
+				new Object[]{"TRA", "Transport", 0.14}));
+		jdbcTemplate.update("INSERT INTO deduction_rate (code, deduction_name, percentage, effective_from, retired, created_at) "
+				+ "SELECT code, deduction_name, percentage, DATE '1970-01-01', FALSE, CURRENT_TIMESTAMP FROM deduction");
+
+		List<Object[]> employees = new ArrayList<>(EMPLOYEES);
+		for (int i = 0; i < EMPLOYEES; i++) {
+			employees.add(new Object[]{"EMP" + i, "First" + i, "Last" + i, "employee" + i + "@payroll.test", "secret",
+					"+250788" + String.format("%06d", i), Date.valueOf(LocalDate.of(1990, 1, 1)), "ACTIVE", 1});
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO employee (code, first_name, last_name, email, password, mobile, "
+				+ "date_of_birth, status, role_mask) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", employees);
+
+		jdbcTemplate.update("INSERT INTO employment (code, employee_id, department, position, base_salary, status, joining_date) "
+				+ "SELECT CONCAT('EMPL', id), id, 'Finance', 'Officer', 500000, 'ACTIVE', DATE '2020-01-01' FROM employee");
+	}
+
+	@Test
+	void generatePayrollThroughput() {
+		for (int i = 0; i < WARMUP_RUNS; i++) {
+			generate(1);
+			generate(null);
+		}
+		double[] unbatched = new double[MEASURED_RUNS];
+		double[] batched = new double[MEASURED_RUNS];
+		for (int i = 0; i < MEASURED_RUNS; i++) {
+			unbatched[i] = generate(1);
+			batched[i] = generate(null);
+		}
+		double unbatchedMedian = median(unbatched);
+		double batchedMedian = median(batched);
+		logger.info("generatePayroll, {} employees, median of {} runs: batch size 1 {} rows/s, batched {} rows/s (x{})",
+				EMPLOYEES, MEASURED_RUNS, Math.round(unbatchedMedian), Math.round(batchedMedian),
+				String.format("%.2f", batchedMedian / unbatchedMedian));
+	}
+
+	// Generates one period, removes it again, and returns rows/sec; batchSize null keeps the configured JDBC batch size
+	private double generate(Integer batchSize) {
+		long start = System.nanoTime();
+		int rows = transactionTemplate.execute(status -> {
+			if (batchSize != null) {
+				entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+			}
+			return payslipService.generatePayroll(new PayslipGenerationRequest(1, YEAR)).size();
+		});
+		double seconds = (System.nanoTime() - start) / 1e9;
+		assertThat(rows).isEqualTo(EMPLOYEES);
+
+		jdbcTemplate.update("DELETE FROM message");
+		jdbcTemplate.update("DELETE FROM payslip WHERE year = ?", YEAR);
+		jdbcTemplate.update("DELETE FROM payroll_period WHERE year = ?", YEAR);
+		return rows / seconds;
+	}
+
+	private static double median(double[] values) {
+		double[] sorted = values.clone();
+		Arrays.sort(sorted);
+		return sorted[sorted.length / 2];
+	}
+}
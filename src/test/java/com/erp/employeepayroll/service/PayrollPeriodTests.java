@@ -0,0 +1,114 @@
+package com.erp.employeepayroll.service;
+
+import com.erp.employeepayroll.config.ReferenceDataCache;
+import com.erp.employeepayroll.dto.request.PayslipGenerationRequest;
+import com.erp.employeepayroll.exception.ResourceNotFoundException;
+import com.erp.employeepayroll.model.Employment;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class PayrollPeriodTests {
+
+	private static final long EMPLOYEE_ID = 730_001L;
+	private static final int YEAR = 2092;
+
+	@Autowired
+	private PayslipService payslipService;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private ReferenceDataCache referenceDataCache;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		// A zero salary keeps the runs independent of the configured deduction rates
+		jdbcTemplate.update("INSERT INTO employee (id, code, first_name, last_name, email, password, date_of_birth, status, role_mask) "
+				+ "VALUES (?, 'PERIOD-E1', 'Period', 'Test', 'period730001@payroll.test', 'secret', DATE '1990-01-01', 'ACTIVE', 1)", EMPLOYEE_ID);
+		jdbcTemplate.update("INSERT INTO employment (code, employee_id, department, position, base_salary, status, joining_date) "
+				+ "VALUES ('PERIOD-1', ?, 'Finance', 'Officer', 0, 'ACTIVE', DATE '2024-01-01')", EMPLOYEE_ID);
+		referenceDataCache.evictAfterCommit(Employment.class, null); // The active-employment finder is cached
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE FROM message WHERE employee_id = ?", EMPLOYEE_ID);
+		jdbcTemplate.update("DELETE FROM payslip WHERE year = ?", YEAR);
+		jdbcTemplate.update("DELETE FROM payroll_period WHERE year = ?", YEAR);
+		jdbcTemplate.update("DELETE FROM payroll_year_to_date WHERE employee_id = ?", EMPLOYEE_ID);
+		jdbcTemplate.update("DELETE FROM employment WHERE employee_id = ?", EMPLOYEE_ID);
+		jdbcTemplate.update("DELETE FROM employee WHERE id = ?", EMPLOYEE_ID);
+	}
+
+	@Test
+	void transitionsAreGuardedByThePeriodStatus() {
+		payslipService.generatePayroll(new PayslipGenerationRequest(1, YEAR));
+		payslipService.generatePayroll(new PayslipGenerationRequest(1, YEAR)); // Pending payslips are replaced
+		assertThat(periodStatus(1)).isEqualTo("GENERATED");
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM payslip WHERE year = ?", Integer.class, YEAR)).isEqualTo(1);
+
+		assertThat(payslipService.approvePayroll(1, YEAR)).hasSize(1);
+		assertThat(periodStatus(1)).isEqualTo("APPROVED");
+
+		assertThatThrownBy(() -> payslipService.generatePayroll(new PayslipGenerationRequest(1, YEAR)))
+				.isInstanceOf(IllegalStateException.class);
+		assertThatThrownBy(() -> payslipService.approvePayroll(1, YEAR))
+				.isInstanceOf(IllegalStateException.class);
+		assertThat(jdbcTemplate.queryForObject("SELECT status FROM payslip WHERE year = ?", String.class, YEAR)).isEqualTo("PAID");
+	}
+
+	@Test
+	void approvingAPeriodThatWasNeverGeneratedIsNotFound() {
+		assertThatThrownBy(() -> payslipService.approvePayroll(2, YEAR))
+				.isInstanceOf(ResourceNotFoundException.class);
+	}
+
+	@Test
+	void approvalIsRejectedWhileAnotherRequestHoldsThePeriod() throws Exception {
+		payslipService.generatePayroll(new PayslipGenerationRequest(1, YEAR));
+
+		CountDownLatch locked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+			jdbcTemplate.queryForList("SELECT id FROM payroll_period WHERE year = ? AND month = 1 FOR UPDATE", YEAR);
+			locked.countDown();
+			try {
+				release.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}));
+		try {
+			assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+			assertThatThrownBy(() -> payslipService.approvePayroll(1, YEAR))
+					.isInstanceOf(PessimisticLockingFailureException.class);
+		} finally {
+			release.countDown();
+			holder.get(10, TimeUnit.SECONDS);
+		}
+
+		assertThat(payslipService.approvePayroll(1, YEAR)).hasSize(1);
+	}
+
+	private String periodStatus(int month) {
+		return jdbcTemplate.queryForObject("SELECT status FROM payroll_period WHERE year = ? AND month = ?", String.class, YEAR, month);
+	}
+}
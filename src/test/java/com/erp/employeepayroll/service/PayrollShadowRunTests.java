@@ -0,0 +1,148 @@
+package com.erp.employeepayroll.service;
+
+import com.erp.employeepayroll.config.PayrollProperties;
+import com.erp.employeepayroll.config.ReferenceDataCache;
+import com.erp.employeepayroll.dto.request.DeductionRequest;
+import com.erp.employeepayroll.dto.request.PayslipGenerationRequest;
+import com.erp.employeepayroll.dto.response.ShadowRunReport;
+import com.erp.employeepayroll.exception.ResourceNotFoundException;
+import com.erp.employeepayroll.model.Employment;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = "app.payroll.shadow.engine=SQL")
+class PayrollShadowRunTests {
+
+	private static final String CODES = "SHDW-%";
+	private static final int YEAR = 2094;
+
+	@Autowired
+	private PayslipService payslipService;
+
+	@Autowired
+	private DeductionService deductionService;
+
+	@Autowired
+	private ReferenceDataCache referenceDataCache;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private EmployeeFixtures employees;
+
+	@BeforeEach
+	void setUp() {
+		employees = new EmployeeFixtures(jdbcTemplate, "SHDW");
+		// Without them the run falls back to 50% each and the deductions exceed the gross salary
+		deductionService.createDeduction(new DeductionRequest("SHDW-MED", "MedicalInsurance", 5.0, null, null));
+		deductionService.createDeduction(new DeductionRequest("SHDW-OTH", "Others", 5.0, null, null));
+		employees.insertActiveEmployee(750_001L, "Finance", 123456.78);
+		employees.insertActiveEmployee(750_002L, "Finance", 1000.01);
+		referenceDataCache.evictAfterCommit(Employment.class, null); // The active-employment finder is cached
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE FROM payslip WHERE year = ?", YEAR);
+		jdbcTemplate.update("DELETE FROM payroll_period WHERE year = ?", YEAR);
+		jdbcTemplate.update("DELETE FROM employment WHERE employee_id BETWEEN 750001 AND 750002");
+		jdbcTemplate.update("DELETE FROM employee WHERE id BETWEEN 750001 AND 750002");
+		jdbcTemplate.update("DELETE FROM deduction WHERE code LIKE ?", CODES);
+		List<Long> rateSetIds = jdbcTemplate.queryForList(
+				"SELECT DISTINCT rate_set_id FROM deduction_rate_set_entry WHERE code LIKE ?", Long.class, CODES);
+		for (Long rateSetId : rateSetIds) {
+			jdbcTemplate.update("DELETE FROM deduction_rate_set_entry WHERE rate_set_id = ?", rateSetId);
+			jdbcTemplate.update("DELETE FROM deduction_rate_set WHERE id = ?", rateSetId);
+		}
+		jdbcTemplate.update("DELETE FROM deduction_rate WHERE code LIKE ?", CODES);
+	}
+
+	@Test
+	void candidateIsComparedButOnlyThePrimaryIsSaved() {
+		int generated = payslipService.generatePayroll(new PayslipGenerationRequest(1, YEAR, PayrollProperties.Engine.JAVA)).size();
+
+		ShadowRunReport report = payslipService.getShadowRunReport(1, YEAR);
+		assertThat(report.getOutcome()).isEqualTo(ShadowRunReport.Outcome.MATCH);
+		assertThat(report.getPrimaryEngine()).isEqualTo(PayrollProperties.Engine.JAVA);
+		assertThat(report.getCandidateEngine()).isEqualTo(PayrollProperties.Engine.SQL);
+		assertThat(report.getPayslipsCompared()).isEqualTo(generated);
+		assertThat(report.getCandidateMillis()).isNotNull();
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM payslip WHERE year = ?", Integer.class, YEAR)).isEqualTo(generated);
+
+		// The candidate is the primary itself: no shadow run, so no report for the period
+		payslipService.generatePayroll(new PayslipGenerationRequest(2, YEAR, PayrollProperties.Engine.SQL));
+		assertThatThrownBy(() -> payslipService.getShadowRunReport(2, YEAR)).isInstanceOf(ResourceNotFoundException.class);
+	}
+
+	@Test
+	void comparisonReportsDifferingFieldsAndMissingPayslips() {
+		PayslipFigures first = new PayslipFigures(1L, 100, 14, 14, 30, 6, 5, 5, 128, 82);
+		PayslipFigures second = new PayslipFigures(2L, 200, 28, 28, 60, 12, 10, 10, 256, 164);
+		PayslipFigures secondDiffering = new PayslipFigures(2L, 200, 28, 28, 60, 12, 10, 10, 256, 164.01);
+		PayslipFigures third = new PayslipFigures(3L, 300, 42, 42, 90, 18, 15, 15, 384, 246);
+
+		ShadowRunReport.ShadowRunReportBuilder report = ShadowRunReport.builder();
+		PayrollShadowRunner.compare(List.of(first, second), List.of(secondDiffering, third), 0.0, 1, report);
+		ShadowRunReport mismatch = report.build();
+		assertThat(mismatch.getOutcome()).isEqualTo(ShadowRunReport.Outcome.MISMATCH);
+		assertThat(mismatch.getPayslipsCompared()).isEqualTo(3);
+		assertThat(mismatch.getDiscrepancyCount()).isEqualTo(3);
+		assertThat(mismatch.getDiscrepancies()).containsExactly(new ShadowRunReport.Discrepancy(1L, "payslip", 82.0, null));
+
+		PayrollShadowRunner.compare(List.of(second), List.of(secondDiffering), 0.05, 10, report);
+		assertThat(report.build().getOutcome()).isEqualTo(ShadowRunReport.Outcome.MATCH);
+	}
+
+	@Test
+	void lateCandidateIsInterruptedAndBlocksNoFurtherShadowRuns() throws InterruptedException {
+		PayrollProperties properties = new PayrollProperties();
+		properties.getShadow().setEngine(PayrollProperties.Engine.SQL);
+		properties.getShadow().setBudgetMs(50);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch interrupted = new CountDownLatch(1);
+		PayrollEngine slowCandidate = new PayrollEngine() {
+			@Override
+			public PayrollProperties.Engine engine() {
+				return PayrollProperties.Engine.SQL;
+			}
+
+			@Override
+			public List<PayslipFigures> calculate(PayrollSnapshot snapshot) {
+				started.countDown();
+				try {
+					Thread.sleep(10_000);
+				} catch (InterruptedException e) {
+					interrupted.countDown();
+					throw new CancellationException();
+				}
+				return List.of();
+			}
+		};
+		PayrollShadowRunner runner = new PayrollShadowRunner(List.of(slowCandidate), properties);
+		PayrollSnapshot snapshot = new PayrollSnapshot(1, YEAR, null, null, List.of());
+		try {
+			PayrollShadowRunner.Run run = runner.start(PayrollProperties.Engine.JAVA, snapshot);
+			assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+			assertThat(runner.start(PayrollProperties.Engine.JAVA, snapshot)).isNull(); // Skipped while the first one runs
+
+			runner.finish(run, PayrollProperties.Engine.JAVA, 1, YEAR, List.of(), 0);
+
+			assertThat(runner.getLatestReport(1, YEAR).getOutcome()).isEqualTo(ShadowRunReport.Outcome.TIMED_OUT);
+			assertThat(interrupted.await(5, TimeUnit.SECONDS)).isTrue();
+		} finally {
+			runner.shutdown();
+		}
+	}
+}
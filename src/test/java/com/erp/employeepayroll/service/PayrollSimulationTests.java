@@ -0,0 +1,94 @@
+package com.erp.employeepayroll.service;
+
+import com.erp.employeepayroll.dto.request.DeductionRequest;
+import com.erp.employeepayroll.dto.request.PayrollSimulationRequest;
+import com.erp.employeepayroll.dto.response.PayrollSimulationResponse;
+import com.erp.employeepayroll.exception.ValidationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest
+class PayrollSimulationTests {
+
+	private static final List<String> TABLES = List.of("payslip", "payroll_period", "deduction_rate_set", "deduction_rate", "employment");
+
+	@Autowired
+	private PayrollSimulationService payrollSimulationService;
+
+	@Autowired
+	private DeductionService deductionService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private EmployeeFixtures employees;
+
+	@BeforeEach
+	void setUp() {
+		employees = new EmployeeFixtures(jdbcTemplate, "SIM");
+		deductionService.createDeduction(new DeductionRequest("SIM-PEN", "Pension", 6.0, null, null));
+		deductionService.createDeduction(new DeductionRequest("SIM-HOU", "Housing", 14.0, null, null));
+		// Salaries far above anything else in the test database, so these employees lead the top-N list
+		employees.insertActiveEmployee(780_001L, "Simulation A", 10_000_000.0);
+		employees.insertActiveEmployee(780_002L, "Simulation B", 30_000_000.0);
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE FROM employment WHERE employee_id BETWEEN 780001 AND 780002");
+		jdbcTemplate.update("DELETE FROM employee WHERE id BETWEEN 780001 AND 780002");
+		jdbcTemplate.update("DELETE FROM deduction WHERE code LIKE 'SIM-%'");
+		jdbcTemplate.update("DELETE FROM deduction_rate WHERE code LIKE 'SIM-%'");
+	}
+
+	@Test
+	void proposalIsComparedWithTheRatesInForceWithoutWritingAnything() {
+		Map<String, Integer> before = rowCounts();
+
+		PayrollSimulationResponse simulation = payrollSimulationService.simulate(PayrollSimulationRequest.builder()
+				.month(1)
+				.year(2097)
+				.overrides(Map.of("Pension", 10.0, "Housing", 20.0))
+				.topAffected(2)
+				.refreshSnapshot(true)
+				.build());
+
+		assertThat(rowCounts()).isEqualTo(before);
+		assertThat(simulation.getProposedRates()).containsEntry("Pension", 10.0).containsEntry("Housing", 20.0);
+
+		PayrollSimulationResponse.DepartmentImpact departmentB = simulation.getDepartments().stream()
+				.filter(department -> department.getDepartment().equals("Simulation B")).findFirst().orElseThrow();
+		assertThat(departmentB.getEmployees()).isEqualTo(1);
+		assertThat(departmentB.getGrossSalaryDelta()).isCloseTo(30_000_000.0 * 0.06, within(1e-3)); // Housing 14% -> 20%
+		assertThat(departmentB.getNetSalaryDelta()).isCloseTo(30_000_000.0 * (0.06 - 0.04), within(1e-3)); // Pension 6% -> 10%
+		assertThat(simulation.getDelta().getPension()).isCloseTo(simulation.getProposed().getPension() - simulation.getBaseline().getPension(), within(1e-3));
+
+		assertThat(simulation.getTopAffected()).extracting(PayrollSimulationResponse.EmployeeImpact::getEmployeeId)
+				.containsExactly(780_002L, 780_001L);
+	}
+
+	@Test
+	void unknownRateNamesAreRejected() {
+		assertThatThrownBy(() -> payrollSimulationService.simulate(PayrollSimulationRequest.builder()
+				.overrides(Map.of("Bonus", 10.0))
+				.build()))
+				.isInstanceOf(ValidationException.class);
+	}
+
+	private Map<String, Integer> rowCounts() {
+		return TABLES.stream().collect(Collectors.toMap(table -> table,
+				table -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Integer.class)));
+	}
+}
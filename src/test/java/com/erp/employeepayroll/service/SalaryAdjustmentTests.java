@@ -0,0 +1,112 @@
+package com.erp.employeepayroll.service;
+
+import com.erp.employeepayroll.dto.request.SalaryAdjustmentRequest;
+import com.erp.employeepayroll.dto.response.SalaryAdjustmentResponse;
+import com.erp.employeepayroll.exception.ValidationException;
+import com.erp.employeepayroll.model.Employment;
+import com.erp.employeepayroll.repository.EmploymentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class SalaryAdjustmentTests {
+
+	private static final String DEPARTMENT = "Adjustment Test";
+
+	@Autowired
+	private EmploymentService employmentService;
+
+	@Autowired
+	private EmploymentRepository employmentRepository;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() {
+		insertEmployment(710_001L, "Analyst", 1000.0, "ACTIVE");
+		insertEmployment(710_002L, "Analyst", 2000.0, "ACTIVE");
+		insertEmployment(710_003L, "Lead", 3000.0, "ACTIVE");
+		insertEmployment(710_004L, "Analyst", 4000.0, "INACTIVE");
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE FROM employment_history WHERE employee_id BETWEEN 710001 AND 710004");
+		jdbcTemplate.update("DELETE FROM employment WHERE department = ?", DEPARTMENT);
+		jdbcTemplate.update("DELETE FROM employee WHERE id BETWEEN 710001 AND 710004");
+	}
+
+	@Test
+	void dryRunReportsTheCostDeltaWithoutChangingSalaries() {
+		SalaryAdjustmentResponse preview = employmentService.adjustSalaries(request("Analyst",
+				SalaryAdjustmentRequest.AdjustmentType.PERCENTAGE, 10.0, true));
+
+		assertThat(preview.getAffectedCount()).isEqualTo(2);
+		assertThat(preview.getCurrentTotal()).isEqualTo(3000.0);
+		assertThat(preview.getAdjustedTotal()).isEqualTo(3300.0);
+		assertThat(preview.getCostDelta()).isEqualTo(300.0);
+		assertThat(preview.isApplied()).isFalse();
+		assertThat(baseSalaryOf(710_001L)).isEqualTo(1000.0);
+	}
+
+	@Test
+	void adjustmentUpdatesMatchingRecordsAndEvictsTheCache() {
+		assertThat(cachedBaseSalary("ADJ-710002")).isEqualTo(2000.0);
+
+		SalaryAdjustmentResponse result = employmentService.adjustSalaries(request(null,
+				SalaryAdjustmentRequest.AdjustmentType.FIXED, 250.0, false));
+
+		assertThat(result.getAffectedCount()).isEqualTo(3);
+		assertThat(result.isApplied()).isTrue();
+		assertThat(baseSalaryOf(710_002L)).isEqualTo(2250.0);
+		assertThat(baseSalaryOf(710_004L)).isEqualTo(4000.0);
+		assertThat(jdbcTemplate.queryForObject("SELECT version FROM employment WHERE employee_id = 710002", Long.class)).isEqualTo(1L);
+		assertThat(cachedBaseSalary("ADJ-710002")).isEqualTo(2250.0);
+	}
+
+	@Test
+	void adjustmentThatWouldMakeASalaryNegativeIsRejected() {
+		assertThatThrownBy(() -> employmentService.adjustSalaries(request(null,
+				SalaryAdjustmentRequest.AdjustmentType.FIXED, -1500.0, false)))
+				.isInstanceOf(ValidationException.class);
+		assertThat(baseSalaryOf(710_003L)).isEqualTo(3000.0);
+	}
+
+	private SalaryAdjustmentRequest request(String position, SalaryAdjustmentRequest.AdjustmentType type, double amount, boolean dryRun) {
+		return SalaryAdjustmentRequest.builder()
+				.department(DEPARTMENT)
+				.position(position)
+				.type(type)
+				.amount(amount)
+				.dryRun(dryRun)
+				.build();
+	}
+
+	private Double cachedBaseSalary(String code) {
+		return transactionTemplate.execute(status -> employmentRepository.findByCode(code).map(Employment::getBaseSalary).orElseThrow());
+	}
+
+	private Double baseSalaryOf(long employeeId) {
+		return jdbcTemplate.queryForObject("SELECT base_salary FROM employment WHERE employee_id = ?", Double.class, employeeId);
+	}
+
+	private void insertEmployment(long employeeId, String position, double baseSalary, String status) {
+		jdbcTemplate.update("INSERT INTO employee (id, code, first_name, last_name, email, password, date_of_birth, status, role_mask) "
+				+ "VALUES (?, ?, 'Adjust', 'Test', ?, 'secret', DATE '1990-01-01', 'ACTIVE', 1)",
+				employeeId, "ADJ-E" + employeeId, "adjust" + employeeId + "@payroll.test");
+		jdbcTemplate.update("INSERT INTO employment (code, employee_id, department, position, base_salary, status, joining_date) "
+				+ "VALUES (?, ?, ?, ?, ?, ?, DATE '2024-01-01')", "ADJ-" + employeeId, employeeId, DEPARTMENT, position, baseSalary, status);
+	}
+}
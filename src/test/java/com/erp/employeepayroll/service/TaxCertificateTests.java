@@ -0,0 +1,88 @@
+package com.erp.employeepayroll.service;
+
+import com.erp.employeepayroll.dto.response.TaxCertificateReport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.certificates.progress-interval=1")
+class TaxCertificateTests {
+
+	private static final int YEAR = 2096;
+
+	@Autowired
+	private TaxCertificateService taxCertificateService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private EmployeeFixtures employees;
+
+	@BeforeEach
+	void setUp() {
+		employees = new EmployeeFixtures(jdbcTemplate, "CERT");
+		employees.insertEmployee(770_001L, "Tax", "Cert", "ACTIVE");
+		employees.insertEmployee(770_002L, "Tax", "Smith, Jr.", "ACTIVE");
+		insertPayslip("payslip_archive", 770_101L, 770_001L, 1, "PAID", 1000.0);
+		insertPayslip("payslip", 770_102L, 770_001L, 2, "PAID", 1500.0);
+		insertPayslip("payslip", 770_103L, 770_002L, 1, "PAID", 2000.0);
+		insertPayslip("payslip", 770_104L, 770_002L, 2, "PENDING", 9999.0);
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE FROM payslip_archive WHERE year = ?", YEAR);
+		jdbcTemplate.update("DELETE FROM payslip WHERE year = ?", YEAR);
+		jdbcTemplate.update("DELETE FROM employee WHERE id BETWEEN 770001 AND 770003");
+	}
+
+	@Test
+	void certificatesTotalEachEmployeesPaidPayslipsLiveAndArchived() throws IOException {
+		TaxCertificateReport report = taxCertificateService.generateCertificates(YEAR);
+
+		assertThat(report.getCertificates()).isEqualTo(2);
+		assertThat(report.getPayslips()).isEqualTo(3);
+		List<String> lines = Files.readAllLines(Path.of(report.getFile()));
+		assertThat(lines).hasSize(3);
+		assertThat(lines.get(1)).startsWith(YEAR + ",770001,CERT-E770001,Tax,Cert,2,2500.00,250.00,");
+		assertThat(lines.get(2)).startsWith(YEAR + ",770002,CERT-E770002,Tax,\"Smith, Jr.\",1,2000.00,200.00,");
+		assertThat(lines.get(2)).endsWith(",1500.00");
+
+		Files.delete(Path.of(report.getFile()));
+	}
+
+	@Test
+	void largeTotalsAreWrittenWithTwoFixedDecimals() throws IOException {
+		employees.insertEmployee(770_003L, "Tax", "Large", "ACTIVE");
+		insertPayslip("payslip", 770_105L, 770_003L, 1, "PAID", 6_000_000.4);
+		insertPayslip("payslip", 770_106L, 770_003L, 2, "PAID", 6_000_000.8);
+
+		TaxCertificateReport report = taxCertificateService.generateCertificates(YEAR);
+
+		// String.valueOf of the double sum would write the gross as 1.20000012E7
+		List<String> lines = Files.readAllLines(Path.of(report.getFile()));
+		assertThat(lines.get(3)).isEqualTo(YEAR + ",770003,CERT-E770003,Tax,Large,2,12000001.20,1200000.12,"
+				+ "600000.06,600000.06,600000.06,9000000.90");
+
+		Files.delete(Path.of(report.getFile()));
+	}
+
+	// Amounts are simple fractions of the gross salary: 10% tax, 5% pension, medical and other deductions
+	private void insertPayslip(String table, long id, long employeeId, int month, String status, double gross) {
+		jdbcTemplate.update("INSERT INTO " + table + " (id, employee_id, base_salary_at_generation, house_amount, transport_amount, "
+				+ "employee_taxed_amount, pension_amount, medical_insurance_amount, other_taxed_amount, gross_salary, net_salary, "
+				+ "month, year, status, generation_date) VALUES (?, ?, ?, 0, 0, ?, ?, ?, ?, ?, ?, ?, ?, ?, CURRENT_DATE)",
+				id, employeeId, gross, gross * 0.1, gross * 0.05, gross * 0.05, gross * 0.05, gross, gross * 0.75,
+				month, YEAR, status);
+	}
+}
@@ -0,0 +1,79 @@
+package com.erp.employeepayroll.service;
+
+import com.erp.employeepayroll.model.TaxBracket;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TaxScheduleTests {
+
+	private static final LocalDate EFFECTIVE_FROM = LocalDate.of(2090, 1, 1);
+
+	@Test
+	void taxIsCumulativeOverTheBrackets() {
+		TaxSchedule schedule = TaxSchedule.compile(EFFECTIVE_FROM, brackets(new double[]{0, 500, 5000}, new double[]{0, 0.1, 0.2}));
+
+		assertThat(schedule.tax(0)).isZero();
+		assertThat(schedule.tax(500)).isZero();
+		assertThat(schedule.tax(1000)).isCloseTo(50.0, within(1e-9));
+		assertThat(schedule.tax(5000)).isCloseTo(450.0, within(1e-9));
+		assertThat(schedule.tax(6000)).isCloseTo(650.0, within(1e-9));
+		assertThat(schedule.baseTax(2)).isCloseTo(450.0, within(1e-9));
+	}
+
+	@Test
+	void lookupMatchesALinearScanForEveryScheduleSize() {
+		Random random = new Random(48);
+		for (int size = 1; size <= 17; size++) {
+			double[] bounds = new double[size];
+			double[] rates = new double[size];
+			for (int i = 1; i < size; i++) {
+				bounds[i] = bounds[i - 1] + 1 + random.nextInt(3000);
+			}
+			for (int i = 0; i < size; i++) {
+				rates[i] = random.nextInt(50) / 100.0;
+			}
+			TaxSchedule schedule = TaxSchedule.compile(EFFECTIVE_FROM, brackets(bounds, rates));
+
+			List<Double> incomes = new ArrayList<>();
+			for (double bound : bounds) {
+				incomes.add(bound);
+				incomes.add(Math.nextDown(bound));
+				incomes.add(Math.nextUp(bound));
+			}
+			for (int i = 0; i < 200; i++) {
+				incomes.add(random.nextDouble() * (bounds[size - 1] + 5000));
+			}
+			for (double income : incomes) {
+				if (income >= 0) {
+					assertThat(schedule.tax(income)).as("size %d, income %s", size, income).isEqualTo(linearScan(bounds, rates, income));
+				}
+			}
+		}
+	}
+
+	// The reference: walk up the brackets, accumulating the tax the same way the compiled schedule does
+	private static double linearScan(double[] bounds, double[] rates, double income) {
+		double baseTax = 0;
+		int bracket = 0;
+		while (bracket + 1 < bounds.length && bounds[bracket + 1] <= income) {
+			baseTax += (bounds[bracket + 1] - bounds[bracket]) * rates[bracket];
+			bracket++;
+		}
+		return baseTax + (income - bounds[bracket]) * rates[bracket];
+	}
+
+	private static List<TaxBracket> brackets(double[] bounds, double[] rates) {
+		List<TaxBracket> brackets = new ArrayList<>();
+		for (int i = 0; i < bounds.length; i++) {
+			brackets.add(new TaxBracket(null, EFFECTIVE_FROM, bounds[i], rates[i], null));
+		}
+		return brackets;
+	}
+}
@@ -0,0 +1,152 @@
+package com.erp.employeepayroll.service;
+
+import com.erp.employeepayroll.config.ReferenceDataCache;
+import com.erp.employeepayroll.dto.request.DeductionRequest;
+import com.erp.employeepayroll.dto.request.PayslipGenerationRequest;
+import com.erp.employeepayroll.dto.response.YearToDateResponse;
+import com.erp.employeepayroll.exception.ResourceNotFoundException;
+import com.erp.employeepayroll.model.Employment;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@SpringBootTest
+class YearToDateTests {
+
+	private static final String CODES = "YTD-%";
+	private static final int YEAR = 2095;
+
+	@Autowired
+	private PayslipService payslipService;
+
+	@Autowired
+	private DeductionService deductionService;
+
+	@Autowired
+	private ReferenceDataCache referenceDataCache;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private EmployeeFixtures employees;
+
+	@BeforeEach
+	void setUp() {
+		employees = new EmployeeFixtures(jdbcTemplate, "YTD");
+		// Without them the run falls back to 50% each and the deductions exceed the gross salary
+		deductionService.createDeduction(new DeductionRequest("YTD-MED", "MedicalInsurance", 5.0, null, null));
+		deductionService.createDeduction(new DeductionRequest("YTD-OTH", "Others", 5.0, null, null));
+		employees.insertActiveEmployee(760_001L, "Finance", 1000.01);
+		employees.insertActiveEmployee(760_002L, "Finance", 2500.0);
+		referenceDataCache.evictAfterCommit(Employment.class, null); // The active-employment finder is cached
+	}
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE FROM message WHERE employee_id BETWEEN 760001 AND 760002");
+		jdbcTemplate.update("DELETE FROM payslip WHERE year = ?", YEAR);
+		jdbcTemplate.update("DELETE FROM payroll_period WHERE year = ?", YEAR);
+		jdbcTemplate.update("DELETE FROM payroll_year_to_date WHERE employee_id BETWEEN 760001 AND 760002");
+		jdbcTemplate.update("DELETE FROM employment WHERE employee_id BETWEEN 760001 AND 760002");
+		jdbcTemplate.update("DELETE FROM employee WHERE id BETWEEN 760001 AND 760002");
+		jdbcTemplate.update("DELETE FROM deduction WHERE code LIKE ?", CODES);
+		List<Long> rateSetIds = jdbcTemplate.queryForList(
+				"SELECT DISTINCT rate_set_id FROM deduction_rate_set_entry WHERE code LIKE ?", Long.class, CODES);
+		for (Long rateSetId : rateSetIds) {
+			jdbcTemplate.update("DELETE FROM deduction_rate_set_entry WHERE rate_set_id = ?", rateSetId);
+			jdbcTemplate.update("DELETE FROM deduction_rate_set WHERE id = ?", rateSetId);
+		}
+		jdbcTemplate.update("DELETE FROM deduction_rate WHERE code LIKE ?", CODES);
+	}
+
+	@Test
+	@WithMockUser(roles = "MANAGER")
+	void approvalAddsThePaidPeriodToTheTotals() {
+		payslipService.generatePayroll(new PayslipGenerationRequest(3, YEAR));
+		payslipService.approvePayroll(3, YEAR);
+		payslipService.generatePayroll(new PayslipGenerationRequest(1, YEAR));
+		payslipService.approvePayroll(1, YEAR);
+		payslipService.generatePayroll(new PayslipGenerationRequest(4, YEAR)); // Pending payslips are not counted
+
+		YearToDateResponse totals = payslipService.getYearToDate(760_001L, YEAR);
+		Map<String, Object> sums = jdbcTemplate.queryForMap("SELECT SUM(gross_salary) AS gross, SUM(employee_taxed_amount) AS tax, "
+				+ "SUM(net_salary) AS net FROM payslip WHERE employee_id = 760001 AND year = ? AND status = 'PAID'", YEAR);
+		assertThat(totals.getEmployeeCode()).isEqualTo("YTD-E760001");
+		assertThat(totals.getMonthsPaid()).isEqualTo(2);
+		assertThat(totals.getLastMonthPaid()).isEqualTo(3);
+		assertThat(totals.getGrossSalary()).isCloseTo(((Number) sums.get("GROSS")).doubleValue(), within(1e-6));
+		assertThat(totals.getEmployeeTax()).isCloseTo(((Number) sums.get("TAX")).doubleValue(), within(1e-6));
+		assertThat(totals.getNetSalary()).isCloseTo(((Number) sums.get("NET")).doubleValue(), within(1e-6));
+		assertThat(payslipService.getYearToDate(760_002L, YEAR).getMonthsPaid()).isEqualTo(2);
+	}
+
+	@Test
+	@WithMockUser(roles = "MANAGER")
+	void employeeWithoutApprovedPayslipsHasNoTotals() {
+		payslipService.generatePayroll(new PayslipGenerationRequest(1, YEAR));
+
+		assertThatThrownBy(() -> payslipService.getYearToDate(760_001L, YEAR)).isInstanceOf(ResourceNotFoundException.class);
+	}
+
+	@Test
+	@WithMockUser(roles = "MANAGER")
+	void concurrentApprovalsOfTheSameYearBothOpenTheTotals() throws Exception {
+		payslipService.generatePayroll(new PayslipGenerationRequest(1, YEAR));
+		payslipService.generatePayroll(new PayslipGenerationRequest(2, YEAR));
+
+		// The first approval has opened the year's totals but not committed when the second one tries to open them too
+		CountDownLatch approved = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<Void> first = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+			payslipService.approvePayroll(1, YEAR);
+			approved.countDown();
+			try {
+				release.await(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}));
+		CompletableFuture<Void> second;
+		try {
+			assertThat(approved.await(10, TimeUnit.SECONDS)).isTrue();
+			second = CompletableFuture.runAsync(() -> payslipService.approvePayroll(2, YEAR));
+			awaitOpeningTotals();
+		} finally {
+			release.countDown();
+			first.get(10, TimeUnit.SECONDS);
+		}
+		second.get(10, TimeUnit.SECONDS);
+
+		assertThat(payslipService.getYearToDate(760_001L, YEAR).getMonthsPaid()).isEqualTo(2);
+		assertThat(payslipService.getYearToDate(760_002L, YEAR).getMonthsPaid()).isEqualTo(2);
+	}
+
+	// Waits until another session is inserting into the year's totals, where it waits for the first approval's rows
+	private void awaitOpeningTotals() throws InterruptedException {
+		for (int i = 0; i < 100; i++) {
+			if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.SESSIONS "
+					+ "WHERE LOWER(EXECUTING_STATEMENT) LIKE 'insert into payroll_year_to_date%'", Integer.class) > 0) {
+				return;
+			}
+			Thread.sleep(50);
+		}
+	}
+}